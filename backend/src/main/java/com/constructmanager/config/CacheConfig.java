@@ -28,9 +28,11 @@ public class CacheConfig {
             new ConcurrentMapCache("projectSummaries"),
             new ConcurrentMapCache("projectSummariesByStatus"),
             new ConcurrentMapCache("projectDetails"),
+            new ConcurrentMapCache("projectTotals"),
             
             // Unit related caches
             new ConcurrentMapCache("unitSummaries"),
+            new ConcurrentMapCache("unitTotals"),
             
             // Category related caches
             new ConcurrentMapCache("categoryDetails"),
@@ -38,6 +40,11 @@ public class CacheConfig {
             // Team related caches
             new ConcurrentMapCache("teams"),
             
+            // Payment related caches
+            new ConcurrentMapCache("payments"),
+            new ConcurrentMapCache("paymentDetails"),
+            new ConcurrentMapCache("paymentSummary"),
+            
             // Dashboard related caches
             new ConcurrentMapCache("activeProjectsCount"),
             new ConcurrentMapCache("dashboardStats")
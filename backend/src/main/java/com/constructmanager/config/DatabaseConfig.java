@@ -2,46 +2,93 @@ package com.constructmanager.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
 
 @Configuration
 public class DatabaseConfig {
-    
+
     @Value("${spring.datasource.url}")
     private String jdbcUrl;
-    
+
     @Value("${spring.datasource.username}")
     private String username;
-    
+
     @Value("${spring.datasource.password}")
     private String password;
-    
+
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
-    
+
+    @Value("${app.datasource.replica.url:}")
+    private String replicaJdbcUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.maximum-pool-size:20}")
+    private int replicaMaximumPoolSize;
+
+    /**
+     * Application DataSource: the primary pool, or the replica router when a replica is configured.
+     * The router sits behind a lazy proxy so the physical connection is picked once the
+     * transaction's read-only flag is known.
+     */
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(ObjectProvider<ReplicaRoutingDataSource> replicaRouting) {
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        if (routing != null) {
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+        return createPool(jdbcUrl, username, password, 20, "ConstructManagerHikariCP", false);
+    }
+
+    /**
+     * Primary and replica pools, routed by transaction read-only flag
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ReplicaLagMonitor lagMonitor,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        if (replicaJdbcUrl == null || replicaJdbcUrl.isBlank()) {
+            throw new IllegalArgumentException("app.datasource.replica.url is required when the replica is enabled");
+        }
+        HikariDataSource primary = createPool(jdbcUrl, username, password, 20, "ConstructManagerHikariCP", false);
+        HikariDataSource replica = createPool(replicaJdbcUrl, replicaUsername, replicaPassword,
+                replicaMaximumPoolSize, "ConstructManagerReplicaHikariCP", true);
+        lagMonitor.attach(replica);
+        return new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWritesTracker);
+    }
+
+    private HikariDataSource createPool(String url, String user, String pass, int maximumPoolSize,
+                                        String poolName, boolean readOnly) {
         try {
             HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(jdbcUrl);
-            config.setUsername(username);
-            config.setPassword(password);
+            config.setJdbcUrl(url);
+            config.setUsername(user);
+            config.setPassword(pass);
             config.setDriverClassName(driverClassName);
+            config.setReadOnly(readOnly);
             // Performance optimizations
-            config.setMaximumPoolSize(20);
+            config.setMaximumPoolSize(maximumPoolSize);
             config.setMinimumIdle(5);
             config.setIdleTimeout(300000);
             config.setConnectionTimeout(20000);
             config.setMaxLifetime(1200000);
             config.setLeakDetectionThreshold(60000);
             // Connection pool name
-            config.setPoolName("ConstructManagerHikariCP");
+            config.setPoolName(poolName);
             // Additional performance settings
             config.addDataSourceProperty("cachePrepStmts", "true");
             config.addDataSourceProperty("prepStmtCacheSize", "250");
@@ -55,9 +102,9 @@ public class DatabaseConfig {
             config.addDataSourceProperty("maintainTimeStats", "false");
             return new HikariDataSource(config);
         } catch (Exception e) {
-            System.err.println("[DatabaseConfig] Failed to initialize DataSource: " + e.getMessage());
+            System.err.println("[DatabaseConfig] Failed to initialize DataSource " + poolName + ": " + e.getMessage());
             e.printStackTrace();
             throw e;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.constructmanager.config;
+
+import com.constructmanager.service.EntityChangeListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the EntityChangeListener beans (typeahead, schedule and team capacity indexes)
+ * with Hibernate's post-insert, post-update and post-delete events, instead of naming them in
+ * @EntityListeners, which would make the entity package depend on the service layer.
+ */
+@Configuration
+public class EntityEventConfig {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private List<EntityChangeListener> listeners;
+
+    @PostConstruct
+    public void registerEntityListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        Forwarder forwarder = new Forwarder(listeners);
+        registry.appendListeners(EventType.POST_INSERT, forwarder);
+        registry.appendListeners(EventType.POST_UPDATE, forwarder);
+        registry.appendListeners(EventType.POST_DELETE, forwarder);
+    }
+
+    /**
+     * Runs in the flushing session, like the JPA callbacks; the listeners defer their
+     * index changes to after commit themselves
+     */
+    private static final class Forwarder
+            implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        private final List<EntityChangeListener> listeners;
+
+        private Forwarder(List<EntityChangeListener> listeners) {
+            this.listeners = List.copyOf(listeners);
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            for (EntityChangeListener listener : listeners) {
+                listener.onSave(event.getEntity());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            for (EntityChangeListener listener : listeners) {
+                listener.onSave(event.getEntity());
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            for (EntityChangeListener listener : listeners) {
+                listener.onRemove(event.getEntity());
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.constructmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binds the request's tenant keys for replica routing and opens the
+ * read-your-writes window after a successful write request
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        readYourWritesTracker.bind(tenantKeys(request), isWrite(request));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (isWrite(request) && ex == null && response.getStatus() < 400) {
+            readYourWritesTracker.recordWrite(tenantKeys(request));
+        }
+        readYourWritesTracker.clear();
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private List<String> tenantKeys(HttpServletRequest request) {
+        List<String> keys = new ArrayList<>(2);
+        String companyId = request.getParameter("companyId");
+        if (companyId != null && !companyId.isBlank()) {
+            keys.add("company:" + companyId);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            keys.add("user:" + authentication.getName());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,93 @@
+package com.constructmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a tenant's reads on the primary for a short window after it wrote, so a
+ * lagging replica never hides the caller's own change.
+ *
+ * Keys are the request's companyId and the authenticated user. The window is opt-in
+ * (app.datasource.replica.read-your-writes-ms, 0 = off); write requests always read
+ * from the primary for their own duration.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+
+    @Value("${app.datasource.replica.read-your-writes-ms:0}")
+    private long windowMs;
+
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    /**
+     * Bind the tenant keys of the request being handled on this thread
+     */
+    public void bind(List<String> keys, boolean writeRequest) {
+        currentRequest.set(new RequestScope(keys, writeRequest));
+    }
+
+    public void clear() {
+        currentRequest.remove();
+    }
+
+    /**
+     * Start the read-your-writes window for the given keys
+     */
+    public void recordWrite(Collection<String> keys) {
+        if (windowMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            lastWriteAt.put(key, now);
+        }
+    }
+
+    /**
+     * Whether reads on this thread must stay on the primary
+     */
+    public boolean isCurrentRequestPinned() {
+        RequestScope scope = currentRequest.get();
+        if (scope == null) {
+            return false;
+        }
+        if (scope.writeRequest) {
+            return true;
+        }
+        if (windowMs <= 0) {
+            return false;
+        }
+        long cutoff = System.currentTimeMillis() - windowMs;
+        for (String key : scope.keys) {
+            Long writtenAt = lastWriteAt.get(key);
+            if (writtenAt != null && writtenAt > cutoff) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void pruneExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt <= cutoff);
+    }
+
+    private static final class RequestScope {
+        private final List<String> keys;
+        private final boolean writeRequest;
+
+        private RequestScope(List<String> keys, boolean writeRequest) {
+            this.keys = keys;
+            this.writeRequest = writeRequest;
+        }
+    }
+}
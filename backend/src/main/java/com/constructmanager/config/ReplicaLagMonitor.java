@@ -0,0 +1,85 @@
+package com.constructmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Polls the replica's replication delay and decides whether read-only traffic may use it.
+ *
+ * The replica counts as usable when SHOW REPLICA STATUS reports a delay within
+ * app.datasource.replica.max-lag-seconds. An empty status (a plain second instance, as in
+ * local setups) counts as current. A stopped replication thread or a failed check sends
+ * reads back to the primary until the next successful poll.
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    @Value("${app.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    private volatile DataSource replica;
+    private volatile boolean replicaUsable;
+    private volatile Long lastLagSeconds;
+
+    /**
+     * Start monitoring a replica pool; it stays unused until the first check passes
+     */
+    public void attach(DataSource replica) {
+        this.replica = replica;
+        checkLag();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        DataSource target = replica;
+        if (target == null) {
+            return;
+        }
+
+        boolean usable;
+        Long lag;
+        try (Connection connection = target.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (status.next()) {
+                long seconds = status.getLong("Seconds_Behind_Source");
+                lag = status.wasNull() ? null : seconds;
+                usable = lag != null && lag <= maxLagSeconds;
+            } else {
+                lag = 0L;
+                usable = true;
+            }
+        } catch (Exception e) {
+            lag = null;
+            usable = false;
+            if (replicaUsable) {
+                logger.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+        }
+
+        if (usable != replicaUsable) {
+            logger.info("Replica {} (lag: {}s, max: {}s)",
+                    usable ? "in use for read-only transactions" : "bypassed", lag, maxLagSeconds);
+        }
+        lastLagSeconds = lag;
+        replicaUsable = usable;
+    }
+}
@@ -1,7 +1,6 @@
 package com.constructmanager.controller;
 
 import com.constructmanager.dto.*;
-import com.constructmanager.entity.Category;
 import com.constructmanager.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,7 +37,7 @@ public class CategoryController {
      * GET /api/v1/categories/paginated?unitId=1&page=0&size=10
      */
     @GetMapping("/paginated")
-    public ResponseEntity<Page<Category>> getCategoriesPaginated(
+    public ResponseEntity<Page<CategorySummaryDTO>> getCategoriesPaginated(
             @RequestParam Long unitId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -48,7 +47,7 @@ public class CategoryController {
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort);
         
-        Page<Category> categories = categoryService.getCategoriesByUnit(unitId, pageable);
+        Page<CategorySummaryDTO> categories = categoryService.getCategoriesByUnit(unitId, pageable);
         return ResponseEntity.ok(categories);
     }
     
@@ -114,13 +113,13 @@ public class CategoryController {
      * GET /api/v1/categories/delayed?companyId=1
      */
     @GetMapping("/delayed")
-    public ResponseEntity<Page<Category>> getCategoriesWithDelayedTasks(
+    public ResponseEntity<Page<CategorySummaryDTO>> getCategoriesWithDelayedTasks(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Category> categories = categoryService.getCategoriesWithDelayedTasks(companyId, pageable);
+        Page<CategorySummaryDTO> categories = categoryService.getCategoriesWithDelayedTasks(companyId, pageable);
         return ResponseEntity.ok(categories);
     }
     
@@ -129,14 +128,14 @@ public class CategoryController {
      * GET /api/v1/categories/starting-soon?companyId=1&daysAhead=7
      */
     @GetMapping("/starting-soon")
-    public ResponseEntity<Page<Category>> getCategoriesStartingSoon(
+    public ResponseEntity<Page<CategorySummaryDTO>> getCategoriesStartingSoon(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "7") int daysAhead,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Category> categories = categoryService.getCategoriesStartingSoon(companyId, daysAhead, pageable);
+        Page<CategorySummaryDTO> categories = categoryService.getCategoriesStartingSoon(companyId, daysAhead, pageable);
         return ResponseEntity.ok(categories);
     }
     
@@ -145,13 +144,13 @@ public class CategoryController {
      * GET /api/v1/categories/overdue?companyId=1
      */
     @GetMapping("/overdue")
-    public ResponseEntity<Page<Category>> getOverdueCategories(
+    public ResponseEntity<Page<CategorySummaryDTO>> getOverdueCategories(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Category> categories = categoryService.getOverdueCategories(companyId, pageable);
+        Page<CategorySummaryDTO> categories = categoryService.getOverdueCategories(companyId, pageable);
         return ResponseEntity.ok(categories);
     }
     
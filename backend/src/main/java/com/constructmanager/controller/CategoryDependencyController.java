@@ -0,0 +1,59 @@
+package com.constructmanager.controller;
+
+import com.constructmanager.dto.CategoryDependencyCreateDTO;
+import com.constructmanager.dto.CategoryDependencyDTO;
+import com.constructmanager.service.CategoryDependencyService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/category-dependencies")
+@CrossOrigin(origins = "*")
+public class CategoryDependencyController {
+    
+    @Autowired
+    private CategoryDependencyService categoryDependencyService;
+    
+    /**
+     * Get a project's category dependencies
+     * GET /api/v1/category-dependencies?projectId=1&companyId=1
+     */
+    @GetMapping
+    public ResponseEntity<List<CategoryDependencyDTO>> getDependencies(
+            @RequestParam Long projectId,
+            @RequestParam Long companyId) {
+        
+        return ResponseEntity.ok(categoryDependencyService.getDependencies(projectId, companyId));
+    }
+    
+    /**
+     * Make one category start after another finishes
+     * POST /api/v1/category-dependencies?companyId=1
+     */
+    @PostMapping
+    public ResponseEntity<CategoryDependencyDTO> createDependency(
+            @RequestParam Long companyId,
+            @Valid @RequestBody CategoryDependencyCreateDTO dto) {
+        
+        CategoryDependencyDTO dependency = categoryDependencyService.createDependency(companyId, dto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(dependency);
+    }
+    
+    /**
+     * Delete a category dependency
+     * DELETE /api/v1/category-dependencies/{id}?companyId=1
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDependency(
+            @PathVariable Long id,
+            @RequestParam Long companyId) {
+        
+        boolean deleted = categoryDependencyService.deleteDependency(id, companyId);
+        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -2,9 +2,13 @@ package com.constructmanager.controller;
 
 import com.constructmanager.dto.*;
 import com.constructmanager.entity.CategoryTeam;
+import com.constructmanager.exception.TeamDoubleBookingException;
 import com.constructmanager.service.CategoryTeamService;
+import com.constructmanager.service.OptimisticRetryExecutor;
+import com.constructmanager.service.TeamAutoAssignService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,13 +26,19 @@ public class CategoryTeamController {
     @Autowired
     private CategoryTeamService categoryTeamService;
     
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+    
+    @Autowired
+    private TeamAutoAssignService teamAutoAssignService;
+    
     /**
      * Get category teams by category
      * GET /api/v1/category-teams?categoryId=1
      */
     @GetMapping
-    public ResponseEntity<List<CategoryTeam>> getCategoryTeamsByCategory(@RequestParam Long categoryId) {
-        List<CategoryTeam> categoryTeams = categoryTeamService.getCategoryTeamsByCategory(categoryId);
+    public ResponseEntity<List<CategoryTeamSummaryDTO>> getCategoryTeamsByCategory(@RequestParam Long categoryId) {
+        List<CategoryTeamSummaryDTO> categoryTeams = categoryTeamService.getCategoryTeamsByCategory(categoryId);
         return ResponseEntity.ok(categoryTeams);
     }
     
@@ -37,13 +47,13 @@ public class CategoryTeamController {
      * GET /api/v1/category-teams/team/{teamId}
      */
     @GetMapping("/team/{teamId}")
-    public ResponseEntity<Page<CategoryTeam>> getCategoryTeamsByTeam(
+    public ResponseEntity<Page<CategoryTeamSummaryDTO>> getCategoryTeamsByTeam(
             @PathVariable Long teamId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<CategoryTeam> categoryTeams = categoryTeamService.getCategoryTeamsByTeam(teamId, pageable);
+        Page<CategoryTeamSummaryDTO> categoryTeams = categoryTeamService.getCategoryTeamsByTeam(teamId, pageable);
         return ResponseEntity.ok(categoryTeams);
     }
     
@@ -52,7 +62,7 @@ public class CategoryTeamController {
      * GET /api/v1/category-teams/{categoryId}/{teamId}
      */
     @GetMapping("/{categoryId}/{teamId}")
-    public ResponseEntity<CategoryTeam> getCategoryTeam(
+    public ResponseEntity<CategoryTeamSummaryDTO> getCategoryTeam(
             @PathVariable Long categoryId,
             @PathVariable Long teamId) {
         
@@ -66,7 +76,7 @@ public class CategoryTeamController {
      * POST /api/v1/category-teams?categoryId=1
      */
     @PostMapping
-    public ResponseEntity<CategoryTeam> createCategoryTeam(
+    public ResponseEntity<CategoryTeamSummaryDTO> createCategoryTeam(
             @RequestParam Long categoryId,
             @Valid @RequestBody CategoryTeamCreateDTO dto) {
         
@@ -75,18 +85,35 @@ public class CategoryTeamController {
                 .orElse(ResponseEntity.badRequest().build());
     }
     
+    /**
+     * Propose teams for unassigned categories of a company or one of its projects; nothing is saved
+     * POST /api/v1/category-teams/auto-assign?companyId=1
+     */
+    @PostMapping("/auto-assign")
+    public ResponseEntity<AutoAssignProposalDTO> proposeAssignments(
+            @RequestParam Long companyId,
+            @Valid @RequestBody(required = false) AutoAssignRequestDTO dto) {
+        
+        AutoAssignRequestDTO request = dto != null ? dto : new AutoAssignRequestDTO();
+        return ResponseEntity.ok(teamAutoAssignService.propose(companyId, request));
+    }
+    
     /**
      * Update category team assignment
      * PUT /api/v1/category-teams/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<CategoryTeam> updateCategoryTeam(
+    public ResponseEntity<CategoryTeamSummaryDTO> updateCategoryTeam(
             @PathVariable Long id,
             @Valid @RequestBody CategoryTeamUpdateDTO dto) {
         
         try {
-            CategoryTeam updatedCategoryTeam = categoryTeamService.updateCategoryTeam(id, dto);
+            CategoryTeamSummaryDTO updatedCategoryTeam = retryExecutor.execute(() -> categoryTeamService.updateCategoryTeam(id, dto));
             return ResponseEntity.ok(updatedCategoryTeam);
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (TeamDoubleBookingException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -107,13 +134,13 @@ public class CategoryTeamController {
      * GET /api/v1/category-teams/delayed?companyId=1
      */
     @GetMapping("/delayed")
-    public ResponseEntity<Page<CategoryTeam>> getDelayedTasks(
+    public ResponseEntity<Page<CategoryTeamSummaryDTO>> getDelayedTasks(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<CategoryTeam> tasks = categoryTeamService.getDelayedTasks(companyId, pageable);
+        Page<CategoryTeamSummaryDTO> tasks = categoryTeamService.getDelayedTasks(companyId, pageable);
         return ResponseEntity.ok(tasks);
     }
     
@@ -122,14 +149,14 @@ public class CategoryTeamController {
      * GET /api/v1/category-teams/starting-soon?companyId=1&daysAhead=7
      */
     @GetMapping("/starting-soon")
-    public ResponseEntity<Page<CategoryTeam>> getTasksStartingSoon(
+    public ResponseEntity<Page<CategoryTeamSummaryDTO>> getTasksStartingSoon(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "7") int daysAhead,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<CategoryTeam> tasks = categoryTeamService.getTasksStartingSoon(companyId, daysAhead, pageable);
+        Page<CategoryTeamSummaryDTO> tasks = categoryTeamService.getTasksStartingSoon(companyId, daysAhead, pageable);
         return ResponseEntity.ok(tasks);
     }
     
@@ -138,17 +165,32 @@ public class CategoryTeamController {
      * GET /api/v1/category-teams/status/{status}?companyId=1
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<CategoryTeam>> getTasksByStatus(
+    public ResponseEntity<Page<CategoryTeamSummaryDTO>> getTasksByStatus(
             @PathVariable CategoryTeam.TaskStatus status,
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<CategoryTeam> tasks = categoryTeamService.getTasksByStatus(companyId, status, pageable);
+        Page<CategoryTeamSummaryDTO> tasks = categoryTeamService.getTasksByStatus(companyId, status, pageable);
         return ResponseEntity.ok(tasks);
     }
     
+    /**
+     * Get tasks by status most recently updated first by cursor
+     * GET /api/v1/category-teams/status/{status}/cursor?companyId=1&size=20&cursor=...
+     */
+    @GetMapping("/status/{status}/cursor")
+    public ResponseEntity<CursorPageDTO<CategoryTeamSummaryDTO>> getTasksByStatusByCursor(
+            @PathVariable CategoryTeam.TaskStatus status,
+            @RequestParam Long companyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(categoryTeamService.getTasksByStatusByCursor(
+                companyId, status, cursor, Math.max(1, Math.min(size, 100))));
+    }
+    
     /**
      * Count tasks by status for dashboard
      * GET /api/v1/category-teams/count/{status}?companyId=1
@@ -167,13 +209,13 @@ public class CategoryTeamController {
      * GET /api/v1/category-teams/requiring-payment?companyId=1
      */
     @GetMapping("/requiring-payment")
-    public ResponseEntity<Page<CategoryTeam>> getTasksRequiringPayment(
+    public ResponseEntity<Page<CategoryTeamSummaryDTO>> getTasksRequiringPayment(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<CategoryTeam> tasks = categoryTeamService.getTasksRequiringPayment(companyId, pageable);
+        Page<CategoryTeamSummaryDTO> tasks = categoryTeamService.getTasksRequiringPayment(companyId, pageable);
         return ResponseEntity.ok(tasks);
     }
     
@@ -28,7 +28,7 @@ public class PaymentController {
      * GET /api/v1/payments?companyId=1&page=0&size=10&status=PENDING&projectId=1
      */
     @GetMapping
-    public ResponseEntity<Page<Payment>> getPayments(
+    public ResponseEntity<Page<PaymentDetailDTO>> getPayments(
             @RequestParam Long companyId,
             @RequestParam(required = false) Payment.PaymentStatus status,
             @RequestParam(required = false) Long projectId,
@@ -40,7 +40,7 @@ public class PaymentController {
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort);
         
-        Page<Payment> payments;
+        Page<PaymentDetailDTO> payments;
         
         if (status != null) {
             payments = paymentService.getPaymentsByStatus(companyId, status, pageable);
@@ -53,6 +53,19 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
     
+    /**
+     * Get a company's payments newest first by cursor; pass nextCursor from the previous page
+     * GET /api/v1/payments/cursor?companyId=1&size=20&cursor=...
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<PaymentDetailDTO>> getPaymentsByCursor(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(paymentService.getPaymentsByCursor(companyId, cursor, Math.max(1, Math.min(size, 100))));
+    }
+    
     /**
      * Get payment details
      * GET /api/v1/payments/{id}?companyId=1
@@ -123,13 +136,13 @@ public class PaymentController {
      * GET /api/v1/payments/requiring-approval?companyId=1
      */
     @GetMapping("/requiring-approval")
-    public ResponseEntity<Page<Payment>> getPaymentsRequiringApproval(
+    public ResponseEntity<Page<PaymentDetailDTO>> getPaymentsRequiringApproval(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Payment> payments = paymentService.getPaymentsRequiringApproval(companyId, pageable);
+        Page<PaymentDetailDTO> payments = paymentService.getPaymentsRequiringApproval(companyId, pageable);
         return ResponseEntity.ok(payments);
     }
     
@@ -138,16 +151,29 @@ public class PaymentController {
      * GET /api/v1/payments/overdue?companyId=1
      */
     @GetMapping("/overdue")
-    public ResponseEntity<Page<Payment>> getOverduePayments(
+    public ResponseEntity<Page<PaymentDetailDTO>> getOverduePayments(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Payment> payments = paymentService.getOverduePayments(companyId, pageable);
+        Page<PaymentDetailDTO> payments = paymentService.getOverduePayments(companyId, pageable);
         return ResponseEntity.ok(payments);
     }
     
+    /**
+     * Get overdue payments earliest due first by cursor
+     * GET /api/v1/payments/overdue/cursor?companyId=1&size=20&cursor=...
+     */
+    @GetMapping("/overdue/cursor")
+    public ResponseEntity<CursorPageDTO<PaymentDetailDTO>> getOverduePaymentsByCursor(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(paymentService.getOverduePaymentsByCursor(companyId, cursor, Math.max(1, Math.min(size, 100))));
+    }
+    
     /**
      * Approve payment
      * POST /api/v1/payments/{id}/approve?companyId=1
@@ -182,6 +208,30 @@ public class PaymentController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Approve many pending payments by ID list or by filter (projectId, dueBefore, status)
+     * POST /api/v1/payments/bulk/approve?companyId=1
+     */
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<PaymentBulkResultDTO> approvePayments(
+            @RequestParam Long companyId,
+            @Valid @RequestBody PaymentBulkActionDTO action) {
+        
+        return ResponseEntity.ok(paymentService.approvePayments(companyId, action));
+    }
+    
+    /**
+     * Mark many payments paid by ID list or by filter (projectId, dueBefore, status)
+     * POST /api/v1/payments/bulk/paid?companyId=1
+     */
+    @PostMapping("/bulk/paid")
+    public ResponseEntity<PaymentBulkResultDTO> markPaymentsAsPaid(
+            @RequestParam Long companyId,
+            @Valid @RequestBody PaymentBulkActionDTO action) {
+        
+        return ResponseEntity.ok(paymentService.markPaymentsAsPaid(companyId, action));
+    }
+    
     /**
      * Update payment statuses (e.g., mark as overdue)
      * This endpoint would typically be called by a scheduled task
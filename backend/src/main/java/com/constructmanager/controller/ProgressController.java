@@ -1,10 +1,17 @@
 package com.constructmanager.controller;
 
+import com.constructmanager.dto.ProgressBatchResultDTO;
+import com.constructmanager.dto.ProgressBatchUpdateDTO;
+import com.constructmanager.dto.ProgressPropagationStatusDTO;
+import com.constructmanager.dto.ProgressResultDTO;
 import com.constructmanager.entity.Category;
 import com.constructmanager.entity.CategoryTeam;
 import com.constructmanager.entity.Project;
 import com.constructmanager.entity.Unit;
+import com.constructmanager.service.OptimisticRetryExecutor;
+import com.constructmanager.service.ProgressPropagationQueue;
 import com.constructmanager.service.ProgressService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,22 +24,28 @@ public class ProgressController {
     @Autowired
     private ProgressService progressService;
 
+    @Autowired
+    private ProgressPropagationQueue propagationQueue;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
     /**
      * Update project progress based on its units
      * PUT /api/v1/progress/project/{id}
      */
     @PutMapping("/project/{id}")
-    public ResponseEntity<Project> updateProjectProgress(
+    public ResponseEntity<ProgressResultDTO> updateProjectProgress(
             @PathVariable Long id,
             @RequestParam(required = false) Integer progressPercentage) {
         try {
             Project project;
             if (progressPercentage != null) {
-                project = progressService.updateProjectProgress(id, progressPercentage);
+                project = retryExecutor.execute(() -> progressService.updateProjectProgress(id, progressPercentage));
             } else {
-                project = progressService.updateProjectProgress(id);
+                project = retryExecutor.execute(() -> progressService.updateProjectProgress(id));
             }
-            return ResponseEntity.ok(project);
+            return ResponseEntity.ok(new ProgressResultDTO(project.getId(), project.getProgressPercentage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -43,10 +56,10 @@ public class ProgressController {
      * PUT /api/v1/progress/unit/{id}
      */
     @PutMapping("/unit/{id}")
-    public ResponseEntity<Unit> updateUnitProgress(@PathVariable Long id) {
+    public ResponseEntity<ProgressResultDTO> updateUnitProgress(@PathVariable Long id) {
         try {
-            Unit unit = progressService.updateUnitProgress(id);
-            return ResponseEntity.ok(unit);
+            Unit unit = retryExecutor.execute(() -> progressService.updateUnitProgress(id));
+            return ResponseEntity.ok(new ProgressResultDTO(unit.getId(), unit.getProgressPercentage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -57,28 +70,80 @@ public class ProgressController {
      * PUT /api/v1/progress/category/{id}
      */
     @PutMapping("/category/{id}")
-    public ResponseEntity<Category> updateCategoryProgress(@PathVariable Long id) {
+    public ResponseEntity<ProgressResultDTO> updateCategoryProgress(@PathVariable Long id) {
         try {
-            Category category = progressService.updateCategoryProgress(id);
-            return ResponseEntity.ok(category);
+            Category category = retryExecutor.execute(() -> progressService.updateCategoryProgress(id));
+            return ResponseEntity.ok(new ProgressResultDTO(category.getId(), category.getProgressPercentage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     /**
-     * Update category team progress and propagate changes up the hierarchy
+     * Update category team progress and propagate changes up the hierarchy.
+     * In async propagation mode the X-Progress-Version header carries the version
+     * to compare against GET /progress/propagation.
      * PUT /api/v1/progress/category-team/{id}
      */
     @PutMapping("/category-team/{id}")
-    public ResponseEntity<CategoryTeam> updateCategoryTeamProgress(
+    public ResponseEntity<ProgressResultDTO> updateCategoryTeamProgress(
             @PathVariable Long id,
             @RequestParam Integer progressPercentage) {
         try {
-            CategoryTeam categoryTeam = progressService.updateCategoryTeamProgress(id, progressPercentage);
-            return ResponseEntity.ok(categoryTeam);
+            CategoryTeam categoryTeam = retryExecutor.execute(
+                    () -> progressService.updateCategoryTeamProgress(id, progressPercentage));
+            ProgressResultDTO result = new ProgressResultDTO(categoryTeam.getId(), categoryTeam.getProgressPercentage());
+            if (propagationQueue.isEnabled()) {
+                return ResponseEntity.ok()
+                        .header("X-Progress-Version", String.valueOf(propagationQueue.getIssuedVersion()))
+                        .body(result);
+            }
+            return ResponseEntity.ok(result);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Update many category teams at once; each affected category, unit and project
+     * is recomputed only once
+     * PUT /api/v1/progress/category-team/batch
+     */
+    @PutMapping("/category-team/batch")
+    public ResponseEntity<ProgressBatchResultDTO> updateCategoryTeamProgressBatch(
+            @Valid @RequestBody ProgressBatchUpdateDTO batchUpdateDTO) {
+        ProgressBatchResultDTO result = retryExecutor.execute(
+                () -> progressService.updateCategoryTeamProgressBatch(batchUpdateDTO.getUpdates()));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Check whether asynchronous rollups have caught up with a write
+     * GET /api/v1/progress/propagation?version=42&projectId=1
+     */
+    @GetMapping("/propagation")
+    public ResponseEntity<ProgressPropagationStatusDTO> getPropagationStatus(
+            @RequestParam(required = false) Long version,
+            @RequestParam(required = false) Long projectId) {
+        long appliedVersion = propagationQueue.getAppliedVersion();
+        boolean upToDate;
+        if (!propagationQueue.isEnabled()) {
+            upToDate = true;
+        } else if (version != null) {
+            upToDate = appliedVersion >= version;
+        } else if (projectId != null) {
+            upToDate = !propagationQueue.isProjectPending(projectId);
+        } else {
+            upToDate = propagationQueue.isEmpty();
+        }
+
+        return ResponseEntity.ok(new ProgressPropagationStatusDTO(
+                propagationQueue.isEnabled() ? "async" : "sync",
+                propagationQueue.getIssuedVersion(),
+                appliedVersion,
+                propagationQueue.getPendingUnitCount(),
+                propagationQueue.getPendingProjectCount(),
+                upToDate
+        ));
+    }
+}
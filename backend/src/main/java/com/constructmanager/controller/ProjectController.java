@@ -1,21 +1,27 @@
 package com.constructmanager.controller;
 
+import com.constructmanager.dto.ImportResultDTO;
 import com.constructmanager.dto.ProjectDetailDTO;
 import com.constructmanager.dto.ProjectSummaryDTO;
 import com.constructmanager.entity.Project;
+import com.constructmanager.service.HierarchyImportService;
 import com.constructmanager.service.ProjectService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/projects")
@@ -25,12 +31,15 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
     
+    @Autowired
+    private HierarchyImportService hierarchyImportService;
+    
     /**
-     * Get paginated project summaries
-     * GET /api/v1/projects?page=0&size=10&sort=name,asc&status=ACTIVE
+     * Get paginated project summaries; withTotal=false returns a slice without the total count
+     * GET /api/v1/projects?page=0&size=10&sort=name,asc&status=ACTIVE&withTotal=false
      */
     @GetMapping
-    public ResponseEntity<Page<ProjectSummaryDTO>> getProjects(
+    public ResponseEntity<Slice<ProjectSummaryDTO>> getProjects(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -39,27 +48,54 @@ public class ProjectController {
             @RequestParam(required = false) Project.ProjectStatus status,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
         
         // Create pageable with sorting
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort); // Max 100 items per page
         
-        Page<ProjectSummaryDTO> projects;
+        Slice<ProjectSummaryDTO> projects;
         
+        // Search results are ranked pages and always carry their total
         if (search != null && !search.trim().isEmpty()) {
             projects = projectService.searchProjects(companyId, search.trim(), pageable);
         } else if (status != null) {
-            projects = projectService.getProjectSummariesByStatus(companyId, status, pageable);
+            projects = withTotal
+                    ? projectService.getProjectSummariesByStatus(companyId, status, pageable)
+                    : projectService.getProjectSummarySliceByStatus(companyId, status, pageable);
         } else if (startDate != null && endDate != null) {
-            projects = projectService.getProjectsByDateRange(companyId, startDate, endDate, pageable);
+            projects = withTotal
+                    ? projectService.getProjectsByDateRange(companyId, startDate, endDate, pageable)
+                    : projectService.getProjectSliceByDateRange(companyId, startDate, endDate, pageable);
         } else {
-            projects = projectService.getProjectSummaries(companyId, pageable);
+            projects = withTotal
+                    ? projectService.getProjectSummaries(companyId, pageable)
+                    : projectService.getProjectSummarySlice(companyId, pageable);
         }
         
         return ResponseEntity.ok(projects);
     }
     
+    /**
+     * Import units and categories into a project from a CSV (with header) or NDJSON body,
+     * one row per line: unit, unitType, floor, area, category, description, startDate, endDate
+     * POST /api/v1/projects/{id}/import?companyId=1
+     */
+    @PostMapping(value = "/{id}/import", consumes = {"text/csv", "application/x-ndjson", "application/ndjson"})
+    public ResponseEntity<ImportResultDTO> importHierarchy(
+            @PathVariable Long id,
+            @RequestParam Long companyId,
+            HttpServletRequest request) throws IOException {
+        
+        // Media types are case-insensitive; consumes matched "Text/CSV" too
+        String contentType = request.getContentType().toLowerCase(Locale.ROOT);
+        HierarchyImportService.Format format = contentType.startsWith("text/csv")
+                ? HierarchyImportService.Format.CSV
+                : HierarchyImportService.Format.NDJSON;
+        return ResponseEntity.ok(hierarchyImportService.importHierarchy(id, companyId, request.getInputStream(), format));
+    }
+    
     /**
      * Get detailed project information
      * GET /api/v1/projects/{id}
@@ -133,13 +169,13 @@ public class ProjectController {
      * GET /api/v1/projects/delayed
      */
     @GetMapping("/delayed")
-    public ResponseEntity<Page<Project>> getProjectsWithDelayedTasks(
+    public ResponseEntity<Page<ProjectSummaryDTO>> getProjectsWithDelayedTasks(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Project> projects = projectService.getProjectsWithDelayedTasks(companyId, pageable);
+        Page<ProjectSummaryDTO> projects = projectService.getProjectsWithDelayedTasks(companyId, pageable);
         return ResponseEntity.ok(projects);
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.constructmanager.controller;
+
+import com.constructmanager.dto.ProjectScheduleDTO;
+import com.constructmanager.dto.ScheduleEntryDTO;
+import com.constructmanager.dto.WhatIfRequestDTO;
+import com.constructmanager.dto.WhatIfResultDTO;
+import com.constructmanager.service.CriticalPathService;
+import com.constructmanager.service.ScheduleService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/schedule")
+@CrossOrigin(origins = "*")
+public class ScheduleController {
+    
+    @Autowired
+    private ScheduleService scheduleService;
+    
+    @Autowired
+    private CriticalPathService criticalPathService;
+    
+    /**
+     * Get categories and tasks overlapping a date window (a week, a month), in start order
+     * GET /api/v1/schedule/calendar?companyId=1&from=2024-06-01&to=2024-06-30&projectId=2
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<List<ScheduleEntryDTO>> getCalendar(
+            @RequestParam Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long projectId) {
+        
+        return ResponseEntity.ok(scheduleService.getCalendar(companyId, from, to, projectId));
+    }
+    
+    /**
+     * Get a project's early and late dates, float and critical path, optionally listing one unit
+     * GET /api/v1/schedule/projects/{projectId}/critical-path?companyId=1&unitId=3
+     */
+    @GetMapping("/projects/{projectId}/critical-path")
+    public ResponseEntity<ProjectScheduleDTO> getCriticalPath(
+            @PathVariable Long projectId,
+            @RequestParam Long companyId,
+            @RequestParam(required = false) Long unitId) {
+        
+        return ResponseEntity.ok(criticalPathService.getProjectSchedule(projectId, companyId, unitId));
+    }
+    
+    /**
+     * Show what moves if one category of the project slips; nothing is saved
+     * POST /api/v1/schedule/projects/{projectId}/what-if?companyId=1
+     */
+    @PostMapping("/projects/{projectId}/what-if")
+    public ResponseEntity<WhatIfResultDTO> whatIf(
+            @PathVariable Long projectId,
+            @RequestParam Long companyId,
+            @Valid @RequestBody WhatIfRequestDTO dto) {
+        
+        return ResponseEntity.ok(criticalPathService.whatIf(projectId, companyId, dto));
+    }
+}
@@ -0,0 +1,36 @@
+package com.constructmanager.controller;
+
+import com.constructmanager.dto.SearchSuggestionDTO;
+import com.constructmanager.service.TypeaheadIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
+    /**
+     * Quick-search suggestions across projects, units, categories and teams
+     * GET /api/v1/search/suggest?companyId=1&q=elec&limit=10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SearchSuggestionDTO>> suggest(
+            @RequestParam Long companyId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return ResponseEntity.ok(typeaheadIndex.suggest(companyId, q, limit));
+    }
+}
@@ -0,0 +1,137 @@
+package com.constructmanager.controller;
+
+import com.constructmanager.dto.CursorPageDTO;
+import com.constructmanager.dto.TaskCreateDTO;
+import com.constructmanager.dto.TaskSummaryDTO;
+import com.constructmanager.dto.TaskUpdateDTO;
+import com.constructmanager.service.OptimisticRetryExecutor;
+import com.constructmanager.service.TaskService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/tasks")
+@CrossOrigin(origins = "*")
+public class TaskController {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+    
+    /**
+     * Get tasks of a category team
+     * GET /api/v1/tasks?categoryTeamId=1&page=0&size=20
+     */
+    @GetMapping
+    public ResponseEntity<Page<TaskSummaryDTO>> getTasks(
+            @RequestParam Long categoryTeamId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+        return ResponseEntity.ok(taskService.getTasks(categoryTeamId, pageable));
+    }
+    
+    /**
+     * Get open tasks past their due date, earliest due first by cursor
+     * GET /api/v1/tasks/delayed?companyId=1&size=20&cursor=...
+     */
+    @GetMapping("/delayed")
+    public ResponseEntity<CursorPageDTO<TaskSummaryDTO>> getDelayedTasks(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(taskService.getDelayedTasks(companyId, cursor, Math.max(1, Math.min(size, 100))));
+    }
+    
+    /**
+     * Get open tasks due from today to the end of the week by cursor
+     * GET /api/v1/tasks/due-this-week?companyId=1&size=20&cursor=...
+     */
+    @GetMapping("/due-this-week")
+    public ResponseEntity<CursorPageDTO<TaskSummaryDTO>> getTasksDueThisWeek(
+            @RequestParam Long companyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(taskService.getTasksDueThisWeek(companyId, cursor, Math.max(1, Math.min(size, 100))));
+    }
+    
+    /**
+     * Get task by ID
+     * GET /api/v1/tasks/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskSummaryDTO> getTask(@PathVariable Long id) {
+        return taskService.getTask(id)
+                .map(task -> ResponseEntity.ok(task))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Create task
+     * POST /api/v1/tasks
+     */
+    @PostMapping
+    public ResponseEntity<TaskSummaryDTO> createTask(@Valid @RequestBody TaskCreateDTO dto) {
+        try {
+            TaskSummaryDTO created = retryExecutor.execute(() -> taskService.createTask(dto));
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Update task
+     * PUT /api/v1/tasks/{id}
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<TaskSummaryDTO> updateTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskUpdateDTO dto) {
+        
+        try {
+            return ResponseEntity.ok(retryExecutor.execute(() -> taskService.updateTask(id, dto)));
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Mark task as completed
+     * POST /api/v1/tasks/{id}/complete
+     */
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<TaskSummaryDTO> completeTask(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(retryExecutor.execute(() -> taskService.completeTask(id)));
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Delete task
+     * DELETE /api/v1/tasks/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
+        try {
+            boolean deleted = retryExecutor.execute(() -> taskService.deleteTask(id));
+            return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.constructmanager.controller;
 
 import com.constructmanager.dto.*;
-import com.constructmanager.entity.Team;
+import com.constructmanager.service.TeamCapacityService;
+import com.constructmanager.service.TeamConflictService;
 import com.constructmanager.service.TeamService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,10 +10,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -23,12 +26,18 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
     
+    @Autowired
+    private TeamConflictService teamConflictService;
+    
+    @Autowired
+    private TeamCapacityService teamCapacityService;
+    
     /**
      * Get paginated teams for a company
      * GET /api/v1/teams?companyId=1&page=0&size=10&sort=name,asc&specialty=Electrical
      */
     @GetMapping
-    public ResponseEntity<Page<Team>> getTeams(
+    public ResponseEntity<Page<TeamSummaryDTO>> getTeams(
             @RequestParam Long companyId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
@@ -41,7 +50,7 @@ public class TeamController {
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort);
         
-        Page<Team> teams;
+        Page<TeamSummaryDTO> teams;
         
         if (search != null && !search.trim().isEmpty()) {
             teams = teamService.searchTeams(companyId, search.trim(), pageable);
@@ -59,11 +68,63 @@ public class TeamController {
      * GET /api/v1/teams/all?companyId=1
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Team>> getAllActiveTeams(@RequestParam Long companyId) {
-        List<Team> teams = teamService.getAllActiveTeams(companyId);
+    public ResponseEntity<List<TeamSummaryDTO>> getAllActiveTeams(@RequestParam Long companyId) {
+        List<TeamSummaryDTO> teams = teamService.getAllActiveTeams(companyId);
         return ResponseEntity.ok(teams);
     }
     
+    /**
+     * Get double bookings across all teams of a company
+     * GET /api/v1/teams/conflicts?companyId=1
+     */
+    @GetMapping("/conflicts")
+    public ResponseEntity<TeamConflictReportDTO> getCompanyConflicts(@RequestParam Long companyId) {
+        return ResponseEntity.ok(teamConflictService.getCompanyConflicts(companyId));
+    }
+    
+    /**
+     * Get booked working days per team and week across the company's projects
+     * GET /api/v1/teams/capacity?companyId=1&from=2024-01-01&to=2024-12-31&specialty=Electrical
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<TeamCapacityHeatmapDTO> getCapacityHeatmap(
+            @RequestParam Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String specialty) {
+        
+        return ResponseEntity.ok(teamCapacityService.getHeatmap(companyId, from, to, specialty));
+    }
+    
+    /**
+     * Get team weeks booked above a utilization (1.0 = every working day), busiest first
+     * GET /api/v1/teams/capacity/overloads?companyId=1&from=2024-01-01&to=2024-12-31&minUtilization=1.0
+     */
+    @GetMapping("/capacity/overloads")
+    public ResponseEntity<List<TeamOverloadDTO>> getCapacityOverloads(
+            @RequestParam Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1.0") double minUtilization,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        return ResponseEntity.ok(teamCapacityService.getOverloads(companyId, from, to, minUtilization, limit));
+    }
+    
+    /**
+     * Get double bookings of one team
+     * GET /api/v1/teams/{id}/conflicts?companyId=1
+     */
+    @GetMapping("/{id}/conflicts")
+    public ResponseEntity<TeamConflictReportDTO> getTeamConflicts(
+            @PathVariable Long id,
+            @RequestParam Long companyId) {
+        
+        return teamConflictService.getTeamConflicts(id, companyId)
+                .map(report -> ResponseEntity.ok(report))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * Get detailed team information
      * GET /api/v1/teams/{id}?companyId=1
@@ -135,8 +196,8 @@ public class TeamController {
      * GET /api/v1/teams/project/{projectId}
      */
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Team>> getTeamsByProject(@PathVariable Long projectId) {
-        List<Team> teams = teamService.getTeamsByProject(projectId);
+    public ResponseEntity<List<TeamSummaryDTO>> getTeamsByProject(@PathVariable Long projectId) {
+        List<TeamSummaryDTO> teams = teamService.getTeamsByProject(projectId);
         return ResponseEntity.ok(teams);
     }
     
@@ -5,9 +5,9 @@ import com.constructmanager.entity.Unit;
 import com.constructmanager.service.UnitService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,31 +28,37 @@ public class UnitController {
     private UnitService unitService;
 
     /**
-     * Get paginated unit summaries for a project
-     * GET /api/v1/units?projectId=1&page=0&size=10&sort=name,asc&type=VILLA
+     * Get paginated unit summaries for a project; withTotal=false returns a slice without the total count
+     * GET /api/v1/units?projectId=1&page=0&size=10&sort=name,asc&type=VILLA&withTotal=false
      */
     @GetMapping
-    public ResponseEntity<Page<UnitSummaryDTO>> getUnits(
+    public ResponseEntity<Slice<UnitSummaryDTO>> getUnits(
             @RequestParam Long projectId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
             @RequestParam(required = false) Unit.UnitType type,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
 
         // Create pageable with sorting
         Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
         Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort);
 
-        Page<UnitSummaryDTO> units;
+        Slice<UnitSummaryDTO> units;
 
+        // Search results are ranked pages and always carry their total
         if (search != null && !search.trim().isEmpty()) {
             units = unitService.searchUnits(projectId, search.trim(), pageable);
         } else if (type != null) {
-            units = unitService.getUnitSummariesByType(projectId, type, pageable);
+            units = withTotal
+                    ? unitService.getUnitSummariesByType(projectId, type, pageable)
+                    : unitService.getUnitSummarySliceByType(projectId, type, pageable);
         } else {
-            units = unitService.getUnitSummaries(projectId, pageable);
+            units = withTotal
+                    ? unitService.getUnitSummaries(projectId, pageable)
+                    : unitService.getUnitSummarySlice(projectId, pageable);
         }
 
         return ResponseEntity.ok(units);
@@ -0,0 +1,108 @@
+package com.constructmanager.controller;
+
+import com.constructmanager.dto.TemplateApplyDTO;
+import com.constructmanager.dto.TemplateApplyResultDTO;
+import com.constructmanager.dto.UnitTemplateCreateDTO;
+import com.constructmanager.dto.UnitTemplateDTO;
+import com.constructmanager.entity.Unit;
+import com.constructmanager.service.UnitTemplateService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/templates")
+@CrossOrigin(origins = "*")
+public class UnitTemplateController {
+    
+    @Autowired
+    private UnitTemplateService unitTemplateService;
+    
+    /**
+     * Get paginated unit templates
+     * GET /api/v1/templates?companyId=1&page=0&size=20&unitType=APARTMENT
+     */
+    @GetMapping
+    public ResponseEntity<Page<UnitTemplateDTO>> getTemplates(
+            @RequestParam Long companyId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Unit.UnitType unitType) {
+        
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+        return ResponseEntity.ok(unitTemplateService.getTemplates(companyId, unitType, pageable));
+    }
+    
+    /**
+     * Get a template with its categories
+     * GET /api/v1/templates/{id}?companyId=1
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<UnitTemplateDTO> getTemplate(
+            @PathVariable Long id,
+            @RequestParam Long companyId) {
+        
+        return unitTemplateService.getTemplate(id, companyId)
+                .map(template -> ResponseEntity.ok(template))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Create template
+     * POST /api/v1/templates?companyId=1
+     */
+    @PostMapping
+    public ResponseEntity<UnitTemplateDTO> createTemplate(
+            @RequestParam Long companyId,
+            @Valid @RequestBody UnitTemplateCreateDTO request) {
+        
+        UnitTemplateDTO created = unitTemplateService.createTemplate(companyId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+    
+    /**
+     * Replace template contents
+     * PUT /api/v1/templates/{id}?companyId=1
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<UnitTemplateDTO> updateTemplate(
+            @PathVariable Long id,
+            @RequestParam Long companyId,
+            @Valid @RequestBody UnitTemplateCreateDTO request) {
+        
+        return unitTemplateService.updateTemplate(id, companyId, request)
+                .map(template -> ResponseEntity.ok(template))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Delete template
+     * DELETE /api/v1/templates/{id}?companyId=1
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTemplate(
+            @PathVariable Long id,
+            @RequestParam Long companyId) {
+        
+        boolean deleted = unitTemplateService.deleteTemplate(id, companyId);
+        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+    
+    /**
+     * Apply a template to one or many units of a project
+     * POST /api/v1/templates/{id}/apply?companyId=1
+     */
+    @PostMapping("/{id}/apply")
+    public ResponseEntity<TemplateApplyResultDTO> applyTemplate(
+            @PathVariable Long id,
+            @RequestParam Long companyId,
+            @Valid @RequestBody TemplateApplyDTO request) {
+        
+        return ResponseEntity.ok(unitTemplateService.applyTemplate(id, companyId, request));
+    }
+}
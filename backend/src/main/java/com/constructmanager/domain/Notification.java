@@ -1,5 +1,6 @@
 package com.constructmanager.domain;
 
+import com.constructmanager.entity.IdGeneration;
 import com.constructmanager.entity.User;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,13 +8,20 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    // Notification feed newest first, optionally filtered by read state
+    @Index(name = "idx_notification_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_notification_user_read_created", columnList = "user_id, is_read, created_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_ids")
+    @TableGenerator(name = "notification_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "notifications",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
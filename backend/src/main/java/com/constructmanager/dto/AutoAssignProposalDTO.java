@@ -0,0 +1,55 @@
+package com.constructmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Proposed team assignments for unassigned categories; nothing is saved
+ */
+public class AutoAssignProposalDTO {
+    private List<ProposedAssignmentDTO> assignments = new ArrayList<>();
+    private List<TeamLoadDTO> teamLoads = new ArrayList<>();
+    private int categoriesConsidered;
+    // Days a team would be booked twice, on the same project and across projects
+    private long sameProjectOverlapDays;
+    private long crossProjectOverlapDays;
+    private long iterations;
+    private long elapsedMs;
+    
+    // Constructors
+    public AutoAssignProposalDTO() {}
+    
+    public AutoAssignProposalDTO(List<ProposedAssignmentDTO> assignments, List<TeamLoadDTO> teamLoads,
+                                 int categoriesConsidered, long sameProjectOverlapDays,
+                                 long crossProjectOverlapDays, long iterations, long elapsedMs) {
+        this.assignments = assignments;
+        this.teamLoads = teamLoads;
+        this.categoriesConsidered = categoriesConsidered;
+        this.sameProjectOverlapDays = sameProjectOverlapDays;
+        this.crossProjectOverlapDays = crossProjectOverlapDays;
+        this.iterations = iterations;
+        this.elapsedMs = elapsedMs;
+    }
+    
+    // Getters and Setters
+    public List<ProposedAssignmentDTO> getAssignments() { return assignments; }
+    public void setAssignments(List<ProposedAssignmentDTO> assignments) { this.assignments = assignments; }
+    
+    public List<TeamLoadDTO> getTeamLoads() { return teamLoads; }
+    public void setTeamLoads(List<TeamLoadDTO> teamLoads) { this.teamLoads = teamLoads; }
+    
+    public int getCategoriesConsidered() { return categoriesConsidered; }
+    public void setCategoriesConsidered(int categoriesConsidered) { this.categoriesConsidered = categoriesConsidered; }
+    
+    public long getSameProjectOverlapDays() { return sameProjectOverlapDays; }
+    public void setSameProjectOverlapDays(long sameProjectOverlapDays) { this.sameProjectOverlapDays = sameProjectOverlapDays; }
+    
+    public long getCrossProjectOverlapDays() { return crossProjectOverlapDays; }
+    public void setCrossProjectOverlapDays(long crossProjectOverlapDays) { this.crossProjectOverlapDays = crossProjectOverlapDays; }
+    
+    public long getIterations() { return iterations; }
+    public void setIterations(long iterations) { this.iterations = iterations; }
+    
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+}
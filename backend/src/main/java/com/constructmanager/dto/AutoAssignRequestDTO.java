@@ -0,0 +1,30 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Scope and time budget of an auto-assignment run
+ */
+public class AutoAssignRequestDTO {
+    // Only this project's categories; all of the company's when null
+    private Long projectId;
+    
+    // Search time in milliseconds; the configured default when null
+    @Positive
+    private Long timeBudgetMs;
+    
+    // Constructors
+    public AutoAssignRequestDTO() {}
+    
+    public AutoAssignRequestDTO(Long projectId, Long timeBudgetMs) {
+        this.projectId = projectId;
+        this.timeBudgetMs = timeBudgetMs;
+    }
+    
+    // Getters and Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public Long getTimeBudgetMs() { return timeBudgetMs; }
+    public void setTimeBudgetMs(Long timeBudgetMs) { this.timeBudgetMs = timeBudgetMs; }
+}
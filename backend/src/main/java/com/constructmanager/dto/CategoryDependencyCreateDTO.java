@@ -0,0 +1,38 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request to make one category start after another finishes
+ */
+public class CategoryDependencyCreateDTO {
+    @NotNull
+    private Long predecessorCategoryId;
+    @NotNull
+    private Long successorCategoryId;
+    // Days between the predecessor's end and the successor's start; negative to overlap
+    @Min(-365)
+    @Max(365)
+    private Integer lagDays = 0;
+    
+    // Constructors
+    public CategoryDependencyCreateDTO() {}
+    
+    public CategoryDependencyCreateDTO(Long predecessorCategoryId, Long successorCategoryId, Integer lagDays) {
+        this.predecessorCategoryId = predecessorCategoryId;
+        this.successorCategoryId = successorCategoryId;
+        this.lagDays = lagDays;
+    }
+    
+    // Getters and Setters
+    public Long getPredecessorCategoryId() { return predecessorCategoryId; }
+    public void setPredecessorCategoryId(Long predecessorCategoryId) { this.predecessorCategoryId = predecessorCategoryId; }
+    
+    public Long getSuccessorCategoryId() { return successorCategoryId; }
+    public void setSuccessorCategoryId(Long successorCategoryId) { this.successorCategoryId = successorCategoryId; }
+    
+    public Integer getLagDays() { return lagDays; }
+    public void setLagDays(Integer lagDays) { this.lagDays = lagDays; }
+}
@@ -0,0 +1,50 @@
+package com.constructmanager.dto;
+
+/**
+ * Finish-to-start dependency between two categories
+ */
+public class CategoryDependencyDTO {
+    private Long id;
+    private Long predecessorCategoryId;
+    private String predecessorName;
+    private Long successorCategoryId;
+    private String successorName;
+    private Integer lagDays;
+    private Long projectId;
+    
+    // Constructors
+    public CategoryDependencyDTO() {}
+    
+    public CategoryDependencyDTO(Long id, Long predecessorCategoryId, String predecessorName,
+                                 Long successorCategoryId, String successorName, Integer lagDays, Long projectId) {
+        this.id = id;
+        this.predecessorCategoryId = predecessorCategoryId;
+        this.predecessorName = predecessorName;
+        this.successorCategoryId = successorCategoryId;
+        this.successorName = successorName;
+        this.lagDays = lagDays;
+        this.projectId = projectId;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getPredecessorCategoryId() { return predecessorCategoryId; }
+    public void setPredecessorCategoryId(Long predecessorCategoryId) { this.predecessorCategoryId = predecessorCategoryId; }
+    
+    public String getPredecessorName() { return predecessorName; }
+    public void setPredecessorName(String predecessorName) { this.predecessorName = predecessorName; }
+    
+    public Long getSuccessorCategoryId() { return successorCategoryId; }
+    public void setSuccessorCategoryId(Long successorCategoryId) { this.successorCategoryId = successorCategoryId; }
+    
+    public String getSuccessorName() { return successorName; }
+    public void setSuccessorName(String successorName) { this.successorName = successorName; }
+    
+    public Integer getLagDays() { return lagDays; }
+    public void setLagDays(Integer lagDays) { this.lagDays = lagDays; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+}
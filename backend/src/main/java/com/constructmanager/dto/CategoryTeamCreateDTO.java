@@ -19,6 +19,9 @@ public class CategoryTeamCreateDTO {
     @Size(max = 1000, message = "Notes must not exceed 1000 characters")
     private String notes;
     
+    // Assign even when the team is booked at another project on overlapping dates
+    private Boolean allowDoubleBooking = false;
+    
     // Constructors
     public CategoryTeamCreateDTO() {}
     
@@ -36,5 +39,7 @@ public class CategoryTeamCreateDTO {
     public void setPaymentStatus(Boolean paymentStatus) { this.paymentStatus = paymentStatus; }
     
     public String getNotes() { return notes; }
-    public void setNotes(String notes) { this.notes = notes; }
+    public void setNotes(String notes) { this.notes = notes; }    
+    public Boolean getAllowDoubleBooking() { return allowDoubleBooking; }
+    public void setAllowDoubleBooking(Boolean allowDoubleBooking) { this.allowDoubleBooking = allowDoubleBooking; }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Single progress update entry used by batch progress endpoints
+ */
+public class CategoryTeamProgressUpdateDTO {
+    @NotNull(message = "Category team ID is required")
+    private Long categoryTeamId;
+    
+    @NotNull(message = "Progress percentage is required")
+    @Min(value = 0, message = "Progress percentage must be at least 0")
+    @Max(value = 100, message = "Progress percentage must be at most 100")
+    private Integer progressPercentage;
+    
+    // Constructors
+    public CategoryTeamProgressUpdateDTO() {}
+    
+    public CategoryTeamProgressUpdateDTO(Long categoryTeamId, Integer progressPercentage) {
+        this.categoryTeamId = categoryTeamId;
+        this.progressPercentage = progressPercentage;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryTeamId() { return categoryTeamId; }
+    public void setCategoryTeamId(Long categoryTeamId) { this.categoryTeamId = categoryTeamId; }
+    
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+}
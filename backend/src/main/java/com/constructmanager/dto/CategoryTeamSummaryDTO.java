@@ -0,0 +1,101 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.CategoryTeam;
+import com.constructmanager.entity.Unit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Category team assignment with the category schedule and its
+ * project, unit and team, read in a single query
+ */
+public class CategoryTeamSummaryDTO {
+    private Long id;
+    private CategoryTeam.TaskStatus status;
+    private Boolean receptionStatus;
+    private Boolean paymentStatus;
+    private String notes;
+    private Integer progressPercentage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Category schedule
+    private LocalDate startDate;
+    private LocalDate endDate;
+    
+    // Project, unit, category, and team information
+    private ProjectBasicDTO project;
+    private UnitBasicDTO unit;
+    private CategoryBasicDTO category;
+    private TeamBasicDTO team;
+    
+    // Constructors
+    public CategoryTeamSummaryDTO() {}
+    
+    public CategoryTeamSummaryDTO(Long id, CategoryTeam.TaskStatus status, Boolean receptionStatus,
+                                  Boolean paymentStatus, String notes, Integer progressPercentage,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt,
+                                  Long categoryId, String categoryName, LocalDate startDate, LocalDate endDate,
+                                  Long unitId, String unitName, Unit.UnitType unitType,
+                                  Long projectId, String projectName, String projectLocation,
+                                  Long teamId, String teamName, String teamSpecialty, String teamColor) {
+        this.id = id;
+        this.status = status;
+        this.receptionStatus = receptionStatus;
+        this.paymentStatus = paymentStatus;
+        this.notes = notes;
+        this.progressPercentage = progressPercentage;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.category = new CategoryBasicDTO(categoryId, categoryName);
+        this.unit = new UnitBasicDTO(unitId, unitName, unitType);
+        this.project = new ProjectBasicDTO(projectId, projectName, projectLocation);
+        this.team = new TeamBasicDTO(teamId, teamName, teamSpecialty, teamColor);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public CategoryTeam.TaskStatus getStatus() { return status; }
+    public void setStatus(CategoryTeam.TaskStatus status) { this.status = status; }
+    
+    public Boolean getReceptionStatus() { return receptionStatus; }
+    public void setReceptionStatus(Boolean receptionStatus) { this.receptionStatus = receptionStatus; }
+    
+    public Boolean getPaymentStatus() { return paymentStatus; }
+    public void setPaymentStatus(Boolean paymentStatus) { this.paymentStatus = paymentStatus; }
+    
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+    
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public ProjectBasicDTO getProject() { return project; }
+    public void setProject(ProjectBasicDTO project) { this.project = project; }
+    
+    public UnitBasicDTO getUnit() { return unit; }
+    public void setUnit(UnitBasicDTO unit) { this.unit = unit; }
+    
+    public CategoryBasicDTO getCategory() { return category; }
+    public void setCategory(CategoryBasicDTO category) { this.category = category; }
+    
+    public TeamBasicDTO getTeam() { return team; }
+    public void setTeam(TeamBasicDTO team) { this.team = team; }
+}
@@ -18,6 +18,9 @@ public class CategoryTeamUpdateDTO {
     @Max(value = 100, message = "Progress percentage must be at most 100")
     private Integer progressPercentage;
     
+    // Reopen a finished assignment even when the team is booked elsewhere on its dates
+    private Boolean allowDoubleBooking;
+    
     // Constructors
     public CategoryTeamUpdateDTO() {}
     
@@ -35,5 +38,7 @@ public class CategoryTeamUpdateDTO {
     public void setNotes(String notes) { this.notes = notes; }
     
     public Integer getProgressPercentage() { return progressPercentage; }
-    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }    
+    public Boolean getAllowDoubleBooking() { return allowDoubleBooking; }
+    public void setAllowDoubleBooking(Boolean allowDoubleBooking) { this.allowDoubleBooking = allowDoubleBooking; }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.constructmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated list; pass nextCursor back to get the following page
+ */
+public class CursorPageDTO<T> {
+    private List<T> content = new ArrayList<>();
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
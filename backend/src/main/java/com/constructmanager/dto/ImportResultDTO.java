@@ -0,0 +1,39 @@
+package com.constructmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk hierarchy import. Errors list at most the first rejected rows;
+ * abortMessage is set when a write failed and the import stopped after its last committed chunk.
+ */
+public class ImportResultDTO {
+    private Long rowsRead = 0L;
+    private Long rowsRejected = 0L;
+    private Integer unitsCreated = 0;
+    private Integer categoriesCreated = 0;
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private String abortMessage;
+
+    // Constructors
+    public ImportResultDTO() {}
+
+    // Getters and Setters
+    public Long getRowsRead() { return rowsRead; }
+    public void setRowsRead(Long rowsRead) { this.rowsRead = rowsRead; }
+
+    public Long getRowsRejected() { return rowsRejected; }
+    public void setRowsRejected(Long rowsRejected) { this.rowsRejected = rowsRejected; }
+
+    public Integer getUnitsCreated() { return unitsCreated; }
+    public void setUnitsCreated(Integer unitsCreated) { this.unitsCreated = unitsCreated; }
+
+    public Integer getCategoriesCreated() { return categoriesCreated; }
+    public void setCategoriesCreated(Integer categoriesCreated) { this.categoriesCreated = categoriesCreated; }
+
+    public List<ImportRowErrorDTO> getErrors() { return errors; }
+    public void setErrors(List<ImportRowErrorDTO> errors) { this.errors = errors; }
+
+    public String getAbortMessage() { return abortMessage; }
+    public void setAbortMessage(String abortMessage) { this.abortMessage = abortMessage; }
+}
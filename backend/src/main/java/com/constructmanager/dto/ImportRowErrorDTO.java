@@ -0,0 +1,24 @@
+package com.constructmanager.dto;
+
+/**
+ * A rejected import row: its 1-based line number in the upload and the reason
+ */
+public class ImportRowErrorDTO {
+    private Long row;
+    private String message;
+
+    // Constructors
+    public ImportRowErrorDTO() {}
+
+    public ImportRowErrorDTO(Long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getRow() { return row; }
+    public void setRow(Long row) { this.row = row; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,44 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.Payment;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the payments of a bulk approve or mark-paid: either explicit IDs,
+ * or a filter by project, due date and status
+ */
+public class PaymentBulkActionDTO {
+    @Size(max = 10000, message = "A bulk action must not exceed 10000 payment IDs")
+    private List<Long> paymentIds = new ArrayList<>();
+    private Long projectId;
+    private LocalDate dueBefore;
+    private Payment.PaymentStatus status;
+    private String paymentMethod;
+    
+    // Constructors
+    public PaymentBulkActionDTO() {}
+    
+    // Getters and Setters
+    public List<Long> getPaymentIds() { return paymentIds; }
+    public void setPaymentIds(List<Long> paymentIds) { this.paymentIds = paymentIds; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public LocalDate getDueBefore() { return dueBefore; }
+    public void setDueBefore(LocalDate dueBefore) { this.dueBefore = dueBefore; }
+    
+    public Payment.PaymentStatus getStatus() { return status; }
+    public void setStatus(Payment.PaymentStatus status) { this.status = status; }
+    
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+    
+    public boolean hasPaymentIds() {
+        return paymentIds != null && !paymentIds.isEmpty();
+    }
+}
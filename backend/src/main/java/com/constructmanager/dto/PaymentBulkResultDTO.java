@@ -0,0 +1,29 @@
+package com.constructmanager.dto;
+
+/**
+ * Result of a bulk payment action - how many payments and category teams changed
+ */
+public class PaymentBulkResultDTO {
+    private Integer matchedPayments;
+    private Integer updatedPayments;
+    private Integer updatedCategoryTeams;
+    
+    // Constructors
+    public PaymentBulkResultDTO() {}
+    
+    public PaymentBulkResultDTO(Integer matchedPayments, Integer updatedPayments, Integer updatedCategoryTeams) {
+        this.matchedPayments = matchedPayments;
+        this.updatedPayments = updatedPayments;
+        this.updatedCategoryTeams = updatedCategoryTeams;
+    }
+    
+    // Getters and Setters
+    public Integer getMatchedPayments() { return matchedPayments; }
+    public void setMatchedPayments(Integer matchedPayments) { this.matchedPayments = matchedPayments; }
+    
+    public Integer getUpdatedPayments() { return updatedPayments; }
+    public void setUpdatedPayments(Integer updatedPayments) { this.updatedPayments = updatedPayments; }
+    
+    public Integer getUpdatedCategoryTeams() { return updatedCategoryTeams; }
+    public void setUpdatedCategoryTeams(Integer updatedCategoryTeams) { this.updatedCategoryTeams = updatedCategoryTeams; }
+}
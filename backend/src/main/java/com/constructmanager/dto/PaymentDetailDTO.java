@@ -1,6 +1,7 @@
 package com.constructmanager.dto;
 
 import com.constructmanager.entity.Payment;
+import com.constructmanager.entity.Unit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -32,6 +33,34 @@ public class PaymentDetailDTO {
     // Constructors
     public PaymentDetailDTO() {}
     
+    /**
+     * Flat constructor for single-query JPQL projections
+     */
+    public PaymentDetailDTO(Long id, BigDecimal amount, String description, Payment.PaymentStatus status,
+                            LocalDate dueDate, LocalDate paidDate, String invoiceNumber, String paymentMethod,
+                            String notes, LocalDateTime createdAt, LocalDateTime updatedAt, Long categoryTeamId,
+                            Long projectId, String projectName, String projectLocation,
+                            Long unitId, String unitName, Unit.UnitType unitType,
+                            Long categoryId, String categoryName,
+                            Long teamId, String teamName, String teamSpecialty, String teamColor) {
+        this.id = id;
+        this.amount = amount;
+        this.description = description;
+        this.status = status;
+        this.dueDate = dueDate;
+        this.paidDate = paidDate;
+        this.invoiceNumber = invoiceNumber;
+        this.paymentMethod = paymentMethod;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.categoryTeamId = categoryTeamId;
+        this.project = new ProjectBasicDTO(projectId, projectName, projectLocation);
+        this.unit = new UnitBasicDTO(unitId, unitName, unitType);
+        this.category = new CategoryBasicDTO(categoryId, categoryName);
+        this.team = new TeamBasicDTO(teamId, teamName, teamSpecialty, teamColor);
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,44 @@
+package com.constructmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a batch progress update - how many rows were touched at each level
+ */
+public class ProgressBatchResultDTO {
+    private Integer updatedCategoryTeams;
+    private Integer recomputedCategories;
+    private Integer recomputedUnits;
+    private Integer recomputedProjects;
+    private List<Long> missingCategoryTeamIds = new ArrayList<>();
+    
+    // Constructors
+    public ProgressBatchResultDTO() {}
+    
+    public ProgressBatchResultDTO(Integer updatedCategoryTeams, Integer recomputedCategories,
+                                Integer recomputedUnits, Integer recomputedProjects,
+                                List<Long> missingCategoryTeamIds) {
+        this.updatedCategoryTeams = updatedCategoryTeams;
+        this.recomputedCategories = recomputedCategories;
+        this.recomputedUnits = recomputedUnits;
+        this.recomputedProjects = recomputedProjects;
+        this.missingCategoryTeamIds = missingCategoryTeamIds;
+    }
+    
+    // Getters and Setters
+    public Integer getUpdatedCategoryTeams() { return updatedCategoryTeams; }
+    public void setUpdatedCategoryTeams(Integer updatedCategoryTeams) { this.updatedCategoryTeams = updatedCategoryTeams; }
+    
+    public Integer getRecomputedCategories() { return recomputedCategories; }
+    public void setRecomputedCategories(Integer recomputedCategories) { this.recomputedCategories = recomputedCategories; }
+    
+    public Integer getRecomputedUnits() { return recomputedUnits; }
+    public void setRecomputedUnits(Integer recomputedUnits) { this.recomputedUnits = recomputedUnits; }
+    
+    public Integer getRecomputedProjects() { return recomputedProjects; }
+    public void setRecomputedProjects(Integer recomputedProjects) { this.recomputedProjects = recomputedProjects; }
+    
+    public List<Long> getMissingCategoryTeamIds() { return missingCategoryTeamIds; }
+    public void setMissingCategoryTeamIds(List<Long> missingCategoryTeamIds) { this.missingCategoryTeamIds = missingCategoryTeamIds; }
+}
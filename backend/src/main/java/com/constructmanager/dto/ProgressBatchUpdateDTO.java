@@ -0,0 +1,25 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for applying many category team progress updates in one request
+ */
+public class ProgressBatchUpdateDTO {
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 1000, message = "A batch must not exceed 1000 updates")
+    @Valid
+    private List<CategoryTeamProgressUpdateDTO> updates = new ArrayList<>();
+    
+    // Constructors
+    public ProgressBatchUpdateDTO() {}
+    
+    // Getters and Setters
+    public List<CategoryTeamProgressUpdateDTO> getUpdates() { return updates; }
+    public void setUpdates(List<CategoryTeamProgressUpdateDTO> updates) { this.updates = updates; }
+}
@@ -0,0 +1,45 @@
+package com.constructmanager.dto;
+
+/**
+ * Read-your-writes status of asynchronous progress propagation
+ */
+public class ProgressPropagationStatusDTO {
+    private String mode;
+    private Long issuedVersion;
+    private Long appliedVersion;
+    private Integer pendingUnits;
+    private Integer pendingProjects;
+    private Boolean upToDate;
+    
+    // Constructors
+    public ProgressPropagationStatusDTO() {}
+    
+    public ProgressPropagationStatusDTO(String mode, Long issuedVersion, Long appliedVersion,
+                                      Integer pendingUnits, Integer pendingProjects, Boolean upToDate) {
+        this.mode = mode;
+        this.issuedVersion = issuedVersion;
+        this.appliedVersion = appliedVersion;
+        this.pendingUnits = pendingUnits;
+        this.pendingProjects = pendingProjects;
+        this.upToDate = upToDate;
+    }
+    
+    // Getters and Setters
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+    
+    public Long getIssuedVersion() { return issuedVersion; }
+    public void setIssuedVersion(Long issuedVersion) { this.issuedVersion = issuedVersion; }
+    
+    public Long getAppliedVersion() { return appliedVersion; }
+    public void setAppliedVersion(Long appliedVersion) { this.appliedVersion = appliedVersion; }
+    
+    public Integer getPendingUnits() { return pendingUnits; }
+    public void setPendingUnits(Integer pendingUnits) { this.pendingUnits = pendingUnits; }
+    
+    public Integer getPendingProjects() { return pendingProjects; }
+    public void setPendingProjects(Integer pendingProjects) { this.pendingProjects = pendingProjects; }
+    
+    public Boolean getUpToDate() { return upToDate; }
+    public void setUpToDate(Boolean upToDate) { this.upToDate = upToDate; }
+}
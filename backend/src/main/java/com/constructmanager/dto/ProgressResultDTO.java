@@ -0,0 +1,24 @@
+package com.constructmanager.dto;
+
+/**
+ * Progress of a project, unit, category or category team after an update
+ */
+public class ProgressResultDTO {
+    private Long id;
+    private Integer progressPercentage;
+    
+    // Constructors
+    public ProgressResultDTO() {}
+    
+    public ProgressResultDTO(Long id, Integer progressPercentage) {
+        this.id = id;
+        this.progressPercentage = progressPercentage;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+}
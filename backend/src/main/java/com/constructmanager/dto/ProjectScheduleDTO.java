@@ -0,0 +1,69 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critical path schedule of a project
+ */
+public class ProjectScheduleDTO {
+    private Long projectId;
+    private LocalDate startDate;
+    // Latest early finish of any category
+    private LocalDate finishDate;
+    private int categoryCount;
+    // Explicit dependencies; sequence links inside units are not counted
+    private int dependencyCount;
+    // Category IDs with no float, in dependency order
+    private List<Long> criticalPath = new ArrayList<>();
+    private List<UnitScheduleDTO> units = new ArrayList<>();
+    private List<ScheduledCategoryDTO> categories = new ArrayList<>();
+    // Dependencies left out of the schedule because they close a cycle; delete them to resolve it
+    private List<CategoryDependencyDTO> ignoredDependencies = new ArrayList<>();
+    
+    // Constructors
+    public ProjectScheduleDTO() {}
+    
+    public ProjectScheduleDTO(Long projectId, LocalDate startDate, LocalDate finishDate, int categoryCount,
+                              int dependencyCount, List<Long> criticalPath, List<UnitScheduleDTO> units,
+                              List<ScheduledCategoryDTO> categories, List<CategoryDependencyDTO> ignoredDependencies) {
+        this.projectId = projectId;
+        this.startDate = startDate;
+        this.finishDate = finishDate;
+        this.categoryCount = categoryCount;
+        this.dependencyCount = dependencyCount;
+        this.criticalPath = criticalPath;
+        this.units = units;
+        this.categories = categories;
+        this.ignoredDependencies = ignoredDependencies;
+    }
+    
+    // Getters and Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getFinishDate() { return finishDate; }
+    public void setFinishDate(LocalDate finishDate) { this.finishDate = finishDate; }
+    
+    public int getCategoryCount() { return categoryCount; }
+    public void setCategoryCount(int categoryCount) { this.categoryCount = categoryCount; }
+    
+    public int getDependencyCount() { return dependencyCount; }
+    public void setDependencyCount(int dependencyCount) { this.dependencyCount = dependencyCount; }
+    
+    public List<Long> getCriticalPath() { return criticalPath; }
+    public void setCriticalPath(List<Long> criticalPath) { this.criticalPath = criticalPath; }
+    
+    public List<UnitScheduleDTO> getUnits() { return units; }
+    public void setUnits(List<UnitScheduleDTO> units) { this.units = units; }
+    
+    public List<ScheduledCategoryDTO> getCategories() { return categories; }
+    public void setCategories(List<ScheduledCategoryDTO> categories) { this.categories = categories; }
+    
+    public List<CategoryDependencyDTO> getIgnoredDependencies() { return ignoredDependencies; }
+    public void setIgnoredDependencies(List<CategoryDependencyDTO> ignoredDependencies) { this.ignoredDependencies = ignoredDependencies; }
+}
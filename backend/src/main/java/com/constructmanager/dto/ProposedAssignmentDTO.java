@@ -0,0 +1,58 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One team proposed for an unassigned category
+ */
+public class ProposedAssignmentDTO {
+    private Long categoryId;
+    private String categoryName;
+    private Long projectId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long teamId;
+    private String teamName;
+    // False when no team's specialty matched the category and any team was considered
+    private boolean specialtyMatch;
+    
+    // Constructors
+    public ProposedAssignmentDTO() {}
+    
+    public ProposedAssignmentDTO(Long categoryId, String categoryName, Long projectId, LocalDate startDate,
+                                 LocalDate endDate, Long teamId, String teamName, boolean specialtyMatch) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.projectId = projectId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.specialtyMatch = specialtyMatch;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+    
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    
+    public boolean isSpecialtyMatch() { return specialtyMatch; }
+    public void setSpecialtyMatch(boolean specialtyMatch) { this.specialtyMatch = specialtyMatch; }
+}
@@ -0,0 +1,68 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One category range or task due date on the schedule calendar
+ */
+public class ScheduleEntryDTO {
+    private String type;
+    private Long id;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer progressPercentage;
+    private boolean completed;
+    private Long projectId;
+    private Long unitId;
+    private Long categoryTeamId;
+    
+    // Constructors
+    public ScheduleEntryDTO() {}
+    
+    public ScheduleEntryDTO(String type, Long id, String name, LocalDate startDate, LocalDate endDate,
+                            Integer progressPercentage, boolean completed, Long projectId, Long unitId,
+                            Long categoryTeamId) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.progressPercentage = progressPercentage;
+        this.completed = completed;
+        this.projectId = projectId;
+        this.unitId = unitId;
+        this.categoryTeamId = categoryTeamId;
+    }
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+    
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    
+    public Long getCategoryTeamId() { return categoryTeamId; }
+    public void setCategoryTeamId(Long categoryTeamId) { this.categoryTeamId = categoryTeamId; }
+}
@@ -0,0 +1,59 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * How far a category's early dates move in a what-if
+ */
+public class ScheduleShiftDTO {
+    private Long categoryId;
+    private String categoryName;
+    private Long unitId;
+    private LocalDate earlyStartBefore;
+    private LocalDate earlyStartAfter;
+    private LocalDate earlyFinishBefore;
+    private LocalDate earlyFinishAfter;
+    // Days the early finish moves
+    private int shiftDays;
+    
+    // Constructors
+    public ScheduleShiftDTO() {}
+    
+    public ScheduleShiftDTO(Long categoryId, String categoryName, Long unitId, LocalDate earlyStartBefore,
+                            LocalDate earlyStartAfter, LocalDate earlyFinishBefore, LocalDate earlyFinishAfter,
+                            int shiftDays) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.unitId = unitId;
+        this.earlyStartBefore = earlyStartBefore;
+        this.earlyStartAfter = earlyStartAfter;
+        this.earlyFinishBefore = earlyFinishBefore;
+        this.earlyFinishAfter = earlyFinishAfter;
+        this.shiftDays = shiftDays;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    
+    public LocalDate getEarlyStartBefore() { return earlyStartBefore; }
+    public void setEarlyStartBefore(LocalDate earlyStartBefore) { this.earlyStartBefore = earlyStartBefore; }
+    
+    public LocalDate getEarlyStartAfter() { return earlyStartAfter; }
+    public void setEarlyStartAfter(LocalDate earlyStartAfter) { this.earlyStartAfter = earlyStartAfter; }
+    
+    public LocalDate getEarlyFinishBefore() { return earlyFinishBefore; }
+    public void setEarlyFinishBefore(LocalDate earlyFinishBefore) { this.earlyFinishBefore = earlyFinishBefore; }
+    
+    public LocalDate getEarlyFinishAfter() { return earlyFinishAfter; }
+    public void setEarlyFinishAfter(LocalDate earlyFinishAfter) { this.earlyFinishAfter = earlyFinishAfter; }
+    
+    public int getShiftDays() { return shiftDays; }
+    public void setShiftDays(int shiftDays) { this.shiftDays = shiftDays; }
+}
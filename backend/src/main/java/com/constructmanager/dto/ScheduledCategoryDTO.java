@@ -0,0 +1,74 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A category's planned, early and late dates in the project schedule
+ */
+public class ScheduledCategoryDTO {
+    private Long categoryId;
+    private String categoryName;
+    private Long unitId;
+    private LocalDate plannedStart;
+    private LocalDate plannedEnd;
+    private LocalDate earlyStart;
+    private LocalDate earlyFinish;
+    private LocalDate lateStart;
+    private LocalDate lateFinish;
+    // Days the category can slip without moving the project finish
+    private int totalFloat;
+    private boolean critical;
+    
+    // Constructors
+    public ScheduledCategoryDTO() {}
+    
+    public ScheduledCategoryDTO(Long categoryId, String categoryName, Long unitId, LocalDate plannedStart,
+                                LocalDate plannedEnd, LocalDate earlyStart, LocalDate earlyFinish,
+                                LocalDate lateStart, LocalDate lateFinish, int totalFloat, boolean critical) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.unitId = unitId;
+        this.plannedStart = plannedStart;
+        this.plannedEnd = plannedEnd;
+        this.earlyStart = earlyStart;
+        this.earlyFinish = earlyFinish;
+        this.lateStart = lateStart;
+        this.lateFinish = lateFinish;
+        this.totalFloat = totalFloat;
+        this.critical = critical;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    
+    public LocalDate getPlannedStart() { return plannedStart; }
+    public void setPlannedStart(LocalDate plannedStart) { this.plannedStart = plannedStart; }
+    
+    public LocalDate getPlannedEnd() { return plannedEnd; }
+    public void setPlannedEnd(LocalDate plannedEnd) { this.plannedEnd = plannedEnd; }
+    
+    public LocalDate getEarlyStart() { return earlyStart; }
+    public void setEarlyStart(LocalDate earlyStart) { this.earlyStart = earlyStart; }
+    
+    public LocalDate getEarlyFinish() { return earlyFinish; }
+    public void setEarlyFinish(LocalDate earlyFinish) { this.earlyFinish = earlyFinish; }
+    
+    public LocalDate getLateStart() { return lateStart; }
+    public void setLateStart(LocalDate lateStart) { this.lateStart = lateStart; }
+    
+    public LocalDate getLateFinish() { return lateFinish; }
+    public void setLateFinish(LocalDate lateFinish) { this.lateFinish = lateFinish; }
+    
+    public int getTotalFloat() { return totalFloat; }
+    public void setTotalFloat(int totalFloat) { this.totalFloat = totalFloat; }
+    
+    public boolean isCritical() { return critical; }
+    public void setCritical(boolean critical) { this.critical = critical; }
+}
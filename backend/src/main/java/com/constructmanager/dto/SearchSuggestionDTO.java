@@ -0,0 +1,39 @@
+package com.constructmanager.dto;
+
+/**
+ * One quick-search hit; projectId/unitId locate units and categories for navigation
+ */
+public class SearchSuggestionDTO {
+    private String type;
+    private Long id;
+    private String name;
+    private Long projectId;
+    private Long unitId;
+
+    // Constructors
+    public SearchSuggestionDTO() {}
+
+    public SearchSuggestionDTO(String type, Long id, String name, Long projectId, Long unitId) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.projectId = projectId;
+        this.unitId = unitId;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+}
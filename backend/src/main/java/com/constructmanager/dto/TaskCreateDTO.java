@@ -0,0 +1,45 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.Task;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for creating a task under a category team
+ */
+public class TaskCreateDTO {
+    @NotBlank(message = "Task name is required")
+    @Size(max = 255, message = "Task name must not exceed 255 characters")
+    private String name;
+    
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+    
+    private Task.TaskStatus status;
+    private LocalDate dueDate;
+    
+    @NotNull(message = "Category team ID is required")
+    private Long categoryTeamId;
+    
+    // Constructors
+    public TaskCreateDTO() {}
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Task.TaskStatus getStatus() { return status; }
+    public void setStatus(Task.TaskStatus status) { this.status = status; }
+    
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+    
+    public Long getCategoryTeamId() { return categoryTeamId; }
+    public void setCategoryTeamId(Long categoryTeamId) { this.categoryTeamId = categoryTeamId; }
+}
@@ -15,6 +15,7 @@ public class TaskSummaryDTO {
     private LocalDate dueDate;
     private LocalDate completedDate;
     private Integer progressPercentage;
+    private Long categoryTeamId;
     
     // Constructors
     public TaskSummaryDTO() {}
@@ -30,6 +31,12 @@ public class TaskSummaryDTO {
         this.progressPercentage = progressPercentage;
     }
     
+    public TaskSummaryDTO(Long id, String name, String description, Task.TaskStatus status, 
+                         LocalDate dueDate, LocalDate completedDate, Integer progressPercentage, Long categoryTeamId) {
+        this(id, name, description, status, dueDate, completedDate, progressPercentage);
+        this.categoryTeamId = categoryTeamId;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -51,4 +58,7 @@ public class TaskSummaryDTO {
     
     public Integer getProgressPercentage() { return progressPercentage; }
     public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+    
+    public Long getCategoryTeamId() { return categoryTeamId; }
+    public void setCategoryTeamId(Long categoryTeamId) { this.categoryTeamId = categoryTeamId; }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.Task;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for updating a task; null fields are left unchanged
+ */
+public class TaskUpdateDTO {
+    @Size(max = 255, message = "Task name must not exceed 255 characters")
+    private String name;
+    
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+    
+    private Task.TaskStatus status;
+    private LocalDate dueDate;
+    private LocalDate completedDate;
+    
+    @Min(value = 0, message = "Progress percentage must be at least 0")
+    @Max(value = 100, message = "Progress percentage must be at most 100")
+    private Integer progressPercentage;
+    
+    // Constructors
+    public TaskUpdateDTO() {}
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Task.TaskStatus getStatus() { return status; }
+    public void setStatus(Task.TaskStatus status) { this.status = status; }
+    
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+    
+    public LocalDate getCompletedDate() { return completedDate; }
+    public void setCompletedDate(LocalDate completedDate) { this.completedDate = completedDate; }
+    
+    public Integer getProgressPercentage() { return progressPercentage; }
+    public void setProgressPercentage(Integer progressPercentage) { this.progressPercentage = progressPercentage; }
+}
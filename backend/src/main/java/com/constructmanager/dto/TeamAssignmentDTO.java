@@ -0,0 +1,80 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.CategoryTeam;
+
+import java.time.LocalDate;
+
+/**
+ * A team's assignment to a category, with the category's dates and site, for conflict checks
+ */
+public class TeamAssignmentDTO {
+    private Long categoryTeamId;
+    private CategoryTeam.TaskStatus status;
+    private Long teamId;
+    private String teamName;
+    private Long categoryId;
+    private String categoryName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long unitId;
+    private String unitName;
+    private Long projectId;
+    private String projectName;
+    
+    // Constructors
+    public TeamAssignmentDTO() {}
+    
+    public TeamAssignmentDTO(Long categoryTeamId, CategoryTeam.TaskStatus status, Long teamId, String teamName,
+                             Long categoryId, String categoryName, LocalDate startDate, LocalDate endDate,
+                             Long unitId, String unitName, Long projectId, String projectName) {
+        this.categoryTeamId = categoryTeamId;
+        this.status = status;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.unitId = unitId;
+        this.unitName = unitName;
+        this.projectId = projectId;
+        this.projectName = projectName;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryTeamId() { return categoryTeamId; }
+    public void setCategoryTeamId(Long categoryTeamId) { this.categoryTeamId = categoryTeamId; }
+    
+    public CategoryTeam.TaskStatus getStatus() { return status; }
+    public void setStatus(CategoryTeam.TaskStatus status) { this.status = status; }
+    
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+    
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    
+    public String getUnitName() { return unitName; }
+    public void setUnitName(String unitName) { this.unitName = unitName; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public String getProjectName() { return projectName; }
+    public void setProjectName(String projectName) { this.projectName = projectName; }
+}
@@ -0,0 +1,35 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booked working days per team and week across a company's projects
+ */
+public class TeamCapacityHeatmapDTO {
+    // Monday of each week
+    private List<LocalDate> weekStarts = new ArrayList<>();
+    private int capacityDaysPerWeek;
+    private List<TeamCapacityRowDTO> teams = new ArrayList<>();
+    
+    // Constructors
+    public TeamCapacityHeatmapDTO() {}
+    
+    public TeamCapacityHeatmapDTO(List<LocalDate> weekStarts, int capacityDaysPerWeek,
+                                  List<TeamCapacityRowDTO> teams) {
+        this.weekStarts = weekStarts;
+        this.capacityDaysPerWeek = capacityDaysPerWeek;
+        this.teams = teams;
+    }
+    
+    // Getters and Setters
+    public List<LocalDate> getWeekStarts() { return weekStarts; }
+    public void setWeekStarts(List<LocalDate> weekStarts) { this.weekStarts = weekStarts; }
+    
+    public int getCapacityDaysPerWeek() { return capacityDaysPerWeek; }
+    public void setCapacityDaysPerWeek(int capacityDaysPerWeek) { this.capacityDaysPerWeek = capacityDaysPerWeek; }
+    
+    public List<TeamCapacityRowDTO> getTeams() { return teams; }
+    public void setTeams(List<TeamCapacityRowDTO> teams) { this.teams = teams; }
+}
@@ -0,0 +1,52 @@
+package com.constructmanager.dto;
+
+/**
+ * One team's booked working days per week of a capacity heatmap
+ */
+public class TeamCapacityRowDTO {
+    private Long teamId;
+    private String teamName;
+    private String specialty;
+    // One value per week of the heatmap, in week order
+    private int[] bookedDays;
+    // Booked days over capacity days; above 1 the team is booked on parallel categories
+    private double peakUtilization;
+    private double averageUtilization;
+    private int overloadedWeeks;
+    
+    // Constructors
+    public TeamCapacityRowDTO() {}
+    
+    public TeamCapacityRowDTO(Long teamId, String teamName, String specialty, int[] bookedDays,
+                              double peakUtilization, double averageUtilization, int overloadedWeeks) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.specialty = specialty;
+        this.bookedDays = bookedDays;
+        this.peakUtilization = peakUtilization;
+        this.averageUtilization = averageUtilization;
+        this.overloadedWeeks = overloadedWeeks;
+    }
+    
+    // Getters and Setters
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+    
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    
+    public String getSpecialty() { return specialty; }
+    public void setSpecialty(String specialty) { this.specialty = specialty; }
+    
+    public int[] getBookedDays() { return bookedDays; }
+    public void setBookedDays(int[] bookedDays) { this.bookedDays = bookedDays; }
+    
+    public double getPeakUtilization() { return peakUtilization; }
+    public void setPeakUtilization(double peakUtilization) { this.peakUtilization = peakUtilization; }
+    
+    public double getAverageUtilization() { return averageUtilization; }
+    public void setAverageUtilization(double averageUtilization) { this.averageUtilization = averageUtilization; }
+    
+    public int getOverloadedWeeks() { return overloadedWeeks; }
+    public void setOverloadedWeeks(int overloadedWeeks) { this.overloadedWeeks = overloadedWeeks; }
+}
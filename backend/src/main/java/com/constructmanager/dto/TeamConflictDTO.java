@@ -0,0 +1,46 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Two assignments of one team on different projects whose dates overlap
+ */
+public class TeamConflictDTO {
+    private Long teamId;
+    private String teamName;
+    private TeamAssignmentDTO first;
+    private TeamAssignmentDTO second;
+    private LocalDate overlapStart;
+    private LocalDate overlapEnd;
+    
+    // Constructors
+    public TeamConflictDTO() {}
+    
+    public TeamConflictDTO(TeamAssignmentDTO first, TeamAssignmentDTO second) {
+        this.teamId = first.getTeamId();
+        this.teamName = first.getTeamName();
+        this.first = first;
+        this.second = second;
+        this.overlapStart = first.getStartDate().isAfter(second.getStartDate()) ? first.getStartDate() : second.getStartDate();
+        this.overlapEnd = first.getEndDate().isBefore(second.getEndDate()) ? first.getEndDate() : second.getEndDate();
+    }
+    
+    // Getters and Setters
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+    
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    
+    public TeamAssignmentDTO getFirst() { return first; }
+    public void setFirst(TeamAssignmentDTO first) { this.first = first; }
+    
+    public TeamAssignmentDTO getSecond() { return second; }
+    public void setSecond(TeamAssignmentDTO second) { this.second = second; }
+    
+    public LocalDate getOverlapStart() { return overlapStart; }
+    public void setOverlapStart(LocalDate overlapStart) { this.overlapStart = overlapStart; }
+    
+    public LocalDate getOverlapEnd() { return overlapEnd; }
+    public void setOverlapEnd(LocalDate overlapEnd) { this.overlapEnd = overlapEnd; }
+}
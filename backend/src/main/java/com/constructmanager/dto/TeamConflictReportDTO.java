@@ -0,0 +1,38 @@
+package com.constructmanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Double bookings found across a company's teams
+ */
+public class TeamConflictReportDTO {
+    private int teamsChecked;
+    private int assignmentsChecked;
+    private List<TeamConflictDTO> conflicts = new ArrayList<>();
+    // More conflicts exist than are listed
+    private boolean truncated;
+    
+    // Constructors
+    public TeamConflictReportDTO() {}
+    
+    public TeamConflictReportDTO(int teamsChecked, int assignmentsChecked, List<TeamConflictDTO> conflicts, boolean truncated) {
+        this.teamsChecked = teamsChecked;
+        this.assignmentsChecked = assignmentsChecked;
+        this.conflicts = conflicts;
+        this.truncated = truncated;
+    }
+    
+    // Getters and Setters
+    public int getTeamsChecked() { return teamsChecked; }
+    public void setTeamsChecked(int teamsChecked) { this.teamsChecked = teamsChecked; }
+    
+    public int getAssignmentsChecked() { return assignmentsChecked; }
+    public void setAssignmentsChecked(int assignmentsChecked) { this.assignmentsChecked = assignmentsChecked; }
+    
+    public List<TeamConflictDTO> getConflicts() { return conflicts; }
+    public void setConflicts(List<TeamConflictDTO> conflicts) { this.conflicts = conflicts; }
+    
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+}
@@ -0,0 +1,39 @@
+package com.constructmanager.dto;
+
+/**
+ * A team's booked days under an auto-assignment proposal, existing assignments included
+ */
+public class TeamLoadDTO {
+    private Long teamId;
+    private String teamName;
+    private String specialty;
+    private int proposedCategories;
+    private long loadDays;
+    
+    // Constructors
+    public TeamLoadDTO() {}
+    
+    public TeamLoadDTO(Long teamId, String teamName, String specialty, int proposedCategories, long loadDays) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.specialty = specialty;
+        this.proposedCategories = proposedCategories;
+        this.loadDays = loadDays;
+    }
+    
+    // Getters and Setters
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+    
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    
+    public String getSpecialty() { return specialty; }
+    public void setSpecialty(String specialty) { this.specialty = specialty; }
+    
+    public int getProposedCategories() { return proposedCategories; }
+    public void setProposedCategories(int proposedCategories) { this.proposedCategories = proposedCategories; }
+    
+    public long getLoadDays() { return loadDays; }
+    public void setLoadDays(long loadDays) { this.loadDays = loadDays; }
+}
@@ -0,0 +1,47 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A week in which a team is booked beyond a utilization threshold
+ */
+public class TeamOverloadDTO {
+    private Long teamId;
+    private String teamName;
+    private LocalDate weekStart;
+    private int bookedDays;
+    private int capacityDays;
+    private double utilization;
+    
+    // Constructors
+    public TeamOverloadDTO() {}
+    
+    public TeamOverloadDTO(Long teamId, String teamName, LocalDate weekStart, int bookedDays, int capacityDays,
+                           double utilization) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.weekStart = weekStart;
+        this.bookedDays = bookedDays;
+        this.capacityDays = capacityDays;
+        this.utilization = utilization;
+    }
+    
+    // Getters and Setters
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+    
+    public String getTeamName() { return teamName; }
+    public void setTeamName(String teamName) { this.teamName = teamName; }
+    
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+    
+    public int getBookedDays() { return bookedDays; }
+    public void setBookedDays(int bookedDays) { this.bookedDays = bookedDays; }
+    
+    public int getCapacityDays() { return capacityDays; }
+    public void setCapacityDays(int capacityDays) { this.capacityDays = capacityDays; }
+    
+    public double getUtilization() { return utilization; }
+    public void setUtilization(double utilization) { this.utilization = utilization; }
+}
@@ -0,0 +1,52 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Team fields shown in team lists and dropdowns
+ */
+public class TeamSummaryDTO {
+    private Long id;
+    private String name;
+    private String specialty;
+    private String color;
+    private String description;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public TeamSummaryDTO() {}
+    
+    public TeamSummaryDTO(Long id, String name, String specialty, String color,
+                          String description, Boolean isActive, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.specialty = specialty;
+        this.color = color;
+        this.description = description;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getSpecialty() { return specialty; }
+    public void setSpecialty(String specialty) { this.specialty = specialty; }
+    
+    public String getColor() { return color; }
+    public void setColor(String color) { this.color = color; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,41 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Units of one project to apply a template to; startDate anchors the category offsets
+ * and defaults to the project's start date
+ */
+public class TemplateApplyDTO {
+    @NotNull(message = "Project ID is required")
+    private Long projectId;
+    
+    // Single unit, as sent by the unit screen; merged with unitIds
+    private Long unitId;
+    
+    @Size(max = 2000, message = "A template can be applied to at most 2000 units at once")
+    private List<Long> unitIds = new ArrayList<>();
+    
+    private LocalDate startDate;
+    
+    // Constructors
+    public TemplateApplyDTO() {}
+    
+    // Getters and Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    
+    public List<Long> getUnitIds() { return unitIds; }
+    public void setUnitIds(List<Long> unitIds) { this.unitIds = unitIds; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+}
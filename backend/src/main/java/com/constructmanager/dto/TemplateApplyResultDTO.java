@@ -0,0 +1,24 @@
+package com.constructmanager.dto;
+
+/**
+ * Result of applying a template - units that received categories and categories created
+ */
+public class TemplateApplyResultDTO {
+    private Integer unitsUpdated;
+    private Integer categoriesCreated;
+    
+    // Constructors
+    public TemplateApplyResultDTO() {}
+    
+    public TemplateApplyResultDTO(Integer unitsUpdated, Integer categoriesCreated) {
+        this.unitsUpdated = unitsUpdated;
+        this.categoriesCreated = categoriesCreated;
+    }
+    
+    // Getters and Setters
+    public Integer getUnitsUpdated() { return unitsUpdated; }
+    public void setUnitsUpdated(Integer unitsUpdated) { this.unitsUpdated = unitsUpdated; }
+    
+    public Integer getCategoriesCreated() { return categoriesCreated; }
+    public void setCategoriesCreated(Integer categoriesCreated) { this.categoriesCreated = categoriesCreated; }
+}
@@ -0,0 +1,62 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One category of a unit template; offsets are days from the start date the template is applied with
+ */
+public class TemplateCategoryDTO {
+    private Long id;
+    
+    @NotBlank(message = "Category name is required")
+    @Size(max = 255, message = "Category name must not exceed 255 characters")
+    private String name;
+    
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+    
+    private Integer orderSequence;
+    
+    @NotNull(message = "Start offset is required")
+    @Min(value = 0, message = "Start offset must not be negative")
+    private Integer startOffsetDays;
+    
+    @NotNull(message = "End offset is required")
+    @Min(value = 0, message = "End offset must not be negative")
+    private Integer endOffsetDays;
+    
+    // Constructors
+    public TemplateCategoryDTO() {}
+    
+    public TemplateCategoryDTO(Long id, String name, String description, Integer orderSequence,
+                               Integer startOffsetDays, Integer endOffsetDays) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.orderSequence = orderSequence;
+        this.startOffsetDays = startOffsetDays;
+        this.endOffsetDays = endOffsetDays;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Integer getOrderSequence() { return orderSequence; }
+    public void setOrderSequence(Integer orderSequence) { this.orderSequence = orderSequence; }
+    
+    public Integer getStartOffsetDays() { return startOffsetDays; }
+    public void setStartOffsetDays(Integer startOffsetDays) { this.startOffsetDays = startOffsetDays; }
+    
+    public Integer getEndOffsetDays() { return endOffsetDays; }
+    public void setEndOffsetDays(Integer endOffsetDays) { this.endOffsetDays = endOffsetDays; }
+}
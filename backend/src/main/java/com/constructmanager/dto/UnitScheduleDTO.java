@@ -0,0 +1,48 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A unit's span in the project schedule and how far it can slip
+ */
+public class UnitScheduleDTO {
+    private Long unitId;
+    private String unitName;
+    private LocalDate earlyStart;
+    private LocalDate earlyFinish;
+    // Least float of the unit's categories
+    private int totalFloat;
+    private boolean critical;
+    
+    // Constructors
+    public UnitScheduleDTO() {}
+    
+    public UnitScheduleDTO(Long unitId, String unitName, LocalDate earlyStart, LocalDate earlyFinish,
+                           int totalFloat, boolean critical) {
+        this.unitId = unitId;
+        this.unitName = unitName;
+        this.earlyStart = earlyStart;
+        this.earlyFinish = earlyFinish;
+        this.totalFloat = totalFloat;
+        this.critical = critical;
+    }
+    
+    // Getters and Setters
+    public Long getUnitId() { return unitId; }
+    public void setUnitId(Long unitId) { this.unitId = unitId; }
+    
+    public String getUnitName() { return unitName; }
+    public void setUnitName(String unitName) { this.unitName = unitName; }
+    
+    public LocalDate getEarlyStart() { return earlyStart; }
+    public void setEarlyStart(LocalDate earlyStart) { this.earlyStart = earlyStart; }
+    
+    public LocalDate getEarlyFinish() { return earlyFinish; }
+    public void setEarlyFinish(LocalDate earlyFinish) { this.earlyFinish = earlyFinish; }
+    
+    public int getTotalFloat() { return totalFloat; }
+    public void setTotalFloat(int totalFloat) { this.totalFloat = totalFloat; }
+    
+    public boolean isCritical() { return critical; }
+    public void setCritical(boolean critical) { this.critical = critical; }
+}
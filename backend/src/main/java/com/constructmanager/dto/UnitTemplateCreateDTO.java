@@ -0,0 +1,45 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.Unit;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for creating a unit template or replacing one's contents
+ */
+public class UnitTemplateCreateDTO {
+    @NotBlank(message = "Template name is required")
+    @Size(max = 255, message = "Template name must not exceed 255 characters")
+    private String name;
+    
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+    
+    private Unit.UnitType unitType;
+    
+    @NotEmpty(message = "At least one category is required")
+    @Size(max = 500, message = "A template must not exceed 500 categories")
+    @Valid
+    private List<TemplateCategoryDTO> categories = new ArrayList<>();
+    
+    // Constructors
+    public UnitTemplateCreateDTO() {}
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Unit.UnitType getUnitType() { return unitType; }
+    public void setUnitType(Unit.UnitType unitType) { this.unitType = unitType; }
+    
+    public List<TemplateCategoryDTO> getCategories() { return categories; }
+    public void setCategories(List<TemplateCategoryDTO> categories) { this.categories = categories; }
+}
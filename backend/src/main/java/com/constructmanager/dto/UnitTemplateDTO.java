@@ -0,0 +1,50 @@
+package com.constructmanager.dto;
+
+import com.constructmanager.entity.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit template with its categories in application order
+ */
+public class UnitTemplateDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private Unit.UnitType unitType;
+    private Long companyId;
+    private List<TemplateCategoryDTO> categories = new ArrayList<>();
+    
+    // Constructors
+    public UnitTemplateDTO() {}
+    
+    public UnitTemplateDTO(Long id, String name, String description, Unit.UnitType unitType, Long companyId,
+                           List<TemplateCategoryDTO> categories) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.unitType = unitType;
+        this.companyId = companyId;
+        this.categories = categories;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Unit.UnitType getUnitType() { return unitType; }
+    public void setUnitType(Unit.UnitType unitType) { this.unitType = unitType; }
+    
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
+    public List<TemplateCategoryDTO> getCategories() { return categories; }
+    public void setCategories(List<TemplateCategoryDTO> categories) { this.categories = categories; }
+}
@@ -0,0 +1,33 @@
+package com.constructmanager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A category and how many days longer it takes
+ */
+public class WhatIfRequestDTO {
+    @NotNull
+    private Long categoryId;
+    // Negative when the category finishes early
+    @NotNull
+    @Min(-3650)
+    @Max(3650)
+    private Integer delayDays;
+    
+    // Constructors
+    public WhatIfRequestDTO() {}
+    
+    public WhatIfRequestDTO(Long categoryId, Integer delayDays) {
+        this.categoryId = categoryId;
+        this.delayDays = delayDays;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public Integer getDelayDays() { return delayDays; }
+    public void setDelayDays(Integer delayDays) { this.delayDays = delayDays; }
+}
@@ -0,0 +1,55 @@
+package com.constructmanager.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Categories and project finish moved by delaying one category; nothing is saved
+ */
+public class WhatIfResultDTO {
+    private Long categoryId;
+    private int delayDays;
+    private LocalDate finishBefore;
+    private LocalDate finishAfter;
+    private int projectDelayDays;
+    private List<ScheduleShiftDTO> shifts = new ArrayList<>();
+    // Downstream categories re-derived to answer the question
+    private int recomputedCategories;
+    
+    // Constructors
+    public WhatIfResultDTO() {}
+    
+    public WhatIfResultDTO(Long categoryId, int delayDays, LocalDate finishBefore, LocalDate finishAfter,
+                           int projectDelayDays, List<ScheduleShiftDTO> shifts, int recomputedCategories) {
+        this.categoryId = categoryId;
+        this.delayDays = delayDays;
+        this.finishBefore = finishBefore;
+        this.finishAfter = finishAfter;
+        this.projectDelayDays = projectDelayDays;
+        this.shifts = shifts;
+        this.recomputedCategories = recomputedCategories;
+    }
+    
+    // Getters and Setters
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+    
+    public int getDelayDays() { return delayDays; }
+    public void setDelayDays(int delayDays) { this.delayDays = delayDays; }
+    
+    public LocalDate getFinishBefore() { return finishBefore; }
+    public void setFinishBefore(LocalDate finishBefore) { this.finishBefore = finishBefore; }
+    
+    public LocalDate getFinishAfter() { return finishAfter; }
+    public void setFinishAfter(LocalDate finishAfter) { this.finishAfter = finishAfter; }
+    
+    public int getProjectDelayDays() { return projectDelayDays; }
+    public void setProjectDelayDays(int projectDelayDays) { this.projectDelayDays = projectDelayDays; }
+    
+    public List<ScheduleShiftDTO> getShifts() { return shifts; }
+    public void setShifts(List<ScheduleShiftDTO> shifts) { this.shifts = shifts; }
+    
+    public int getRecomputedCategories() { return recomputedCategories; }
+    public void setRecomputedCategories(int recomputedCategories) { this.recomputedCategories = recomputedCategories; }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,10 +17,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories", indexes = {
-    @Index(name = "idx_category_unit", columnList = "unit_id"),
-    @Index(name = "idx_category_order", columnList = "order_sequence"),
-    @Index(name = "idx_category_dates", columnList = "start_date, end_date")
+    // Categories of a unit in sequence order, and the next sequence number
+    @Index(name = "idx_category_unit_order", columnList = "unit_id, order_sequence"),
+    // Starting soon / overdue alerts per tenant
+    @Index(name = "idx_category_company_start", columnList = "company_id, start_date"),
+    @Index(name = "idx_category_company_end", columnList = "company_id, end_date"),
+    // Category and completed-category counts per project
+    @Index(name = "idx_category_project_progress", columnList = "project_id, progress_percentage")
 })
+// Category detail view: assignments with their team; tasks are a second bag and load in batches
+@NamedEntityGraph(name = "Category.detail",
+    attributeNodes = @NamedAttributeNode(value = "categoryTeams", subgraph = "categoryTeams"),
+    subgraphs = @NamedSubgraph(name = "categoryTeams", attributeNodes = @NamedAttributeNode("team")))
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @com.fasterxml.jackson.annotation.JsonIdentityInfo(
     generator = com.fasterxml.jackson.annotation.ObjectIdGenerators.PropertyGenerator.class,
@@ -28,7 +37,10 @@ import java.util.List;
 public class Category {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_ids")
+    @TableGenerator(name = "category_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "categories",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank
@@ -61,6 +73,19 @@ public class Category {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic locking
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    // Denormalized tenant and project keys, filled from the parent chain on write
+    @Column(name = "company_id")
+    private Long companyId;
+    
+    @Column(name = "project_id")
+    private Long projectId;
+    
     // Many-to-One with lazy loading
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "unit_id", nullable = false)
@@ -110,9 +135,28 @@ public class Category {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
     public Unit getUnit() { return unit; }
     public void setUnit(Unit unit) { this.unit = unit; }
     
     public List<CategoryTeam> getCategoryTeams() { return categoryTeams; }
     public void setCategoryTeams(List<CategoryTeam> categoryTeams) { this.categoryTeams = categoryTeams; }
+    
+    @PrePersist
+    @PreUpdate
+    void fillTenantKeys() {
+        if ((companyId == null || projectId == null) && unit != null) {
+            Project project = unit.getProject();
+            projectId = project.getId();
+            companyId = project.getCompany().getId();
+        }
+    }
 }
\ No newline at end of file
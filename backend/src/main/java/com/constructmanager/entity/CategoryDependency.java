@@ -0,0 +1,76 @@
+package com.constructmanager.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Explicit finish-to-start link between two categories of a project: the successor starts
+ * no earlier than lagDays after the predecessor ends. Links inside a unit that follow
+ * orderSequence are implied and need no row.
+ */
+@Entity
+@Table(name = "category_dependencies", indexes = {
+    @Index(name = "idx_category_dependency_project", columnList = "project_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_category_dependency_pair", columnNames = {"predecessor_id", "successor_id"})
+})
+public class CategoryDependency {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Removed with either category, including when a unit or project is deleted
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "predecessor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Category predecessor;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "successor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Category successor;
+    
+    @Column(name = "lag_days", nullable = false)
+    private Integer lagDays = 0;
+    
+    // Tenant and project keys of both categories
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+    
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public CategoryDependency() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Category getPredecessor() { return predecessor; }
+    public void setPredecessor(Category predecessor) { this.predecessor = predecessor; }
+    
+    public Category getSuccessor() { return successor; }
+    public void setSuccessor(Category successor) { this.successor = successor; }
+    
+    public Integer getLagDays() { return lagDays; }
+    public void setLagDays(Integer lagDays) { this.lagDays = lagDays; }
+    
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -3,6 +3,7 @@ package com.constructmanager.entity;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,9 +13,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "category_teams", indexes = {
-    @Index(name = "idx_category_team_category", columnList = "category_id"),
-    @Index(name = "idx_category_team_team", columnList = "team_id"),
-    @Index(name = "idx_category_team_status", columnList = "status")
+    // Teams of a category, and the category/team pair lookup
+    @Index(name = "idx_category_team_category_team", columnList = "category_id, team_id"),
+    // Assignments of a team, newest first
+    @Index(name = "idx_category_team_team_created", columnList = "team_id, created_at"),
+    // Tenant task lists by status ordered by updated_at, and status counts
+    @Index(name = "idx_category_team_company_status_updated", columnList = "company_id, status, updated_at"),
+    @Index(name = "idx_category_team_project_status", columnList = "project_id, status")
 })
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @com.fasterxml.jackson.annotation.JsonIdentityInfo(
@@ -24,7 +29,10 @@ import java.util.List;
 public class CategoryTeam {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_team_ids")
+    @TableGenerator(name = "category_team_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "category_teams",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     
     @Enumerated(EnumType.STRING)
@@ -51,6 +59,29 @@ public class CategoryTeam {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic locking
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    // Task counters: kept current by TaskService under the hierarchy row locks, recounted by
+    // HierarchyCounterReconciler. Progress follows completed / total while total > 0.
+    @ColumnDefault("0")
+    @Column(name = "task_count", nullable = false)
+    private Integer taskCount = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "completed_task_count", nullable = false)
+    private Integer completedTaskCount = 0;
+    
+    // Denormalized tenant and project keys, filled from the parent chain on write
+    @Column(name = "company_id")
+    private Long companyId;
+    
+    @Column(name = "project_id")
+    private Long projectId;
+    
     // Many-to-One with lazy loading
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
@@ -99,6 +130,21 @@ public class CategoryTeam {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public Integer getTaskCount() { return taskCount; }
+    public void setTaskCount(Integer taskCount) { this.taskCount = taskCount; }
+    
+    public Integer getCompletedTaskCount() { return completedTaskCount; }
+    public void setCompletedTaskCount(Integer completedTaskCount) { this.completedTaskCount = completedTaskCount; }
+    
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
     
@@ -108,6 +154,21 @@ public class CategoryTeam {
     public List<Task> getTasks() { return tasks; }
     public void setTasks(List<Task> tasks) { this.tasks = tasks; }
     
+    @PrePersist
+    @PreUpdate
+    void fillTenantKeys() {
+        if ((companyId == null || projectId == null) && category != null) {
+            if (category.getCompanyId() != null && category.getProjectId() != null) {
+                projectId = category.getProjectId();
+                companyId = category.getCompanyId();
+            } else {
+                Project project = category.getUnit().getProject();
+                projectId = project.getId();
+                companyId = project.getCompany().getId();
+            }
+        }
+    }
+    
     public enum TaskStatus {
         NOT_STARTED, IN_PROGRESS, DONE, DELAYED
     }
@@ -0,0 +1,16 @@
+package com.constructmanager.entity;
+
+/**
+ * Settings shared by the pooled @TableGenerator of every high-volume entity and by
+ * IdSequenceInitializer, which aligns the id_sequences rows with them.
+ */
+public final class IdGeneration {
+
+    /**
+     * allocationSize of every pooled @TableGenerator: IDs reserved per id_sequences round trip
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
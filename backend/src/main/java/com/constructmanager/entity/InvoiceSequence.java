@@ -0,0 +1,59 @@
+package com.constructmanager.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent invoice number counter per company and year.
+ * nextValue is the first number not yet handed out to any node.
+ */
+@Entity
+@Table(name = "invoice_sequences", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_invoice_sequence_company_year", columnNames = {"company_id", "sequence_year"})
+})
+public class InvoiceSequence {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+    
+    @Column(name = "sequence_year", nullable = false)
+    private Integer year;
+    
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public InvoiceSequence() {}
+    
+    public InvoiceSequence(Long companyId, Integer year, Long nextValue) {
+        this.companyId = companyId;
+        this.year = year;
+        this.nextValue = nextValue;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
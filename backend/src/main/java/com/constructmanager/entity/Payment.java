@@ -15,15 +15,30 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "payments", indexes = {
     @Index(name = "idx_payment_category_team", columnList = "category_team_id"),
-    @Index(name = "idx_payment_status", columnList = "status"),
-    @Index(name = "idx_payment_due_date", columnList = "due_date"),
-    @Index(name = "idx_payment_invoice", columnList = "invoice_number")
+    // Overdue sweep: status IN (...) AND due_date < ? ORDER BY due_date, id
+    @Index(name = "idx_payment_status_due_date", columnList = "status, due_date"),
+    // Tenant listings ordered by created_at, optionally filtered by status
+    @Index(name = "idx_payment_company_created", columnList = "company_id, created_at"),
+    @Index(name = "idx_payment_company_status_created", columnList = "company_id, status, created_at"),
+    // Approval queue, overdue list and totals: status filter plus due_date range/sort
+    @Index(name = "idx_payment_company_status_due_date", columnList = "company_id, status, due_date"),
+    // Overdue cursor: reads (due_date, id) in order from the cursor and filters status inside the index
+    @Index(name = "idx_payment_company_due_date_id", columnList = "company_id, due_date, id, status"),
+    // Paid this month: status = PAID AND paid_date range
+    @Index(name = "idx_payment_company_status_paid_date", columnList = "company_id, status, paid_date"),
+    // Invoice number prefix lookups per tenant
+    @Index(name = "idx_payment_company_invoice", columnList = "company_id, invoice_number"),
+    @Index(name = "idx_payment_project_created", columnList = "project_id, created_at"),
+    @Index(name = "idx_payment_project_status", columnList = "project_id, status")
 })
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_ids")
+    @TableGenerator(name = "payment_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payments",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     
     @NotNull
@@ -62,6 +77,13 @@ public class Payment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Denormalized tenant and project keys, filled from the parent chain on write
+    @Column(name = "company_id")
+    private Long companyId;
+    
+    @Column(name = "project_id")
+    private Long projectId;
+    
     // Many-to-One with lazy loading
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_team_id", nullable = false)
@@ -110,9 +132,30 @@ public class Payment {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+    
     public CategoryTeam getCategoryTeam() { return categoryTeam; }
     public void setCategoryTeam(CategoryTeam categoryTeam) { this.categoryTeam = categoryTeam; }
     
+    @PrePersist
+    @PreUpdate
+    void fillTenantKeys() {
+        if ((companyId == null || projectId == null) && categoryTeam != null) {
+            if (categoryTeam.getCompanyId() != null && categoryTeam.getProjectId() != null) {
+                projectId = categoryTeam.getProjectId();
+                companyId = categoryTeam.getCompanyId();
+            } else {
+                Project project = categoryTeam.getCategory().getUnit().getProject();
+                projectId = project.getId();
+                companyId = project.getCompany().getId();
+            }
+        }
+    }
+    
     public enum PaymentStatus {
         DRAFT, PENDING, APPROVED, PAID, OVERDUE
     }
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,10 +18,14 @@ import java.util.List;
 
 @Entity
 @Table(name = "projects", indexes = {
-    @Index(name = "idx_project_company", columnList = "company_id"),
-    @Index(name = "idx_project_status", columnList = "status"),
-    @Index(name = "idx_project_dates", columnList = "start_date, end_date")
+    // Tenant project lists newest first, optionally filtered by status; active count
+    @Index(name = "idx_project_company_created", columnList = "company_id, created_at"),
+    @Index(name = "idx_project_company_status_created", columnList = "company_id, status, created_at"),
+    // Date range filter per tenant
+    @Index(name = "idx_project_company_start", columnList = "company_id, start_date")
 })
+// Project detail view: company header; unit rows are read as count projections
+@NamedEntityGraph(name = "Project.detail", attributeNodes = @NamedAttributeNode("company"))
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @com.fasterxml.jackson.annotation.JsonIdentityInfo(
     generator = com.fasterxml.jackson.annotation.ObjectIdGenerators.PropertyGenerator.class,
@@ -29,7 +34,11 @@ import java.util.List;
 public class Project {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled IDs: one id_sequences round trip per 50 rows, and inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "project_ids")
+    @TableGenerator(name = "project_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "projects",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank
@@ -71,6 +80,33 @@ public class Project {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Child counters, maintained by bulk UPDATEs in HierarchyCounterService (never written on insert or flush)
+    @ColumnDefault("0")
+    @Column(name = "unit_count", nullable = false, insertable = false, updatable = false)
+    private Long unitCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "completed_unit_count", nullable = false, insertable = false, updatable = false)
+    private Long completedUnitCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "category_count", nullable = false, insertable = false, updatable = false)
+    private Long categoryCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "completed_category_count", nullable = false, insertable = false, updatable = false)
+    private Long completedCategoryCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "team_count", nullable = false, insertable = false, updatable = false)
+    private Long teamCount = 0L;
+    
+    // Optimistic locking
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Many-to-One with lazy loading
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
@@ -125,6 +161,19 @@ public class Project {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getUnitCount() { return unitCount; }
+    
+    public Long getCompletedUnitCount() { return completedUnitCount; }
+    
+    public Long getCategoryCount() { return categoryCount; }
+    
+    public Long getCompletedCategoryCount() { return completedCategoryCount; }
+    
+    public Long getTeamCount() { return teamCount; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public Company getCompany() { return company; }
     public void setCompany(Company company) { this.company = company; }
     
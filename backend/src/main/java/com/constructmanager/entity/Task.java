@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_task_category_team", columnList = "category_team_id"),
     @Index(name = "idx_task_status", columnList = "status"),
-    @Index(name = "idx_task_due_date", columnList = "due_date")
+    @Index(name = "idx_task_due_date", columnList = "due_date"),
+    // Tenant due-date range scans (delayed, due this week) in (due_date, id) keyset order
+    @Index(name = "idx_task_company_due_date_id", columnList = "company_id, due_date, id")
 })
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @com.fasterxml.jackson.annotation.JsonIdentityInfo(
@@ -25,7 +27,10 @@ import java.time.LocalDateTime;
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_ids")
+    @TableGenerator(name = "task_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank
@@ -57,6 +62,10 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Denormalized tenant key, filled from the category team on write
+    @Column(name = "company_id")
+    private Long companyId;
+    
     // Many-to-One with lazy loading
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_team_id", nullable = false)
@@ -99,9 +108,20 @@ public class Task {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getCompanyId() { return companyId; }
+    public void setCompanyId(Long companyId) { this.companyId = companyId; }
+    
     public CategoryTeam getCategoryTeam() { return categoryTeam; }
     public void setCategoryTeam(CategoryTeam categoryTeam) { this.categoryTeam = categoryTeam; }
     
+    @PrePersist
+    @PreUpdate
+    void fillTenantKeys() {
+        if (companyId == null && categoryTeam != null) {
+            companyId = categoryTeam.getCompanyId();
+        }
+    }
+    
     public enum TaskStatus {
         PENDING, IN_PROGRESS, COMPLETED, CANCELLED
     }
@@ -14,8 +14,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "teams", indexes = {
-    @Index(name = "idx_team_company", columnList = "company_id"),
-    @Index(name = "idx_team_specialty", columnList = "specialty")
+    // Active teams of a tenant ordered by name, and active counts
+    @Index(name = "idx_team_company_active_name", columnList = "company_id, is_active, name")
 })
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @com.fasterxml.jackson.annotation.JsonIdentityInfo(
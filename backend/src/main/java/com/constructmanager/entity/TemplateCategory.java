@@ -0,0 +1,66 @@
+package com.constructmanager.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One category of a unit template. Dates are day offsets from the start date given when applying
+ */
+@Entity
+@Table(name = "template_categories", indexes = {
+    @Index(name = "idx_template_category_template_order", columnList = "template_id, order_sequence")
+})
+public class TemplateCategory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    @Size(max = 255)
+    @Column(nullable = false)
+    private String name;
+    
+    @Size(max = 1000)
+    private String description;
+    
+    @Column(name = "order_sequence", nullable = false)
+    private Integer orderSequence = 1;
+    
+    @Column(name = "start_offset_days", nullable = false)
+    private Integer startOffsetDays = 0;
+    
+    @Column(name = "end_offset_days", nullable = false)
+    private Integer endOffsetDays = 0;
+    
+    // Many-to-One with lazy loading
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_id", nullable = false)
+    private UnitTemplate template;
+    
+    // Constructors
+    public TemplateCategory() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Integer getOrderSequence() { return orderSequence; }
+    public void setOrderSequence(Integer orderSequence) { this.orderSequence = orderSequence; }
+    
+    public Integer getStartOffsetDays() { return startOffsetDays; }
+    public void setStartOffsetDays(Integer startOffsetDays) { this.startOffsetDays = startOffsetDays; }
+    
+    public Integer getEndOffsetDays() { return endOffsetDays; }
+    public void setEndOffsetDays(Integer endOffsetDays) { this.endOffsetDays = endOffsetDays; }
+    
+    public UnitTemplate getTemplate() { return template; }
+    public void setTemplate(UnitTemplate template) { this.template = template; }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,9 +16,12 @@ import java.util.List;
 
 @Entity
 @Table(name = "units", indexes = {
-    @Index(name = "idx_unit_project", columnList = "project_id"),
-    @Index(name = "idx_unit_type", columnList = "type")
+    // Units of a project in creation order, optionally filtered by type
+    @Index(name = "idx_unit_project_created", columnList = "project_id, created_at"),
+    @Index(name = "idx_unit_project_type_created", columnList = "project_id, type, created_at")
 })
+// Unit detail view: project header; category rows are read as count projections
+@NamedEntityGraph(name = "Unit.detail", attributeNodes = @NamedAttributeNode("project"))
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @com.fasterxml.jackson.annotation.JsonIdentityInfo(
     generator = com.fasterxml.jackson.annotation.ObjectIdGenerators.PropertyGenerator.class,
@@ -26,7 +30,10 @@ import java.util.List;
 public class Unit {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "unit_ids")
+    @TableGenerator(name = "unit_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "units",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank
@@ -58,6 +65,25 @@ public class Unit {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Child counters, maintained by bulk UPDATEs in HierarchyCounterService (never written on insert or flush)
+    @ColumnDefault("0")
+    @Column(name = "category_count", nullable = false, insertable = false, updatable = false)
+    private Long categoryCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "completed_category_count", nullable = false, insertable = false, updatable = false)
+    private Long completedCategoryCount = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "team_count", nullable = false, insertable = false, updatable = false)
+    private Long teamCount = 0L;
+    
+    // Optimistic locking
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     // Many-to-One with lazy loading
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
@@ -104,6 +130,15 @@ public class Unit {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getCategoryCount() { return categoryCount; }
+    
+    public Long getCompletedCategoryCount() { return completedCategoryCount; }
+    
+    public Long getTeamCount() { return teamCount; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public Project getProject() { return project; }
     public void setProject(Project project) { this.project = project; }
     
@@ -0,0 +1,85 @@
+package com.constructmanager.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable category plan for a kind of unit; applying it clones its categories into units
+ */
+@Entity
+@Table(name = "unit_templates", indexes = {
+    // Templates of a tenant by name, optionally filtered by unit type
+    @Index(name = "idx_unit_template_company_type_name", columnList = "company_id, unit_type, name")
+})
+public class UnitTemplate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotBlank
+    @Size(max = 255)
+    @Column(nullable = false)
+    private String name;
+    
+    @Size(max = 1000)
+    private String description;
+    
+    // Null when the template suits any unit type
+    @Enumerated(EnumType.STRING)
+    @Column(name = "unit_type")
+    private Unit.UnitType unitType;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Many-to-One with lazy loading
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+    
+    // One-to-Many with lazy loading, in application order
+    @OneToMany(mappedBy = "template", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("orderSequence ASC")
+    private List<TemplateCategory> categories = new ArrayList<>();
+    
+    // Constructors
+    public UnitTemplate() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public Unit.UnitType getUnitType() { return unitType; }
+    public void setUnitType(Unit.UnitType unitType) { this.unitType = unitType; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Company getCompany() { return company; }
+    public void setCompany(Company company) { this.company = company; }
+    
+    public List<TemplateCategory> getCategories() { return categories; }
+    public void setCategories(List<TemplateCategory> categories) { this.categories = categories; }
+}
@@ -0,0 +1,15 @@
+package com.constructmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Every auto-assign solver slot stayed busy for longer than a request may wait
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AutoAssignBusyException extends RuntimeException {
+    
+    public AutoAssignBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.constructmanager.exception;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -43,4 +44,28 @@ public class GlobalExceptionHandler {
         System.out.println("Resource not found error: " + error);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, String>> handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        Map<String, String> error = Map.of("message", "The record was modified concurrently, please retry");
+        System.out.println("Concurrency failure: " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(TeamDoubleBookingException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, Object>> handleTeamDoubleBookingException(TeamDoubleBookingException ex) {
+        Map<String, Object> error = Map.of("message", ex.getMessage(), "conflicts", ex.getConflicts());
+        System.out.println("Team double booking: " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(AutoAssignBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<Map<String, String>> handleAutoAssignBusyException(AutoAssignBusyException ex) {
+        Map<String, String> error = Map.of("message", ex.getMessage());
+        System.out.println("Auto-assign busy: " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
 }
@@ -0,0 +1,22 @@
+package com.constructmanager.exception;
+
+import com.constructmanager.dto.TeamConflictDTO;
+
+import java.util.List;
+
+/**
+ * An assignment would book a team on overlapping dates at different projects
+ */
+public class TeamDoubleBookingException extends RuntimeException {
+    
+    private final List<TeamConflictDTO> conflicts;
+    
+    public TeamDoubleBookingException(String message, List<TeamConflictDTO> conflicts) {
+        super(message);
+        this.conflicts = conflicts;
+    }
+    
+    public List<TeamConflictDTO> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,42 @@
+package com.constructmanager.repository;
+
+import com.constructmanager.dto.CategoryDependencyDTO;
+import com.constructmanager.entity.CategoryDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryDependencyRepository extends JpaRepository<CategoryDependency, Long> {
+    
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.CategoryDependencyDTO(" +
+           "d.id, p.id, p.name, s.id, s.name, d.lagDays, d.projectId) " +
+           "FROM CategoryDependency d " +
+           "JOIN d.predecessor p " +
+           "JOIN d.successor s ";
+    
+    /**
+     * Find a project's dependencies with their category names
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE d.projectId = :projectId AND d.companyId = :companyId " +
+           "ORDER BY d.id ASC")
+    List<CategoryDependencyDTO> findSummariesByProjectId(
+        @Param("projectId") Long projectId,
+        @Param("companyId") Long companyId);
+    
+    /**
+     * [id, predecessorId, successorId, lagDays] of a project's dependencies, for the schedule graph
+     */
+    @Query("SELECT d.id, d.predecessor.id, d.successor.id, d.lagDays FROM CategoryDependency d " +
+           "WHERE d.projectId = :projectId")
+    List<Object[]> findEdgesByProjectId(@Param("projectId") Long projectId);
+    
+    Optional<CategoryDependency> findByIdAndCompanyId(Long id, Long companyId);
+    
+    boolean existsByPredecessorIdAndSuccessorId(Long predecessorId, Long successorId);
+}
@@ -1,14 +1,20 @@
 package com.constructmanager.repository;
 
+import com.constructmanager.dto.CategorySummaryDTO;
 import com.constructmanager.entity.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,40 +22,67 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.CategorySummaryDTO(" +
+            "c.id, c.name, c.startDate, c.endDate, c.orderSequence, c.progressPercentage, " +
+            "CAST(SIZE(c.categoryTeams) AS Long)) " +
+            "FROM Category c ";
+
+    /**
+     * Find category summaries by unit with pagination, ordered by sequence
+     */
+    @Query(value = SUMMARY_SELECT +
+            "WHERE c.unit.id = :unitId " +
+            "ORDER BY c.orderSequence ASC",
+            countQuery = "SELECT COUNT(c) FROM Category c WHERE c.unit.id = :unitId")
+    Page<CategorySummaryDTO> findSummariesByUnitId(@Param("unitId") Long unitId, Pageable pageable);
+
     /**
-     * Find categories by unit with pagination, ordered by sequence
+     * Find all category summaries of a unit, ordered by sequence
      */
-    Page<Category> findByUnitIdOrderByOrderSequenceAsc(Long unitId, Pageable pageable);
+    @Query(SUMMARY_SELECT +
+            "WHERE c.unit.id = :unitId " +
+            "ORDER BY c.orderSequence ASC")
+    List<CategorySummaryDTO> findSummariesByUnitId(@Param("unitId") Long unitId);
 
     /**
      * Find categories by unit without pagination, ordered by sequence
      */
-    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.categoryTeams ct LEFT JOIN FETCH ct.team WHERE c.unit.id = :unitId ORDER BY c.orderSequence ASC")
+    @EntityGraph("Category.detail")
+    @Query("SELECT c FROM Category c WHERE c.unit.id = :unitId ORDER BY c.orderSequence ASC")
     List<Category> findByUnitIdOrderByOrderSequenceAsc(@Param("unitId") Long unitId);
 
     /**
      * Find category by ID and unit ID for security
      */
-    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.categoryTeams ct LEFT JOIN FETCH ct.team WHERE c.id = :id AND c.unit.id = :unitId")
+    @EntityGraph("Category.detail")
+    @Query("SELECT c FROM Category c WHERE c.id = :id AND c.unit.id = :unitId")
     Optional<Category> findByIdAndUnitId(@Param("id") Long id, @Param("unitId") Long unitId);
 
     /**
-     * Find categories with delayed tasks
+     * Find categories with delayed tasks. The subquery repeats the tenant key so it reads
+     * the company's delayed assignments by index instead of every assignment.
      */
-    @Query("SELECT DISTINCT c FROM Category c " +
-            "JOIN c.categoryTeams ct " +
-            "WHERE c.unit.project.company.id = :companyId " +
-            "AND ct.status = 'DELAYED'")
-    Page<Category> findCategoriesWithDelayedTasks(@Param("companyId") Long companyId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT +
+            "WHERE c.companyId = :companyId " +
+            "AND EXISTS (SELECT 1 FROM CategoryTeam ct WHERE ct.category = c " +
+            "AND ct.companyId = :companyId AND ct.status = 'DELAYED')",
+            countQuery = "SELECT COUNT(c) FROM Category c " +
+            "WHERE c.companyId = :companyId " +
+            "AND EXISTS (SELECT 1 FROM CategoryTeam ct WHERE ct.category = c " +
+            "AND ct.companyId = :companyId AND ct.status = 'DELAYED')")
+    Page<CategorySummaryDTO> findCategoriesWithDelayedTasks(@Param("companyId") Long companyId, Pageable pageable);
 
     /**
      * Find categories starting soon (within specified days)
      */
-    @Query("SELECT c FROM Category c " +
-            "WHERE c.unit.project.company.id = :companyId " +
+    @Query(value = SUMMARY_SELECT +
+            "WHERE c.companyId = :companyId " +
             "AND c.startDate BETWEEN :today AND :futureDate " +
-            "ORDER BY c.startDate ASC")
-    Page<Category> findCategoriesStartingSoon(
+            "ORDER BY c.startDate ASC",
+            countQuery = "SELECT COUNT(c) FROM Category c " +
+            "WHERE c.companyId = :companyId " +
+            "AND c.startDate BETWEEN :today AND :futureDate")
+    Page<CategorySummaryDTO> findCategoriesStartingSoon(
             @Param("companyId") Long companyId,
             @Param("today") LocalDate today,
             @Param("futureDate") LocalDate futureDate,
@@ -58,18 +91,90 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     /**
      * Find overdue categories
      */
-    @Query("SELECT c FROM Category c " +
-            "WHERE c.unit.project.company.id = :companyId " +
+    @Query(value = SUMMARY_SELECT +
+            "WHERE c.companyId = :companyId " +
             "AND c.endDate < :today " +
             "AND c.progressPercentage < 100 " +
-            "ORDER BY c.endDate ASC")
-    Page<Category> findOverdueCategories(@Param("companyId") Long companyId, @Param("today") LocalDate today, Pageable pageable);
+            "ORDER BY c.endDate ASC",
+            countQuery = "SELECT COUNT(c) FROM Category c " +
+            "WHERE c.companyId = :companyId " +
+            "AND c.endDate < :today " +
+            "AND c.progressPercentage < 100")
+    Page<CategorySummaryDTO> findOverdueCategories(@Param("companyId") Long companyId, @Param("today") LocalDate today, Pageable pageable);
+
+    /**
+     * [id, name, unitId, projectId] of a company's categories for the typeahead index
+     */
+    @Query("SELECT c.id, c.name, c.unit.id, c.projectId FROM Category c WHERE c.companyId = :companyId")
+    List<Object[]> findNamesByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * [id, name, startDate, endDate, progressPercentage, unitId, projectId] of a company's categories
+     * for the schedule index
+     */
+    @Query("SELECT c.id, c.name, c.startDate, c.endDate, c.progressPercentage, c.unit.id, c.projectId " +
+            "FROM Category c WHERE c.companyId = :companyId")
+    List<Object[]> findScheduleByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * Schedule rows, as above, of the categories overlapping [from, to]
+     */
+    @Query("SELECT c.id, c.name, c.startDate, c.endDate, c.progressPercentage, c.unit.id, c.projectId " +
+            "FROM Category c " +
+            "WHERE c.companyId = :companyId AND c.startDate <= :to AND c.endDate >= :from " +
+            "ORDER BY c.startDate ASC, c.id ASC")
+    List<Object[]> findScheduleOverlapping(
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * [id, name, unitId, unitName, orderSequence, startDate, endDate] of a project's categories,
+     * in unit and sequence order, for the dependency graph
+     */
+    @Query("SELECT c.id, c.name, u.id, u.name, c.orderSequence, c.startDate, c.endDate FROM Category c " +
+            "JOIN c.unit u " +
+            "WHERE c.projectId = :projectId " +
+            "ORDER BY u.id ASC, c.orderSequence ASC, c.id ASC")
+    List<Object[]> findScheduleNodesByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * [id, name, startDate, endDate, projectId] of a company's unfinished categories without
+     * any team, optionally of one project, in start order, for auto-assignment
+     */
+    @Query("SELECT c.id, c.name, c.startDate, c.endDate, c.projectId FROM Category c " +
+            "WHERE c.companyId = :companyId " +
+            "AND (:projectId IS NULL OR c.projectId = :projectId) " +
+            "AND c.progressPercentage < 100 " +
+            "AND NOT EXISTS (SELECT 1 FROM CategoryTeam ct WHERE ct.category = c) " +
+            "ORDER BY c.startDate ASC, c.id ASC")
+    List<Object[]> findUnassigned(
+            @Param("companyId") Long companyId,
+            @Param("projectId") Long projectId,
+            Pageable pageable);
+
+    /**
+     * Find category summaries by IDs, in no particular order
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<CategorySummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count categories of a company
+     */
+    long countByCompanyId(Long companyId);
 
     /**
      * Count categories by unit
      */
     Long countByUnitId(Long unitId);
 
+    /**
+     * [unitId, highest order sequence] for those of the given units that have categories
+     */
+    @Query("SELECT c.unit.id, MAX(c.orderSequence) FROM Category c WHERE c.unit.id IN :unitIds GROUP BY c.unit.id")
+    List<Object[]> findMaxOrderSequences(@Param("unitIds") Collection<Long> unitIds);
+    
     /**
      * Get next order sequence for a unit
      */
@@ -79,15 +184,58 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     /**
      * Count categories by project
      */
-    @Query("SELECT COUNT(c) FROM Category c JOIN c.unit u WHERE u.project.id = :projectId")
+    @Query("SELECT COUNT(c) FROM Category c WHERE c.projectId = :projectId")
     Long countCategoriesByProjectId(@Param("projectId") Long projectId);
 
     /**
      * Count completed categories by project
      */
-    @Query("SELECT COUNT(c) FROM Category c JOIN c.unit u WHERE u.project.id = :projectId AND c.progressPercentage = 100")
+    @Query("SELECT COUNT(c) FROM Category c WHERE c.projectId = :projectId AND c.progressPercentage = 100")
     Long countCompletedCategoriesByProjectId(@Param("projectId") Long projectId);
 
+    /**
+     * Sum and count category progress per unit for batch rollups
+     */
+    @Query("SELECT c.unit.id, SUM(c.progressPercentage), COUNT(c) " +
+            "FROM Category c " +
+            "WHERE c.unit.id IN :unitIds " +
+            "GROUP BY c.unit.id")
+    List<Object[]> sumProgressByUnitIds(@Param("unitIds") Collection<Long> unitIds);
+
+    /**
+     * Resolve [categoryId, unitId, projectId] for lock ordering
+     */
+    @Query("SELECT c.id, u.id, u.project.id " +
+            "FROM Category c " +
+            "JOIN c.unit u " +
+            "WHERE c.id IN :ids")
+    List<Object[]> findHierarchyKeys(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock categories in ID order (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Category c WHERE c.id IN :ids ORDER BY c.id ASC")
+    List<Category> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next chunk of categories whose tenant keys are not filled yet
+     */
+    @Query("SELECT c.id FROM Category c " +
+            "WHERE (c.companyId IS NULL OR c.projectId IS NULL) AND c.id > :afterId " +
+            "ORDER BY c.id ASC")
+    List<Long> findIdsMissingTenantKeys(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Copy tenant keys down from the parent unit and project
+     */
+    @Modifying
+    @Query("UPDATE Category c SET " +
+            "c.companyId = (SELECT pr.company.id FROM Unit u JOIN u.project pr WHERE u.id = c.unit.id), " +
+            "c.projectId = (SELECT u.project.id FROM Unit u WHERE u.id = c.unit.id) " +
+            "WHERE c.id IN :ids")
+    int backfillTenantKeys(@Param("ids") Collection<Long> ids);
+
     /**
      * Get category analytics grouped by name
      */
@@ -96,7 +244,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
             "c.progressPercentage, " +
             "CASE WHEN c.endDate < CURRENT_DATE AND c.progressPercentage < 100 THEN true ELSE false END as isDelayed " +
             "FROM Category c " +
-            "WHERE c.unit.project.company.id = :companyId")
+            "WHERE c.companyId = :companyId")
     List<Object[]> getCategoryAnalyticsRaw(@Param("companyId") Long companyId);
 
     /**
@@ -1,14 +1,21 @@
 package com.constructmanager.repository;
 
+import com.constructmanager.dto.CategoryTeamSummaryDTO;
+import com.constructmanager.dto.TeamAssignmentDTO;
 import com.constructmanager.entity.CategoryTeam;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +23,30 @@ import java.util.Optional;
 public interface CategoryTeamRepository extends JpaRepository<CategoryTeam, Long> {
     
     /**
-     * Find category teams by category
+     * Category team rows with their category schedule, unit, project and team, in one query
      */
-    List<CategoryTeam> findByCategoryIdOrderByCreatedAtAsc(Long categoryId);
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.CategoryTeamSummaryDTO(" +
+           "ct.id, ct.status, ct.receptionStatus, ct.paymentStatus, ct.notes, ct.progressPercentage, " +
+           "ct.createdAt, ct.updatedAt, c.id, c.name, c.startDate, c.endDate, " +
+           "u.id, u.name, u.type, p.id, p.name, p.location, " +
+           "t.id, t.name, t.specialty, t.color) " +
+           "FROM CategoryTeam ct " +
+           "JOIN ct.category c " +
+           "JOIN c.unit u " +
+           "JOIN u.project p " +
+           "JOIN ct.team t ";
+    
+    /**
+     * Assignment rows with their category dates and site, for team conflict checks
+     */
+    String ASSIGNMENT_SELECT = "SELECT new com.constructmanager.dto.TeamAssignmentDTO(" +
+           "ct.id, ct.status, t.id, t.name, c.id, c.name, c.startDate, c.endDate, " +
+           "u.id, u.name, p.id, p.name) " +
+           "FROM CategoryTeam ct " +
+           "JOIN ct.category c " +
+           "JOIN c.unit u " +
+           "JOIN u.project p " +
+           "JOIN ct.team t ";
     
     /**
      * Find category teams by team
@@ -26,68 +54,181 @@ public interface CategoryTeamRepository extends JpaRepository<CategoryTeam, Long
     Page<CategoryTeam> findByTeamIdOrderByCreatedAtDesc(Long teamId, Pageable pageable);
     
     /**
-     * Find category team by category and team
+     * Category team summaries of a category
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE c.id = :categoryId " +
+           "ORDER BY ct.createdAt ASC")
+    List<CategoryTeamSummaryDTO> findSummariesByCategoryId(@Param("categoryId") Long categoryId);
+    
+    /**
+     * Category team summaries of a team, newest first
+     */
+    @Query(value = SUMMARY_SELECT +
+           "WHERE t.id = :teamId " +
+           "ORDER BY ct.createdAt DESC",
+           countQuery = "SELECT COUNT(ct) FROM CategoryTeam ct WHERE ct.team.id = :teamId")
+    Page<CategoryTeamSummaryDTO> findSummariesByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+    
+    /**
+     * Category team summary by ID
      */
-    Optional<CategoryTeam> findByCategoryIdAndTeamId(Long categoryId, Long teamId);
+    @Query(SUMMARY_SELECT + "WHERE ct.id = :id")
+    Optional<CategoryTeamSummaryDTO> findSummaryById(@Param("id") Long id);
+    
+    /**
+     * Category team summary by category and team
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId AND t.id = :teamId")
+    Optional<CategoryTeamSummaryDTO> findSummaryByCategoryIdAndTeamId(
+        @Param("categoryId") Long categoryId,
+        @Param("teamId") Long teamId);
     
     /**
      * Find delayed tasks for alerts
      */
-    @Query("SELECT ct FROM CategoryTeam ct " +
-           "JOIN ct.category c " +
-           "WHERE c.unit.project.company.id = :companyId " +
+    @Query(value = SUMMARY_SELECT +
+           "WHERE ct.companyId = :companyId " +
            "AND ct.status = 'DELAYED' " +
-           "ORDER BY c.endDate ASC")
-    Page<CategoryTeam> findDelayedTasks(@Param("companyId") Long companyId, Pageable pageable);
+           "ORDER BY c.endDate ASC",
+           countQuery = "SELECT COUNT(ct) FROM CategoryTeam ct " +
+           "WHERE ct.companyId = :companyId AND ct.status = 'DELAYED'")
+    Page<CategoryTeamSummaryDTO> findDelayedTasks(@Param("companyId") Long companyId, Pageable pageable);
     
     /**
      * Find tasks starting soon for alerts
      */
-    @Query("SELECT ct FROM CategoryTeam ct " +
-           "JOIN ct.category c " +
-           "WHERE c.unit.project.company.id = :companyId " +
+    @Query(value = SUMMARY_SELECT +
+           "WHERE ct.companyId = :companyId " +
            "AND ct.status = 'NOT_STARTED' " +
            "AND c.startDate BETWEEN :today AND :futureDate " +
-           "ORDER BY c.startDate ASC")
-    Page<CategoryTeam> findTasksStartingSoon(
+           "ORDER BY c.startDate ASC",
+           countQuery = "SELECT COUNT(ct) FROM CategoryTeam ct " +
+           "JOIN ct.category c " +
+           "WHERE ct.companyId = :companyId " +
+           "AND ct.status = 'NOT_STARTED' " +
+           "AND c.startDate BETWEEN :today AND :futureDate")
+    Page<CategoryTeamSummaryDTO> findTasksStartingSoon(
         @Param("companyId") Long companyId,
         @Param("today") LocalDate today,
         @Param("futureDate") LocalDate futureDate,
         Pageable pageable);
     
     /**
-     * Find tasks by status
+     * Find not started tasks of the given categories (those starting soon, from the schedule index)
      */
-    @Query("SELECT ct FROM CategoryTeam ct " +
+    @Query(value = SUMMARY_SELECT +
+           "WHERE ct.companyId = :companyId " +
+           "AND ct.status = 'NOT_STARTED' " +
+           "AND c.id IN :categoryIds " +
+           "ORDER BY c.startDate ASC, ct.id ASC",
+           countQuery = "SELECT COUNT(ct) FROM CategoryTeam ct " +
+           "WHERE ct.companyId = :companyId " +
+           "AND ct.status = 'NOT_STARTED' " +
+           "AND ct.category.id IN :categoryIds")
+    Page<CategoryTeamSummaryDTO> findNotStartedByCategoryIds(
+        @Param("companyId") Long companyId,
+        @Param("categoryIds") Collection<Long> categoryIds,
+        Pageable pageable);
+    
+    /**
+     * A team's unfinished assignments whose category dates overlap [from, to]
+     */
+    @Query(ASSIGNMENT_SELECT +
+           "WHERE t.id = :teamId " +
+           "AND ct.status <> 'DONE' " +
+           "AND c.startDate <= :to AND c.endDate >= :from")
+    List<TeamAssignmentDTO> findActiveAssignmentsOverlapping(
+        @Param("teamId") Long teamId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+    
+    /**
+     * A category's unfinished assignments as (category team ID, team ID) rows, in team ID order
+     */
+    @Query("SELECT ct.id, ct.team.id FROM CategoryTeam ct " +
+           "WHERE ct.category.id = :categoryId AND ct.status <> 'DONE' " +
+           "ORDER BY ct.team.id ASC, ct.id ASC")
+    List<Object[]> findUnfinishedTeamIdsByCategoryId(@Param("categoryId") Long categoryId);
+    
+    /**
+     * A team's unfinished assignments
+     */
+    @Query(ASSIGNMENT_SELECT +
+           "WHERE t.id = :teamId AND ct.status <> 'DONE' " +
+           "ORDER BY c.startDate ASC")
+    List<TeamAssignmentDTO> findActiveAssignmentsByTeamId(@Param("teamId") Long teamId);
+    
+    /**
+     * [categoryTeamId, teamId, categoryId, startDate, endDate, categoryTeamVersion, categoryVersion]
+     * of a company's unfinished assignments, for the capacity matrix
+     */
+    @Query("SELECT ct.id, ct.team.id, c.id, c.startDate, c.endDate, ct.version, c.version FROM CategoryTeam ct " +
            "JOIN ct.category c " +
-           "WHERE c.unit.project.company.id = :companyId " +
+           "WHERE ct.companyId = :companyId AND ct.status <> 'DONE'")
+    List<Object[]> findCapacityRowsByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * A company's unfinished assignments, grouped by team and in start order within each
+     */
+    @Query(ASSIGNMENT_SELECT +
+           "WHERE ct.companyId = :companyId AND ct.status <> 'DONE' " +
+           "ORDER BY t.id ASC, c.startDate ASC")
+    List<TeamAssignmentDTO> findActiveAssignmentsByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * Find tasks by status
+     */
+    @Query(value = SUMMARY_SELECT +
+           "WHERE ct.companyId = :companyId " +
+           "AND ct.status = :status " +
+           "ORDER BY ct.updatedAt DESC",
+           countQuery = "SELECT COUNT(ct) FROM CategoryTeam ct " +
+           "WHERE ct.companyId = :companyId AND ct.status = :status")
+    Page<CategoryTeamSummaryDTO> findTasksByStatus(
+        @Param("companyId") Long companyId,
+        @Param("status") CategoryTeam.TaskStatus status,
+        Pageable pageable);
+    
+    /**
+     * Keyset page of tasks by status, most recently updated first, after the (updatedAt, id) cursor.
+     * Served by idx_category_team_company_status_updated, which InnoDB suffixes with the primary key.
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE ct.companyId = :companyId " +
            "AND ct.status = :status " +
-           "ORDER BY ct.updatedAt DESC")
-    Page<CategoryTeam> findTasksByStatus(
+           "AND (ct.updatedAt < :beforeUpdatedAt OR (ct.updatedAt = :beforeUpdatedAt AND ct.id < :beforeId)) " +
+           "ORDER BY ct.updatedAt DESC, ct.id DESC")
+    List<CategoryTeamSummaryDTO> findTasksByStatusBefore(
         @Param("companyId") Long companyId,
         @Param("status") CategoryTeam.TaskStatus status,
+        @Param("beforeUpdatedAt") LocalDateTime beforeUpdatedAt,
+        @Param("beforeId") Long beforeId,
         Pageable pageable);
     
     /**
      * Count tasks by status for dashboard
      */
     @Query("SELECT COUNT(ct) FROM CategoryTeam ct " +
-           "JOIN ct.category c " +
-           "WHERE c.unit.project.company.id = :companyId " +
+           "WHERE ct.companyId = :companyId " +
            "AND ct.status = :status")
     Long countTasksByStatus(@Param("companyId") Long companyId, @Param("status") CategoryTeam.TaskStatus status);
     
     /**
      * Find tasks requiring payment
      */
-    @Query("SELECT ct FROM CategoryTeam ct " +
-           "JOIN ct.category c " +
-           "WHERE c.unit.project.company.id = :companyId " +
+    @Query(value = SUMMARY_SELECT +
+           "WHERE ct.companyId = :companyId " +
            "AND ct.status = 'DONE' " +
            "AND ct.receptionStatus = true " +
            "AND ct.paymentStatus = false " +
-           "ORDER BY ct.updatedAt ASC")
-    Page<CategoryTeam> findTasksRequiringPayment(@Param("companyId") Long companyId, Pageable pageable);
+           "ORDER BY ct.updatedAt ASC",
+           countQuery = "SELECT COUNT(ct) FROM CategoryTeam ct " +
+           "WHERE ct.companyId = :companyId " +
+           "AND ct.status = 'DONE' " +
+           "AND ct.receptionStatus = true " +
+           "AND ct.paymentStatus = false")
+    Page<CategoryTeamSummaryDTO> findTasksRequiringPayment(@Param("companyId") Long companyId, Pageable pageable);
     
     /**
      * Get team workload
@@ -96,19 +237,109 @@ public interface CategoryTeamRepository extends JpaRepository<CategoryTeam, Long
            "COUNT(ct.id) as totalTasks, " +
            "COUNT(CASE WHEN ct.status = 'IN_PROGRESS' THEN 1 END) as activeTasks " +
            "FROM CategoryTeam ct " +
-           "JOIN ct.category c " +
-           "WHERE c.unit.project.company.id = :companyId " +
+           "WHERE ct.companyId = :companyId " +
            "GROUP BY ct.team.id, ct.team.name " +
            "ORDER BY activeTasks DESC")
     Page<Object[]> getTeamWorkload(@Param("companyId") Long companyId, Pageable pageable);
     
+    /**
+     * [totalAssignments, completedAssignments, avgProgress] of one team, without loading its assignments
+     */
+    @Query("SELECT COUNT(ct), " +
+           "COUNT(CASE WHEN ct.status = 'DONE' THEN 1 END), " +
+           "COALESCE(AVG(ct.progressPercentage), 0) " +
+           "FROM CategoryTeam ct " +
+           "WHERE ct.team.id = :teamId")
+    List<Object[]> getTeamAssignmentStats(@Param("teamId") Long teamId);
+    
     /**
      * Count delayed tasks by project
      */
     @Query("SELECT COUNT(ct) FROM CategoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "WHERE u.project.id = :projectId " +
+           "WHERE ct.projectId = :projectId " +
            "AND ct.status = 'DELAYED'")
     Long countDelayedTasksByProjectId(@Param("projectId") Long projectId);
+    
+    /**
+     * Sum and count team progress per category for batch rollups
+     */
+    @Query("SELECT ct.category.id, SUM(ct.progressPercentage), COUNT(ct) " +
+           "FROM CategoryTeam ct " +
+           "WHERE ct.category.id IN :categoryIds " +
+           "GROUP BY ct.category.id")
+    List<Object[]> sumProgressByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+    
+    /**
+     * Resolve [categoryTeamId, categoryId, unitId, projectId] for lock ordering
+     */
+    @Query("SELECT ct.id, c.id, u.id, u.project.id " +
+           "FROM CategoryTeam ct " +
+           "JOIN ct.category c " +
+           "JOIN c.unit u " +
+           "WHERE ct.id IN :ids")
+    List<Object[]> findHierarchyKeys(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Lock category teams in ID order (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ct FROM CategoryTeam ct WHERE ct.id IN :ids ORDER BY ct.id ASC")
+    List<CategoryTeam> lockAllById(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Resolve the owning company of a category team
+     */
+    @Query("SELECT u.project.company.id " +
+           "FROM CategoryTeam ct " +
+           "JOIN ct.category c " +
+           "JOIN c.unit u " +
+           "WHERE ct.id = :id")
+    Optional<Long> findCompanyIdById(@Param("id") Long id);
+    
+    /**
+     * Next chunk of category teams whose tenant keys are not filled yet
+     */
+    @Query("SELECT ct.id FROM CategoryTeam ct " +
+           "WHERE (ct.companyId IS NULL OR ct.projectId IS NULL) AND ct.id > :afterId " +
+           "ORDER BY ct.id ASC")
+    List<Long> findIdsMissingTenantKeys(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Copy tenant keys down from the parent categories (filled first by the backfill)
+     */
+    @Modifying
+    @Query("UPDATE CategoryTeam ct SET " +
+           "ct.companyId = (SELECT c.companyId FROM Category c WHERE c.id = ct.category.id), " +
+           "ct.projectId = (SELECT c.projectId FROM Category c WHERE c.id = ct.category.id) " +
+           "WHERE ct.id IN :ids")
+    int backfillTenantKeys(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Recount the counted (not cancelled) and completed tasks of the given category teams
+     */
+    @Modifying
+    @Query("UPDATE CategoryTeam ct SET " +
+           "ct.taskCount = (SELECT COUNT(t) FROM Task t WHERE t.categoryTeam.id = ct.id AND t.status <> 'CANCELLED'), " +
+           "ct.completedTaskCount = (SELECT COUNT(t) FROM Task t WHERE t.categoryTeam.id = ct.id AND t.status = 'COMPLETED') " +
+           "WHERE ct.id IN :ids")
+    int refreshTaskCounters(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Next chunk of category team IDs for the counter reconcile job
+     */
+    @Query("SELECT ct.id FROM CategoryTeam ct WHERE ct.id > :afterId ORDER BY ct.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Flag the category teams of the given paid payments as paid, bumping their version
+     */
+    @Modifying
+    @Query("UPDATE CategoryTeam ct SET ct.paymentStatus = true, ct.version = ct.version + 1, ct.updatedAt = :now " +
+           "WHERE ct.companyId = :companyId " +
+           "AND ct.paymentStatus = false " +
+           "AND ct.id IN (SELECT p.categoryTeam.id FROM Payment p WHERE p.id IN :paymentIds AND p.status = 'PAID')")
+    int markPaidByPaymentIds(
+        @Param("companyId") Long companyId,
+        @Param("paymentIds") Collection<Long> paymentIds,
+        @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.constructmanager.repository;
+
+import com.constructmanager.entity.InvoiceSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InvoiceSequenceRepository extends JpaRepository<InvoiceSequence, Long> {
+    
+    /**
+     * Find and row-lock the sequence of a company and year
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InvoiceSequence s WHERE s.companyId = :companyId AND s.year = :year")
+    Optional<InvoiceSequence> findForUpdate(@Param("companyId") Long companyId, @Param("year") Integer year);
+}
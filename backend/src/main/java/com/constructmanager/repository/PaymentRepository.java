@@ -1,44 +1,81 @@
 package com.constructmanager.repository;
 
+import com.constructmanager.dto.PaymentDetailDTO;
 import com.constructmanager.entity.Payment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     /**
-     * Find payments by company with pagination
+     * Payment list rows with their project, unit, category and team, in one query
      */
-    @Query("SELECT p FROM Payment p " +
+    String DETAIL_SELECT = "SELECT new com.constructmanager.dto.PaymentDetailDTO(" +
+           "p.id, p.amount, p.description, p.status, p.dueDate, p.paidDate, p.invoiceNumber, p.paymentMethod, " +
+           "p.notes, p.createdAt, p.updatedAt, ct.id, " +
+           "pr.id, pr.name, pr.location, u.id, u.name, u.type, c.id, c.name, " +
+           "t.id, t.name, t.specialty, t.color) " +
+           "FROM Payment p " +
            "JOIN p.categoryTeam ct " +
+           "JOIN ct.team t " +
            "JOIN ct.category c " +
            "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
-           "ORDER BY p.createdAt DESC")
-    Page<Payment> findByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+           "JOIN u.project pr ";
+    
+    /**
+     * Find payments by company with pagination
+     */
+    @Query(value = DETAIL_SELECT +
+           "WHERE p.companyId = :companyId " +
+           "ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.companyId = :companyId")
+    Page<PaymentDetailDTO> findByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+    
+    /**
+     * Keyset page of a company's payment IDs, newest first, after the (createdAt, id) cursor.
+     * Read from idx_payment_company_created, which InnoDB suffixes with the primary key. The index
+     * is named because MySQL 8.0 otherwise costs a ref on any (company_id, status, ...) index below
+     * this range and filesorts every payment of the company.
+     */
+    @Query(value = "SELECT p.id FROM payments p USE INDEX (idx_payment_company_created) " +
+           "WHERE p.company_id = :companyId " +
+           "AND (p.created_at < :beforeCreatedAt OR (p.created_at = :beforeCreatedAt AND p.id < :beforeId)) " +
+           "ORDER BY p.created_at DESC, p.id DESC",
+           nativeQuery = true)
+    List<Long> findIdsByCompanyIdBefore(
+        @Param("companyId") Long companyId,
+        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable);
+    
+    /**
+     * Payment list rows by ID, in no particular order
+     */
+    @Query(DETAIL_SELECT + "WHERE p.id IN :ids")
+    List<PaymentDetailDTO> findDetailsByIds(@Param("ids") Collection<Long> ids);
     
     /**
      * Find payments by status
      */
-    @Query("SELECT p FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+    @Query(value = DETAIL_SELECT +
+           "WHERE p.companyId = :companyId " +
            "AND p.status = :status " +
-           "ORDER BY p.createdAt DESC")
-    Page<Payment> findByCompanyIdAndStatus(
+           "ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.companyId = :companyId AND p.status = :status")
+    Page<PaymentDetailDTO> findByCompanyIdAndStatus(
         @Param("companyId") Long companyId, 
         @Param("status") Payment.PaymentStatus status, 
         Pageable pageable);
@@ -46,44 +83,139 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     /**
      * Find payments by project
      */
-    @Query("SELECT p FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "WHERE u.project.id = :projectId " +
-           "ORDER BY p.createdAt DESC")
-    Page<Payment> findByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+    @Query(value = DETAIL_SELECT +
+           "WHERE p.projectId = :projectId " +
+           "ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.projectId = :projectId")
+    Page<PaymentDetailDTO> findByProjectId(@Param("projectId") Long projectId, Pageable pageable);
     
     /**
      * Find payments requiring approval
      */
-    @Query("SELECT p FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+    @Query(value = DETAIL_SELECT +
+           "WHERE p.companyId = :companyId " +
            "AND p.status = 'PENDING' " +
-           "ORDER BY p.dueDate ASC")
-    Page<Payment> findRequiringApproval(@Param("companyId") Long companyId, Pageable pageable);
+           "ORDER BY p.dueDate ASC",
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.companyId = :companyId AND p.status = 'PENDING'")
+    Page<PaymentDetailDTO> findRequiringApproval(@Param("companyId") Long companyId, Pageable pageable);
     
     /**
      * Find overdue payments
      */
-    @Query("SELECT p FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+    @Query(value = DETAIL_SELECT +
+           "WHERE p.companyId = :companyId " +
            "AND p.status IN ('PENDING', 'APPROVED') " +
            "AND p.dueDate < :today " +
-           "ORDER BY p.dueDate ASC")
-    Page<Payment> findOverduePayments(
+           "ORDER BY p.dueDate ASC",
+           countQuery = "SELECT COUNT(p) FROM Payment p " +
+           "WHERE p.companyId = :companyId " +
+           "AND p.status IN ('PENDING', 'APPROVED') " +
+           "AND p.dueDate < :today")
+    Page<PaymentDetailDTO> findOverduePayments(
         @Param("companyId") Long companyId, 
         @Param("today") LocalDate today, 
         Pageable pageable);
     
+    /**
+     * Keyset page of a company's overdue payments, earliest due first, after the (dueDate, id) cursor
+     */
+    @Query(DETAIL_SELECT +
+           "WHERE p.companyId = :companyId " +
+           "AND p.status IN ('PENDING', 'APPROVED') " +
+           "AND p.dueDate < :today " +
+           "AND (p.dueDate > :afterDueDate OR (p.dueDate = :afterDueDate AND p.id > :afterId)) " +
+           "ORDER BY p.dueDate ASC, p.id ASC")
+    List<PaymentDetailDTO> findOverduePaymentsAfter(
+        @Param("companyId") Long companyId,
+        @Param("today") LocalDate today,
+        @Param("afterDueDate") LocalDate afterDueDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable);
+    
+    /**
+     * Next chunk of payments that became overdue, keyset-ordered by (dueDate, id) after the given position.
+     * Returns rows of [paymentId, dueDate, companyId]; limit the chunk size with the pageable.
+     */
+    @Query("SELECT p.id, p.dueDate, p.companyId FROM Payment p " +
+           "WHERE p.status IN ('PENDING', 'APPROVED') " +
+           "AND p.dueDate < :today " +
+           "AND (p.dueDate > :afterDueDate OR (p.dueDate = :afterDueDate AND p.id > :afterId)) " +
+           "ORDER BY p.dueDate ASC, p.id ASC")
+    List<Object[]> findOverdueChunk(
+        @Param("today") LocalDate today,
+        @Param("afterDueDate") LocalDate afterDueDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable);
+    
+    /**
+     * Mark the given payments overdue; rows paid in the meantime are left alone
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = 'OVERDUE', p.updatedAt = :now " +
+           "WHERE p.id IN :ids " +
+           "AND p.status IN ('PENDING', 'APPROVED') " +
+           "AND p.dueDate < :today")
+    int markOverdue(
+        @Param("ids") Collection<Long> ids,
+        @Param("today") LocalDate today,
+        @Param("now") LocalDateTime now);
+    
+    /**
+     * IDs among the given ones that belong to the company and are in one of the statuses
+     */
+    @Query("SELECT p.id FROM Payment p " +
+           "WHERE p.companyId = :companyId " +
+           "AND p.id IN :ids " +
+           "AND p.status IN :statuses")
+    List<Long> findIdsForBulkAction(
+        @Param("companyId") Long companyId,
+        @Param("ids") Collection<Long> ids,
+        @Param("statuses") Collection<Payment.PaymentStatus> statuses);
+    
+    /**
+     * IDs of the company's payments in one of the statuses, optionally narrowed by project and due date
+     */
+    @Query("SELECT p.id FROM Payment p " +
+           "WHERE p.companyId = :companyId " +
+           "AND p.status IN :statuses " +
+           "AND (:projectId IS NULL OR p.projectId = :projectId) " +
+           "AND (:dueBefore IS NULL OR p.dueDate < :dueBefore) " +
+           "ORDER BY p.id ASC")
+    List<Long> findIdsForBulkAction(
+        @Param("companyId") Long companyId,
+        @Param("statuses") Collection<Payment.PaymentStatus> statuses,
+        @Param("projectId") Long projectId,
+        @Param("dueBefore") LocalDate dueBefore);
+    
+    /**
+     * Approve the given pending payments; rows changed in the meantime are left alone
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = 'APPROVED', p.updatedAt = :now " +
+           "WHERE p.companyId = :companyId " +
+           "AND p.id IN :ids " +
+           "AND p.status = 'PENDING'")
+    int approveAll(
+        @Param("companyId") Long companyId,
+        @Param("ids") Collection<Long> ids,
+        @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark the given unpaid payments paid; rows paid in the meantime are left alone
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = 'PAID', p.paidDate = :paidDate, " +
+           "p.paymentMethod = :paymentMethod, p.updatedAt = :now " +
+           "WHERE p.companyId = :companyId " +
+           "AND p.id IN :ids " +
+           "AND p.status IN ('PENDING', 'APPROVED', 'OVERDUE')")
+    int markAllPaid(
+        @Param("companyId") Long companyId,
+        @Param("ids") Collection<Long> ids,
+        @Param("paidDate") LocalDate paidDate,
+        @Param("paymentMethod") String paymentMethod,
+        @Param("now") LocalDateTime now);
+    
     /**
      * Find payments by category team
      */
@@ -93,23 +225,15 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * Find payment by ID and company ID for security
      */
     @Query("SELECT p FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
            "WHERE p.id = :id " +
-           "AND pr.company.id = :companyId")
+           "AND p.companyId = :companyId")
     Optional<Payment> findByIdAndCompanyId(@Param("id") Long id, @Param("companyId") Long companyId);
     
     /**
      * Get total paid amount for a company
      */
     @Query("SELECT SUM(p.amount) FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+           "WHERE p.companyId = :companyId " +
            "AND p.status = 'PAID'")
     BigDecimal getTotalPaidAmount(@Param("companyId") Long companyId);
     
@@ -117,11 +241,7 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * Get total pending amount for a company
      */
     @Query("SELECT SUM(p.amount) FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+           "WHERE p.companyId = :companyId " +
            "AND p.status IN ('PENDING', 'APPROVED')")
     BigDecimal getTotalPendingAmount(@Param("companyId") Long companyId);
     
@@ -129,11 +249,7 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * Get total overdue amount for a company
      */
     @Query("SELECT SUM(p.amount) FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+           "WHERE p.companyId = :companyId " +
            "AND p.status IN ('PENDING', 'APPROVED') " +
            "AND p.dueDate < :today")
     BigDecimal getTotalOverdueAmount(@Param("companyId") Long companyId, @Param("today") LocalDate today);
@@ -142,36 +258,65 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      * Count payments requiring approval
      */
     @Query("SELECT COUNT(p) FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+           "WHERE p.companyId = :companyId " +
            "AND p.status = 'PENDING'")
     Long countPaymentsRequiringApproval(@Param("companyId") Long companyId);
     
     /**
-     * Get payments for this month
+     * Get paid amount for a date range (inclusive)
      */
     @Query("SELECT SUM(p.amount) FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "JOIN u.project pr " +
-           "WHERE pr.company.id = :companyId " +
+           "WHERE p.companyId = :companyId " +
            "AND p.status = 'PAID' " +
-           "AND YEAR(p.paidDate) = YEAR(:today) " +
-           "AND MONTH(p.paidDate) = MONTH(:today)")
-    BigDecimal getPaymentsThisMonth(@Param("companyId") Long companyId, @Param("today") LocalDate today);
+           "AND p.paidDate BETWEEN :fromDate AND :toDate")
+    BigDecimal getPaidAmountBetween(
+        @Param("companyId") Long companyId,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate);
+    
+    /**
+     * Get payments for this month, as a paid_date range so the index can be used
+     */
+    default BigDecimal getPaymentsThisMonth(Long companyId, LocalDate today) {
+        return getPaidAmountBetween(companyId, today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
+    }
+    
+    /**
+     * Invoice numbers of a company starting with the given prefix, highest number first.
+     * Only used once per company and year to seed the invoice sequence.
+     */
+    @Query("SELECT p.invoiceNumber FROM Payment p " +
+           "WHERE p.companyId = :companyId " +
+           "AND p.invoiceNumber LIKE CONCAT(:prefix, '%') " +
+           "ORDER BY LENGTH(p.invoiceNumber) DESC, p.invoiceNumber DESC")
+    List<String> findInvoiceNumbersByPrefix(
+        @Param("companyId") Long companyId,
+        @Param("prefix") String prefix,
+        Pageable pageable);
+    
+    /**
+     * Next chunk of payments whose tenant keys are not filled yet
+     */
+    @Query("SELECT p.id FROM Payment p " +
+           "WHERE (p.companyId IS NULL OR p.projectId IS NULL) AND p.id > :afterId " +
+           "ORDER BY p.id ASC")
+    List<Long> findIdsMissingTenantKeys(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Copy tenant keys down from the parent category teams (filled first by the backfill)
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET " +
+           "p.companyId = (SELECT ct.companyId FROM CategoryTeam ct WHERE ct.id = p.categoryTeam.id), " +
+           "p.projectId = (SELECT ct.projectId FROM CategoryTeam ct WHERE ct.id = p.categoryTeam.id) " +
+           "WHERE p.id IN :ids")
+    int backfillTenantKeys(@Param("ids") Collection<Long> ids);
     
     /**
      * Get spent amount by project
      */
     @Query("SELECT SUM(p.amount) FROM Payment p " +
-           "JOIN p.categoryTeam ct " +
-           "JOIN ct.category c " +
-           "JOIN c.unit u " +
-           "WHERE u.project.id = :projectId " +
+           "WHERE p.projectId = :projectId " +
            "AND p.status = 'PAID'")
     BigDecimal getSpentAmountByProjectId(@Param("projectId") Long projectId);
 }
\ No newline at end of file
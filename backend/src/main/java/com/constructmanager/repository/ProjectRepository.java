@@ -4,49 +4,46 @@ import com.constructmanager.dto.ProjectSummaryDTO;
 import com.constructmanager.entity.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    // Counts come from the maintained counter columns, so each project is one row with no join fan-out
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.ProjectSummaryDTO(" +
+            "p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget, " +
+            "p.unitCount, p.teamCount) " +
+            "FROM Project p ";
+
     /**
-     * Find projects by company with pagination - returns only summary data
+     * Find projects by company with pagination - returns only summary data.
+     * Slices fetch one extra row instead of running a count; totals come from the count queries below
      */
-    @Query("SELECT new com.constructmanager.dto.ProjectSummaryDTO(" +
-            "p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget, " +
-            "COUNT(DISTINCT u.id), " +
-            "COUNT(DISTINCT ct.team.id)) " +
-            "FROM Project p " +
-            "LEFT JOIN p.units u " +
-            "LEFT JOIN u.categories c " +
-            "LEFT JOIN c.categoryTeams ct " +
+    @Query(SUMMARY_SELECT +
             "WHERE p.company.id = :companyId " +
-            "GROUP BY p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget " +
             "ORDER BY p.createdAt DESC")
-    Page<ProjectSummaryDTO> findProjectSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+    Slice<ProjectSummaryDTO> findProjectSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
 
     /**
      * Find projects by status with pagination
      */
-    @Query("SELECT new com.constructmanager.dto.ProjectSummaryDTO(" +
-            "p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget, " +
-            "COUNT(DISTINCT u.id), " +
-            "COUNT(DISTINCT ct.team.id)) " +
-            "FROM Project p " +
-            "LEFT JOIN p.units u " +
-            "LEFT JOIN u.categories c " +
-            "LEFT JOIN c.categoryTeams ct " +
+    @Query(SUMMARY_SELECT +
             "WHERE p.company.id = :companyId AND p.status = :status " +
-            "GROUP BY p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget " +
             "ORDER BY p.createdAt DESC")
-    Page<ProjectSummaryDTO> findProjectSummariesByCompanyIdAndStatus(
+    Slice<ProjectSummaryDTO> findProjectSummariesByCompanyIdAndStatus(
             @Param("companyId") Long companyId,
             @Param("status") Project.ProjectStatus status,
             Pageable pageable);
@@ -54,50 +51,99 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     /**
      * Find projects by date range
      */
-    @Query("SELECT new com.constructmanager.dto.ProjectSummaryDTO(" +
-            "p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget, " +
-            "COUNT(DISTINCT u.id), " +
-            "COUNT(DISTINCT ct.team.id)) " +
-            "FROM Project p " +
-            "LEFT JOIN p.units u " +
-            "LEFT JOIN u.categories c " +
-            "LEFT JOIN c.categoryTeams ct " +
+    @Query(SUMMARY_SELECT +
             "WHERE p.company.id = :companyId " +
             "AND p.startDate >= :startDate AND p.endDate <= :endDate " +
-            "GROUP BY p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget " +
             "ORDER BY p.createdAt DESC")
-    Page<ProjectSummaryDTO> findProjectSummariesByCompanyIdAndDateRange(
+    Slice<ProjectSummaryDTO> findProjectSummariesByCompanyIdAndDateRange(
             @Param("companyId") Long companyId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             Pageable pageable);
 
     /**
-     * Search projects by name or location
+     * Count a company's projects
      */
-    @Query("SELECT new com.constructmanager.dto.ProjectSummaryDTO(" +
-            "p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget, " +
-            "COUNT(DISTINCT u.id), " +
-            "COUNT(DISTINCT ct.team.id)) " +
-            "FROM Project p " +
-            "LEFT JOIN p.units u " +
-            "LEFT JOIN u.categories c " +
-            "LEFT JOIN c.categoryTeams ct " +
-            "WHERE p.company.id = :companyId " +
-            "AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR LOWER(p.location) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-            "GROUP BY p.id, p.name, p.location, p.startDate, p.endDate, p.status, p.progressPercentage, p.budget " +
-            "ORDER BY p.createdAt DESC")
-    Page<ProjectSummaryDTO> searchProjectSummaries(
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.company.id = :companyId")
+    long countByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * Count a company's projects with a status
+     */
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.company.id = :companyId AND p.status = :status")
+    long countByCompanyIdAndStatus(@Param("companyId") Long companyId, @Param("status") Project.ProjectStatus status);
+
+    /**
+     * Count a company's projects within a date range
+     */
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.company.id = :companyId " +
+            "AND p.startDate >= :startDate AND p.endDate <= :endDate")
+    long countByCompanyIdAndDateRange(
             @Param("companyId") Long companyId,
-            @Param("searchTerm") String searchTerm,
-            Pageable pageable);
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Maintained unit counter of a project (the total of its unit list)
+     */
+    @Query("SELECT p.unitCount FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findUnitCountById(@Param("projectId") Long projectId);
+
+    /**
+     * [id, name] of a company's projects for the typeahead index
+     */
+    @Query("SELECT p.id, p.name FROM Project p WHERE p.company.id = :companyId")
+    List<Object[]> findNamesByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * Find project summaries by ID (hydrates a page of search hits)
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProjectSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Search project IDs by name or location with the MySQL full-text index, best match first
+     */
+    @Query(value = "SELECT p.id FROM projects p " +
+            "WHERE p.company_id = :companyId " +
+            "AND MATCH(p.name, p.location) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(p.name, p.location) AGAINST (:query IN BOOLEAN MODE) DESC, p.id DESC",
+            countQuery = "SELECT COUNT(*) FROM projects p " +
+            "WHERE p.company_id = :companyId " +
+            "AND MATCH(p.name, p.location) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Long> fullTextSearchIds(@Param("companyId") Long companyId, @Param("query") String query, Pageable pageable);
+
+    /**
+     * Search project IDs by name or location with LIKE; exact and prefix name matches rank first
+     */
+    @Query(value = "SELECT p.id FROM Project p " +
+            "WHERE p.company.id = :companyId " +
+            "AND (LOWER(p.name) LIKE :contains ESCAPE '!' OR LOWER(p.location) LIKE :contains ESCAPE '!') " +
+            "ORDER BY CASE WHEN LOWER(p.name) = :term THEN 0 " +
+            "WHEN LOWER(p.name) LIKE :prefix ESCAPE '!' THEN 1 " +
+            "WHEN LOWER(p.name) LIKE :contains ESCAPE '!' THEN 2 ELSE 3 END, p.name ASC, p.id ASC",
+            countQuery = "SELECT COUNT(p) FROM Project p " +
+            "WHERE p.company.id = :companyId " +
+            "AND (LOWER(p.name) LIKE :contains ESCAPE '!' OR LOWER(p.location) LIKE :contains ESCAPE '!')")
+    Page<Long> likeSearchIds(@Param("companyId") Long companyId,
+                             @Param("term") String term,
+                             @Param("prefix") String prefix,
+                             @Param("contains") String contains,
+                             Pageable pageable);
 
     /**
      * Find project by ID and company ID for security
      */
     Optional<Project> findByIdAndCompanyId(Long id, Long companyId);
 
+    /**
+     * Find project with its company for the detail view
+     */
+    @EntityGraph("Project.detail")
+    @Query("SELECT p FROM Project p WHERE p.id = :id AND p.company.id = :companyId")
+    Optional<Project> findDetailByIdAndCompanyId(@Param("id") Long id, @Param("companyId") Long companyId);
+
     /**
      * Count active projects for dashboard
      */
@@ -107,17 +153,46 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     /**
      * Get projects with delayed tasks
      */
-    @Query("SELECT DISTINCT p FROM Project p " +
-            "JOIN p.units u " +
-            "JOIN u.categories c " +
-            "JOIN c.categoryTeams ct " +
+    @Query(value = SUMMARY_SELECT +
+            "WHERE p.company.id = :companyId " +
+            "AND EXISTS (SELECT 1 FROM CategoryTeam ct WHERE ct.projectId = p.id AND ct.status = 'DELAYED') " +
+            "ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Project p " +
             "WHERE p.company.id = :companyId " +
-            "AND ct.status = 'DELAYED'")
-    Page<Project> findProjectsWithDelayedTasks(@Param("companyId") Long companyId, Pageable pageable);
+            "AND EXISTS (SELECT 1 FROM CategoryTeam ct WHERE ct.projectId = p.id AND ct.status = 'DELAYED')")
+    Page<ProjectSummaryDTO> findProjectsWithDelayedTasks(@Param("companyId") Long companyId, Pageable pageable);
 
     /**
      * Find all projects by company ID
      */
     @Query("SELECT p FROM Project p WHERE p.company.id = :companyId")
     List<Project> findByCompanyId(@Param("companyId") Long companyId);
+
+    /**
+     * Lock projects in ID order (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id IN :ids ORDER BY p.id ASC")
+    List<Project> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recount units, categories, distinct teams and their completed counts for the given projects
+     */
+    @Modifying
+    @Query("UPDATE Project p SET " +
+            "p.unitCount = (SELECT COUNT(u) FROM Unit u WHERE u.project.id = p.id), " +
+            "p.completedUnitCount = (SELECT COUNT(u) FROM Unit u " +
+            "WHERE u.project.id = p.id AND u.progressPercentage = 100), " +
+            "p.categoryCount = (SELECT COUNT(c) FROM Category c WHERE c.projectId = p.id), " +
+            "p.completedCategoryCount = (SELECT COUNT(c) FROM Category c " +
+            "WHERE c.projectId = p.id AND c.progressPercentage = 100), " +
+            "p.teamCount = (SELECT COUNT(DISTINCT ct.team.id) FROM CategoryTeam ct WHERE ct.projectId = p.id) " +
+            "WHERE p.id IN :ids")
+    int refreshCounters(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next chunk of project IDs for the counter reconcile job
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
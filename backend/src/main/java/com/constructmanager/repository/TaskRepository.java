@@ -0,0 +1,115 @@
+package com.constructmanager.repository;
+
+import com.constructmanager.dto.TaskSummaryDTO;
+import com.constructmanager.entity.Task;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskRepository extends JpaRepository<Task, Long> {
+    
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.TaskSummaryDTO(" +
+           "t.id, t.name, t.description, t.status, t.dueDate, t.completedDate, t.progressPercentage, " +
+           "t.categoryTeam.id) " +
+           "FROM Task t ";
+    
+    /**
+     * Find tasks of a category team, earliest due first
+     */
+    @Query(value = SUMMARY_SELECT +
+           "WHERE t.categoryTeam.id = :categoryTeamId " +
+           "ORDER BY t.dueDate ASC, t.id ASC",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.categoryTeam.id = :categoryTeamId")
+    Page<TaskSummaryDTO> findSummariesByCategoryTeamId(@Param("categoryTeamId") Long categoryTeamId, Pageable pageable);
+    
+    /**
+     * Find task summary by ID
+     */
+    @Query(SUMMARY_SELECT + "WHERE t.id = :id")
+    Optional<TaskSummaryDTO> findSummaryById(@Param("id") Long id);
+    
+    /**
+     * Keyset page of a company's open tasks due in [from, to), earliest due first, after the (dueDate, id) cursor.
+     * A range scan of idx_task_company_due_date_id.
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE t.companyId = :companyId " +
+           "AND t.status IN ('PENDING', 'IN_PROGRESS') " +
+           "AND t.dueDate >= :from AND t.dueDate < :to " +
+           "AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId)) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TaskSummaryDTO> findOpenDueBetweenAfter(
+        @Param("companyId") Long companyId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("afterDueDate") LocalDate afterDueDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable);
+    
+    /**
+     * Count a company's tasks that have a due date
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.companyId = :companyId AND t.dueDate IS NOT NULL")
+    long countScheduledByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * [id, name, dueDate, progressPercentage, status, categoryTeamId, projectId] of a company's tasks
+     * with a due date, for the schedule index
+     */
+    @Query("SELECT t.id, t.name, t.dueDate, t.progressPercentage, t.status, ct.id, ct.projectId " +
+           "FROM Task t JOIN t.categoryTeam ct " +
+           "WHERE t.companyId = :companyId AND t.dueDate IS NOT NULL")
+    List<Object[]> findScheduleByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * Schedule rows, as above, of the tasks due within [from, to]
+     */
+    @Query("SELECT t.id, t.name, t.dueDate, t.progressPercentage, t.status, ct.id, ct.projectId " +
+           "FROM Task t JOIN t.categoryTeam ct " +
+           "WHERE t.companyId = :companyId AND t.dueDate BETWEEN :from AND :to " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Object[]> findScheduleDueBetween(
+        @Param("companyId") Long companyId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+    
+    /**
+     * Resolve the category team of a task
+     */
+    @Query("SELECT t.categoryTeam.id FROM Task t WHERE t.id = :id")
+    Optional<Long> findCategoryTeamIdById(@Param("id") Long id);
+    
+    /**
+     * Lock a task (SELECT ... FOR UPDATE); taken after its category team's hierarchy locks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> lockById(@Param("id") Long id);
+    
+    /**
+     * Next chunk of tasks whose tenant key is not filled yet
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.companyId IS NULL AND t.id > :afterId ORDER BY t.id ASC")
+    List<Long> findIdsMissingTenantKeys(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Copy the tenant key down from the parent category teams (filled first by the backfill)
+     */
+    @Modifying
+    @Query("UPDATE Task t SET " +
+           "t.companyId = (SELECT ct.companyId FROM CategoryTeam ct WHERE ct.id = t.categoryTeam.id) " +
+           "WHERE t.id IN :ids")
+    int backfillTenantKeys(@Param("ids") Collection<Long> ids);
+}
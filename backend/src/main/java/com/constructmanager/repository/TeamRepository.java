@@ -1,45 +1,106 @@
 package com.constructmanager.repository;
 
+import com.constructmanager.dto.TeamSummaryDTO;
 import com.constructmanager.entity.Team;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
     
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.TeamSummaryDTO(" +
+           "t.id, t.name, t.specialty, t.color, t.description, t.isActive, t.createdAt) " +
+           "FROM Team t ";
+    
     /**
      * Find teams by company with pagination
      */
-    Page<Team> findByCompanyIdAndIsActiveTrueOrderByNameAsc(Long companyId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT +
+           "WHERE t.company.id = :companyId AND t.isActive = true " +
+           "ORDER BY t.name ASC",
+           countQuery = "SELECT COUNT(t) FROM Team t WHERE t.company.id = :companyId AND t.isActive = true")
+    Page<TeamSummaryDTO> findSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
     
     /**
      * Find teams by company without pagination
      */
-    List<Team> findByCompanyIdAndIsActiveTrueOrderByNameAsc(Long companyId);
+    @Query(SUMMARY_SELECT +
+           "WHERE t.company.id = :companyId AND t.isActive = true " +
+           "ORDER BY t.name ASC")
+    List<TeamSummaryDTO> findSummariesByCompanyId(@Param("companyId") Long companyId);
     
     /**
      * Find teams by specialty
      */
-    Page<Team> findByCompanyIdAndSpecialtyContainingIgnoreCaseAndIsActiveTrueOrderByNameAsc(
-        Long companyId, String specialty, Pageable pageable);
+    @Query(value = SUMMARY_SELECT +
+           "WHERE t.company.id = :companyId AND t.isActive = true " +
+           "AND LOWER(t.specialty) LIKE LOWER(CONCAT('%', :specialty, '%')) " +
+           "ORDER BY t.name ASC",
+           countQuery = "SELECT COUNT(t) FROM Team t " +
+           "WHERE t.company.id = :companyId AND t.isActive = true " +
+           "AND LOWER(t.specialty) LIKE LOWER(CONCAT('%', :specialty, '%'))")
+    Page<TeamSummaryDTO> findSummariesBySpecialty(
+        @Param("companyId") Long companyId, @Param("specialty") String specialty, Pageable pageable);
     
     /**
-     * Search teams by name or specialty
+     * [id, name] of a company's active teams for the typeahead index
      */
-    @Query("SELECT t FROM Team t " +
-           "WHERE t.company.id = :companyId " +
-           "AND t.isActive = true " +
-           "AND (LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(t.specialty) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-           "ORDER BY t.name ASC")
-    Page<Team> searchTeams(@Param("companyId") Long companyId, @Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query("SELECT t.id, t.name FROM Team t WHERE t.company.id = :companyId AND t.isActive = true")
+    List<Object[]> findNamesByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * [id, name, specialty] of a company's active teams, ordered by ID, for auto-assignment and capacity views
+     */
+    @Query("SELECT t.id, t.name, t.specialty FROM Team t " +
+           "WHERE t.company.id = :companyId AND t.isActive = true ORDER BY t.id ASC")
+    List<Object[]> findSpecialtiesByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * Find team summaries by ID (hydrates a page of search hits)
+     */
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<TeamSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Search active team IDs by name or specialty with the MySQL full-text index, best match first
+     */
+    @Query(value = "SELECT t.id FROM teams t " +
+           "WHERE t.company_id = :companyId AND t.is_active = true " +
+           "AND MATCH(t.name, t.specialty) AGAINST (:query IN BOOLEAN MODE) " +
+           "ORDER BY MATCH(t.name, t.specialty) AGAINST (:query IN BOOLEAN MODE) DESC, t.name ASC",
+           countQuery = "SELECT COUNT(*) FROM teams t " +
+           "WHERE t.company_id = :companyId AND t.is_active = true " +
+           "AND MATCH(t.name, t.specialty) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Long> fullTextSearchIds(@Param("companyId") Long companyId, @Param("query") String query, Pageable pageable);
+    
+    /**
+     * Search active team IDs by name or specialty with LIKE; exact and prefix name matches rank first
+     */
+    @Query(value = "SELECT t.id FROM Team t " +
+           "WHERE t.company.id = :companyId AND t.isActive = true " +
+           "AND (LOWER(t.name) LIKE :contains ESCAPE '!' OR LOWER(t.specialty) LIKE :contains ESCAPE '!') " +
+           "ORDER BY CASE WHEN LOWER(t.name) = :term THEN 0 " +
+           "WHEN LOWER(t.name) LIKE :prefix ESCAPE '!' THEN 1 " +
+           "WHEN LOWER(t.name) LIKE :contains ESCAPE '!' THEN 2 ELSE 3 END, t.name ASC, t.id ASC",
+           countQuery = "SELECT COUNT(t) FROM Team t " +
+           "WHERE t.company.id = :companyId AND t.isActive = true " +
+           "AND (LOWER(t.name) LIKE :contains ESCAPE '!' OR LOWER(t.specialty) LIKE :contains ESCAPE '!')")
+    Page<Long> likeSearchIds(@Param("companyId") Long companyId,
+                             @Param("term") String term,
+                             @Param("prefix") String prefix,
+                             @Param("contains") String contains,
+                             Pageable pageable);
     
     /**
      * Find team by ID and company ID for security
@@ -63,6 +124,15 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
            "ORDER BY t.name ASC")
     List<Team> findTeamsByProjectId(@Param("projectId") Long projectId);
     
+    /**
+     * Find summaries of teams working on a specific project
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE t.isActive = true " +
+           "AND EXISTS (SELECT 1 FROM CategoryTeam ct WHERE ct.team = t AND ct.projectId = :projectId) " +
+           "ORDER BY t.name ASC")
+    List<TeamSummaryDTO> findSummariesByProjectId(@Param("projectId") Long projectId);
+    
     /**
      * Get team performance metrics
      */
@@ -76,4 +146,18 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
            "GROUP BY t.id, t.name " +
            "ORDER BY t.name ASC")
     Page<Object[]> getTeamPerformanceMetrics(@Param("companyId") Long companyId, Pageable pageable);
+    
+    /**
+     * Lock a team (SELECT ... FOR UPDATE) while its bookings are checked; taken before any hierarchy locks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id = :id")
+    Optional<Team> lockById(@Param("id") Long id);
+    
+    /**
+     * Lock several teams in ID order, so callers locking overlapping sets cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids ORDER BY t.id ASC")
+    List<Team> lockAllById(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
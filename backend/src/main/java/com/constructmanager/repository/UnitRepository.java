@@ -4,74 +4,123 @@ import com.constructmanager.dto.UnitSummaryDTO;
 import com.constructmanager.entity.Unit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UnitRepository extends JpaRepository<Unit, Long> {
     
+    // Counts come from the maintained counter columns, so each unit is one row with no join fan-out
+    String SUMMARY_SELECT = "SELECT new com.constructmanager.dto.UnitSummaryDTO(" +
+           "u.id, u.name, u.type, u.floor, u.area, u.progressPercentage, " +
+           "u.categoryCount, u.teamCount) " +
+           "FROM Unit u ";
+    
     /**
-     * Find units by project with pagination - returns only summary data
+     * Find units by project with pagination - returns only summary data.
+     * Slices fetch one extra row instead of running a count; the total is the project's unit counter
      */
-    @Query("SELECT new com.constructmanager.dto.UnitSummaryDTO(" +
-           "u.id, u.name, u.type, u.floor, u.area, u.progressPercentage, " +
-           "COUNT(DISTINCT c.id), " +
-           "COUNT(DISTINCT ct.team.id)) " +
-           "FROM Unit u " +
-           "LEFT JOIN u.categories c " +
-           "LEFT JOIN c.categoryTeams ct " +
+    @Query(SUMMARY_SELECT +
            "WHERE u.project.id = :projectId " +
-           "GROUP BY u.id, u.name, u.type, u.floor, u.area, u.progressPercentage " +
            "ORDER BY u.createdAt ASC")
-    Page<UnitSummaryDTO> findUnitSummariesByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+    Slice<UnitSummaryDTO> findUnitSummariesByProjectId(@Param("projectId") Long projectId, Pageable pageable);
     
     /**
      * Find units by type with pagination
      */
-    @Query("SELECT new com.constructmanager.dto.UnitSummaryDTO(" +
-           "u.id, u.name, u.type, u.floor, u.area, u.progressPercentage, " +
-           "COUNT(DISTINCT c.id), " +
-           "COUNT(DISTINCT ct.team.id)) " +
-           "FROM Unit u " +
-           "LEFT JOIN u.categories c " +
-           "LEFT JOIN c.categoryTeams ct " +
+    @Query(SUMMARY_SELECT +
            "WHERE u.project.id = :projectId AND u.type = :type " +
-           "GROUP BY u.id, u.name, u.type, u.floor, u.area, u.progressPercentage " +
            "ORDER BY u.createdAt ASC")
-    Page<UnitSummaryDTO> findUnitSummariesByProjectIdAndType(
+    Slice<UnitSummaryDTO> findUnitSummariesByProjectIdAndType(
         @Param("projectId") Long projectId, 
         @Param("type") Unit.UnitType type, 
         Pageable pageable);
     
     /**
-     * Search units by name
+     * [id, name, projectId] of a company's units for the typeahead index
      */
-    @Query("SELECT new com.constructmanager.dto.UnitSummaryDTO(" +
-           "u.id, u.name, u.type, u.floor, u.area, u.progressPercentage, " +
-           "COUNT(DISTINCT c.id), " +
-           "COUNT(DISTINCT ct.team.id)) " +
-           "FROM Unit u " +
-           "LEFT JOIN u.categories c " +
-           "LEFT JOIN c.categoryTeams ct " +
+    @Query("SELECT u.id, u.name, u.project.id FROM Unit u WHERE u.project.company.id = :companyId")
+    List<Object[]> findNamesByCompanyId(@Param("companyId") Long companyId);
+    
+    /**
+     * Find unit summaries by ID (hydrates a page of search hits)
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.id IN :ids")
+    List<UnitSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Search unit IDs by name with the MySQL full-text index, best match first
+     */
+    @Query(value = "SELECT u.id FROM units u " +
+           "WHERE u.project_id = :projectId " +
+           "AND MATCH(u.name) AGAINST (:query IN BOOLEAN MODE) " +
+           "ORDER BY MATCH(u.name) AGAINST (:query IN BOOLEAN MODE) DESC, u.id ASC",
+           countQuery = "SELECT COUNT(*) FROM units u " +
+           "WHERE u.project_id = :projectId " +
+           "AND MATCH(u.name) AGAINST (:query IN BOOLEAN MODE)",
+           nativeQuery = true)
+    Page<Long> fullTextSearchIds(@Param("projectId") Long projectId, @Param("query") String query, Pageable pageable);
+    
+    /**
+     * Search unit IDs by name with LIKE; exact and prefix matches rank first
+     */
+    @Query(value = "SELECT u.id FROM Unit u " +
            "WHERE u.project.id = :projectId " +
-           "AND LOWER(u.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "GROUP BY u.id, u.name, u.type, u.floor, u.area, u.progressPercentage " +
-           "ORDER BY u.createdAt ASC")
-    Page<UnitSummaryDTO> searchUnitSummaries(
-        @Param("projectId") Long projectId,
-        @Param("searchTerm") String searchTerm,
-        Pageable pageable);
+           "AND LOWER(u.name) LIKE :contains ESCAPE '!' " +
+           "ORDER BY CASE WHEN LOWER(u.name) = :term THEN 0 " +
+           "WHEN LOWER(u.name) LIKE :prefix ESCAPE '!' THEN 1 ELSE 2 END, u.name ASC, u.id ASC",
+           countQuery = "SELECT COUNT(u) FROM Unit u " +
+           "WHERE u.project.id = :projectId " +
+           "AND LOWER(u.name) LIKE :contains ESCAPE '!'")
+    Page<Long> likeSearchIds(@Param("projectId") Long projectId,
+                             @Param("term") String term,
+                             @Param("prefix") String prefix,
+                             @Param("contains") String contains,
+                             Pageable pageable);
     
     /**
      * Find unit by ID and project ID for security
      */
     Optional<Unit> findByIdAndProjectId(Long id, Long projectId);
     
+    /**
+     * Find unit with its project for the detail view
+     */
+    @EntityGraph("Unit.detail")
+    @Query("SELECT u FROM Unit u WHERE u.id = :id AND u.project.id = :projectId")
+    Optional<Unit> findDetailByIdAndProjectId(@Param("id") Long id, @Param("projectId") Long projectId);
+    
+    /**
+     * All unit rows of a project detail view, read from the counter columns
+     * so no category or category team collection is initialized
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE u.project.id = :projectId " +
+           "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UnitSummaryDTO> findUnitCountsByProjectId(@Param("projectId") Long projectId);
+    
+    /**
+     * Units of a tenant's project among the given IDs, with the project loaded
+     */
+    @Query("SELECT u FROM Unit u JOIN FETCH u.project p " +
+           "WHERE u.id IN :ids AND p.id = :projectId AND p.company.id = :companyId " +
+           "ORDER BY u.id ASC")
+    List<Unit> findAllInProject(
+        @Param("ids") Collection<Long> ids,
+        @Param("projectId") Long projectId,
+        @Param("companyId") Long companyId);
+    
     /**
      * Count units by project
      */
@@ -89,4 +138,45 @@ public interface UnitRepository extends JpaRepository<Unit, Long> {
     Long countCompletedUnitsByProjectId(@Param("projectId") Long projectId);
 
     List<Unit> findByProjectId(Long projectId);
+    
+    /**
+     * Sum and count unit progress per project for batch rollups
+     */
+    @Query("SELECT u.project.id, SUM(u.progressPercentage), COUNT(u) " +
+           "FROM Unit u " +
+           "WHERE u.project.id IN :projectIds " +
+           "GROUP BY u.project.id")
+    List<Object[]> sumProgressByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+    
+    /**
+     * Resolve [unitId, projectId] for lock ordering
+     */
+    @Query("SELECT u.id, u.project.id FROM Unit u WHERE u.id IN :ids")
+    List<Object[]> findHierarchyKeys(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Recount categories, completed categories and distinct teams of the given units
+     */
+    @Modifying
+    @Query("UPDATE Unit u SET " +
+           "u.categoryCount = (SELECT COUNT(c) FROM Category c WHERE c.unit.id = u.id), " +
+           "u.completedCategoryCount = (SELECT COUNT(c) FROM Category c " +
+           "WHERE c.unit.id = u.id AND c.progressPercentage = 100), " +
+           "u.teamCount = (SELECT COUNT(DISTINCT ct.team.id) FROM CategoryTeam ct " +
+           "WHERE ct.category.unit.id = u.id) " +
+           "WHERE u.id IN :ids")
+    int refreshCounters(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Next chunk of unit IDs for the counter reconcile job
+     */
+    @Query("SELECT u.id FROM Unit u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Lock units in ID order (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM Unit u WHERE u.id IN :ids ORDER BY u.id ASC")
+    List<Unit> lockAllById(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.constructmanager.repository;
+
+import com.constructmanager.entity.Unit;
+import com.constructmanager.entity.UnitTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UnitTemplateRepository extends JpaRepository<UnitTemplate, Long> {
+    
+    /**
+     * Find a company's templates by name; categories load in batches when mapped
+     */
+    @Query(value = "SELECT t FROM UnitTemplate t WHERE t.company.id = :companyId ORDER BY t.name ASC",
+           countQuery = "SELECT COUNT(t) FROM UnitTemplate t WHERE t.company.id = :companyId")
+    Page<UnitTemplate> findByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+    
+    /**
+     * Find a company's templates for a unit type
+     */
+    @Query(value = "SELECT t FROM UnitTemplate t WHERE t.company.id = :companyId AND t.unitType = :unitType ORDER BY t.name ASC",
+           countQuery = "SELECT COUNT(t) FROM UnitTemplate t WHERE t.company.id = :companyId AND t.unitType = :unitType")
+    Page<UnitTemplate> findByCompanyIdAndUnitType(
+        @Param("companyId") Long companyId,
+        @Param("unitType") Unit.UnitType unitType,
+        Pageable pageable);
+    
+    /**
+     * Find template by ID and company ID for security
+     */
+    @Query("SELECT t FROM UnitTemplate t WHERE t.id = :id AND t.company.id = :companyId")
+    Optional<UnitTemplate> findByIdAndCompanyId(@Param("id") Long id, @Param("companyId") Long companyId);
+}
@@ -36,6 +36,7 @@ public class AuthService {
     /**
      * Authenticate user and return JWT token
      */
+    @Transactional(readOnly = true)
     public Optional<AuthResponseDTO> authenticate(String email, String password) {
         return userRepository.findByEmail(email)
                 .filter(user -> passwordEncoder.matches(password, user.getPassword()))
@@ -50,6 +51,7 @@ public class AuthService {
     /**
      * Get user from JWT token
      */
+    @Transactional(readOnly = true)
     public Optional<UserProfileDTO> getUserFromToken(String token) {
         return jwtService.extractUserId(token)
                 .flatMap(userRepository::findById)
@@ -0,0 +1,104 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.CategoryDependencyCreateDTO;
+import com.constructmanager.dto.CategoryDependencyDTO;
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.CategoryDependency;
+import com.constructmanager.exception.ResourceNotFoundException;
+import com.constructmanager.repository.CategoryDependencyRepository;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Explicit dependencies between categories of a project, on top of the sequence order inside units
+ */
+@Service
+@Transactional(readOnly = true)
+public class CategoryDependencyService {
+
+    @Autowired
+    private CategoryDependencyRepository categoryDependencyRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CriticalPathService criticalPathService;
+
+    /**
+     * Get a project's dependencies
+     */
+    public List<CategoryDependencyDTO> getDependencies(Long projectId, Long companyId) {
+        if (projectRepository.findByIdAndCompanyId(projectId, companyId).isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId + " for company ID: " + companyId);
+        }
+        return categoryDependencyRepository.findSummariesByProjectId(projectId, companyId);
+    }
+
+    /**
+     * Make one category start after another finishes; both must be in the same project.
+     *
+     * The project row is locked so dependency and sequence changes of a project run one at a
+     * time, and the cycle check runs on the flushed rows read committed, so it sees every
+     * change committed before the lock was granted.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public CategoryDependencyDTO createDependency(Long companyId, CategoryDependencyCreateDTO request) {
+        Category predecessor = findCategory(request.getPredecessorCategoryId(), companyId);
+        Category successor = findCategory(request.getSuccessorCategoryId(), companyId);
+        Long projectId = predecessor.getProjectId();
+        if (!Objects.equals(projectId, successor.getProjectId())) {
+            throw new IllegalArgumentException("Dependent categories must belong to the same project");
+        }
+        if (predecessor.getId().equals(successor.getId())) {
+            throw new IllegalArgumentException("A category cannot depend on itself");
+        }
+
+        projectRepository.lockAllById(List.of(projectId));
+        if (categoryDependencyRepository.existsByPredecessorIdAndSuccessorId(predecessor.getId(), successor.getId())) {
+            throw new IllegalArgumentException("Category " + successor.getId() + " already depends on category "
+                    + predecessor.getId());
+        }
+
+        CategoryDependency dependency = new CategoryDependency();
+        dependency.setPredecessor(predecessor);
+        dependency.setSuccessor(successor);
+        dependency.setLagDays(request.getLagDays() != null ? request.getLagDays() : 0);
+        dependency.setCompanyId(companyId);
+        dependency.setProjectId(projectId);
+        dependency = categoryDependencyRepository.saveAndFlush(dependency);
+        criticalPathService.checkAcyclic(projectId);
+
+        return new CategoryDependencyDTO(dependency.getId(), predecessor.getId(), predecessor.getName(),
+                successor.getId(), successor.getName(), dependency.getLagDays(), projectId);
+    }
+
+    /**
+     * Delete a dependency
+     */
+    @Transactional
+    public boolean deleteDependency(Long dependencyId, Long companyId) {
+        return categoryDependencyRepository.findByIdAndCompanyId(dependencyId, companyId)
+                .map(dependency -> {
+                    categoryDependencyRepository.delete(dependency);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private Category findCategory(Long categoryId, Long companyId) {
+        return categoryRepository.findById(categoryId)
+                .filter(category -> companyId.equals(category.getCompanyId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + categoryId));
+    }
+}
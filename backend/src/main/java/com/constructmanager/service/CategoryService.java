@@ -4,18 +4,27 @@ package com.constructmanager.service;
 import com.constructmanager.dto.*;
 import com.constructmanager.entity.Category;
 import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.TeamRepository;
 import com.constructmanager.repository.UnitRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict; // Import CacheEvict
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,11 +40,29 @@ public class CategoryService {
     @Autowired
     private CategoryMapper categoryMapper;
 
+    @Autowired
+    private HierarchyCounterService counterService;
+
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+
+    @Autowired
+    private CriticalPathService criticalPathService;
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamConflictService conflictService;
+
     /**
      * Get categories by unit with pagination
      */
-    public Page<Category> getCategoriesByUnit(Long unitId, Pageable pageable) {
-        return categoryRepository.findByUnitIdOrderByOrderSequenceAsc(unitId, pageable);
+    public Page<CategorySummaryDTO> getCategoriesByUnit(Long unitId, Pageable pageable) {
+        return categoryRepository.findSummariesByUnitId(unitId, pageable);
     }
 
     /**
@@ -61,11 +88,12 @@ public class CategoryService {
     /**
      * Create new category
      */
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @CacheEvict(value = "categoryDetails", key = "#unitId") // Evict cache for this unit
     public Optional<CategoryDetailDTO> createCategory(Long unitId, Long projectId, CategoryCreateDTO categoryCreateDTO) {
         return unitRepository.findByIdAndProjectId(unitId, projectId)
                 .map(unit -> {
+                    counterService.lock(projectId, List.of(unitId));
                     Category category = categoryMapper.toEntity(categoryCreateDTO);
                     category.setUnit(unit);
 
@@ -76,20 +104,47 @@ public class CategoryService {
                     }
 
                     Category savedCategory = categoryRepository.save(category);
+                    counterService.refresh(unitId, projectId);
                     return categoryMapper.toDetailDTO(savedCategory);
                 });
     }
 
     /**
-     * Update existing category
+     * Update existing category. A new orderSequence changes the implied dependencies inside
+     * the unit, so it is checked for dependency cycles under the project lock, like a new
+     * CategoryDependency; the lock is taken for every update, since counters are refreshed.
+     * New dates are checked for double bookings of every team still working on the category;
+     * those teams are locked in ID order before the hierarchy, as a new assignment locks its team.
      */
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @CacheEvict(value = "categoryDetails", key = "#unitId") // Evict cache for this unit
     public Optional<CategoryDetailDTO> updateCategory(Long categoryId, Long unitId, CategoryUpdateDTO categoryUpdateDTO) {
         return categoryRepository.findByIdAndUnitId(categoryId, unitId)
                 .map(existingCategory -> {
+                    boolean resequenced = !Objects.equals(existingCategory.getOrderSequence(),
+                            categoryUpdateDTO.getOrderSequence());
+                    boolean rescheduled = !Objects.equals(existingCategory.getStartDate(), categoryUpdateDTO.getStartDate())
+                            || !Objects.equals(existingCategory.getEndDate(), categoryUpdateDTO.getEndDate());
+                    List<Object[]> assignments = rescheduled
+                            ? categoryTeamRepository.findUnfinishedTeamIdsByCategoryId(categoryId)
+                            : List.of();
+                    if (!assignments.isEmpty()) {
+                        teamRepository.lockAllById(assignments.stream()
+                                .map(row -> (Long) row[1])
+                                .collect(Collectors.toCollection(TreeSet::new)));
+                    }
+                    counterService.lock(existingCategory.getProjectId(), List.of(unitId));
                     categoryMapper.updateEntity(existingCategory, categoryUpdateDTO);
+                    for (Object[] row : assignments) {
+                        conflictService.checkAssignment((Long) row[1], existingCategory, (Long) row[0]);
+                    }
                     Category savedCategory = categoryRepository.save(existingCategory);
+                    if (resequenced) {
+                        categoryRepository.flush();
+                        criticalPathService.checkAcyclic(savedCategory.getProjectId());
+                    }
+                    // A manual progress override can complete or reopen the category
+                    counterService.refresh(unitId, savedCategory.getProjectId());
                     return categoryMapper.toDetailDTO(savedCategory);
                 });
     }
@@ -102,7 +157,10 @@ public class CategoryService {
     public boolean deleteCategory(Long categoryId, Long unitId) {
         return categoryRepository.findByIdAndUnitId(categoryId, unitId)
                 .map(category -> {
+                    Long projectId = category.getProjectId();
+                    counterService.lock(projectId, List.of(unitId));
                     categoryRepository.delete(category);
+                    counterService.refresh(unitId, projectId);
                     return true;
                 })
                 .orElse(false);
@@ -111,25 +169,51 @@ public class CategoryService {
     /**
      * Get categories with delayed tasks
      */
-    public Page<Category> getCategoriesWithDelayedTasks(Long companyId, Pageable pageable) {
+    public Page<CategorySummaryDTO> getCategoriesWithDelayedTasks(Long companyId, Pageable pageable) {
         return categoryRepository.findCategoriesWithDelayedTasks(companyId, pageable);
     }
 
     /**
      * Get categories starting soon
      */
-    public Page<Category> getCategoriesStartingSoon(Long companyId, int daysAhead, Pageable pageable) {
+    public Page<CategorySummaryDTO> getCategoriesStartingSoon(Long companyId, int daysAhead, Pageable pageable) {
         LocalDate today = LocalDate.now();
         LocalDate futureDate = today.plusDays(daysAhead);
-        return categoryRepository.findCategoriesStartingSoon(companyId, today, futureDate, pageable);
+        return scheduleIndex.categoriesStartingBetween(companyId, today, futureDate)
+                .map(entries -> toSummaryPage(entries, pageable))
+                .orElseGet(() -> categoryRepository.findCategoriesStartingSoon(companyId, today, futureDate, pageable));
     }
 
     /**
      * Get overdue categories
      */
-    public Page<Category> getOverdueCategories(Long companyId, Pageable pageable) {
+    public Page<CategorySummaryDTO> getOverdueCategories(Long companyId, Pageable pageable) {
         LocalDate today = LocalDate.now();
-        return categoryRepository.findOverdueCategories(companyId, today, pageable);
+        return scheduleIndex.openCategoriesEndingBefore(companyId, today)
+                .map(entries -> toSummaryPage(entries, pageable))
+                .orElseGet(() -> categoryRepository.findOverdueCategories(companyId, today, pageable));
+    }
+
+    /**
+     * One page of schedule index matches, as summaries read by ID in the index's order
+     */
+    private Page<CategorySummaryDTO> toSummaryPage(List<ScheduleIndex.Entry> entries, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), entries.size());
+        int to = Math.min(from + pageable.getPageSize(), entries.size());
+        List<Long> ids = entries.subList(from, to).stream()
+                .map(ScheduleIndex.Entry::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, entries.size());
+        }
+
+        Map<Long, CategorySummaryDTO> byId = categoryRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(CategorySummaryDTO::getId, Function.identity()));
+        List<CategorySummaryDTO> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, entries.size());
     }
 
     /**
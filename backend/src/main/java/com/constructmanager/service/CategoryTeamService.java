@@ -11,16 +11,20 @@ import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class CategoryTeamService {
     
+    private static final int MAX_INDEXED_CATEGORY_IDS = 1000;
+    
     @Autowired
     private CategoryTeamRepository categoryTeamRepository;
     
@@ -33,38 +37,55 @@ public class CategoryTeamService {
     @Autowired
     private CacheManager cacheManager;
     
+    @Autowired
+    private HierarchyCounterService counterService;
+    
     @Autowired
     private ProgressService progressService;
     
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+    
+    @Autowired
+    private TeamConflictService conflictService;
+    
     /**
      * Get category teams by category
      */
-    public List<CategoryTeam> getCategoryTeamsByCategory(Long categoryId) {
-        return categoryTeamRepository.findByCategoryIdOrderByCreatedAtAsc(categoryId);
+    public List<CategoryTeamSummaryDTO> getCategoryTeamsByCategory(Long categoryId) {
+        return categoryTeamRepository.findSummariesByCategoryId(categoryId);
     }
     
     /**
      * Get category teams by team
      */
-    public Page<CategoryTeam> getCategoryTeamsByTeam(Long teamId, Pageable pageable) {
-        return categoryTeamRepository.findByTeamIdOrderByCreatedAtDesc(teamId, pageable);
+    public Page<CategoryTeamSummaryDTO> getCategoryTeamsByTeam(Long teamId, Pageable pageable) {
+        return categoryTeamRepository.findSummariesByTeamId(teamId, pageable);
     }
     
     /**
      * Get category team by category and team
      */
-    public Optional<CategoryTeam> getCategoryTeam(Long categoryId, Long teamId) {
-        return categoryTeamRepository.findByCategoryIdAndTeamId(categoryId, teamId);
+    public Optional<CategoryTeamSummaryDTO> getCategoryTeam(Long categoryId, Long teamId) {
+        return categoryTeamRepository.findSummaryByCategoryIdAndTeamId(categoryId, teamId);
     }
     
     /**
      * Create category team assignment
      */
-    @Transactional
-    public Optional<CategoryTeam> createCategoryTeam(Long categoryId, CategoryTeamCreateDTO dto) {
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Optional<CategoryTeamSummaryDTO> createCategoryTeam(Long categoryId, CategoryTeamCreateDTO dto) {
         return categoryRepository.findById(categoryId)
                 .flatMap(category -> teamRepository.findById(dto.getTeamId())
                         .map(team -> {
+                            if (dto.getStatus() != CategoryTeam.TaskStatus.DONE
+                                    && !Boolean.TRUE.equals(dto.getAllowDoubleBooking())) {
+                                conflictService.checkAssignment(team.getId(), category, null);
+                            }
+                            if (category.getUnit() != null) {
+                                counterService.lock(category.getProjectId(), List.of(category.getUnit().getId()));
+                            }
+                            
                             CategoryTeam categoryTeam = new CategoryTeam();
                             categoryTeam.setCategory(category);
                             categoryTeam.setTeam(team);
@@ -79,20 +100,36 @@ public class CategoryTeamService {
                             if (category.getUnit() != null) {
                                 Long unitId = category.getUnit().getId();
                                 cacheManager.getCache("categoryDetails").evict(unitId);
+                                counterService.refresh(unitId, category.getProjectId());
                             }
                             
-                            return savedCategoryTeam;
+                            return toSummary(savedCategoryTeam.getId());
                         }));
     }
     
     /**
      * Update category team assignment
      */
-    @Transactional
-    public CategoryTeam updateCategoryTeam(Long id, CategoryTeamUpdateDTO updateDTO) {
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public CategoryTeamSummaryDTO updateCategoryTeam(Long id, CategoryTeamUpdateDTO updateDTO) {
         CategoryTeam categoryTeam = categoryTeamRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CategoryTeam not found with id: " + id));
         
+        // Reopening a finished assignment books the team again. The team lock is taken
+        // before the hierarchy locks below, as when an assignment is created
+        if (updateDTO.getStatus() != null
+                && categoryTeam.getStatus() == CategoryTeam.TaskStatus.DONE
+                && updateDTO.getStatus() != CategoryTeam.TaskStatus.DONE
+                && !Boolean.TRUE.equals(updateDTO.getAllowDoubleBooking())) {
+            conflictService.checkAssignment(categoryTeam.getTeam().getId(), categoryTeam.getCategory(), categoryTeam.getId());
+        }
+        
+        // Progress goes first so ProgressService takes its row locks top-down
+        // before this row is written
+        if (updateDTO.getProgressPercentage() != null) {
+            categoryTeam = progressService.updateCategoryTeamProgress(id, updateDTO.getProgressPercentage());
+        }
+        
         if (updateDTO.getStatus() != null) {
             categoryTeam.setStatus(updateDTO.getStatus());
         }
@@ -109,7 +146,6 @@ public class CategoryTeamService {
             categoryTeam.setNotes(updateDTO.getNotes());
         }
         
-        // Save the basic updates first
         CategoryTeam savedCategoryTeam = categoryTeamRepository.save(categoryTeam);
         
         // Evict the categoryDetails cache for the unit associated with this category team
@@ -118,12 +154,7 @@ public class CategoryTeamService {
             cacheManager.getCache("categoryDetails").evict(unitId);
         }
         
-        // If progress percentage is updated, use ProgressService to update and propagate changes
-        if (updateDTO.getProgressPercentage() != null) {
-            return progressService.updateCategoryTeamProgress(id, updateDTO.getProgressPercentage());
-        }
-        
-        return savedCategoryTeam;
+        return toSummary(savedCategoryTeam.getId());
     }
     
     /**
@@ -139,11 +170,16 @@ public class CategoryTeamService {
                         unitId = categoryTeam.getCategory().getUnit().getId();
                     }
                     
+                    Long projectId = categoryTeam.getProjectId();
+                    if (unitId != null) {
+                        counterService.lock(projectId, List.of(unitId));
+                    }
                     categoryTeamRepository.delete(categoryTeam);
                     
                     // Evict the categoryDetails cache for the unit associated with this category team
                     if (unitId != null) {
                         cacheManager.getCache("categoryDetails").evict(unitId);
+                        counterService.refresh(unitId, projectId);
                     }
                     
                     return true;
@@ -154,26 +190,46 @@ public class CategoryTeamService {
     /**
      * Get delayed tasks for alerts
      */
-    public Page<CategoryTeam> getDelayedTasks(Long companyId, Pageable pageable) {
+    public Page<CategoryTeamSummaryDTO> getDelayedTasks(Long companyId, Pageable pageable) {
         return categoryTeamRepository.findDelayedTasks(companyId, pageable);
     }
     
     /**
      * Get tasks starting soon for alerts
      */
-    public Page<CategoryTeam> getTasksStartingSoon(Long companyId, int daysAhead, Pageable pageable) {
+    public Page<CategoryTeamSummaryDTO> getTasksStartingSoon(Long companyId, int daysAhead, Pageable pageable) {
         LocalDate today = LocalDate.now();
         LocalDate futureDate = today.plusDays(daysAhead);
-        return categoryTeamRepository.findTasksStartingSoon(companyId, today, futureDate, pageable);
+        // Category IDs from the schedule index, unless too many for an IN list
+        return scheduleIndex.categoriesStartingBetween(companyId, today, futureDate)
+                .filter(entries -> entries.size() <= MAX_INDEXED_CATEGORY_IDS)
+                .map(entries -> entries.isEmpty()
+                        ? Page.<CategoryTeamSummaryDTO>empty(pageable)
+                        : categoryTeamRepository.findNotStartedByCategoryIds(companyId,
+                                entries.stream().map(ScheduleIndex.Entry::getId).collect(Collectors.toList()), pageable))
+                .orElseGet(() -> categoryTeamRepository.findTasksStartingSoon(companyId, today, futureDate, pageable));
     }
     
     /**
      * Get tasks by status
      */
-    public Page<CategoryTeam> getTasksByStatus(Long companyId, CategoryTeam.TaskStatus status, Pageable pageable) {
+    public Page<CategoryTeamSummaryDTO> getTasksByStatus(Long companyId, CategoryTeam.TaskStatus status, Pageable pageable) {
         return categoryTeamRepository.findTasksByStatus(companyId, status, pageable);
     }
     
+    /**
+     * Get tasks by status most recently updated first, one cursor page at a time
+     */
+    public CursorPageDTO<CategoryTeamSummaryDTO> getTasksByStatusByCursor(Long companyId, CategoryTeam.TaskStatus status,
+                                                                         String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<CategoryTeamSummaryDTO> rows = categoryTeamRepository.findTasksByStatusBefore(companyId, status,
+                after != null ? after.getDateTime() : PageCursor.FIRST_DESCENDING,
+                after != null ? after.getId() : Long.MAX_VALUE,
+                PageCursor.limit(size));
+        return PageCursor.page(rows, size, CategoryTeamSummaryDTO::getUpdatedAt, CategoryTeamSummaryDTO::getId);
+    }
+    
     /**
      * Count tasks by status for dashboard
      */
@@ -184,7 +240,7 @@ public class CategoryTeamService {
     /**
      * Get tasks requiring payment
      */
-    public Page<CategoryTeam> getTasksRequiringPayment(Long companyId, Pageable pageable) {
+    public Page<CategoryTeamSummaryDTO> getTasksRequiringPayment(Long companyId, Pageable pageable) {
         return categoryTeamRepository.findTasksRequiringPayment(companyId, pageable);
     }
     
@@ -194,4 +250,12 @@ public class CategoryTeamService {
     public Page<Object[]> getTeamWorkload(Long companyId, Pageable pageable) {
         return categoryTeamRepository.getTeamWorkload(companyId, pageable);
     }
+    
+    /**
+     * Read back a written category team as its summary; the query flushes pending changes first
+     */
+    private CategoryTeamSummaryDTO toSummary(Long categoryTeamId) {
+        return categoryTeamRepository.findSummaryById(categoryTeamId)
+                .orElseThrow(() -> new ResourceNotFoundException("CategoryTeam not found with id: " + categoryTeamId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.ProjectScheduleDTO;
+import com.constructmanager.dto.WhatIfRequestDTO;
+import com.constructmanager.dto.WhatIfResultDTO;
+import com.constructmanager.exception.ResourceNotFoundException;
+import com.constructmanager.repository.CategoryDependencyRepository;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Critical path schedules and what-if delays, from one in-memory ScheduleGraph per project.
+ *
+ * A project's graph is built on its first schedule query and kept for the most recently
+ * used projects. ScheduleEntityListener keeps it current after commit: new category dates
+ * move only the categories downstream of the change, while added or removed categories,
+ * sequence changes and dependency changes drop the graph so the next query rebuilds it.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CriticalPathService {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryDependencyRepository categoryDependencyRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PrimarySnapshotLoader primarySnapshotLoader;
+
+    @Value("${app.schedule.graph.max-projects:50}")
+    private int maxProjects;
+
+    private final TenantCache<ProjectGraph> graphs = new TenantCache<>(() -> maxProjects, ProjectGraph::new);
+
+    /**
+     * Early and late dates, float and critical path of a project, optionally listing one unit only
+     */
+    public ProjectScheduleDTO getProjectSchedule(Long projectId, Long companyId, Long unitId) {
+        checkProject(projectId, companyId);
+        return graph(projectId).toSchedule(projectId, unitId);
+    }
+
+    /**
+     * What moves if one category of the project takes longer; nothing is saved
+     */
+    public WhatIfResultDTO whatIf(Long projectId, Long companyId, WhatIfRequestDTO request) {
+        checkProject(projectId, companyId);
+        ScheduleGraph graph = graph(projectId);
+        if (!graph.contains(request.getCategoryId())) {
+            throw new ResourceNotFoundException("Category not found with ID: " + request.getCategoryId()
+                    + " in project " + projectId);
+        }
+        return graph.simulate(request.getCategoryId(), request.getDelayDays());
+    }
+
+    /**
+     * Reject the caller's pending changes when the project's dependencies now form a cycle.
+     * Builds from the database rather than the cached graph, so the caller must have flushed
+     * and must hold the project lock that serializes dependency and sequence changes.
+     */
+    public void checkAcyclic(Long projectId) {
+        ScheduleGraph graph = buildGraph(projectId);
+        if (graph.hasCycle()) {
+            throw new IllegalArgumentException("The change would make category dependencies form a cycle; "
+                    + "conflicting dependencies: " + graph.describeIgnoredDependencies());
+        }
+    }
+
+    /**
+     * Apply a saved category's dates; ignored for projects whose graph is not loaded
+     */
+    public void onCategorySaved(Long projectId, Long categoryId, Long unitId, Integer orderSequence,
+                                LocalDate startDate, LocalDate endDate) {
+        ProjectGraph holder = graphs.getIfPresent(projectId);
+        if (holder == null) {
+            return;
+        }
+        synchronized (holder) {
+            if (holder.graph != null
+                    && !holder.graph.updateDates(categoryId, unitId, orderSequence, startDate, endDate)) {
+                invalidate(projectId);
+            }
+        }
+    }
+
+    /**
+     * Drop a project's graph after its structure changed; it is rebuilt on the next query
+     */
+    public void invalidate(Long projectId) {
+        graphs.remove(projectId);
+    }
+
+    private void checkProject(Long projectId, Long companyId) {
+        if (projectRepository.findByIdAndCompanyId(projectId, companyId).isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId + " for company ID: " + companyId);
+        }
+    }
+
+    private ScheduleGraph graph(Long projectId) {
+        ProjectGraph holder = graphs.get(projectId);
+        // Registered before loading from the primary: date changes committed meanwhile wait for the load, then apply
+        synchronized (holder) {
+            if (holder.graph == null) {
+                holder.graph = primarySnapshotLoader.load(() -> buildGraph(projectId));
+            }
+            return holder.graph;
+        }
+    }
+
+    private ScheduleGraph buildGraph(Long projectId) {
+        return new ScheduleGraph(
+                categoryRepository.findScheduleNodesByProjectId(projectId),
+                categoryDependencyRepository.findEdgesByProjectId(projectId));
+    }
+
+    private static final class ProjectGraph {
+        private ScheduleGraph graph;
+    }
+}
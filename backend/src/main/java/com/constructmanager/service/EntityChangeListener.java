@@ -0,0 +1,20 @@
+package com.constructmanager.service;
+
+/**
+ * Told about every entity insert, update and delete while the entity is still managed, at the
+ * points where JPA's @PostPersist, @PostUpdate and @PostRemove callbacks run. Implementations
+ * are Spring beans registered with Hibernate by EntityEventConfig, so the entities themselves
+ * never reference the services that index them.
+ */
+public interface EntityChangeListener {
+
+    /**
+     * After the entity was inserted or updated
+     */
+    void onSave(Object entity);
+
+    /**
+     * After the entity was deleted
+     */
+    void onRemove(Object entity);
+}
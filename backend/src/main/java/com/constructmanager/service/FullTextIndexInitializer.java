@@ -0,0 +1,101 @@
+package com.constructmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the FULLTEXT indexes used by SearchService when the database is MySQL.
+ *
+ * JPA cannot declare FULLTEXT indexes, so they are added here on startup if missing.
+ * On any other database, or if creation fails, full-text search stays unavailable
+ * and SearchService uses its LIKE fallback.
+ */
+@Component
+public class FullTextIndexInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullTextIndexInitializer.class);
+
+    // { table, index name, columns }
+    private static final String[][] INDEXES = {
+            { "projects", "ft_project_name_location", "name, location" },
+            { "units", "ft_unit_name", "name" },
+            { "teams", "ft_team_name_specialty", "name, specialty" }
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.search.full-text.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean available;
+    private volatile int minTokenSize = 3;
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Shortest word InnoDB indexes; shorter search words need the LIKE fallback
+     */
+    public int getMinTokenSize() {
+        return minTokenSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (product == null || !product.toLowerCase().contains("mysql")) {
+                logger.info("Full-text search not supported on {}, using LIKE search", product);
+                return;
+            }
+
+            for (String[] index : INDEXES) {
+                if (!indexExists(connection, index[0], index[1])) {
+                    logger.info("Creating full-text index {} on {}", index[1], index[0]);
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("ALTER TABLE " + index[0] + " ADD FULLTEXT INDEX " + index[1] + " (" + index[2] + ")");
+                    }
+                }
+            }
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT @@innodb_ft_min_token_size")) {
+                if (rs.next()) {
+                    minTokenSize = rs.getInt(1);
+                }
+            }
+            available = true;
+        } catch (Exception e) {
+            logger.warn("Full-text indexes unavailable, using LIKE search: {}", e.getMessage());
+        }
+    }
+
+    private boolean indexExists(Connection connection, String table, String indexName) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?")) {
+            statement.setString(1, table);
+            statement.setString(2, indexName);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.constructmanager.service;
+
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.UnitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Recounts every unit, then every project, then the task counters of every category team,
+ * in ID-ordered chunks of one transaction each.
+ *
+ * Runs at startup (after the tenant key backfill, which project counts depend on) to fill
+ * the counters of rows written before they existed, and on a schedule to repair any
+ * drift from writes that bypassed HierarchyCounterService.
+ */
+@Component
+@Order(2)
+public class HierarchyCounterReconciler implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchyCounterReconciler.class);
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.counters.reconcile.on-startup:true}")
+    private boolean onStartup;
+
+    @Value("${app.counters.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (onStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${app.counters.reconcile.cron:0 30 3 * * ?}")
+    public void reconcile() {
+        int units = reconcile(unitRepository::findIdsAfter, unitRepository::refreshCounters);
+        int projects = reconcile(projectRepository::findIdsAfter, projectRepository::refreshCounters);
+        int categoryTeams = reconcile(categoryTeamRepository::findIdsAfter, categoryTeamRepository::refreshTaskCounters);
+        logger.info("Reconciled counters of {} units, {} projects and {} category teams", units, projects, categoryTeams);
+    }
+
+    private int reconcile(BiFunction<Long, Pageable, List<Long>> findChunk, Consumer<Collection<Long>> refresh) {
+        Long afterId = 0L;
+        int total = 0;
+
+        while (true) {
+            final Long chunkAfterId = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = findChunk.apply(chunkAfterId, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    refresh.accept(chunk);
+                }
+                return chunk;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,80 @@
+package com.constructmanager.service;
+
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Maintains the child counter columns on units and projects.
+ *
+ * Each refresh recounts one parent with a bulk UPDATE over indexed child rows, so it
+ * costs the size of that parent only. Callers refresh the units and projects whose
+ * children they created, deleted, reassigned or completed, inside their own transaction.
+ * Cached summaries that show the counters are evicted.
+ *
+ * The UPDATEs write unit and project rows, so they must follow the top-down lock order
+ * of ProgressService: callers take {@link #lock} before their first write, since an
+ * insert or delete of a child already holds a lock on its parent row. The counters then
+ * stay exact under concurrent writers.
+ */
+@Service
+@Transactional
+public class HierarchyCounterService {
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    /**
+     * Lock a project, then some of its units in ID order (SELECT ... FOR UPDATE), the order
+     * ProgressService takes them in. Held until the caller's transaction ends.
+     */
+    public void lock(Long projectId, Collection<Long> unitIds) {
+        projectRepository.lockAllById(Collections.singleton(projectId));
+        if (!unitIds.isEmpty()) {
+            unitRepository.lockAllById(unitIds);
+        }
+    }
+
+    /**
+     * Refresh a unit and the project it belongs to; the caller holds {@link #lock} on both
+     */
+    @CacheEvict(value = {"unitSummaries", "projectSummaries", "projectSummariesByStatus", "projectDetails"}, allEntries = true)
+    public void refresh(Long unitId, Long projectId) {
+        refreshUnits(Collections.singleton(unitId));
+        refreshProjects(Collections.singleton(projectId));
+    }
+
+    /**
+     * Recount units; the caller holds their locks, or runs with no other hierarchy lock held
+     */
+    @CacheEvict(value = "unitSummaries", allEntries = true)
+    public void refreshUnits(Collection<Long> unitIds) {
+        if (unitIds.isEmpty()) {
+            return;
+        }
+        // Pending inserts and deletes must be visible to the recount
+        unitRepository.flush();
+        unitRepository.refreshCounters(unitIds);
+    }
+
+    /**
+     * Recount projects; the caller holds their locks, or runs with no other hierarchy lock held
+     */
+    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "projectDetails"}, allEntries = true)
+    public void refreshProjects(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        projectRepository.flush();
+        projectRepository.refreshCounters(projectIds);
+    }
+}
@@ -0,0 +1,412 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.ImportResultDTO;
+import com.constructmanager.dto.ImportRowErrorDTO;
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.Project;
+import com.constructmanager.entity.Unit;
+import com.constructmanager.exception.ResourceNotFoundException;
+import com.constructmanager.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.LockMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports a project's units and categories from a CSV or NDJSON upload.
+ *
+ * Each line is one row: a unit (created on first mention, matched by name against
+ * the project's existing units) and optionally one category in it. Lines are parsed
+ * and inserted one at a time through a StatelessSession, so nothing accumulates in a
+ * persistence context, and committed in chunks of app.import.chunk-size rows.
+ * Invalid rows are reported and skipped; a failed write stops the import after the
+ * last committed chunk. Counters, caches and the typeahead index are refreshed once.
+ *
+ * Each chunk's transaction starts by locking the project row, which every other writer of
+ * the project's units and categories takes first, and reads a unit's last orderSequence
+ * when the unit is first touched in that chunk. Categories created between chunks, by
+ * users or a template, are therefore seen, and imported categories are numbered after them.
+ */
+@Service
+public class HierarchyImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchyImportService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private HierarchyCounterService counterService;
+
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+
+    @Autowired
+    private CriticalPathService criticalPathService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    /**
+     * Stream rows into the project. Runs outside any Spring transaction so the
+     * stateless session writes to the primary with its own per-chunk transactions.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(value = {"unitSummaries", "unitTotals", "categoryDetails", "projectSummaries",
+            "projectSummariesByStatus", "projectDetails"}, allEntries = true)
+    public ImportResultDTO importHierarchy(Long projectId, Long companyId, InputStream input, Format format) throws IOException {
+        if (projectRepository.findByIdAndCompanyId(projectId, companyId).isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId + " for company ID: " + companyId);
+        }
+
+        ImportResultDTO result = new ImportResultDTO();
+        Set<Long> touchedUnitIds = new HashSet<>();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(Math.min(chunkSize, 1000));
+            Project project = session.get(Project.class, projectId);
+            Map<String, Unit> units = loadUnits(session, projectId);
+            // Last orderSequence of each unit touched in the open chunk
+            Map<Long, Integer> lastOrder = new HashMap<>();
+
+            Transaction transaction = beginChunk(session, projectId);
+            ChunkTally chunk = new ChunkTally();
+            try {
+                String[] header = null;
+                int rowsInChunk = 0;
+                long lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    // Spreadsheet exports often start with a UTF-8 byte order mark
+                    if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                        line = line.substring(1);
+                    }
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (format == Format.CSV && header == null) {
+                        header = parseCsvLine(line).toArray(new String[0]);
+                        for (int i = 0; i < header.length; i++) {
+                            header[i] = fieldKey(header[i]);
+                        }
+                        continue;
+                    }
+
+                    result.setRowsRead(result.getRowsRead() + 1);
+                    ImportRow row;
+                    try {
+                        row = ImportRow.of(format == Format.CSV ? csvFields(header, line) : jsonFields(line));
+                    } catch (IllegalArgumentException e) {
+                        reject(result, lineNumber, e.getMessage());
+                        continue;
+                    }
+
+                    Unit unit = units.get(unitKey(row.unitName));
+                    if (unit == null) {
+                        if (row.unitType == null) {
+                            reject(result, lineNumber, "unitType is required for new unit '" + row.unitName + "'");
+                            continue;
+                        }
+                        unit = new Unit();
+                        unit.setName(row.unitName);
+                        unit.setType(row.unitType);
+                        unit.setFloor(row.floor);
+                        unit.setArea(row.area);
+                        unit.setProject(project);
+                        session.insert(unit);
+                        units.put(unitKey(row.unitName), unit);
+                        chunk.unitsCreated++;
+                    }
+
+                    if (row.categoryName != null) {
+                        Long unitId = unit.getId();
+                        int orderSequence = lastOrder.computeIfAbsent(unitId,
+                                id -> lastOrderSequence(session, id)) + 1;
+                        lastOrder.put(unitId, orderSequence);
+
+                        // Entity callbacks do not run in a stateless session, so the tenant keys are set here
+                        Category category = new Category();
+                        category.setName(row.categoryName);
+                        category.setDescription(row.description);
+                        category.setStartDate(row.startDate);
+                        category.setEndDate(row.endDate);
+                        category.setOrderSequence(orderSequence);
+                        category.setUnit(unit);
+                        category.setProjectId(projectId);
+                        category.setCompanyId(companyId);
+                        session.insert(category);
+                        chunk.touchedUnitIds.add(unit.getId());
+                        chunk.categoriesCreated++;
+                    }
+
+                    if (++rowsInChunk >= chunkSize) {
+                        transaction.commit();
+                        chunk.commitInto(result, touchedUnitIds);
+                        lastOrder.clear();
+                        transaction = beginChunk(session, projectId);
+                        rowsInChunk = 0;
+                    }
+                }
+                transaction.commit();
+                chunk.commitInto(result, touchedUnitIds);
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                logger.warn("Import into project {} stopped: {}", projectId, e.getMessage());
+                result.setAbortMessage("Import stopped after the last committed chunk: " + e.getMessage());
+            }
+        } finally {
+            refreshAfterImport(projectId, companyId, touchedUnitIds);
+        }
+        return result;
+    }
+
+    private void refreshAfterImport(Long projectId, Long companyId, Set<Long> touchedUnitIds) {
+        List<Long> unitIds = new ArrayList<>(touchedUnitIds);
+        for (int from = 0; from < unitIds.size(); from += 1000) {
+            counterService.refreshUnits(unitIds.subList(from, Math.min(from + 1000, unitIds.size())));
+        }
+        counterService.refreshProjects(Set.of(projectId));
+        // Entity listeners did not see the inserts
+        typeaheadIndex.invalidate(companyId);
+        scheduleIndex.invalidate(companyId);
+        criticalPathService.invalidate(projectId);
+    }
+
+    /**
+     * What the open chunk wrote; counted into the result only once the chunk commits,
+     * so a rolled-back chunk is not reported as imported
+     */
+    private static final class ChunkTally {
+        private int unitsCreated;
+        private int categoriesCreated;
+        private final Set<Long> touchedUnitIds = new HashSet<>();
+
+        void commitInto(ImportResultDTO result, Set<Long> committedUnitIds) {
+            result.setUnitsCreated(result.getUnitsCreated() + unitsCreated);
+            result.setCategoriesCreated(result.getCategoriesCreated() + categoriesCreated);
+            committedUnitIds.addAll(touchedUnitIds);
+            unitsCreated = 0;
+            categoriesCreated = 0;
+            touchedUnitIds.clear();
+        }
+    }
+
+    private Map<String, Unit> loadUnits(StatelessSession session, Long projectId) {
+        Map<String, Unit> units = new HashMap<>();
+        for (Unit unit : session.createQuery("SELECT u FROM Unit u WHERE u.project.id = :projectId", Unit.class)
+                .setParameter("projectId", projectId)
+                .list()) {
+            units.putIfAbsent(unitKey(unit.getName()), unit);
+        }
+        return units;
+    }
+
+    /**
+     * Open a chunk's transaction holding the project lock. The lock is its first statement,
+     * so the chunk's reads see everything committed by earlier lock holders.
+     */
+    private Transaction beginChunk(StatelessSession session, Long projectId) {
+        Transaction transaction = session.beginTransaction();
+        session.get(Project.class, projectId, LockMode.PESSIMISTIC_WRITE);
+        return transaction;
+    }
+
+    private int lastOrderSequence(StatelessSession session, Long unitId) {
+        Integer last = session.createQuery(
+                        "SELECT MAX(c.orderSequence) FROM Category c WHERE c.unit.id = :unitId", Integer.class)
+                .setParameter("unitId", unitId)
+                .getSingleResult();
+        return last != null ? last : 0;
+    }
+
+    private void reject(ImportResultDTO result, long lineNumber, String message) {
+        result.setRowsRejected(result.getRowsRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportRowErrorDTO(lineNumber, message));
+        }
+    }
+
+    private Map<String, String> csvFields(String[] header, String line) {
+        List<String> values = parseCsvLine(line);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            fields.put(header[i], values.get(i));
+        }
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Each line must be a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (!field.getValue().isNull()) {
+                fields.put(fieldKey(field.getKey()), field.getValue().asText());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Split one CSV line; supports quoted values with "" escapes (no embedded newlines)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // "unit_type", "Unit Type" and "unitType" all name the same column
+    private static String fieldKey(String name) {
+        return name.replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String unitKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One validated upload row
+     */
+    private static final class ImportRow {
+        String unitName;
+        Unit.UnitType unitType;
+        String floor;
+        BigDecimal area;
+        String categoryName;
+        String description;
+        LocalDate startDate;
+        LocalDate endDate;
+
+        static ImportRow of(Map<String, String> fields) {
+            ImportRow row = new ImportRow();
+            row.unitName = text(fields, "unit");
+            if (row.unitName == null) {
+                throw new IllegalArgumentException("unit is required");
+            }
+            String type = text(fields, "unittype");
+            if (type != null) {
+                try {
+                    row.unitType = Unit.UnitType.valueOf(type.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown unitType '" + type + "'");
+                }
+            }
+            row.floor = text(fields, "floor");
+            String area = text(fields, "area");
+            if (area != null) {
+                try {
+                    row.area = new BigDecimal(area);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid area '" + area + "'");
+                }
+            }
+
+            row.categoryName = text(fields, "category");
+            if (row.categoryName != null) {
+                row.description = text(fields, "description");
+                row.startDate = date(fields, "startdate", "startDate");
+                row.endDate = date(fields, "enddate", "endDate");
+                if (row.startDate == null || row.endDate == null) {
+                    throw new IllegalArgumentException("startDate and endDate are required for a category");
+                }
+                if (row.endDate.isBefore(row.startDate)) {
+                    throw new IllegalArgumentException("endDate is before startDate");
+                }
+            }
+            return row;
+        }
+
+        private static String text(Map<String, String> fields, String key) {
+            String value = fields.get(key);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        private static LocalDate date(Map<String, String> fields, String key, String label) {
+            String value = text(fields, key);
+            try {
+                return value != null ? LocalDate.parse(value) : null;
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid " + label + " '" + value + "', expected yyyy-MM-dd");
+            }
+        }
+    }
+}
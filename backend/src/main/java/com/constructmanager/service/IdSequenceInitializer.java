@@ -0,0 +1,95 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.IdGeneration;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Moves the pooled ID sequences in id_sequences past the IDs already in each table.
+ *
+ * The high-volume entities take their IDs from a pooled table generator instead of
+ * AUTO_INCREMENT, so Hibernate can batch their inserts. Rows created before the switch
+ * still hold identity IDs; each sequence is started above the table's MAX(id) before
+ * the application serves requests. Sequences already ahead are left alone.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // Sequence names are the table names, as in the entities' pkColumnValue
+    private static final String[] TABLES = {
+            "projects", "units", "categories", "category_teams", "payments", "tasks", "notifications"
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    void alignSequences() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            for (String table : TABLES) {
+                alignSequence(connection, table);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not initialize ID sequences", e);
+        }
+    }
+
+    private void alignSequence(Connection connection, String table) throws SQLException {
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+
+        // Clear of MAX(id) whether Hibernate stores the next or the last used value
+        long start = maxId + IdGeneration.ALLOCATION_SIZE + 1;
+
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ? AND next_val < ?")) {
+            update.setLong(1, start);
+            update.setString(2, table);
+            update.setLong(3, start);
+            if (update.executeUpdate() > 0) {
+                logger.info("Moved ID sequence {} to {}", table, start);
+                return;
+            }
+        }
+
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT 1 FROM id_sequences WHERE sequence_name = ?")) {
+            select.setString(1, table);
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)")) {
+            insert.setString(1, table);
+            insert.setLong(2, start);
+            insert.executeUpdate();
+            logger.info("Started ID sequence {} at {}", table, start);
+        } catch (SQLException e) {
+            // Another instance inserted it first; its value was computed from the same MAX(id)
+            logger.debug("ID sequence {} already created: {}", table, e.getMessage());
+        }
+    }
+}
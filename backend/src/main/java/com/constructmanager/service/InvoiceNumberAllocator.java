@@ -0,0 +1,138 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.InvoiceSequence;
+import com.constructmanager.repository.InvoiceSequenceRepository;
+import com.constructmanager.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out invoice numbers per company and year (INV-2024-0001, ...).
+ *
+ * Numbers come from the invoice_sequences row in blocks (hi/lo): a node reserves
+ * block-size numbers under a row lock in a short transaction of its own, then serves
+ * them from memory. Nodes never share a block, so numbers stay unique across
+ * transactions and nodes. Numbers of a block still unused at shutdown are skipped.
+ * A reservation that times out on the row lock or loses a deadlock is retried through
+ * OptimisticRetryExecutor, like other lock races.
+ */
+@Component
+public class InvoiceNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceNumberAllocator.class);
+
+    // Existing invoice numbers inspected when a sequence is seeded
+    private static final int SEED_SCAN_LIMIT = 20;
+
+    @Autowired
+    private InvoiceSequenceRepository invoiceSequenceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Value("${app.invoice.block-size:50}")
+    private int blockSize;
+
+    private TransactionTemplate reservationTemplate;
+
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        reservationTemplate = new TransactionTemplate(transactionManager);
+        reservationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Next invoice number of a company for the year of the given date
+     */
+    public String nextInvoiceNumber(Long companyId, LocalDate date) {
+        int year = date.getYear();
+        Block block = blocks.computeIfAbsent(companyId + "_" + year, key -> new Block());
+
+        long value;
+        synchronized (block) {
+            if (block.next >= block.end) {
+                block.next = reserveBlock(companyId, year);
+                block.end = block.next + blockSize;
+            }
+            value = block.next++;
+        }
+        return prefix(year) + String.format("%04d", value);
+    }
+
+    /**
+     * Reserve the next block in its own transaction and return its first number. Each retry
+     * of a CannotAcquireLockException or DeadlockLoserDataAccessException starts a new one.
+     */
+    private long reserveBlock(Long companyId, int year) {
+        return retryExecutor.execute(() -> {
+            try {
+                return reservationTemplate.execute(status -> reserveLocked(companyId, year));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the sequence row first; it exists now
+                return reservationTemplate.execute(status -> reserveLocked(companyId, year));
+            }
+        });
+    }
+
+    private long reserveLocked(Long companyId, int year) {
+        InvoiceSequence sequence = invoiceSequenceRepository.findForUpdate(companyId, year)
+                .orElseGet(() -> invoiceSequenceRepository.saveAndFlush(
+                        new InvoiceSequence(companyId, year, seedValue(companyId, year))));
+
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        invoiceSequenceRepository.save(sequence);
+        logger.debug("Reserved invoice numbers {}-{} for company {} year {}",
+                start, start + blockSize - 1, companyId, year);
+        return start;
+    }
+
+    /**
+     * First number of a new sequence: one past the highest invoice number already issued
+     */
+    private long seedValue(Long companyId, int year) {
+        List<String> invoiceNumbers = paymentRepository.findInvoiceNumbersByPrefix(
+                companyId, prefix(year), PageRequest.of(0, SEED_SCAN_LIMIT));
+
+        long max = 0;
+        for (String invoiceNumber : invoiceNumbers) {
+            try {
+                max = Math.max(max, Long.parseLong(invoiceNumber.substring(prefix(year).length())));
+            } catch (NumberFormatException e) {
+                // Manually entered invoice number, not part of the sequence
+            }
+        }
+        return max + 1;
+    }
+
+    private String prefix(int year) {
+        return "INV-" + year + "-";
+    }
+
+    private static class Block {
+        private long next;
+        private long end;
+    }
+}
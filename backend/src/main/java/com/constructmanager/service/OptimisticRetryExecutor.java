@@ -0,0 +1,64 @@
+package com.constructmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries a transactional call that lost an optimistic or pessimistic locking race.
+ * Must be called outside the transaction so every attempt starts a fresh one.
+ * Backoff is exponential with full jitter so colliding writers spread out.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    @Value("${app.progress.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.progress.retry.initial-backoff-ms:20}")
+    private long initialBackoffMs;
+
+    @Value("${app.progress.retry.max-backoff-ms:500}")
+    private long maxBackoffMs;
+
+    public <T> T execute(Supplier<T> action) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Giving up after {} attempts: {}", attempt, e.getMessage());
+                    throw e;
+                }
+                long backoff = Math.min(maxBackoffMs, initialBackoffMs << (attempt - 1));
+                logger.debug("Concurrent update on attempt {}, retrying: {}", attempt, e.getMessage());
+                sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+                attempt++;
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.constructmanager.service;
+
+import com.constructmanager.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Moves PENDING/APPROVED payments past their due date to OVERDUE.
+ *
+ * Works in keyset-ordered chunks on (due_date, id), each chunk a single bulk UPDATE
+ * in its own transaction. Committed chunks stay committed, and swept rows no longer
+ * match the filter, so an interrupted run is resumed simply by running it again.
+ */
+@Component
+public class OverduePaymentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverduePaymentSweeper.class);
+
+    // Earliest DATE MySQL can store, used as the keyset start
+    private static final LocalDate KEYSET_START = LocalDate.of(1000, 1, 1);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.payments.overdue-sweep.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Sweep all tenants and return the number of payments marked overdue
+     */
+    public int sweep(LocalDate today) {
+        LocalDate afterDueDate = KEYSET_START;
+        Long afterId = 0L;
+        int totalUpdated = 0;
+        int chunks = 0;
+
+        while (true) {
+            final LocalDate chunkAfterDueDate = afterDueDate;
+            final Long chunkAfterId = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> sweepChunk(today, chunkAfterDueDate, chunkAfterId));
+            if (chunk == null || chunk.companyByPaymentId.isEmpty()) {
+                break;
+            }
+
+            chunks++;
+            totalUpdated += chunk.updated;
+            if (chunk.updated > 0) {
+                evictTenantCaches(chunk.companyByPaymentId);
+            }
+
+            afterDueDate = chunk.lastDueDate;
+            afterId = chunk.lastId;
+            if (chunk.companyByPaymentId.size() < chunkSize) {
+                break;
+            }
+        }
+
+        logger.info("Overdue payment sweep for {} marked {} payments overdue in {} chunks", today, totalUpdated, chunks);
+        return totalUpdated;
+    }
+
+    private Chunk sweepChunk(LocalDate today, LocalDate afterDueDate, Long afterId) {
+        List<Object[]> rows = paymentRepository.findOverdueChunk(today, afterDueDate, afterId, PageRequest.of(0, chunkSize));
+        Chunk chunk = new Chunk();
+        for (Object[] row : rows) {
+            chunk.companyByPaymentId.put((Long) row[0], (Long) row[2]);
+            chunk.lastDueDate = (LocalDate) row[1];
+            chunk.lastId = (Long) row[0];
+        }
+
+        if (!chunk.companyByPaymentId.isEmpty()) {
+            chunk.updated = paymentRepository.markOverdue(chunk.companyByPaymentId.keySet(), today, LocalDateTime.now());
+        }
+        return chunk;
+    }
+
+    /**
+     * Evict cached payment data of the affected companies only
+     */
+    private void evictTenantCaches(Map<Long, Long> companyByPaymentId) {
+        Set<Long> companyIds = new HashSet<>(companyByPaymentId.values());
+
+        Cache summaryCache = cacheManager.getCache("paymentSummary");
+        if (summaryCache != null) {
+            companyIds.forEach(summaryCache::evict);
+        }
+
+        // paymentDetails is keyed "paymentId_companyId"
+        Cache detailsCache = cacheManager.getCache("paymentDetails");
+        if (detailsCache != null) {
+            companyByPaymentId.forEach((paymentId, companyId) -> detailsCache.evict(paymentId + "_" + companyId));
+        }
+
+        // payments is keyed "companyId_page"
+        Set<String> pagePrefixes = new HashSet<>();
+        for (Long companyId : companyIds) {
+            pagePrefixes.add(companyId + "_");
+        }
+        evictByPrefix(cacheManager.getCache("payments"), pagePrefixes);
+    }
+
+    private void evictByPrefix(Cache cache, Set<String> prefixes) {
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof ConcurrentMap<?, ?> nativeCache) {
+            List<Object> keys = new ArrayList<>();
+            for (Object key : nativeCache.keySet()) {
+                String keyString = String.valueOf(key);
+                if (prefixes.stream().anyMatch(keyString::startsWith)) {
+                    keys.add(key);
+                }
+            }
+            keys.forEach(cache::evict);
+        } else {
+            // Keys cannot be enumerated on this cache provider
+            cache.clear();
+        }
+    }
+
+    private static class Chunk {
+        private final Map<Long, Long> companyByPaymentId = new LinkedHashMap<>();
+        private LocalDate lastDueDate;
+        private Long lastId;
+        private int updated;
+    }
+}
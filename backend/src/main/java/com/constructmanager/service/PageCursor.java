@@ -0,0 +1,95 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.CursorPageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset pagination: the (sort key, id) of the last row served.
+ *
+ * The next page is read with "key, id past the cursor" on an index ending in (key, id),
+ * so every page costs the same however deep it is, and rows inserted meanwhile cannot
+ * shift rows between pages.
+ */
+public final class PageCursor {
+
+    // Start positions for the first page: before every timestamp (descending) or date (ascending)
+    static final LocalDateTime FIRST_DESCENDING = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    static final LocalDate FIRST_ASCENDING = LocalDate.of(1000, 1, 1);
+
+    private final String key;
+    private final Long id;
+
+    private PageCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decode a token from a previous page; null for the first page
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new PageCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static String encode(Object key, Long id) {
+        String raw = key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Pageable for a keyset query: one extra row tells whether another page follows
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Trim the extra row and build the token for the page after it
+     */
+    public static <T> CursorPageDTO<T> page(List<T> rows, int size, Function<T, Object> keyOf, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        return new CursorPageDTO<>(List.copyOf(content), encode(keyOf.apply(last), idOf.apply(last)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.Project;
+import com.constructmanager.entity.Unit;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Totals for paginated project and unit lists.
+ *
+ * Unit totals are read from the project's maintained unit counter. Totals without a
+ * counter are counted once and cached per company or project; the project and unit
+ * write paths evict them, so a cached total is always that of the current data.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PageTotalService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    /**
+     * Number of projects of a company
+     */
+    @Cacheable(value = "projectTotals", key = "#companyId")
+    public long countProjects(Long companyId) {
+        return projectRepository.countByCompanyId(companyId);
+    }
+
+    /**
+     * Number of projects of a company with a status
+     */
+    @Cacheable(value = "projectTotals", key = "#companyId + '_' + #status")
+    public long countProjectsByStatus(Long companyId, Project.ProjectStatus status) {
+        return projectRepository.countByCompanyIdAndStatus(companyId, status);
+    }
+
+    /**
+     * Number of units of a project, from its unit counter
+     */
+    public long countUnits(Long projectId) {
+        return projectRepository.findUnitCountById(projectId).orElse(0L);
+    }
+
+    /**
+     * Number of units of a project with a type
+     */
+    @Cacheable(value = "unitTotals", key = "#projectId + '_' + #type")
+    public long countUnitsByType(Long projectId, Unit.UnitType type) {
+        return unitRepository.countByProjectIdAndType(projectId, type);
+    }
+}
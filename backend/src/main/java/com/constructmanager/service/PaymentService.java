@@ -1,5 +1,8 @@
 package com.constructmanager.service;
 
+import com.constructmanager.dto.CursorPageDTO;
+import com.constructmanager.dto.PaymentBulkActionDTO;
+import com.constructmanager.dto.PaymentBulkResultDTO;
 import com.constructmanager.dto.PaymentCreateDTO;
 import com.constructmanager.dto.PaymentDetailDTO;
 import com.constructmanager.dto.PaymentSummaryDTO;
@@ -15,18 +18,32 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class PaymentService {
     
+    // IDs per bulk UPDATE statement, keeping IN lists well inside driver and optimizer limits
+    private static final int BULK_CHUNK_SIZE = 1000;
+    
+    private static final List<Payment.PaymentStatus> APPROVABLE_STATUSES = List.of(Payment.PaymentStatus.PENDING);
+    
+    private static final List<Payment.PaymentStatus> PAYABLE_STATUSES = List.of(
+            Payment.PaymentStatus.PENDING, Payment.PaymentStatus.APPROVED, Payment.PaymentStatus.OVERDUE);
+    
     @Autowired
     private PaymentRepository paymentRepository;
     
@@ -39,43 +56,79 @@ public class PaymentService {
     @Autowired
     private PaymentMapper paymentMapper;
     
+    @Autowired
+    private OverduePaymentSweeper overduePaymentSweeper;
+    
+    @Autowired
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+    
     /**
      * Get paginated payments for a company
      */
     @Cacheable(value = "payments", key = "#companyId + '_' + #pageable.pageNumber")
-    public Page<Payment> getPayments(Long companyId, Pageable pageable) {
+    public Page<PaymentDetailDTO> getPayments(Long companyId, Pageable pageable) {
         return paymentRepository.findByCompanyId(companyId, pageable);
     }
     
+    /**
+     * Get a company's payments newest first, one cursor page at a time
+     */
+    public CursorPageDTO<PaymentDetailDTO> getPaymentsByCursor(Long companyId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Long> ids = paymentRepository.findIdsByCompanyIdBefore(companyId,
+                after != null ? after.getDateTime() : PageCursor.FIRST_DESCENDING,
+                after != null ? after.getId() : Long.MAX_VALUE,
+                PageCursor.limit(size));
+        Map<Long, PaymentDetailDTO> byId = ids.isEmpty() ? Map.of() : paymentRepository.findDetailsByIds(ids).stream()
+                .collect(Collectors.toMap(PaymentDetailDTO::getId, Function.identity()));
+        List<PaymentDetailDTO> rows = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PageCursor.page(rows, size, PaymentDetailDTO::getCreatedAt, PaymentDetailDTO::getId);
+    }
+    
     /**
      * Get payments by status
      */
-    public Page<Payment> getPaymentsByStatus(Long companyId, Payment.PaymentStatus status, Pageable pageable) {
+    public Page<PaymentDetailDTO> getPaymentsByStatus(Long companyId, Payment.PaymentStatus status, Pageable pageable) {
         return paymentRepository.findByCompanyIdAndStatus(companyId, status, pageable);
     }
     
     /**
      * Get payments by project
      */
-    public Page<Payment> getPaymentsByProject(Long projectId, Pageable pageable) {
+    public Page<PaymentDetailDTO> getPaymentsByProject(Long projectId, Pageable pageable) {
         return paymentRepository.findByProjectId(projectId, pageable);
     }
     
     /**
      * Get payments requiring approval
      */
-    public Page<Payment> getPaymentsRequiringApproval(Long companyId, Pageable pageable) {
+    public Page<PaymentDetailDTO> getPaymentsRequiringApproval(Long companyId, Pageable pageable) {
         return paymentRepository.findRequiringApproval(companyId, pageable);
     }
     
     /**
      * Get overdue payments
      */
-    public Page<Payment> getOverduePayments(Long companyId, Pageable pageable) {
+    public Page<PaymentDetailDTO> getOverduePayments(Long companyId, Pageable pageable) {
         LocalDate today = LocalDate.now();
         return paymentRepository.findOverduePayments(companyId, today, pageable);
     }
     
+    /**
+     * Get overdue payments earliest due first, one cursor page at a time
+     */
+    public CursorPageDTO<PaymentDetailDTO> getOverduePaymentsByCursor(Long companyId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<PaymentDetailDTO> rows = paymentRepository.findOverduePaymentsAfter(companyId, LocalDate.now(),
+                after != null ? after.getDate() : PageCursor.FIRST_ASCENDING,
+                after != null ? after.getId() : 0L,
+                PageCursor.limit(size));
+        return PageCursor.page(rows, size, PaymentDetailDTO::getDueDate, PaymentDetailDTO::getId);
+    }
+    
     /**
      * Get detailed payment information
      */
@@ -98,7 +151,7 @@ public class PaymentService {
                     
                     // Generate invoice number if not provided
                     if (payment.getInvoiceNumber() == null || payment.getInvoiceNumber().isEmpty()) {
-                        payment.setInvoiceNumber(generateInvoiceNumber());
+                        payment.setInvoiceNumber(generateInvoiceNumber(categoryTeam.getId()));
                     }
                     
                     Payment savedPayment = paymentRepository.save(payment);
@@ -182,6 +235,78 @@ public class PaymentService {
                 });
     }
     
+    /**
+     * Approve many pending payments, selected by ID or by filter, with bulk UPDATEs
+     */
+    @Transactional
+    @CacheEvict(value = {"payments", "paymentDetails", "paymentSummary"}, allEntries = true)
+    public PaymentBulkResultDTO approvePayments(Long companyId, PaymentBulkActionDTO action) {
+        List<Long> ids = resolveBulkIds(companyId, action, APPROVABLE_STATUSES);
+        LocalDateTime now = LocalDateTime.now();
+        
+        int updated = 0;
+        for (List<Long> chunk : chunk(ids)) {
+            updated += paymentRepository.approveAll(companyId, chunk, now);
+        }
+        return new PaymentBulkResultDTO(ids.size(), updated, 0);
+    }
+    
+    /**
+     * Mark many payments paid, selected by ID or by filter, and flag their category teams paid
+     */
+    @Transactional
+    @CacheEvict(value = {"payments", "paymentDetails", "paymentSummary"}, allEntries = true)
+    public PaymentBulkResultDTO markPaymentsAsPaid(Long companyId, PaymentBulkActionDTO action) {
+        List<Long> ids = resolveBulkIds(companyId, action, PAYABLE_STATUSES);
+        String paymentMethod = action.getPaymentMethod() == null || action.getPaymentMethod().isEmpty()
+                ? "bank_transfer" : action.getPaymentMethod();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        
+        int updatedPayments = 0;
+        int updatedCategoryTeams = 0;
+        for (List<Long> chunk : chunk(ids)) {
+            updatedPayments += paymentRepository.markAllPaid(companyId, chunk, today, paymentMethod, now);
+            updatedCategoryTeams += categoryTeamRepository.markPaidByPaymentIds(companyId, chunk, now);
+        }
+        return new PaymentBulkResultDTO(ids.size(), updatedPayments, updatedCategoryTeams);
+    }
+    
+    /**
+     * IDs of the company's payments selected by a bulk action, limited to the statuses it applies to
+     */
+    private List<Long> resolveBulkIds(Long companyId, PaymentBulkActionDTO action, List<Payment.PaymentStatus> allowed) {
+        List<Payment.PaymentStatus> statuses = allowed;
+        if (action.getStatus() != null) {
+            if (!allowed.contains(action.getStatus())) {
+                throw new IllegalArgumentException("Payments with status " + action.getStatus() + " cannot take this action");
+            }
+            statuses = List.of(action.getStatus());
+        }
+        
+        if (action.hasPaymentIds()) {
+            List<Long> ids = new ArrayList<>();
+            for (List<Long> chunk : chunk(action.getPaymentIds())) {
+                ids.addAll(paymentRepository.findIdsForBulkAction(companyId, chunk, statuses));
+            }
+            return ids;
+        }
+        
+        // A filter with no criterion would hit every payment of the company
+        if (action.getProjectId() == null && action.getDueBefore() == null && action.getStatus() == null) {
+            throw new IllegalArgumentException("Select payments by ID or by project, due date or status");
+        }
+        return paymentRepository.findIdsForBulkAction(companyId, statuses, action.getProjectId(), action.getDueBefore());
+    }
+    
+    private List<List<Long>> chunk(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+    
     /**
      * Get payment summary for dashboard
      */
@@ -221,34 +346,21 @@ public class PaymentService {
     }
     
     /**
-     * Generate a unique invoice number
+     * Generate a unique invoice number from the company's yearly sequence
      */
-    private String generateInvoiceNumber() {
-        LocalDate now = LocalDate.now();
-        String prefix = "INV-" + now.getYear() + "-";
-        long count = paymentRepository.count() + 1;
-        return prefix + String.format("%04d", count);
+    private String generateInvoiceNumber(Long categoryTeamId) {
+        Long companyId = categoryTeamRepository.findCompanyIdById(categoryTeamId)
+                .orElseThrow(() -> new IllegalArgumentException("CategoryTeam not found with ID: " + categoryTeamId));
+        return invoiceNumberAllocator.nextInvoiceNumber(companyId, LocalDate.now());
     }
     
     /**
      * Update payment statuses (e.g., mark as overdue)
-     * This should be called by a scheduled task
+     * This should be called by a scheduled task. Runs as chunked bulk updates,
+     * each in its own transaction, and returns the number of payments changed.
      */
-    @Transactional
-    @CacheEvict(value = {"payments", "paymentSummary"}, allEntries = true)
-    public void updatePaymentStatuses() {
-        LocalDate today = LocalDate.now();
-        
-        // Find payments that are due but not paid
-        List<Payment> overduePayments = paymentRepository.findAll().stream()
-                .filter(p -> (p.getStatus() == Payment.PaymentStatus.PENDING || p.getStatus() == Payment.PaymentStatus.APPROVED)
-                        && p.getDueDate() != null && p.getDueDate().isBefore(today))
-                .collect(Collectors.toList());
-        
-        // Mark them as overdue
-        for (Payment payment : overduePayments) {
-            payment.setStatus(Payment.PaymentStatus.OVERDUE);
-            paymentRepository.save(payment);
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int updatePaymentStatuses() {
+        return overduePaymentSweeper.sweep(LocalDate.now());
     }
 }
\ No newline at end of file
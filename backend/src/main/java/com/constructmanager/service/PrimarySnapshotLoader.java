@@ -0,0 +1,38 @@
+package com.constructmanager.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the loader of an in-memory snapshot in its own read-write transaction, which
+ * ReplicaRoutingDataSource always sends to the primary.
+ *
+ * The caches register themselves for entity events before loading and rely on the load
+ * seeing every change committed before that point. A lagging replica would miss such a
+ * change while its event was already folded in, losing it until the next reload.
+ */
+@Component
+public class PrimarySnapshotLoader {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate primaryTemplate;
+
+    @PostConstruct
+    void init() {
+        primaryTemplate = new TransactionTemplate(transactionManager);
+        primaryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        primaryTemplate.setReadOnly(false);
+    }
+
+    public <T> T load(Supplier<T> loader) {
+        return primaryTemplate.execute(status -> loader.get());
+    }
+}
@@ -0,0 +1,135 @@
+package com.constructmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * De-duplicating queue of units and projects whose progress rollups are stale.
+ * Used when app.progress.propagation=async: leaf updates commit right away and only
+ * enqueue their parents, and ProgressPropagationWorker recomputes each dirty key once
+ * per debounce window.
+ *
+ * Every enqueue gets a monotonically increasing version. Once appliedVersion has reached
+ * the version returned to a writer, all rollups affected by that write are up to date.
+ */
+@Component
+public class ProgressPropagationQueue {
+
+    private final Set<Long> dirtyUnitIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyProjectIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> inFlightProjectIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong issuedVersion = new AtomicLong();
+    private final AtomicLong appliedVersion = new AtomicLong();
+
+    @Value("${app.progress.propagation:sync}")
+    private String propagationMode;
+
+    /**
+     * Whether unit and project rollups are deferred to the background worker
+     */
+    public boolean isEnabled() {
+        return "async".equalsIgnoreCase(propagationMode);
+    }
+
+    /**
+     * Mark a unit and its project dirty once the current transaction commits,
+     * so the worker never recomputes from data that is not visible yet
+     */
+    public void enqueueAfterCommit(Long unitId, Long projectId) {
+        AfterCommit.run(() -> enqueue(unitId, projectId));
+    }
+
+    /**
+     * Mark a unit and its project dirty and return the version of this change
+     */
+    public long enqueue(Long unitId, Long projectId) {
+        // Keys must be visible before the version is published (see drain)
+        dirtyUnitIds.add(unitId);
+        dirtyProjectIds.add(projectId);
+        return issuedVersion.incrementAndGet();
+    }
+
+    /**
+     * Take every dirty key enqueued so far. All changes with a version up to
+     * the returned batch version are either in this batch or in an earlier one.
+     */
+    public Batch drain() {
+        long version = issuedVersion.get();
+        Set<Long> unitIds = removeAll(dirtyUnitIds);
+        Set<Long> projectIds = removeAll(dirtyProjectIds);
+        inFlightProjectIds.addAll(projectIds);
+        return new Batch(version, unitIds, projectIds);
+    }
+
+    /**
+     * Record that a drained batch has been committed
+     */
+    public void markApplied(Batch batch) {
+        inFlightProjectIds.removeAll(batch.getProjectIds());
+        appliedVersion.accumulateAndGet(batch.getVersion(), Math::max);
+    }
+
+    /**
+     * Put the keys of a failed batch back so the next run retries them
+     */
+    public void requeue(Batch batch) {
+        dirtyUnitIds.addAll(batch.getUnitIds());
+        dirtyProjectIds.addAll(batch.getProjectIds());
+        inFlightProjectIds.removeAll(batch.getProjectIds());
+    }
+
+    public boolean isEmpty() {
+        return dirtyUnitIds.isEmpty() && dirtyProjectIds.isEmpty();
+    }
+
+    /**
+     * Whether a project still has rollups waiting to be recomputed
+     */
+    public boolean isProjectPending(Long projectId) {
+        return dirtyProjectIds.contains(projectId) || inFlightProjectIds.contains(projectId);
+    }
+
+    public long getIssuedVersion() { return issuedVersion.get(); }
+
+    public long getAppliedVersion() { return appliedVersion.get(); }
+
+    public int getPendingUnitCount() { return dirtyUnitIds.size(); }
+
+    public int getPendingProjectCount() { return dirtyProjectIds.size(); }
+
+    private Set<Long> removeAll(Set<Long> source) {
+        Set<Long> drained = new HashSet<>();
+        Iterator<Long> iterator = source.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * Snapshot of dirty keys handed to the worker
+     */
+    public static class Batch {
+        private final long version;
+        private final Set<Long> unitIds;
+        private final Set<Long> projectIds;
+
+        public Batch(long version, Set<Long> unitIds, Set<Long> projectIds) {
+            this.version = version;
+            this.unitIds = Collections.unmodifiableSet(unitIds);
+            this.projectIds = Collections.unmodifiableSet(projectIds);
+        }
+
+        public long getVersion() { return version; }
+        public Set<Long> getUnitIds() { return unitIds; }
+        public Set<Long> getProjectIds() { return projectIds; }
+    }
+}
@@ -0,0 +1,45 @@
+package com.constructmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background worker for asynchronous progress propagation.
+ * Runs once per debounce window and recomputes every dirty unit and project once,
+ * no matter how many leaf updates touched them in the meantime.
+ */
+@Component
+public class ProgressPropagationWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressPropagationWorker.class);
+
+    @Autowired
+    private ProgressPropagationQueue propagationQueue;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Scheduled(fixedDelayString = "${app.progress.debounce-ms:500}")
+    public void propagate() {
+        if (propagationQueue.isEmpty()) {
+            return;
+        }
+
+        ProgressPropagationQueue.Batch batch = propagationQueue.drain();
+        try {
+            retryExecutor.run(() -> progressService.recomputeRollups(batch.getUnitIds(), batch.getProjectIds()));
+            propagationQueue.markApplied(batch);
+            logger.debug("Propagated progress for {} units and {} projects up to version {}",
+                    batch.getUnitIds().size(), batch.getProjectIds().size(), batch.getVersion());
+        } catch (RuntimeException e) {
+            logger.error("Progress propagation failed, retrying next window: {}", e.getMessage());
+            propagationQueue.requeue(batch);
+        }
+    }
+}
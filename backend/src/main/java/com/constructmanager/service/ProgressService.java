@@ -1,5 +1,7 @@
 package com.constructmanager.service;
 
+import com.constructmanager.dto.CategoryTeamProgressUpdateDTO;
+import com.constructmanager.dto.ProgressBatchResultDTO;
 import com.constructmanager.entity.Category;
 import com.constructmanager.entity.CategoryTeam;
 import com.constructmanager.entity.Project;
@@ -10,12 +12,35 @@ import com.constructmanager.repository.ProjectRepository;
 import com.constructmanager.repository.UnitRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
 
+/**
+ * Progress rollups for the CategoryTeam -> Category -> Unit -> Project hierarchy.
+ *
+ * Concurrency rules:
+ * - every write path locks rows top-down (projects, units, categories, category teams),
+ *   each level in ID order, before reading siblings, so two writers can never wait on
+ *   each other in opposite orders
+ * - READ_COMMITTED makes the sibling aggregates see what the previous lock holder committed
+ * - @Version on all four entities turns any remaining lost update into an optimistic
+ *   locking failure, which callers retry through OptimisticRetryExecutor
+ */
 @Service
-@Transactional
+@Transactional(isolation = Isolation.READ_COMMITTED)
 public class ProgressService {
 
     @Autowired
@@ -30,33 +55,29 @@ public class ProgressService {
     @Autowired
     private CategoryTeamRepository categoryTeamRepository;
 
+    @Autowired
+    private ProgressPropagationQueue propagationQueue;
+
+    @Autowired
+    private HierarchyCounterService counterService;
+
     /**
      * Update project progress based on its units' progress
      */
     public Project updateProjectProgress(Long projectId) {
+        lockHierarchy(Hierarchy.ofProject(projectId), true);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found with ID: " + projectId));
 
-        List<Unit> units = unitRepository.findByProjectId(projectId);
-        
-        if (units.isEmpty()) {
-            project.setProgressPercentage(0);
-        } else {
-            int totalProgress = 0;
-            for (Unit unit : units) {
-                totalProgress += unit.getProgressPercentage();
-            }
-            int averageProgress = totalProgress / units.size();
-            project.setProgressPercentage(averageProgress);
-        }
-
-        return projectRepository.save(project);
+        recomputeProjects(Collections.singleton(projectId));
+        return project;
     }
-    
+
     /**
      * Update project progress with a manually specified percentage
      */
     public Project updateProjectProgress(Long projectId, Integer progressPercentage) {
+        lockHierarchy(Hierarchy.ofProject(projectId), true);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found with ID: " + projectId));
 
@@ -71,62 +92,50 @@ public class ProgressService {
      * Update unit progress based on its categories' progress
      */
     public Unit updateUnitProgress(Long unitId) {
-        Unit unit = unitRepository.findById(unitId)
-                .orElseThrow(() -> new IllegalArgumentException("Unit not found with ID: " + unitId));
-
-        List<Category> categories = categoryRepository.findByUnitIdOrderByOrderSequenceAsc(unitId);
-        
-        if (categories.isEmpty()) {
-            unit.setProgressPercentage(0);
-        } else {
-            int totalProgress = 0;
-            for (Category category : categories) {
-                totalProgress += category.getProgressPercentage();
-            }
-            int averageProgress = totalProgress / categories.size();
-            unit.setProgressPercentage(averageProgress);
+        Hierarchy hierarchy = Hierarchy.fromUnits(unitRepository.findHierarchyKeys(Collections.singleton(unitId)));
+        if (hierarchy.isEmpty()) {
+            throw new IllegalArgumentException("Unit not found with ID: " + unitId);
         }
+        lockHierarchy(hierarchy, true);
+
+        // Update the unit and its parent project
+        Set<Long> projectIds = recomputeUnits(hierarchy.unitIds);
+        recomputeProjects(projectIds);
 
-        Unit savedUnit = unitRepository.save(unit);
-        
-        // Update parent project progress
-        updateProjectProgress(unit.getProject().getId());
-        
-        return savedUnit;
+        return unitRepository.findById(unitId)
+                .orElseThrow(() -> new IllegalArgumentException("Unit not found with ID: " + unitId));
     }
 
     /**
      * Update category progress based on its teams' progress
      */
     public Category updateCategoryProgress(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + categoryId));
-
-        List<CategoryTeam> categoryTeams = categoryTeamRepository.findByCategoryIdOrderByCreatedAtAsc(categoryId);
-        
-        if (categoryTeams.isEmpty()) {
-            category.setProgressPercentage(0);
-        } else {
-            int totalProgress = 0;
-            for (CategoryTeam categoryTeam : categoryTeams) {
-                totalProgress += categoryTeam.getProgressPercentage();
-            }
-            int averageProgress = totalProgress / categoryTeams.size();
-            category.setProgressPercentage(averageProgress);
+        Hierarchy hierarchy = Hierarchy.fromCategories(categoryRepository.findHierarchyKeys(Collections.singleton(categoryId)));
+        if (hierarchy.isEmpty()) {
+            throw new IllegalArgumentException("Category not found with ID: " + categoryId);
         }
+        lockHierarchy(hierarchy, !propagationQueue.isEnabled());
+
+        recomputeCategories(hierarchy.categoryIds);
 
-        Category savedCategory = categoryRepository.save(category);
-        
-        // Update parent unit progress
-        updateUnitProgress(category.getUnit().getId());
-        
-        return savedCategory;
+        // Update parent unit progress, or defer it to the propagation worker in async mode
+        propagateToUnits(hierarchy);
+
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + categoryId));
     }
 
     /**
      * Update progress for a CategoryTeam and propagate changes up the hierarchy
      */
     public CategoryTeam updateCategoryTeamProgress(Long categoryTeamId, Integer progressPercentage) {
+        Hierarchy hierarchy = Hierarchy.fromCategoryTeams(
+                categoryTeamRepository.findHierarchyKeys(Collections.singleton(categoryTeamId)));
+        if (hierarchy.isEmpty()) {
+            throw new IllegalArgumentException("CategoryTeam not found with ID: " + categoryTeamId);
+        }
+        lockHierarchy(hierarchy, !propagationQueue.isEnabled());
+
         CategoryTeam categoryTeam = categoryTeamRepository.findById(categoryTeamId)
                 .orElseThrow(() -> new IllegalArgumentException("CategoryTeam not found with ID: " + categoryTeamId));
 
@@ -135,10 +144,275 @@ public class ProgressService {
         categoryTeam.setProgressPercentage(progressPercentage);
 
         CategoryTeam savedCategoryTeam = categoryTeamRepository.save(categoryTeam);
-        
-        // Update parent category progress
-        updateCategoryProgress(categoryTeam.getCategory().getId());
-        
+        categoryTeamRepository.flush();
+
+        // Update parent category progress, then the units and projects above it
+        recomputeCategories(hierarchy.categoryIds);
+        propagateToUnits(hierarchy);
+
         return savedCategoryTeam;
     }
-}
\ No newline at end of file
+
+    /**
+     * Run a task write under its CategoryTeam's hierarchy locks. The write receives the
+     * locked CategoryTeam and adjusts its task counters; progress then moves to the
+     * completed share, and only when that share changed are the parent category and the
+     * levels above it recomputed. Nothing is recounted from the tasks themselves.
+     */
+    public <T> T applyTaskChange(Long categoryTeamId, Function<CategoryTeam, T> change) {
+        Hierarchy hierarchy = Hierarchy.fromCategoryTeams(
+                categoryTeamRepository.findHierarchyKeys(Collections.singleton(categoryTeamId)));
+        if (hierarchy.isEmpty()) {
+            throw new IllegalArgumentException("CategoryTeam not found with ID: " + categoryTeamId);
+        }
+        CategoryTeam categoryTeam = lockHierarchy(hierarchy, !propagationQueue.isEnabled()).get(0);
+
+        T result = change.apply(categoryTeam);
+
+        int taskCount = categoryTeam.getTaskCount();
+        if (taskCount > 0) {
+            int progressPercentage = categoryTeam.getCompletedTaskCount() * 100 / taskCount;
+            if (progressPercentage != categoryTeam.getProgressPercentage()) {
+                categoryTeam.setProgressPercentage(progressPercentage);
+                categoryTeamRepository.save(categoryTeam);
+                categoryTeamRepository.flush();
+
+                recomputeCategories(hierarchy.categoryIds);
+                propagateToUnits(hierarchy);
+                return result;
+            }
+        }
+        categoryTeamRepository.save(categoryTeam);
+        return result;
+    }
+
+    /**
+     * Apply many CategoryTeam progress updates in one transaction.
+     * Each distinct category, unit and project is recomputed exactly once, bottom-up,
+     * instead of cascading the whole hierarchy for every single update.
+     * In async propagation mode units and projects are queued instead of recomputed.
+     */
+    public ProgressBatchResultDTO updateCategoryTeamProgressBatch(List<CategoryTeamProgressUpdateDTO> updates) {
+        // Last update wins when the same CategoryTeam appears more than once
+        Map<Long, Integer> progressByCategoryTeamId = new LinkedHashMap<>();
+        for (CategoryTeamProgressUpdateDTO update : updates) {
+            progressByCategoryTeamId.put(update.getCategoryTeamId(),
+                    Math.max(0, Math.min(100, update.getProgressPercentage())));
+        }
+
+        Hierarchy hierarchy = Hierarchy.fromCategoryTeams(
+                categoryTeamRepository.findHierarchyKeys(progressByCategoryTeamId.keySet()));
+        List<CategoryTeam> categoryTeams = lockHierarchy(hierarchy, !propagationQueue.isEnabled());
+
+        for (CategoryTeam categoryTeam : categoryTeams) {
+            categoryTeam.setProgressPercentage(progressByCategoryTeamId.get(categoryTeam.getId()));
+        }
+
+        // Written as JDBC batches (hibernate.jdbc.batch_size) on flush
+        categoryTeamRepository.saveAll(categoryTeams);
+        categoryTeamRepository.flush();
+
+        recomputeCategories(hierarchy.categoryIds);
+        propagateToUnits(hierarchy);
+
+        List<Long> missingIds = new ArrayList<>();
+        for (Long categoryTeamId : progressByCategoryTeamId.keySet()) {
+            if (!hierarchy.categoryTeamIds.contains(categoryTeamId)) {
+                missingIds.add(categoryTeamId);
+            }
+        }
+
+        return new ProgressBatchResultDTO(
+                categoryTeams.size(),
+                hierarchy.categoryIds.size(),
+                hierarchy.unitToProject.size(),
+                hierarchy.projectIds.size(),
+                missingIds
+        );
+    }
+
+    /**
+     * Recompute units and projects queued by asynchronous propagation, units first.
+     * Projects of the given units are included even if they were not queued.
+     */
+    public void recomputeRollups(Collection<Long> unitIds, Collection<Long> projectIds) {
+        Hierarchy hierarchy = Hierarchy.fromUnits(unitRepository.findHierarchyKeys(unitIds));
+        hierarchy.projectIds.addAll(projectIds);
+        lockHierarchy(hierarchy, true);
+
+        Set<Long> allProjectIds = recomputeUnits(hierarchy.unitIds);
+        allProjectIds.addAll(hierarchy.projectIds);
+        recomputeProjects(allProjectIds);
+    }
+
+    /**
+     * Lock every row of the hierarchy in the one global order: projects, units,
+     * categories, category teams, each by ascending ID. In async mode the leaf writers
+     * skip the project and unit levels, which only the propagation worker updates.
+     * Returns the locked category teams.
+     */
+    private List<CategoryTeam> lockHierarchy(Hierarchy hierarchy, boolean includeUnitsAndProjects) {
+        if (includeUnitsAndProjects) {
+            if (!hierarchy.projectIds.isEmpty()) {
+                projectRepository.lockAllById(hierarchy.projectIds);
+            }
+            if (!hierarchy.unitIds.isEmpty()) {
+                unitRepository.lockAllById(hierarchy.unitIds);
+            }
+        }
+        if (!hierarchy.categoryIds.isEmpty()) {
+            categoryRepository.lockAllById(hierarchy.categoryIds);
+        }
+        if (!hierarchy.categoryTeamIds.isEmpty()) {
+            return categoryTeamRepository.lockAllById(hierarchy.categoryTeamIds);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Recompute the units above the given categories and their projects,
+     * or queue them for the propagation worker in async mode
+     */
+    private void propagateToUnits(Hierarchy hierarchy) {
+        if (propagationQueue.isEnabled()) {
+            hierarchy.unitToProject.forEach(propagationQueue::enqueueAfterCommit);
+        } else {
+            Set<Long> projectIds = recomputeUnits(hierarchy.unitIds);
+            recomputeProjects(projectIds);
+        }
+    }
+
+    /**
+     * Recompute the given categories from their teams and return the affected unit IDs
+     */
+    private Set<Long> recomputeCategories(Collection<Long> categoryIds) {
+        Set<Long> unitIds = new HashSet<>();
+        if (categoryIds.isEmpty()) {
+            return unitIds;
+        }
+
+        Map<Long, Integer> averages = toAverages(categoryTeamRepository.sumProgressByCategoryIds(categoryIds));
+        List<Category> categories = categoryRepository.findAllById(categoryIds);
+        for (Category category : categories) {
+            category.setProgressPercentage(averages.getOrDefault(category.getId(), 0));
+            unitIds.add(category.getUnit().getId());
+        }
+
+        categoryRepository.saveAll(categories);
+        categoryRepository.flush();
+        return unitIds;
+    }
+
+    /**
+     * Recompute the given units from their categories and return the affected project IDs
+     */
+    private Set<Long> recomputeUnits(Collection<Long> unitIds) {
+        Set<Long> projectIds = new HashSet<>();
+        if (unitIds.isEmpty()) {
+            return projectIds;
+        }
+
+        Map<Long, Integer> averages = toAverages(categoryRepository.sumProgressByUnitIds(unitIds));
+        List<Unit> units = unitRepository.findAllById(unitIds);
+        for (Unit unit : units) {
+            unit.setProgressPercentage(averages.getOrDefault(unit.getId(), 0));
+            projectIds.add(unit.getProject().getId());
+        }
+
+        unitRepository.saveAll(units);
+        unitRepository.flush();
+        // Completed-category counts follow the recomputed categories
+        counterService.refreshUnits(unitIds);
+        return projectIds;
+    }
+
+    /**
+     * Recompute the given projects from their units
+     */
+    private void recomputeProjects(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> averages = toAverages(unitRepository.sumProgressByProjectIds(projectIds));
+        List<Project> projects = projectRepository.findAllById(projectIds);
+        for (Project project : projects) {
+            project.setProgressPercentage(averages.getOrDefault(project.getId(), 0));
+        }
+
+        projectRepository.saveAll(projects);
+        projectRepository.flush();
+        counterService.refreshProjects(projectIds);
+    }
+
+    /**
+     * Convert [parentId, SUM(progress), COUNT(*)] rows into integer averages,
+     * truncating like the original per-entity loops did
+     */
+    private Map<Long, Integer> toAverages(List<Object[]> rows) {
+        Map<Long, Integer> averages = new HashMap<>();
+        for (Object[] row : rows) {
+            long sum = ((Number) row[1]).longValue();
+            long count = ((Number) row[2]).longValue();
+            averages.put((Long) row[0], count == 0 ? 0 : (int) (sum / count));
+        }
+        return averages;
+    }
+
+    /**
+     * IDs of every level touched by a write, kept sorted for lock ordering
+     */
+    private static class Hierarchy {
+        private final Set<Long> projectIds = new TreeSet<>();
+        private final Set<Long> unitIds = new TreeSet<>();
+        private final Set<Long> categoryIds = new TreeSet<>();
+        private final Set<Long> categoryTeamIds = new TreeSet<>();
+        private final Map<Long, Long> unitToProject = new TreeMap<>();
+
+        static Hierarchy ofProject(Long projectId) {
+            Hierarchy hierarchy = new Hierarchy();
+            hierarchy.projectIds.add(projectId);
+            return hierarchy;
+        }
+
+        /** Rows of [unitId, projectId] */
+        static Hierarchy fromUnits(List<Object[]> rows) {
+            Hierarchy hierarchy = new Hierarchy();
+            for (Object[] row : rows) {
+                hierarchy.addUnit((Long) row[0], (Long) row[1]);
+            }
+            return hierarchy;
+        }
+
+        /** Rows of [categoryId, unitId, projectId] */
+        static Hierarchy fromCategories(List<Object[]> rows) {
+            Hierarchy hierarchy = new Hierarchy();
+            for (Object[] row : rows) {
+                hierarchy.categoryIds.add((Long) row[0]);
+                hierarchy.addUnit((Long) row[1], (Long) row[2]);
+            }
+            return hierarchy;
+        }
+
+        /** Rows of [categoryTeamId, categoryId, unitId, projectId] */
+        static Hierarchy fromCategoryTeams(List<Object[]> rows) {
+            Hierarchy hierarchy = new Hierarchy();
+            for (Object[] row : rows) {
+                hierarchy.categoryTeamIds.add((Long) row[0]);
+                hierarchy.categoryIds.add((Long) row[1]);
+                hierarchy.addUnit((Long) row[2], (Long) row[3]);
+            }
+            return hierarchy;
+        }
+
+        private void addUnit(Long unitId, Long projectId) {
+            unitIds.add(unitId);
+            projectIds.add(projectId);
+            unitToProject.put(unitId, projectId);
+        }
+
+        boolean isEmpty() {
+            return projectIds.isEmpty();
+        }
+    }
+}
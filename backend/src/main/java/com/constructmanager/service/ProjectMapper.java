@@ -2,18 +2,16 @@ package com.constructmanager.service;
 
 import com.constructmanager.dto.CompanyBasicDTO;
 import com.constructmanager.dto.ProjectDetailDTO;
-import com.constructmanager.dto.UnitSummaryDTO;
 import com.constructmanager.entity.Project;
+import com.constructmanager.repository.UnitRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Collectors;
-
 @Component
 public class ProjectMapper {
     
     @Autowired
-    private UnitService unitService;
+    private UnitRepository unitRepository;
     
     /**
      * Convert Project entity to detailed DTO
@@ -40,21 +38,8 @@ public class ProjectMapper {
             ));
         }
         
-        // Map units (using service to get summaries with counts)
-        dto.setUnits(project.getUnits().stream()
-                .map(unit -> new UnitSummaryDTO(
-                    unit.getId(),
-                    unit.getName(),
-                    unit.getType(),
-                    unit.getFloor(),
-                    unit.getArea(),
-                    unit.getProgressPercentage(),
-                    (long) unit.getCategories().size(),
-                    unit.getCategories().stream()
-                        .mapToLong(category -> category.getCategoryTeams().size())
-                        .sum()
-                ))
-                .collect(Collectors.toList()));
+        // Map units (one projection query with counts instead of walking the collections)
+        dto.setUnits(unitRepository.findUnitCountsByProjectId(project.getId()));
         
         return dto;
     }
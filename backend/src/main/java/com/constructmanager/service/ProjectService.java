@@ -9,6 +9,8 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,12 +27,26 @@ public class ProjectService {
     @Autowired
     private ProjectMapper projectMapper;
 
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private PageTotalService pageTotals;
+
     /**
      * Get paginated project summaries for a company
      * Uses caching for better performance
      */
     @Cacheable(value = "projectSummaries", key = "#companyId + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ProjectSummaryDTO> getProjectSummaries(Long companyId, Pageable pageable) {
+        Slice<ProjectSummaryDTO> slice = projectRepository.findProjectSummariesByCompanyId(companyId, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> pageTotals.countProjects(companyId));
+    }
+
+    /**
+     * Get one slice of project summaries without a total (infinite scroll)
+     */
+    public Slice<ProjectSummaryDTO> getProjectSummarySlice(Long companyId, Pageable pageable) {
         return projectRepository.findProjectSummariesByCompanyId(companyId, pageable);
     }
 
@@ -39,6 +55,14 @@ public class ProjectService {
      */
     @Cacheable(value = "projectSummariesByStatus", key = "#companyId + '_' + #status + '_' + #pageable.pageNumber")
     public Page<ProjectSummaryDTO> getProjectSummariesByStatus(Long companyId, Project.ProjectStatus status, Pageable pageable) {
+        Slice<ProjectSummaryDTO> slice = projectRepository.findProjectSummariesByCompanyIdAndStatus(companyId, status, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> pageTotals.countProjectsByStatus(companyId, status));
+    }
+
+    /**
+     * Get one slice of project summaries by status without a total
+     */
+    public Slice<ProjectSummaryDTO> getProjectSummarySliceByStatus(Long companyId, Project.ProjectStatus status, Pageable pageable) {
         return projectRepository.findProjectSummariesByCompanyIdAndStatus(companyId, status, pageable);
     }
 
@@ -46,13 +70,22 @@ public class ProjectService {
      * Search projects by name or location
      */
     public Page<ProjectSummaryDTO> searchProjects(Long companyId, String searchTerm, Pageable pageable) {
-        return projectRepository.searchProjectSummaries(companyId, searchTerm, pageable);
+        return searchService.searchProjects(companyId, searchTerm, pageable);
     }
 
     /**
      * Get project summaries by date range
      */
     public Page<ProjectSummaryDTO> getProjectsByDateRange(Long companyId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        Slice<ProjectSummaryDTO> slice = getProjectSliceByDateRange(companyId, startDate, endDate, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> projectRepository.countByCompanyIdAndDateRange(companyId, startDate, endDate));
+    }
+
+    /**
+     * Get one slice of project summaries by date range without a total
+     */
+    public Slice<ProjectSummaryDTO> getProjectSliceByDateRange(Long companyId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
         return projectRepository.findProjectSummariesByCompanyIdAndDateRange(companyId, startDate, endDate, pageable);
     }
 
@@ -61,7 +94,7 @@ public class ProjectService {
      */
     @Cacheable(value = "projectDetails", key = "#projectId + '_' + #companyId")
     public Optional<ProjectDetailDTO> getProjectDetail(Long projectId, Long companyId) {
-        return projectRepository.findByIdAndCompanyId(projectId, companyId)
+        return projectRepository.findDetailByIdAndCompanyId(projectId, companyId)
                 .map(projectMapper::toDetailDTO);
     }
 
@@ -69,7 +102,7 @@ public class ProjectService {
      * Create new project
      */
     @Transactional
-    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "activeProjectsCount"}, allEntries = true)
+    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "projectTotals", "activeProjectsCount"}, allEntries = true)
     public ProjectDetailDTO createProject(Project project) {
         Project savedProject = projectRepository.save(project);
         return projectMapper.toDetailDTO(savedProject);
@@ -79,7 +112,7 @@ public class ProjectService {
      * Update existing project
      */
     @Transactional
-    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "projectDetails", "activeProjectsCount"}, allEntries = true)
+    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "projectDetails", "projectTotals", "activeProjectsCount"}, allEntries = true)
     public Optional<ProjectDetailDTO> updateProject(Long projectId, Long companyId, Project projectUpdates) {
         return projectRepository.findByIdAndCompanyId(projectId, companyId)
                 .map(existingProject -> {
@@ -101,7 +134,7 @@ public class ProjectService {
      * Delete project
      */
     @Transactional
-    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "projectDetails", "activeProjectsCount"}, allEntries = true)
+    @CacheEvict(value = {"projectSummaries", "projectSummariesByStatus", "projectDetails", "projectTotals", "activeProjectsCount"}, allEntries = true)
     public boolean deleteProject(Long projectId, Long companyId) {
         return projectRepository.findByIdAndCompanyId(projectId, companyId)
                 .map(project -> {
@@ -122,7 +155,7 @@ public class ProjectService {
     /**
      * Get projects with delayed tasks
      */
-    public Page<Project> getProjectsWithDelayedTasks(Long companyId, Pageable pageable) {
+    public Page<ProjectSummaryDTO> getProjectsWithDelayedTasks(Long companyId, Pageable pageable) {
         return projectRepository.findProjectsWithDelayedTasks(companyId, pageable);
     }
 }
\ No newline at end of file
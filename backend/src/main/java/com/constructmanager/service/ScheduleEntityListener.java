@@ -0,0 +1,89 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.CategoryDependency;
+import com.constructmanager.entity.CategoryTeam;
+import com.constructmanager.entity.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps ScheduleIndex in step with category dates and progress and task due dates, and
+ * CriticalPathService with category dates and dependencies.
+ *
+ * Like TypeaheadEntityListener, entries are read while the entity is managed and
+ * applied only after the transaction commits.
+ */
+@Component
+public class ScheduleEntityListener implements EntityChangeListener {
+
+    @Autowired
+    @Lazy
+    private ScheduleIndex scheduleIndex;
+
+    @Autowired
+    @Lazy
+    private CriticalPathService criticalPathService;
+
+    @Override
+    public void onSave(Object entity) {
+        if (entity instanceof Category category) {
+            Integer progress = category.getProgressPercentage();
+            ScheduleIndex.Entry entry = new ScheduleIndex.Entry(
+                    ScheduleIndex.EntryType.CATEGORY, category.getId(), category.getName(),
+                    category.getStartDate(), category.getEndDate(), progress, progress != null && progress >= 100,
+                    category.getProjectId(), category.getUnit() != null ? category.getUnit().getId() : null, null);
+            Long companyId = category.getCompanyId();
+            Long projectId = category.getProjectId();
+            Long id = category.getId();
+            Long unitId = category.getUnit() != null ? category.getUnit().getId() : null;
+            Integer orderSequence = category.getOrderSequence();
+            LocalDate startDate = category.getStartDate();
+            LocalDate endDate = category.getEndDate();
+            AfterCommit.run(() -> {
+                scheduleIndex.upsert(companyId, entry);
+                criticalPathService.onCategorySaved(projectId, id, unitId, orderSequence, startDate, endDate);
+            });
+        } else if (entity instanceof CategoryDependency dependency) {
+            Long projectId = dependency.getProjectId();
+            AfterCommit.run(() -> criticalPathService.invalidate(projectId));
+        } else if (entity instanceof Task task) {
+            Long companyId = task.getCompanyId();
+            Long id = task.getId();
+            if (task.getDueDate() == null) {
+                AfterCommit.run(() -> scheduleIndex.remove(companyId, ScheduleIndex.EntryType.TASK, id));
+                return;
+            }
+            CategoryTeam categoryTeam = task.getCategoryTeam();
+            ScheduleIndex.Entry entry = new ScheduleIndex.Entry(
+                    ScheduleIndex.EntryType.TASK, id, task.getName(), task.getDueDate(), task.getDueDate(),
+                    task.getProgressPercentage(), ScheduleIndex.isClosed(task.getStatus()),
+                    categoryTeam != null ? categoryTeam.getProjectId() : null, null,
+                    categoryTeam != null ? categoryTeam.getId() : null);
+            AfterCommit.run(() -> scheduleIndex.upsert(companyId, entry));
+        }
+    }
+
+    @Override
+    public void onRemove(Object entity) {
+        if (entity instanceof Category category) {
+            Long companyId = category.getCompanyId();
+            Long id = category.getId();
+            Long projectId = category.getProjectId();
+            AfterCommit.run(() -> {
+                scheduleIndex.remove(companyId, ScheduleIndex.EntryType.CATEGORY, id);
+                criticalPathService.invalidate(projectId);
+            });
+        } else if (entity instanceof CategoryDependency dependency) {
+            Long projectId = dependency.getProjectId();
+            AfterCommit.run(() -> criticalPathService.invalidate(projectId));
+        } else if (entity instanceof Task task) {
+            Long companyId = task.getCompanyId();
+            Long id = task.getId();
+            AfterCommit.run(() -> scheduleIndex.remove(companyId, ScheduleIndex.EntryType.TASK, id));
+        }
+    }
+}
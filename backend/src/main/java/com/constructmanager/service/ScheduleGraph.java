@@ -0,0 +1,586 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.CategoryDependencyDTO;
+import com.constructmanager.dto.ProjectScheduleDTO;
+import com.constructmanager.dto.ScheduleShiftDTO;
+import com.constructmanager.dto.ScheduledCategoryDTO;
+import com.constructmanager.dto.UnitScheduleDTO;
+import com.constructmanager.dto.WhatIfResultDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Dependency graph of one project's categories with their critical path dates, in epoch days.
+ *
+ * Edges are finish-to-start: a successor starts no earlier than its predecessor's finish plus
+ * the lag. Inside a unit, each orderSequence step follows the previous one; these implied edges
+ * keep any overlap the planned dates already have (negative lag) and let a planned gap absorb
+ * delay. Explicit CategoryDependency rows add edges across units. Planned start dates are
+ * start-no-earlier-than constraints, so nothing moves earlier than planned.
+ *
+ * Early dates are computed once and then kept current incrementally: a changed category
+ * re-derives only the categories downstream of it, in topological order, and stops wherever
+ * an early start does not move. Late dates and float come from a backward pass that is redone
+ * lazily after early dates change. A what-if runs the same downstream pass against an overlay,
+ * leaving the graph untouched.
+ *
+ * Dependencies are checked for cycles when they are written, but a graph built from rows that
+ * do form a cycle still loads: for each cycle, the newest explicit dependency on it is left out
+ * and reported, so one bad row cannot block the project's schedule.
+ */
+final class ScheduleGraph {
+
+    private final int size;
+    private final long[] categoryIds;
+    private final String[] names;
+    private final long[] unitIds;
+    private final String[] unitNames;
+    private final int[] orderSequences;
+    private final Map<Long, Integer> indexOf;
+
+    private final int[] plannedStart;
+    private final int[] duration;
+
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeLag;
+    private final boolean[] edgeImplied;
+    private final int dependencyCount;
+    // Dependency rows left out because they close a cycle: [dependencyId, predecessor, successor, lagDays]
+    private final List<long[]> ignoredDependencies = new ArrayList<>();
+
+    // Edge IDs per node in compressed rows: node v's edges are [offsets[v], offsets[v + 1])
+    private final int[] successorOffsets;
+    private final int[] successorEdges;
+    private final int[] predecessorOffsets;
+    private final int[] predecessorEdges;
+
+    private final int[] topologicalOrder;
+    private final int[] topologicalPosition;
+
+    private final int[] earlyStart;
+    // Null until computed and again after early dates change
+    private int[] lateFinish;
+
+    /**
+     * @param nodes        [id, name, unitId, unitName, orderSequence, startDate, endDate] rows in
+     *                     unit and sequence order
+     * @param dependencies [dependencyId, predecessorId, successorId, lagDays] rows
+     */
+    ScheduleGraph(List<Object[]> nodes, List<Object[]> dependencies) {
+        size = nodes.size();
+        categoryIds = new long[size];
+        names = new String[size];
+        unitIds = new long[size];
+        unitNames = new String[size];
+        orderSequences = new int[size];
+        plannedStart = new int[size];
+        duration = new int[size];
+        indexOf = new HashMap<>(size * 2);
+        for (int v = 0; v < size; v++) {
+            Object[] row = nodes.get(v);
+            categoryIds[v] = (Long) row[0];
+            names[v] = (String) row[1];
+            unitIds[v] = (Long) row[2];
+            unitNames[v] = (String) row[3];
+            orderSequences[v] = (Integer) row[4];
+            setPlannedDates(v, (LocalDate) row[5], (LocalDate) row[6]);
+            indexOf.put(categoryIds[v], v);
+        }
+
+        List<int[]> edges = new ArrayList<>();
+        addImpliedEdges(edges);
+        List<Long> dependencyIds = new ArrayList<>();
+        for (Object[] row : dependencies) {
+            Integer from = indexOf.get((Long) row[1]);
+            Integer to = indexOf.get((Long) row[2]);
+            if (from != null && to != null) {
+                // Last slot: position in dependencyIds, or -1 for implied edges
+                edges.add(new int[]{from, to, (Integer) row[3], 0, dependencyIds.size()});
+                dependencyIds.add((Long) row[0]);
+            }
+        }
+        boolean[] dropped = breakCycles(edges, dependencyIds);
+        List<int[]> kept = new ArrayList<>(edges.size());
+        for (int e = 0; e < edges.size(); e++) {
+            int[] edge = edges.get(e);
+            if (dropped[e]) {
+                ignoredDependencies.add(new long[]{dependencyIds.get(edge[4]), edge[0], edge[1], edge[2]});
+            } else {
+                kept.add(edge);
+            }
+        }
+        edges = kept;
+        dependencyCount = dependencyIds.size() - ignoredDependencies.size();
+
+        int edgeCount = edges.size();
+        edgeFrom = new int[edgeCount];
+        edgeTo = new int[edgeCount];
+        edgeLag = new int[edgeCount];
+        edgeImplied = new boolean[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int[] edge = edges.get(e);
+            edgeFrom[e] = edge[0];
+            edgeTo[e] = edge[1];
+            edgeLag[e] = edge[2];
+            edgeImplied[e] = edge[3] == 1;
+        }
+        successorOffsets = new int[size + 1];
+        successorEdges = new int[edgeCount];
+        predecessorOffsets = new int[size + 1];
+        predecessorEdges = new int[edgeCount];
+        fillRows(edgeFrom, successorOffsets, successorEdges);
+        fillRows(edgeTo, predecessorOffsets, predecessorEdges);
+
+        topologicalOrder = new int[size];
+        topologicalPosition = new int[size];
+        sortTopologically();
+
+        earlyStart = new int[size];
+        for (int v : topologicalOrder) {
+            earlyStart[v] = earliestStart(v, liveDates);
+        }
+    }
+
+    /**
+     * Whether dependency rows had to be left out to break a cycle
+     */
+    boolean hasCycle() {
+        return !ignoredDependencies.isEmpty();
+    }
+
+    /**
+     * "Category A (1) -> Category B (2)" for each left-out dependency
+     */
+    String describeIgnoredDependencies() {
+        List<String> links = new ArrayList<>();
+        for (long[] ignored : ignoredDependencies) {
+            int from = (int) ignored[1];
+            int to = (int) ignored[2];
+            links.add(names[from] + " (" + categoryIds[from] + ") -> " + names[to] + " (" + categoryIds[to] + ")");
+        }
+        return String.join(", ", links);
+    }
+
+    boolean contains(Long categoryId) {
+        return indexOf.containsKey(categoryId);
+    }
+
+    /**
+     * Apply new planned dates of a category and move the early dates downstream of it.
+     * Returns false when the category is not in the graph or changed unit or sequence;
+     * the graph must then be rebuilt.
+     */
+    synchronized boolean updateDates(Long categoryId, Long unitId, Integer orderSequence,
+                                     LocalDate startDate, LocalDate endDate) {
+        Integer v = indexOf.get(categoryId);
+        if (v == null || unitId == null || unitIds[v] != unitId
+                || orderSequence == null || orderSequences[v] != orderSequence) {
+            return false;
+        }
+        setPlannedDates(v, startDate, endDate);
+        // Implied lags follow the planned dates on both sides of the category
+        for (int k = predecessorOffsets[v]; k < predecessorOffsets[v + 1]; k++) {
+            refreshImpliedLag(predecessorEdges[k]);
+        }
+        for (int k = successorOffsets[v]; k < successorOffsets[v + 1]; k++) {
+            refreshImpliedLag(successorEdges[k]);
+        }
+        earlyStart[v] = earliestStart(v, liveDates);
+        propagate(v, liveDates);
+        lateFinish = null;
+        return true;
+    }
+
+    /**
+     * Early and late dates, float and critical path, optionally for one unit only
+     */
+    synchronized ProjectScheduleDTO toSchedule(Long projectId, Long unitId) {
+        int[] late = lateFinish();
+        int start = Integer.MAX_VALUE;
+        int finish = Integer.MIN_VALUE;
+        for (int v = 0; v < size; v++) {
+            start = Math.min(start, earlyStart[v]);
+            finish = Math.max(finish, earlyFinish(v, liveDates));
+        }
+
+        List<ScheduledCategoryDTO> categories = new ArrayList<>();
+        List<Long> criticalPath = new ArrayList<>();
+        Map<Long, UnitScheduleDTO> units = new LinkedHashMap<>();
+        for (int v : topologicalOrder) {
+            int earlyFinish = earlyFinish(v, liveDates);
+            int totalFloat = late[v] - earlyFinish;
+            if (totalFloat == 0) {
+                criticalPath.add(categoryIds[v]);
+            }
+            if (unitId != null && unitIds[v] != unitId) {
+                continue;
+            }
+            categories.add(new ScheduledCategoryDTO(categoryIds[v], names[v], unitIds[v],
+                    day(plannedStart[v]), day(plannedStart[v] + duration[v] - 1),
+                    day(earlyStart[v]), day(earlyFinish),
+                    day(late[v] - duration[v] + 1), day(late[v]), totalFloat, totalFloat == 0));
+        }
+        for (int v = 0; v < size; v++) {
+            if (unitId != null && unitIds[v] != unitId) {
+                continue;
+            }
+            int node = v;
+            UnitScheduleDTO unit = units.computeIfAbsent(unitIds[v], id -> new UnitScheduleDTO(
+                    id, unitNames[node], null, null, Integer.MAX_VALUE, false));
+            int earlyFinish = earlyFinish(v, liveDates);
+            if (unit.getEarlyStart() == null || day(earlyStart[v]).isBefore(unit.getEarlyStart())) {
+                unit.setEarlyStart(day(earlyStart[v]));
+            }
+            if (unit.getEarlyFinish() == null || day(earlyFinish).isAfter(unit.getEarlyFinish())) {
+                unit.setEarlyFinish(day(earlyFinish));
+            }
+            unit.setTotalFloat(Math.min(unit.getTotalFloat(), late[v] - earlyFinish));
+            unit.setCritical(unit.getTotalFloat() == 0);
+        }
+
+        List<CategoryDependencyDTO> ignored = new ArrayList<>();
+        for (long[] dependency : ignoredDependencies) {
+            int from = (int) dependency[1];
+            int to = (int) dependency[2];
+            ignored.add(new CategoryDependencyDTO(dependency[0], categoryIds[from], names[from],
+                    categoryIds[to], names[to], (int) dependency[3], projectId));
+        }
+
+        return new ProjectScheduleDTO(projectId, size > 0 ? day(start) : null, size > 0 ? day(finish) : null,
+                size, dependencyCount, criticalPath, new ArrayList<>(units.values()), categories, ignored);
+    }
+
+    /**
+     * What moves if a category takes delayDays longer (shorter when negative); the graph is not changed
+     */
+    synchronized WhatIfResultDTO simulate(Long categoryId, int delayDays) {
+        int source = indexOf.get(categoryId);
+        if (duration[source] + delayDays < 1) {
+            throw new IllegalArgumentException("Category " + categoryId + " lasts " + duration[source]
+                    + " days; it cannot finish " + (-delayDays) + " days early");
+        }
+        int finishBefore = Integer.MIN_VALUE;
+        for (int v = 0; v < size; v++) {
+            finishBefore = Math.max(finishBefore, earlyFinish(v, liveDates));
+        }
+
+        OverlayDates overlay = new OverlayDates(source, duration[source] + delayDays);
+        int recomputed = propagate(source, overlay);
+
+        int finishAfter;
+        if (delayDays >= 0) {
+            finishAfter = Math.max(finishBefore, earlyFinish(source, overlay));
+            for (int v : overlay.moved.keySet()) {
+                finishAfter = Math.max(finishAfter, earlyFinish(v, overlay));
+            }
+        } else {
+            finishAfter = Integer.MIN_VALUE;
+            for (int v = 0; v < size; v++) {
+                finishAfter = Math.max(finishAfter, earlyFinish(v, overlay));
+            }
+        }
+
+        List<Integer> changed = new ArrayList<>();
+        changed.add(source);
+        changed.addAll(overlay.moved.keySet());
+        changed.sort(Comparator.comparingInt((Integer v) -> overlay.start(v)).thenComparingLong(v -> categoryIds[v]));
+        List<ScheduleShiftDTO> shifts = new ArrayList<>(changed.size());
+        for (int v : changed) {
+            int finishShift = earlyFinish(v, overlay) - earlyFinish(v, liveDates);
+            if (finishShift != 0) {
+                shifts.add(new ScheduleShiftDTO(categoryIds[v], names[v], unitIds[v],
+                        day(earlyStart[v]), day(overlay.start(v)),
+                        day(earlyFinish(v, liveDates)), day(earlyFinish(v, overlay)), finishShift));
+            }
+        }
+
+        return new WhatIfResultDTO(categoryId, delayDays, day(finishBefore), day(finishAfter),
+                finishAfter - finishBefore, shifts, recomputed);
+    }
+
+    private void setPlannedDates(int v, LocalDate startDate, LocalDate endDate) {
+        plannedStart[v] = (int) startDate.toEpochDay();
+        // A range entered backwards still lasts one day
+        duration[v] = Math.max(1, (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1);
+    }
+
+    /**
+     * Each sequence step of a unit follows every category of the step before it
+     */
+    private void addImpliedEdges(List<int[]> edges) {
+        // The previous step is [previousFrom, previousTo), the current one starts at currentFrom
+        int previousFrom = 0;
+        int previousTo = 0;
+        int currentFrom = 0;
+        for (int v = 0; v < size; v++) {
+            if (v == 0 || unitIds[v] != unitIds[v - 1]) {
+                previousFrom = v;
+                previousTo = v;
+                currentFrom = v;
+            } else if (orderSequences[v] != orderSequences[v - 1]) {
+                previousFrom = currentFrom;
+                previousTo = v;
+                currentFrom = v;
+            }
+            for (int p = previousFrom; p < previousTo; p++) {
+                edges.add(new int[]{p, v, impliedLag(p, v), 1, -1});
+            }
+        }
+    }
+
+    private int impliedLag(int predecessor, int successor) {
+        return Math.min(0, plannedStart[successor] - plannedStart[predecessor] - duration[predecessor]);
+    }
+
+    private void refreshImpliedLag(int edge) {
+        if (edgeImplied[edge]) {
+            edgeLag[edge] = impliedLag(edgeFrom[edge], edgeTo[edge]);
+        }
+    }
+
+    private void fillRows(int[] endpoint, int[] offsets, int[] rows) {
+        for (int node : endpoint) {
+            offsets[node + 1]++;
+        }
+        for (int v = 0; v < size; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] filled = offsets.clone();
+        for (int e = 0; e < endpoint.length; e++) {
+            rows[filled[endpoint[e]]++] = e;
+        }
+    }
+
+    private void sortTopologically() {
+        int[] remaining = new int[size];
+        for (int v = 0; v < size; v++) {
+            remaining[v] = predecessorOffsets[v + 1] - predecessorOffsets[v];
+        }
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < size; v++) {
+            if (remaining[v] == 0) {
+                topologicalOrder[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int v = topologicalOrder[head++];
+            topologicalPosition[v] = head - 1;
+            for (int k = successorOffsets[v]; k < successorOffsets[v + 1]; k++) {
+                int next = edgeTo[successorEdges[k]];
+                if (--remaining[next] == 0) {
+                    topologicalOrder[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Edges to leave out so the rest is acyclic: whenever a topological sort gets stuck, walk
+     * back from a stuck category until the walk repeats, and drop the newest explicit
+     * dependency on that cycle. Implied edges follow sequence order, so every cycle has one.
+     */
+    private boolean[] breakCycles(List<int[]> edges, List<Long> dependencyIds) {
+        int edgeCount = edges.size();
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            from[e] = edges.get(e)[0];
+            to[e] = edges.get(e)[1];
+        }
+        int[] outOffsets = new int[size + 1];
+        int[] outEdges = new int[edgeCount];
+        int[] inOffsets = new int[size + 1];
+        int[] inEdges = new int[edgeCount];
+        fillRows(from, outOffsets, outEdges);
+        fillRows(to, inOffsets, inEdges);
+
+        boolean[] dropped = new boolean[edgeCount];
+        boolean[] queued = new boolean[size];
+        int[] remaining = new int[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < size; v++) {
+            remaining[v] = inOffsets[v + 1] - inOffsets[v];
+            if (remaining[v] == 0) {
+                queued[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        int stuckFrom = 0;
+        while (true) {
+            while (head < tail) {
+                int v = queue[head++];
+                for (int k = outOffsets[v]; k < outOffsets[v + 1]; k++) {
+                    int e = outEdges[k];
+                    if (!dropped[e] && --remaining[to[e]] == 0) {
+                        queued[to[e]] = true;
+                        queue[tail++] = to[e];
+                    }
+                }
+            }
+            if (tail == size) {
+                return dropped;
+            }
+            while (queued[stuckFrom]) {
+                stuckFrom++;
+            }
+
+            // Every stuck category has a live incoming edge from another stuck one
+            int[] seenAt = new int[size];
+            Arrays.fill(seenAt, -1);
+            List<Integer> walkEdges = new ArrayList<>();
+            int v = stuckFrom;
+            while (seenAt[v] < 0) {
+                seenAt[v] = walkEdges.size();
+                int incoming = -1;
+                for (int k = inOffsets[v]; k < inOffsets[v + 1] && incoming < 0; k++) {
+                    int e = inEdges[k];
+                    if (!dropped[e] && !queued[from[e]]) {
+                        incoming = e;
+                    }
+                }
+                walkEdges.add(incoming);
+                v = from[incoming];
+            }
+            int newest = -1;
+            for (int e : walkEdges.subList(seenAt[v], walkEdges.size())) {
+                int dependency = edges.get(e)[4];
+                if (dependency >= 0 && (newest < 0
+                        || dependencyIds.get(dependency) > dependencyIds.get(edges.get(newest)[4]))) {
+                    newest = e;
+                }
+            }
+            dropped[newest] = true;
+            if (--remaining[to[newest]] == 0) {
+                queued[to[newest]] = true;
+                queue[tail++] = to[newest];
+            }
+        }
+    }
+
+    private int[] lateFinish() {
+        if (lateFinish != null) {
+            return lateFinish;
+        }
+        int finish = Integer.MIN_VALUE;
+        for (int v = 0; v < size; v++) {
+            finish = Math.max(finish, earlyFinish(v, liveDates));
+        }
+        int[] late = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int v = topologicalOrder[i];
+            int latest = finish;
+            for (int k = successorOffsets[v]; k < successorOffsets[v + 1]; k++) {
+                int e = successorEdges[k];
+                int successorLateStart = late[edgeTo[e]] - duration[edgeTo[e]] + 1;
+                latest = Math.min(latest, successorLateStart - 1 - edgeLag[e]);
+            }
+            late[v] = latest;
+        }
+        lateFinish = late;
+        return late;
+    }
+
+    /**
+     * Re-derive early starts downstream of source in topological order, stopping where they do
+     * not move. Returns the number of categories looked at.
+     */
+    private int propagate(int source, EarlyDates dates) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator.comparingInt(v -> topologicalPosition[v]));
+        BitSet queued = new BitSet(size);
+        enqueueSuccessors(source, queue, queued);
+        int visited = 0;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            visited++;
+            int start = earliestStart(v, dates);
+            if (start != dates.start(v)) {
+                dates.move(v, start);
+                enqueueSuccessors(v, queue, queued);
+            }
+        }
+        return visited;
+    }
+
+    private void enqueueSuccessors(int v, PriorityQueue<Integer> queue, BitSet queued) {
+        for (int k = successorOffsets[v]; k < successorOffsets[v + 1]; k++) {
+            int next = edgeTo[successorEdges[k]];
+            if (!queued.get(next)) {
+                queued.set(next);
+                queue.add(next);
+            }
+        }
+    }
+
+    private int earliestStart(int v, EarlyDates dates) {
+        int start = plannedStart[v];
+        for (int k = predecessorOffsets[v]; k < predecessorOffsets[v + 1]; k++) {
+            int e = predecessorEdges[k];
+            start = Math.max(start, earlyFinish(edgeFrom[e], dates) + 1 + edgeLag[e]);
+        }
+        return start;
+    }
+
+    private int earlyFinish(int v, EarlyDates dates) {
+        return dates.start(v) + dates.duration(v) - 1;
+    }
+
+    private static LocalDate day(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Early starts and durations as seen by a forward pass
+     */
+    private interface EarlyDates {
+        int start(int v);
+        int duration(int v);
+        void move(int v, int start);
+    }
+
+    private final EarlyDates liveDates = new EarlyDates() {
+        @Override
+        public int start(int v) { return earlyStart[v]; }
+
+        @Override
+        public int duration(int v) { return duration[v]; }
+
+        @Override
+        public void move(int v, int start) { earlyStart[v] = start; }
+    };
+
+    /**
+     * The graph's dates with one category's duration changed and the moved starts kept aside
+     */
+    private final class OverlayDates implements EarlyDates {
+        final int source;
+        final int sourceDuration;
+        final Map<Integer, Integer> moved = new HashMap<>();
+
+        OverlayDates(int source, int sourceDuration) {
+            this.source = source;
+            this.sourceDuration = sourceDuration;
+        }
+
+        @Override
+        public int start(int v) { return moved.getOrDefault(v, earlyStart[v]); }
+
+        @Override
+        public int duration(int v) { return v == source ? sourceDuration : duration[v]; }
+
+        @Override
+        public void move(int v, int start) { moved.put(v, start); }
+    }
+}
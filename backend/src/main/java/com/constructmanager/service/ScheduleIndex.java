@@ -0,0 +1,246 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.Task;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory schedule of category date ranges and task due dates, one interval tree per company.
+ *
+ * Loaded from the database on a company's first schedule query and then kept current by
+ * ScheduleEntityListener, the same way as TypeaheadIndex: changes go to a SnapshotOverlay
+ * on the immutable ScheduleSnapshot, which is rebuilt once the overlay grows. Queries return
+ * empty when the index is disabled or a company has more entries than
+ * app.schedule.index.max-entries; callers then use the database queries instead.
+ */
+@Service
+public class ScheduleIndex {
+
+    public enum EntryType { CATEGORY, TASK }
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PrimarySnapshotLoader primarySnapshotLoader;
+
+    @Value("${app.schedule.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.schedule.index.max-tenants:100}")
+    private int maxTenants;
+
+    @Value("${app.schedule.index.max-entries:250000}")
+    private long maxEntries;
+
+    private final TenantCache<SnapshotOverlay<Entry, ScheduleSnapshot>> tenants = new TenantCache<>(
+            () -> maxTenants,
+            () -> new SnapshotOverlay<>(Entry::key,
+                    entries -> new ScheduleSnapshot(entries.toArray(new Entry[0])),
+                    snapshot -> Arrays.asList(snapshot.entries)));
+
+    /**
+     * Categories and tasks whose dates overlap [from, to], in start order
+     */
+    public Optional<List<Entry>> overlapping(Long companyId, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        return query(companyId, (snapshot, sink) -> snapshot.overlapping(fromDay, toDay, sink),
+                entry -> entry.startDay <= toDay && entry.endDay >= fromDay, START_ORDER);
+    }
+
+    /**
+     * Categories starting within [from, to], in start order
+     */
+    public Optional<List<Entry>> categoriesStartingBetween(Long companyId, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        return query(companyId, (snapshot, sink) -> snapshot.startingBetween(fromDay, toDay, sink),
+                entry -> entry.type == EntryType.CATEGORY && entry.startDay >= fromDay && entry.startDay <= toDay,
+                START_ORDER);
+    }
+
+    /**
+     * Categories not yet complete that ended before day, in end order
+     */
+    public Optional<List<Entry>> openCategoriesEndingBefore(Long companyId, LocalDate day) {
+        int endDay = (int) day.toEpochDay();
+        return query(companyId, (snapshot, sink) -> snapshot.openCategoriesEndingBefore(endDay, sink),
+                entry -> entry.type == EntryType.CATEGORY && !entry.completed && entry.endDay < endDay,
+                END_ORDER);
+    }
+
+    /**
+     * Add or replace an entry; ignored for companies whose schedule is not loaded
+     */
+    public void upsert(Long companyId, Entry entry) {
+        SnapshotOverlay<Entry, ScheduleSnapshot> schedule = tenants.getIfPresent(companyId);
+        if (schedule != null) {
+            schedule.upsert(entry);
+        }
+    }
+
+    /**
+     * Remove an entry; ignored for companies whose schedule is not loaded
+     */
+    public void remove(Long companyId, EntryType type, Long id) {
+        SnapshotOverlay<Entry, ScheduleSnapshot> schedule = tenants.getIfPresent(companyId);
+        if (schedule != null) {
+            schedule.remove(key(type, id));
+        }
+    }
+
+    /**
+     * Drop a company's schedule after changes made without entity events; it reloads on the next query
+     */
+    public void invalidate(Long companyId) {
+        tenants.remove(companyId);
+    }
+
+    /**
+     * Entry for a [id, name, startDate, endDate, progressPercentage, unitId, projectId] category row
+     */
+    public static Entry fromCategoryRow(Object[] row) {
+        Integer progress = (Integer) row[4];
+        return new Entry(EntryType.CATEGORY, (Long) row[0], (String) row[1], (LocalDate) row[2], (LocalDate) row[3],
+                progress, progress != null && progress >= 100, (Long) row[6], (Long) row[5], null);
+    }
+
+    /**
+     * Entry for a [id, name, dueDate, progressPercentage, status, categoryTeamId, projectId] task row
+     */
+    public static Entry fromTaskRow(Object[] row) {
+        Task.TaskStatus status = (Task.TaskStatus) row[4];
+        return new Entry(EntryType.TASK, (Long) row[0], (String) row[1], (LocalDate) row[2], (LocalDate) row[2],
+                (Integer) row[3], isClosed(status), (Long) row[6], null, (Long) row[5]);
+    }
+
+    public static boolean isClosed(Task.TaskStatus status) {
+        return status == Task.TaskStatus.COMPLETED || status == Task.TaskStatus.CANCELLED;
+    }
+
+    private static final Comparator<Entry> START_ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.startDay)
+            .thenComparingLong(Entry::key);
+
+    private static final Comparator<Entry> END_ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.endDay)
+            .thenComparingLong(Entry::key);
+
+    /**
+     * Run a snapshot scan, keep the entries matching filter and add the matching overlay entries
+     */
+    private Optional<List<Entry>> query(Long companyId, SnapshotQuery snapshotQuery,
+                                        Predicate<Entry> filter, Comparator<Entry> order) {
+        if (!enabled || companyId == null) {
+            return Optional.empty();
+        }
+        Optional<List<Entry>> matches = tenantSchedule(companyId).query(
+                (snapshot, sink) -> snapshotQuery.run(snapshot, entry -> {
+                    if (filter.test(entry)) {
+                        sink.accept(entry);
+                    }
+                }),
+                filter);
+        matches.ifPresent(entries -> entries.sort(order));
+        return matches;
+    }
+
+    private SnapshotOverlay<Entry, ScheduleSnapshot> tenantSchedule(Long companyId) {
+        SnapshotOverlay<Entry, ScheduleSnapshot> schedule = tenants.get(companyId);
+        // Registered before loading from the primary, so changes committed during the load are not lost
+        schedule.loadIfNeeded(() -> primarySnapshotLoader.load(() -> loadEntries(companyId)));
+        return schedule;
+    }
+
+    /**
+     * A company's entries, or null when it has too many to hold in memory
+     */
+    private List<Entry> loadEntries(Long companyId) {
+        long count = categoryRepository.countByCompanyId(companyId) + taskRepository.countScheduledByCompanyId(companyId);
+        if (count > maxEntries) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>((int) count);
+        for (Object[] row : categoryRepository.findScheduleByCompanyId(companyId)) {
+            entries.add(fromCategoryRow(row));
+        }
+        for (Object[] row : taskRepository.findScheduleByCompanyId(companyId)) {
+            entries.add(fromTaskRow(row));
+        }
+        return entries;
+    }
+
+    private static long key(EntryType type, Long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    private interface SnapshotQuery {
+        void run(ScheduleSnapshot snapshot, Consumer<Entry> sink);
+    }
+
+    /**
+     * One scheduled category or task; a task spans its due date
+     */
+    public static final class Entry {
+        final EntryType type;
+        final Long id;
+        final String name;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final int startDay;
+        final int endDay;
+        final Integer progressPercentage;
+        final boolean completed;
+        final Long projectId;
+        final Long unitId;
+        final Long categoryTeamId;
+
+        public Entry(EntryType type, Long id, String name, LocalDate startDate, LocalDate endDate,
+                     Integer progressPercentage, boolean completed, Long projectId, Long unitId, Long categoryTeamId) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.startDate = startDate;
+            // A range entered backwards still covers both dates
+            this.endDate = endDate.isBefore(startDate) ? startDate : endDate;
+            this.startDay = (int) startDate.toEpochDay();
+            this.endDay = (int) this.endDate.toEpochDay();
+            this.progressPercentage = progressPercentage;
+            this.completed = completed;
+            this.projectId = projectId;
+            this.unitId = unitId;
+            this.categoryTeamId = categoryTeamId;
+        }
+
+        long key() {
+            return ScheduleIndex.key(type, id);
+        }
+
+        public EntryType getType() { return type; }
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public Integer getProgressPercentage() { return progressPercentage; }
+        public boolean isCompleted() { return completed; }
+        public Long getProjectId() { return projectId; }
+        public Long getUnitId() { return unitId; }
+        public Long getCategoryTeamId() { return categoryTeamId; }
+    }
+}
@@ -0,0 +1,72 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.ScheduleEntryDTO;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar of a company's scheduled categories and tasks, from ScheduleIndex or the database
+ */
+@Service
+@Transactional(readOnly = true)
+public class ScheduleService {
+
+    // Longest calendar window served in one request
+    private static final long MAX_WINDOW_DAYS = 366;
+
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    /**
+     * Categories and tasks overlapping [from, to], in start order, optionally for one project
+     */
+    public List<ScheduleEntryDTO> getCalendar(Long companyId, LocalDate from, LocalDate to, Long projectId) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Calendar end date must not be before its start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Calendar window must not exceed " + MAX_WINDOW_DAYS + " days");
+        }
+
+        List<ScheduleIndex.Entry> entries = scheduleIndex.overlapping(companyId, from, to)
+                .orElseGet(() -> loadOverlapping(companyId, from, to));
+
+        return entries.stream()
+                .filter(entry -> projectId == null || projectId.equals(entry.getProjectId()))
+                .map(entry -> new ScheduleEntryDTO(entry.getType().name(), entry.getId(), entry.getName(),
+                        entry.getStartDate(), entry.getEndDate(), entry.getProgressPercentage(), entry.isCompleted(),
+                        entry.getProjectId(), entry.getUnitId(), entry.getCategoryTeamId()))
+                .collect(Collectors.toList());
+    }
+
+    // Database fallback for companies the index does not hold
+    private List<ScheduleIndex.Entry> loadOverlapping(Long companyId, LocalDate from, LocalDate to) {
+        List<ScheduleIndex.Entry> entries = new ArrayList<>();
+        for (Object[] row : categoryRepository.findScheduleOverlapping(companyId, from, to)) {
+            entries.add(ScheduleIndex.fromCategoryRow(row));
+        }
+        for (Object[] row : taskRepository.findScheduleDueBetween(companyId, from, to)) {
+            entries.add(ScheduleIndex.fromTaskRow(row));
+        }
+        entries.sort(Comparator.comparing(ScheduleIndex.Entry::getStartDate)
+                .thenComparing(ScheduleIndex.Entry::getType)
+                .thenComparing(ScheduleIndex.Entry::getId));
+        return entries;
+    }
+}
@@ -0,0 +1,111 @@
+package com.constructmanager.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable interval tree over scheduled entries, rebuilt in memory by ScheduleIndex.
+ *
+ * Entries are sorted by start day and read as an implicit balanced tree: the node of a
+ * range is its middle element, and maxEnd holds the latest end day within each node's
+ * subtree. An overlap query skips every subtree that ends before the window or starts
+ * after it, so it visits O(log n) nodes per reported entry instead of all n. Categories
+ * not yet complete are also kept ordered by end day, so an "ended before" scan reads only
+ * the open categories it reports, however many completed entries lie in the past.
+ */
+final class ScheduleSnapshot {
+
+    final ScheduleIndex.Entry[] entries;
+    private final int[] maxEnd;
+    private final int[] openCategoriesByEnd;
+
+    ScheduleSnapshot(ScheduleIndex.Entry[] entries) {
+        this.entries = entries;
+        Arrays.sort(entries, Comparator
+                .comparingInt((ScheduleIndex.Entry entry) -> entry.startDay)
+                .thenComparingLong(ScheduleIndex.Entry::key));
+
+        maxEnd = new int[entries.length];
+        buildMaxEnd(0, entries.length);
+
+        openCategoriesByEnd = IntStream.range(0, entries.length)
+                .filter(ordinal -> entries[ordinal].type == ScheduleIndex.EntryType.CATEGORY && !entries[ordinal].completed)
+                .boxed()
+                .sorted(Comparator
+                        .comparingInt((Integer ordinal) -> entries[ordinal].endDay)
+                        .thenComparingLong(ordinal -> entries[ordinal].key()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Entries whose [start, end] overlaps [fromDay, toDay], in start order
+     */
+    void overlapping(int fromDay, int toDay, Consumer<ScheduleIndex.Entry> sink) {
+        overlapping(0, entries.length, fromDay, toDay, sink);
+    }
+
+    /**
+     * Entries starting within [fromDay, toDay], in start order
+     */
+    void startingBetween(int fromDay, int toDay, Consumer<ScheduleIndex.Entry> sink) {
+        for (int i = firstStartingAtOrAfter(fromDay); i < entries.length && entries[i].startDay <= toDay; i++) {
+            sink.accept(entries[i]);
+        }
+    }
+
+    /**
+     * Categories not yet complete that end before day, in end order
+     */
+    void openCategoriesEndingBefore(int day, Consumer<ScheduleIndex.Entry> sink) {
+        for (int i = 0; i < openCategoriesByEnd.length && entries[openCategoriesByEnd[i]].endDay < day; i++) {
+            sink.accept(entries[openCategoriesByEnd[i]]);
+        }
+    }
+
+    private int buildMaxEnd(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(entries[mid].endDay, Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void overlapping(int lo, int hi, int fromDay, int toDay, Consumer<ScheduleIndex.Entry> sink) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] < fromDay) {
+            // Everything below ends before the window
+            return;
+        }
+        overlapping(lo, mid, fromDay, toDay, sink);
+        if (entries[mid].startDay > toDay) {
+            // This entry and everything after it starts after the window
+            return;
+        }
+        if (entries[mid].endDay >= fromDay) {
+            sink.accept(entries[mid]);
+        }
+        overlapping(mid + 1, hi, fromDay, toDay, sink);
+    }
+
+    private int firstStartingAtOrAfter(int day) {
+        int lo = 0;
+        int hi = entries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries[mid].startDay < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
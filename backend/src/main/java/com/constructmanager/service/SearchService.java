@@ -0,0 +1,152 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.ProjectSummaryDTO;
+import com.constructmanager.dto.TeamSummaryDTO;
+import com.constructmanager.dto.UnitSummaryDTO;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.TeamRepository;
+import com.constructmanager.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked search over projects, units and teams.
+ *
+ * Each search first selects one page of matching IDs in relevance order, from the
+ * MySQL FULLTEXT indexes when available and otherwise from a ranked LIKE query, and
+ * then hydrates only that page of summaries. Results are always ordered by relevance,
+ * so a requested sort is ignored.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private FullTextIndexInitializer fullTextIndex;
+
+    /**
+     * Search a company's projects by name or location
+     */
+    public Page<ProjectSummaryDTO> searchProjects(Long companyId, String term, Pageable pageable) {
+        Pageable page = unsorted(pageable);
+        String booleanQuery = toBooleanQuery(term);
+        Page<Long> ids = booleanQuery != null
+                ? projectRepository.fullTextSearchIds(companyId, booleanQuery, page)
+                : projectRepository.likeSearchIds(companyId, normalize(term), prefixPattern(term), containsPattern(term), page);
+        return hydrate(ids, projectRepository::findSummariesByIds, ProjectSummaryDTO::getId);
+    }
+
+    /**
+     * Search a project's units by name
+     */
+    public Page<UnitSummaryDTO> searchUnits(Long projectId, String term, Pageable pageable) {
+        Pageable page = unsorted(pageable);
+        String booleanQuery = toBooleanQuery(term);
+        Page<Long> ids = booleanQuery != null
+                ? unitRepository.fullTextSearchIds(projectId, booleanQuery, page)
+                : unitRepository.likeSearchIds(projectId, normalize(term), prefixPattern(term), containsPattern(term), page);
+        return hydrate(ids, unitRepository::findSummariesByIds, UnitSummaryDTO::getId);
+    }
+
+    /**
+     * Search a company's active teams by name or specialty
+     */
+    public Page<TeamSummaryDTO> searchTeams(Long companyId, String term, Pageable pageable) {
+        Pageable page = unsorted(pageable);
+        String booleanQuery = toBooleanQuery(term);
+        Page<Long> ids = booleanQuery != null
+                ? teamRepository.fullTextSearchIds(companyId, booleanQuery, page)
+                : teamRepository.likeSearchIds(companyId, normalize(term), prefixPattern(term), containsPattern(term), page);
+        return hydrate(ids, teamRepository::findSummariesByIds, TeamSummaryDTO::getId);
+    }
+
+    /**
+     * Build a boolean-mode query requiring every word as a prefix ("+elec* +ground*"),
+     * or null when full-text cannot answer it and the LIKE fallback must be used
+     */
+    private String toBooleanQuery(String term) {
+        if (!fullTextIndex.isAvailable()) {
+            return null;
+        }
+
+        // Boolean-mode operators split words like the full-text parser does, so user input cannot change the query
+        String[] words = term.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+");
+        StringBuilder query = new StringBuilder();
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() < fullTextIndex.getMinTokenSize()) {
+                return null;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(word).append('*');
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    private String normalize(String term) {
+        return term.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String prefixPattern(String term) {
+        return escapeLike(normalize(term)) + "%";
+    }
+
+    private String containsPattern(String term) {
+        return "%" + escapeLike(normalize(term)) + "%";
+    }
+
+    // Matches ESCAPE '!' in the repository queries
+    private String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * Load the summaries of one page of IDs and keep the ranked order
+     */
+    private <T> Page<T> hydrate(Page<Long> ids, Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), ids.getPageable(), ids.getTotalElements());
+        }
+
+        Map<Long, T> byId = loader.apply(ids.getContent()).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            T summary = byId.get(id);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+}
@@ -0,0 +1,156 @@
+package com.constructmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * An immutable snapshot of entries plus a small overlay of the changes made since it was built.
+ *
+ * Upserts and removals only touch the overlay; the snapshot is rebuilt once the overlay grows
+ * past a threshold that scales with the snapshot, since a rebuild costs O(n log n). Changes
+ * that arrive before the first load are kept and win over the loaded entries. A loader that
+ * returns null marks the holder oversized: it then ignores changes and answers no queries.
+ *
+ * @param <E> entry type, identified by a long key
+ * @param <S> snapshot type
+ */
+final class SnapshotOverlay<E, S> {
+
+    private static final int COMPACT_THRESHOLD = 256;
+
+    private final ToLongFunction<E> key;
+    private final Function<List<E>, S> build;
+    private final Function<S, List<E>> entriesOf;
+
+    private S snapshot;
+    private boolean loaded;
+    private boolean oversized;
+    // Changes since the snapshot: upserted entries, and snapshot keys they replace or delete
+    private final Map<Long, E> overlay = new HashMap<>();
+    private final Set<Long> hidden = new HashSet<>();
+
+    SnapshotOverlay(ToLongFunction<E> key, Function<List<E>, S> build, Function<S, List<E>> entriesOf) {
+        this.key = key;
+        this.build = build;
+        this.entriesOf = entriesOf;
+    }
+
+    synchronized void loadIfNeeded(Supplier<List<E>> loader) {
+        if (loaded) {
+            return;
+        }
+        List<E> loadedEntries = loader.get();
+        loaded = true;
+        if (loadedEntries == null) {
+            oversized = true;
+            overlay.clear();
+            hidden.clear();
+            return;
+        }
+        Map<Long, E> byKey = new LinkedHashMap<>();
+        for (E entry : loadedEntries) {
+            byKey.put(key.applyAsLong(entry), entry);
+        }
+        // Changes that arrived while loading win over the loaded rows
+        for (Long hiddenKey : hidden) {
+            byKey.remove(hiddenKey);
+        }
+        byKey.putAll(overlay);
+        snapshot = build.apply(new ArrayList<>(byKey.values()));
+        overlay.clear();
+        hidden.clear();
+    }
+
+    /**
+     * The snapshot entries a scan reports that no change replaced, then the overlay entries
+     * accepted by overlayFilter; empty when oversized
+     */
+    synchronized Optional<List<E>> query(BiConsumer<S, Consumer<E>> scan, Predicate<E> overlayFilter) {
+        if (oversized) {
+            return Optional.empty();
+        }
+        List<E> matches = new ArrayList<>();
+        scan.accept(snapshot, entry -> {
+            if (!hidden.contains(key.applyAsLong(entry))) {
+                matches.add(entry);
+            }
+        });
+        for (E entry : overlay.values()) {
+            if (overlayFilter.test(entry)) {
+                matches.add(entry);
+            }
+        }
+        return Optional.of(matches);
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded && !oversized;
+    }
+
+    /**
+     * The entry a key currently maps to, looked up in the snapshot with find; null when
+     * there is none or nothing is loaded yet
+     */
+    synchronized E get(long entryKey, BiFunction<S, Long, E> find) {
+        if (!loaded || oversized) {
+            return null;
+        }
+        E entry = overlay.get(entryKey);
+        if (entry != null || hidden.contains(entryKey)) {
+            return entry;
+        }
+        return find.apply(snapshot, entryKey);
+    }
+
+    synchronized void upsert(E entry) {
+        if (oversized) {
+            return;
+        }
+        long entryKey = key.applyAsLong(entry);
+        hidden.add(entryKey);
+        overlay.put(entryKey, entry);
+        compactIfLarge();
+    }
+
+    synchronized void remove(long entryKey) {
+        if (oversized) {
+            return;
+        }
+        hidden.add(entryKey);
+        overlay.remove(entryKey);
+        compactIfLarge();
+    }
+
+    private void compactIfLarge() {
+        if (!loaded) {
+            return;
+        }
+        List<E> current = entriesOf.apply(snapshot);
+        if (hidden.size() < Math.max(COMPACT_THRESHOLD, current.size() / 16)) {
+            return;
+        }
+        List<E> entries = new ArrayList<>(current.size() + overlay.size());
+        for (E entry : current) {
+            if (!hidden.contains(key.applyAsLong(entry))) {
+                entries.add(entry);
+            }
+        }
+        entries.addAll(overlay.values());
+        snapshot = build.apply(entries);
+        overlay.clear();
+        hidden.clear();
+    }
+}
@@ -0,0 +1,228 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.CursorPageDTO;
+import com.constructmanager.dto.TaskCreateDTO;
+import com.constructmanager.dto.TaskSummaryDTO;
+import com.constructmanager.dto.TaskUpdateDTO;
+import com.constructmanager.entity.CategoryTeam;
+import com.constructmanager.entity.Task;
+import com.constructmanager.exception.ResourceNotFoundException;
+import com.constructmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tasks of category teams.
+ *
+ * Every write runs through ProgressService.applyTaskChange, which locks the task's
+ * hierarchy first; the task row is locked after it, keeping the top-down lock order.
+ * The write adjusts the team's task counters by the task's own before/after state, so
+ * completing one task costs the same however many tasks the team has.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskService {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private ProgressService progressService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    /**
+     * Get paginated tasks of a category team
+     */
+    public Page<TaskSummaryDTO> getTasks(Long categoryTeamId, Pageable pageable) {
+        return taskRepository.findSummariesByCategoryTeamId(categoryTeamId, pageable);
+    }
+    
+    /**
+     * Get task by ID
+     */
+    public Optional<TaskSummaryDTO> getTask(Long taskId) {
+        return taskRepository.findSummaryById(taskId);
+    }
+    
+    /**
+     * Get open tasks due before today, earliest due first, one cursor page at a time
+     */
+    public CursorPageDTO<TaskSummaryDTO> getDelayedTasks(Long companyId, String cursor, int size) {
+        return getOpenTasksDueBetween(companyId, PageCursor.FIRST_ASCENDING, LocalDate.now(), cursor, size);
+    }
+    
+    /**
+     * Get open tasks due from today to the end of the week, one cursor page at a time
+     */
+    public CursorPageDTO<TaskSummaryDTO> getTasksDueThisWeek(Long companyId, String cursor, int size) {
+        LocalDate today = LocalDate.now();
+        LocalDate endOfWeek = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        return getOpenTasksDueBetween(companyId, today, endOfWeek.plusDays(1), cursor, size);
+    }
+    
+    /**
+     * Create task
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public TaskSummaryDTO createTask(TaskCreateDTO dto) {
+        Task saved = progressService.applyTaskChange(dto.getCategoryTeamId(), categoryTeam -> {
+            Task task = new Task(dto.getName(), dto.getDescription(), categoryTeam);
+            task.setDueDate(dto.getDueDate());
+            changeStatus(task, dto.getStatus() != null ? dto.getStatus() : Task.TaskStatus.PENDING, null);
+            adjustCounters(categoryTeam, null, task.getStatus());
+            return taskRepository.save(task);
+        });
+        evictCategoryDetails(saved.getCategoryTeam());
+        return toSummary(saved);
+    }
+    
+    /**
+     * Update task
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public TaskSummaryDTO updateTask(Long taskId, TaskUpdateDTO dto) {
+        Long categoryTeamId = taskRepository.findCategoryTeamIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        
+        Task saved = progressService.applyTaskChange(categoryTeamId, categoryTeam -> {
+            Task task = lockTask(taskId);
+            Task.TaskStatus before = task.getStatus();
+            
+            if (dto.getName() != null) {
+                task.setName(dto.getName());
+            }
+            if (dto.getDescription() != null) {
+                task.setDescription(dto.getDescription());
+            }
+            if (dto.getDueDate() != null) {
+                task.setDueDate(dto.getDueDate());
+            }
+            if (dto.getProgressPercentage() != null) {
+                task.setProgressPercentage(dto.getProgressPercentage());
+            }
+            if (dto.getStatus() != null) {
+                changeStatus(task, dto.getStatus(), dto.getCompletedDate());
+            } else if (dto.getCompletedDate() != null) {
+                task.setCompletedDate(dto.getCompletedDate());
+            }
+            
+            adjustCounters(categoryTeam, before, task.getStatus());
+            return taskRepository.save(task);
+        });
+        evictCategoryDetails(saved.getCategoryTeam());
+        return toSummary(saved);
+    }
+    
+    /**
+     * Mark task as completed today
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public TaskSummaryDTO completeTask(Long taskId) {
+        Long categoryTeamId = taskRepository.findCategoryTeamIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        
+        Task saved = progressService.applyTaskChange(categoryTeamId, categoryTeam -> {
+            Task task = lockTask(taskId);
+            Task.TaskStatus before = task.getStatus();
+            changeStatus(task, Task.TaskStatus.COMPLETED, null);
+            adjustCounters(categoryTeam, before, task.getStatus());
+            return taskRepository.save(task);
+        });
+        evictCategoryDetails(saved.getCategoryTeam());
+        return toSummary(saved);
+    }
+    
+    /**
+     * Delete task
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public boolean deleteTask(Long taskId) {
+        Optional<Long> categoryTeamId = taskRepository.findCategoryTeamIdById(taskId);
+        if (categoryTeamId.isEmpty()) {
+            return false;
+        }
+        
+        CategoryTeam categoryTeam = progressService.applyTaskChange(categoryTeamId.get(), locked -> {
+            Task task = lockTask(taskId);
+            adjustCounters(locked, task.getStatus(), null);
+            taskRepository.delete(task);
+            return locked;
+        });
+        evictCategoryDetails(categoryTeam);
+        return true;
+    }
+    
+    private CursorPageDTO<TaskSummaryDTO> getOpenTasksDueBetween(Long companyId, LocalDate from, LocalDate to,
+                                                                 String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<TaskSummaryDTO> rows = taskRepository.findOpenDueBetweenAfter(companyId, from, to,
+                after != null ? after.getDate() : PageCursor.FIRST_ASCENDING,
+                after != null ? after.getId() : 0L,
+                PageCursor.limit(size));
+        return PageCursor.page(rows, size, TaskSummaryDTO::getDueDate, TaskSummaryDTO::getId);
+    }
+    
+    private Task lockTask(Long taskId) {
+        return taskRepository.lockById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    }
+    
+    /**
+     * Move a task to a status; completing stamps the completed date and full progress,
+     * leaving COMPLETED clears the date unless one is given
+     */
+    private void changeStatus(Task task, Task.TaskStatus status, LocalDate completedDate) {
+        if (status == Task.TaskStatus.COMPLETED) {
+            if (task.getStatus() != Task.TaskStatus.COMPLETED || completedDate != null) {
+                task.setCompletedDate(completedDate != null ? completedDate : LocalDate.now());
+            }
+            task.setProgressPercentage(100);
+        } else {
+            task.setCompletedDate(completedDate);
+        }
+        task.setStatus(status);
+    }
+    
+    /**
+     * Shift the team's counters by one task's change from one status to another (null: absent).
+     * Cancelled tasks are not counted.
+     */
+    private void adjustCounters(CategoryTeam categoryTeam, Task.TaskStatus before, Task.TaskStatus after) {
+        categoryTeam.setTaskCount(Math.max(0, categoryTeam.getTaskCount() + counted(after) - counted(before)));
+        categoryTeam.setCompletedTaskCount(Math.max(0, categoryTeam.getCompletedTaskCount()
+                + completed(after) - completed(before)));
+    }
+    
+    private static int counted(Task.TaskStatus status) {
+        return status != null && status != Task.TaskStatus.CANCELLED ? 1 : 0;
+    }
+    
+    private static int completed(Task.TaskStatus status) {
+        return status == Task.TaskStatus.COMPLETED ? 1 : 0;
+    }
+    
+    private void evictCategoryDetails(CategoryTeam categoryTeam) {
+        if (categoryTeam.getCategory() != null && categoryTeam.getCategory().getUnit() != null) {
+            cacheManager.getCache("categoryDetails").evict(categoryTeam.getCategory().getUnit().getId());
+        }
+    }
+    
+    private TaskSummaryDTO toSummary(Task task) {
+        return new TaskSummaryDTO(task.getId(), task.getName(), task.getDescription(), task.getStatus(),
+                task.getDueDate(), task.getCompletedDate(), task.getProgressPercentage(),
+                task.getCategoryTeam().getId());
+    }
+}
@@ -0,0 +1,366 @@
+package com.constructmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Assigns one team to each category, trading schedule overlaps against load balance.
+ *
+ * Cost = weighted overlap days (a team booked on two categories at once, heavier across
+ * projects) + sum of squared team loads in days, scaled by the mean load. A greedy pass
+ * seeds every search: most constrained categories first, each to the candidate team that
+ * adds the least cost. Then one simulated-annealing local search per worker moves single
+ * categories between their candidate teams until the time budget runs out, each worker
+ * with its own random stream, and stops early once it stops improving; the cheapest
+ * result wins. Existing assignments are fixed
+ * intervals that count towards overlaps and load but never move.
+ */
+final class TeamAssignmentSolver {
+
+    static final double CROSS_PROJECT_OVERLAP_WEIGHT = 10.0;
+    static final double SAME_PROJECT_OVERLAP_WEIGHT = 1.0;
+
+    // Moves between deadline checks
+    private static final int CHECK_INTERVAL = 1024;
+
+    // A worker stops early after this many moves per movable category without improving
+    private static final int STALL_MOVES_PER_CATEGORY = 2000;
+
+    private final int categoryCount;
+    private final int[] start;
+    private final int[] end;
+    private final long[] project;
+    private final int[][] candidates;
+    private final int teamCount;
+    private final int[][] fixedStart;
+    private final int[][] fixedEnd;
+    private final long[][] fixedProject;
+    private final double[] fixedLoad;
+    private final double balanceScale;
+    private final int[] movable;
+
+    /**
+     * @param start       category start days (inclusive)
+     * @param end         category end days (inclusive)
+     * @param project     category project IDs
+     * @param candidates  team indexes each category may go to; at least one each
+     * @param teamCount   number of teams
+     * @param fixed       existing assignments as rows of [team index, start day, end day]
+     * @param fixedProjects project IDs of the fixed rows
+     */
+    TeamAssignmentSolver(int[] start, int[] end, long[] project, int[][] candidates,
+                         int teamCount, List<int[]> fixed, List<Long> fixedProjects) {
+        this.categoryCount = start.length;
+        this.start = start;
+        this.end = end;
+        this.project = project;
+        this.candidates = candidates;
+        this.teamCount = teamCount;
+
+        int[] counts = new int[teamCount];
+        for (int[] row : fixed) {
+            counts[row[0]]++;
+        }
+        fixedStart = new int[teamCount][];
+        fixedEnd = new int[teamCount][];
+        fixedProject = new long[teamCount][];
+        for (int t = 0; t < teamCount; t++) {
+            fixedStart[t] = new int[counts[t]];
+            fixedEnd[t] = new int[counts[t]];
+            fixedProject[t] = new long[counts[t]];
+        }
+        fixedLoad = new double[teamCount];
+        int[] filled = new int[teamCount];
+        for (int i = 0; i < fixed.size(); i++) {
+            int[] row = fixed.get(i);
+            int t = row[0];
+            fixedStart[t][filled[t]] = row[1];
+            fixedEnd[t][filled[t]] = row[2];
+            fixedProject[t][filled[t]] = fixedProjects.get(i);
+            filled[t]++;
+            fixedLoad[t] += row[2] - row[1] + 1;
+        }
+
+        double totalLoad = Arrays.stream(fixedLoad).sum();
+        List<Integer> movableList = new ArrayList<>();
+        for (int c = 0; c < categoryCount; c++) {
+            totalLoad += duration(c);
+            if (candidates[c].length > 1) {
+                movableList.add(c);
+            }
+        }
+        balanceScale = Math.max(1.0, totalLoad / Math.max(1, teamCount));
+        movable = movableList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Greedy seed, then parallel local search until the budget is spent
+     *
+     * @param executor runs the workers; it must have a free thread for each one, since a
+     *                 worker left waiting in a queue loses its share of the budget
+     */
+    Solution solve(long budgetMillis, int workers, Executor executor) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        int[] seed = greedy();
+        if (movable.length == 0 || workers < 1) {
+            return evaluate(seed, 0);
+        }
+
+        List<CompletableFuture<int[]>> searches = new ArrayList<>();
+        long[] iterations = new long[workers];
+        for (int w = 0; w < workers; w++) {
+            final int worker = w;
+            searches.add(CompletableFuture.supplyAsync(
+                    () -> localSearch(seed, new SplittableRandom(31L * worker + 17), deadline, iterations, worker),
+                    executor));
+        }
+
+        Solution best = null;
+        for (CompletableFuture<int[]> search : searches) {
+            Solution solution = evaluate(search.join(), 0);
+            if (best == null || solution.cost < best.cost) {
+                best = solution;
+            }
+        }
+        return evaluate(best.assignment, Arrays.stream(iterations).sum());
+    }
+
+    private int[] greedy() {
+        State state = new State();
+        Integer[] order = new Integer[categoryCount];
+        for (int c = 0; c < categoryCount; c++) {
+            order[c] = c;
+        }
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer c) -> candidates[c].length)
+                .thenComparingInt(c -> start[c]));
+
+        for (int c : order) {
+            int bestTeam = candidates[c][0];
+            double bestCost = Double.MAX_VALUE;
+            for (int t : candidates[c]) {
+                double cost = state.overlap(c, t) + state.loadDelta(t, duration(c));
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestTeam = t;
+                }
+            }
+            state.place(c, bestTeam);
+        }
+        return state.assignment.clone();
+    }
+
+    private int[] localSearch(int[] seed, SplittableRandom random, long deadline, long[] iterations, int worker) {
+        State state = new State();
+        for (int c = 0; c < categoryCount; c++) {
+            state.place(c, seed[c]);
+        }
+        double cost = state.totalCost();
+        double bestCost = cost;
+        int[] best = state.assignment.clone();
+
+        long began = System.nanoTime();
+        double span = Math.max(1, deadline - began);
+        // Starting temperature: the cost of a few overlap days
+        double initialTemperature = SAME_PROJECT_OVERLAP_WEIGHT * 3;
+        double temperature = initialTemperature;
+        long moves = 0;
+        long lastImprovement = 0;
+        long stallLimit = (long) STALL_MOVES_PER_CATEGORY * movable.length;
+
+        while (true) {
+            if (moves % CHECK_INTERVAL == 0) {
+                long now = System.nanoTime();
+                if (now >= deadline || moves - lastImprovement > stallLimit) {
+                    break;
+                }
+                temperature = initialTemperature * (deadline - now) / span;
+            }
+            moves++;
+
+            int c = movable[random.nextInt(movable.length)];
+            int from = state.assignment[c];
+            int[] options = candidates[c];
+            int to = options[random.nextInt(options.length)];
+            if (to == from) {
+                continue;
+            }
+
+            int d = duration(c);
+            double delta = state.overlap(c, to) - state.overlap(c, from)
+                    + state.loadDelta(to, d) + state.loadDelta(from, -d);
+            if (delta <= 0 || (temperature > 1e-9 && random.nextDouble() < Math.exp(-delta / temperature))) {
+                state.remove(c);
+                state.place(c, to);
+                cost += delta;
+                if (cost < bestCost - 1e-9) {
+                    bestCost = cost;
+                    best = state.assignment.clone();
+                    lastImprovement = moves;
+                }
+            }
+        }
+        iterations[worker] = moves;
+        return best;
+    }
+
+    private Solution evaluate(int[] assignment, long iterations) {
+        State state = new State();
+        for (int c = 0; c < categoryCount; c++) {
+            state.place(c, assignment[c]);
+        }
+        double crossDays = 0;
+        double sameDays = 0;
+        for (int t = 0; t < teamCount; t++) {
+            for (int i = 0; i < state.sizes[t]; i++) {
+                int c = state.members[t][i];
+                for (int k = 0; k < fixedStart[t].length; k++) {
+                    double days = overlapDays(start[c], end[c], fixedStart[t][k], fixedEnd[t][k]);
+                    if (project[c] != fixedProject[t][k]) {
+                        crossDays += days;
+                    } else {
+                        sameDays += days;
+                    }
+                }
+                // Pairs among the new assignments, each counted once
+                for (int j = i + 1; j < state.sizes[t]; j++) {
+                    int other = state.members[t][j];
+                    double days = overlapDays(start[c], end[c], start[other], end[other]);
+                    if (project[c] != project[other]) {
+                        crossDays += days;
+                    } else {
+                        sameDays += days;
+                    }
+                }
+            }
+        }
+        return new Solution(assignment.clone(), state.totalCost(), iterations,
+                (long) crossDays, (long) sameDays, state.load.clone());
+    }
+
+    private int duration(int c) {
+        return end[c] - start[c] + 1;
+    }
+
+    private static int overlapDays(int aStart, int aEnd, int bStart, int bEnd) {
+        return Math.max(0, Math.min(aEnd, bEnd) - Math.max(aStart, bStart) + 1);
+    }
+
+    private static double weight(long projectA, long projectB) {
+        return projectA != projectB ? CROSS_PROJECT_OVERLAP_WEIGHT : SAME_PROJECT_OVERLAP_WEIGHT;
+    }
+
+    /**
+     * Result of a solve: team index per category and its cost breakdown
+     */
+    static final class Solution {
+        final int[] assignment;
+        final double cost;
+        final long iterations;
+        final long crossProjectOverlapDays;
+        final long sameProjectOverlapDays;
+        final double[] teamLoads;
+
+        Solution(int[] assignment, double cost, long iterations, long crossProjectOverlapDays,
+                 long sameProjectOverlapDays, double[] teamLoads) {
+            this.assignment = assignment;
+            this.cost = cost;
+            this.iterations = iterations;
+            this.crossProjectOverlapDays = crossProjectOverlapDays;
+            this.sameProjectOverlapDays = sameProjectOverlapDays;
+            this.teamLoads = teamLoads;
+        }
+    }
+
+    /**
+     * One working assignment: members per team (swap-removed), and each team's load in days
+     */
+    private final class State {
+        final int[] assignment = new int[categoryCount];
+        final int[][] members = new int[teamCount][4];
+        final int[] sizes = new int[teamCount];
+        final int[] position = new int[categoryCount];
+        final double[] load = fixedLoad.clone();
+
+        State() {
+            Arrays.fill(assignment, -1);
+        }
+
+        void place(int c, int t) {
+            if (sizes[t] == members[t].length) {
+                members[t] = Arrays.copyOf(members[t], sizes[t] * 2);
+            }
+            position[c] = sizes[t];
+            members[t][sizes[t]++] = c;
+            assignment[c] = t;
+            load[t] += duration(c);
+        }
+
+        void remove(int c) {
+            int t = assignment[c];
+            int last = members[t][--sizes[t]];
+            members[t][position[c]] = last;
+            position[last] = position[c];
+            assignment[c] = -1;
+            load[t] -= duration(c);
+        }
+
+        /**
+         * Weighted overlap days of category c with everything else team t holds
+         */
+        double overlap(int c, int t) {
+            double cost = 0;
+            int[] starts = fixedStart[t];
+            for (int k = 0; k < starts.length; k++) {
+                int days = overlapDays(start[c], end[c], starts[k], fixedEnd[t][k]);
+                if (days > 0) {
+                    cost += days * weight(project[c], fixedProject[t][k]);
+                }
+            }
+            for (int i = 0; i < sizes[t]; i++) {
+                int other = members[t][i];
+                if (other != c) {
+                    int days = overlapDays(start[c], end[c], start[other], end[other]);
+                    if (days > 0) {
+                        cost += days * weight(project[c], project[other]);
+                    }
+                }
+            }
+            return cost;
+        }
+
+        /**
+         * Change in the balance term when team t's load changes by days
+         */
+        double loadDelta(int t, int days) {
+            double before = load[t];
+            double after = before + days;
+            return (after * after - before * before) / balanceScale;
+        }
+
+        double totalCost() {
+            double cost = 0;
+            for (int t = 0; t < teamCount; t++) {
+                for (int i = 0; i < sizes[t]; i++) {
+                    int c = members[t][i];
+                    for (int k = 0; k < fixedStart[t].length; k++) {
+                        cost += overlapDays(start[c], end[c], fixedStart[t][k], fixedEnd[t][k])
+                                * weight(project[c], fixedProject[t][k]);
+                    }
+                    for (int j = i + 1; j < sizes[t]; j++) {
+                        int other = members[t][j];
+                        cost += overlapDays(start[c], end[c], start[other], end[other])
+                                * weight(project[c], project[other]);
+                    }
+                }
+                cost += load[t] * load[t] / balanceScale;
+            }
+            return cost;
+        }
+    }
+}
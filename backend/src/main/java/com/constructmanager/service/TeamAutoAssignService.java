@@ -0,0 +1,273 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.AutoAssignProposalDTO;
+import com.constructmanager.dto.AutoAssignRequestDTO;
+import com.constructmanager.dto.ProposedAssignmentDTO;
+import com.constructmanager.dto.TeamAssignmentDTO;
+import com.constructmanager.dto.TeamLoadDTO;
+import com.constructmanager.exception.AutoAssignBusyException;
+import com.constructmanager.exception.ResourceNotFoundException;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.TeamRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Proposes teams for a company's or project's unassigned categories.
+ *
+ * Categories carry no specialty, so a team is a candidate for a category when a word of
+ * its specialty and a word of the category name share a stem ("Electrical" matches
+ * "Electrical wiring", "Plumbing" matches "Plumber rough-in"). A category no specialty
+ * matches may go to any active team and is flagged as such. Unfinished assignments that
+ * already exist count towards overlaps and load. The proposal is returned for review;
+ * planners create the assignments they accept through the category team endpoints.
+ *
+ * Searches run on a dedicated pool of solver threads, shared out evenly between a fixed
+ * number of concurrent solves. A request waits a bounded time for a free slot and is
+ * rejected with 503 when none frees up, instead of piling more work onto the pool.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TeamAutoAssignService {
+
+    // Leading characters of a word compared when matching specialties
+    private static final int STEM_LENGTH = 5;
+
+    // Shorter words ("and", "of", unit numbers) are ignored when matching
+    private static final int MIN_WORD_LENGTH = 4;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Value("${app.auto-assign.max-categories:10000}")
+    private int maxCategories;
+
+    @Value("${app.auto-assign.default-time-budget-ms:2000}")
+    private long defaultTimeBudgetMs;
+
+    @Value("${app.auto-assign.max-time-budget-ms:10000}")
+    private long maxTimeBudgetMs;
+
+    @Value("${app.auto-assign.solver-threads:4}")
+    private int solverThreads;
+
+    @Value("${app.auto-assign.max-concurrent-solves:1}")
+    private int maxConcurrentSolves;
+
+    @Value("${app.auto-assign.slot-wait-ms:5000}")
+    private long slotWaitMs;
+
+    private ExecutorService solverExecutor;
+
+    private Semaphore solveSlots;
+
+    private int workersPerSolve;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        solverExecutor = Executors.newFixedThreadPool(Math.max(1, solverThreads), runnable -> {
+            Thread thread = new Thread(runnable, "auto-assign-solver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int slots = Math.max(1, Math.min(maxConcurrentSolves, solverThreads));
+        solveSlots = new Semaphore(slots, true);
+        workersPerSolve = Math.max(1, solverThreads / slots);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        solverExecutor.shutdownNow();
+    }
+
+    /**
+     * Propose a team for each unassigned, unfinished category. Runs outside a transaction
+     * so no connection is held while the search runs.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AutoAssignProposalDTO propose(Long companyId, AutoAssignRequestDTO request) {
+        long began = System.nanoTime();
+        Long projectId = request.getProjectId();
+        if (projectId != null && projectRepository.findByIdAndCompanyId(projectId, companyId).isEmpty()) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId + " for company ID: " + companyId);
+        }
+
+        List<Object[]> categoryRows = categoryRepository.findUnassigned(
+                companyId, projectId, PageRequest.of(0, maxCategories + 1));
+        if (categoryRows.size() > maxCategories) {
+            throw new IllegalArgumentException("More than " + maxCategories
+                    + " unassigned categories; auto-assign one project at a time");
+        }
+
+        List<Object[]> teamRows = teamRepository.findSpecialtiesByCompanyId(companyId);
+        if (teamRows.isEmpty()) {
+            throw new IllegalArgumentException("Company " + companyId + " has no active teams");
+        }
+        if (categoryRows.isEmpty()) {
+            return new AutoAssignProposalDTO(new ArrayList<>(), new ArrayList<>(), 0, 0, 0, 0, elapsedMs(began));
+        }
+
+        int teamCount = teamRows.size();
+        Map<Long, Integer> teamIndex = new HashMap<>();
+        List<Set<String>> teamStems = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) {
+            teamIndex.put((Long) teamRows.get(t)[0], t);
+            teamStems.add(stems((String) teamRows.get(t)[2]));
+        }
+
+        int categoryCount = categoryRows.size();
+        int[] start = new int[categoryCount];
+        int[] end = new int[categoryCount];
+        long[] project = new long[categoryCount];
+        int[][] candidates = new int[categoryCount][];
+        boolean[] specialtyMatch = new boolean[categoryCount];
+        int[] allTeams = new int[teamCount];
+        for (int t = 0; t < teamCount; t++) {
+            allTeams[t] = t;
+        }
+
+        for (int c = 0; c < categoryCount; c++) {
+            Object[] row = categoryRows.get(c);
+            start[c] = (int) ((LocalDate) row[2]).toEpochDay();
+            end[c] = Math.max(start[c], (int) ((LocalDate) row[3]).toEpochDay());
+            project[c] = (Long) row[4];
+
+            Set<String> categoryStems = stems((String) row[1]);
+            List<Integer> matching = new ArrayList<>();
+            for (int t = 0; t < teamCount; t++) {
+                if (intersects(categoryStems, teamStems.get(t))) {
+                    matching.add(t);
+                }
+            }
+            specialtyMatch[c] = !matching.isEmpty();
+            candidates[c] = specialtyMatch[c]
+                    ? matching.stream().mapToInt(Integer::intValue).toArray()
+                    : allTeams;
+        }
+
+        List<int[]> fixed = new ArrayList<>();
+        List<Long> fixedProjects = new ArrayList<>();
+        for (TeamAssignmentDTO assignment : categoryTeamRepository.findActiveAssignmentsByCompanyId(companyId)) {
+            Integer t = teamIndex.get(assignment.getTeamId());
+            if (t == null) {
+                continue;
+            }
+            int fixedStart = (int) assignment.getStartDate().toEpochDay();
+            int fixedEnd = Math.max(fixedStart, (int) assignment.getEndDate().toEpochDay());
+            fixed.add(new int[]{t, fixedStart, fixedEnd});
+            fixedProjects.add(assignment.getProjectId());
+        }
+
+        TeamAssignmentSolver solver = new TeamAssignmentSolver(
+                start, end, project, candidates, teamCount, fixed, fixedProjects);
+        TeamAssignmentSolver.Solution solution = solveInSlot(solver, timeBudget(request));
+
+        List<ProposedAssignmentDTO> assignments = new ArrayList<>(categoryCount);
+        int[] proposedPerTeam = new int[teamCount];
+        for (int c = 0; c < categoryCount; c++) {
+            Object[] row = categoryRows.get(c);
+            Object[] team = teamRows.get(solution.assignment[c]);
+            proposedPerTeam[solution.assignment[c]]++;
+            assignments.add(new ProposedAssignmentDTO((Long) row[0], (String) row[1], (Long) row[4],
+                    (LocalDate) row[2], (LocalDate) row[3], (Long) team[0], (String) team[1], specialtyMatch[c]));
+        }
+
+        List<TeamLoadDTO> teamLoads = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) {
+            Object[] team = teamRows.get(t);
+            teamLoads.add(new TeamLoadDTO((Long) team[0], (String) team[1], (String) team[2],
+                    proposedPerTeam[t], Math.round(solution.teamLoads[t])));
+        }
+
+        return new AutoAssignProposalDTO(assignments, teamLoads, categoryCount,
+                solution.sameProjectOverlapDays, solution.crossProjectOverlapDays,
+                solution.iterations, elapsedMs(began));
+    }
+
+    /**
+     * Run the search in one of the solve slots, waiting at most slotWaitMs for one to free up
+     */
+    private TeamAssignmentSolver.Solution solveInSlot(TeamAssignmentSolver solver, long budgetMillis) {
+        boolean acquired;
+        try {
+            acquired = solveSlots.tryAcquire(slotWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AutoAssignBusyException("Interrupted while waiting for a free auto-assign slot");
+        }
+        if (!acquired) {
+            throw new AutoAssignBusyException("Other auto-assign proposals are running; retry shortly");
+        }
+        try {
+            return solver.solve(budgetMillis, workersPerSolve, solverExecutor);
+        } finally {
+            solveSlots.release();
+        }
+    }
+
+    private long timeBudget(AutoAssignRequestDTO request) {
+        long requested = request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : defaultTimeBudgetMs;
+        return Math.max(1, Math.min(requested, maxTimeBudgetMs));
+    }
+
+    private static long elapsedMs(long began) {
+        return (System.nanoTime() - began) / 1_000_000L;
+    }
+
+    /**
+     * Lower-cased stems of the words of a name or specialty
+     */
+    private static Set<String> stems(String text) {
+        Set<String> stems = new HashSet<>();
+        if (text == null) {
+            return stems;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                stems.add(word.length() > STEM_LENGTH ? word.substring(0, STEM_LENGTH) : word);
+            }
+        }
+        return stems;
+    }
+
+    private static boolean intersects(Set<String> a, Set<String> b) {
+        for (String stem : a) {
+            if (b.contains(stem)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
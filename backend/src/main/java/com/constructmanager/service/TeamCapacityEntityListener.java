@@ -0,0 +1,67 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.CategoryTeam;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps TeamCapacityService in step with assignments and category dates.
+ *
+ * Like the other index listeners, values are read while the entity is managed and applied
+ * after commit. An assignment's category dates are only read when the category is already
+ * loaded; otherwise the dates the matrix holds for that category are used. Events carry
+ * the entity's @Version so the matrix can ignore those applied out of commit order.
+ */
+@Component
+public class TeamCapacityEntityListener implements EntityChangeListener {
+
+    @Autowired
+    @Lazy
+    private TeamCapacityService teamCapacityService;
+
+    @Override
+    public void onSave(Object entity) {
+        if (entity instanceof CategoryTeam categoryTeam) {
+            Long companyId = categoryTeam.getCompanyId();
+            Long id = categoryTeam.getId();
+            long version = categoryTeam.getVersion();
+            if (categoryTeam.getStatus() == CategoryTeam.TaskStatus.DONE) {
+                AfterCommit.run(() -> teamCapacityService.onAssignmentRemoved(companyId, id, version));
+                return;
+            }
+            Long teamId = categoryTeam.getTeam() != null ? categoryTeam.getTeam().getId() : null;
+            Category category = categoryTeam.getCategory();
+            if (teamId == null || category == null) {
+                return;
+            }
+            Long categoryId = category.getId();
+            boolean loaded = Hibernate.isInitialized(category);
+            LocalDate startDate = loaded ? category.getStartDate() : null;
+            LocalDate endDate = loaded ? category.getEndDate() : null;
+            Long categoryVersion = loaded ? category.getVersion() : null;
+            AfterCommit.run(() -> teamCapacityService.onAssignmentSaved(
+                    companyId, id, version, teamId, categoryId, startDate, endDate, categoryVersion));
+        } else if (entity instanceof Category category) {
+            Long companyId = category.getCompanyId();
+            Long id = category.getId();
+            LocalDate startDate = category.getStartDate();
+            LocalDate endDate = category.getEndDate();
+            long version = category.getVersion();
+            AfterCommit.run(() -> teamCapacityService.onCategorySaved(companyId, id, version, startDate, endDate));
+        }
+    }
+
+    @Override
+    public void onRemove(Object entity) {
+        if (entity instanceof CategoryTeam categoryTeam) {
+            Long companyId = categoryTeam.getCompanyId();
+            Long id = categoryTeam.getId();
+            AfterCommit.run(() -> teamCapacityService.onAssignmentRemoved(companyId, id, TeamCapacityMatrix.DELETED));
+        }
+    }
+}
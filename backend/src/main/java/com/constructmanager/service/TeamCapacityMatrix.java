@@ -0,0 +1,230 @@
+package com.constructmanager.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Booked working days per team per week for one company, over a fixed window of weeks.
+ *
+ * Each team is a row of an int matrix indexed by week; an unfinished assignment adds the
+ * working days its category's date range has in each week it touches. Every assignment's
+ * team and dates are remembered, so a change patches only the weeks of the old and new
+ * ranges instead of recounting. Days outside the window are not counted. Weeks start on
+ * Monday, and the first workingDaysPerWeek days of each week are working days.
+ *
+ * Entity events may be applied out of commit order, so the matrix remembers the newest
+ * @Version it has seen of each assignment and category and ignores older changes. A
+ * deleted assignment is remembered with version DELETED, so no late event revives it.
+ */
+final class TeamCapacityMatrix {
+
+    static final long DELETED = Long.MAX_VALUE;
+
+    private final int firstWeek;
+    private final int weekCount;
+    private final int workingDaysPerWeek;
+
+    private final Map<Long, Integer> rowOf = new HashMap<>();
+    private int[][] booked = new int[16][];
+    private int rows;
+
+    private final Map<Long, Assignment> assignments = new HashMap<>();
+    // Newest known dates of categories, kept after their last assignment stops being counted: [startDay, endDay]
+    private final Map<Long, int[]> categoryDates = new HashMap<>();
+    private final Map<Long, Set<Long>> assignmentsByCategory = new HashMap<>();
+    // Newest versions applied, kept after an assignment stops being counted
+    private final Map<Long, Long> assignmentVersions = new HashMap<>();
+    private final Map<Long, Long> categoryVersions = new HashMap<>();
+
+    TeamCapacityMatrix(int firstWeek, int weekCount, int workingDaysPerWeek) {
+        this.firstWeek = firstWeek;
+        this.weekCount = weekCount;
+        this.workingDaysPerWeek = workingDaysPerWeek;
+    }
+
+    /**
+     * Monday-based week number of an epoch day; epoch day 0 was a Thursday
+     */
+    static int weekOf(long epochDay) {
+        return (int) Math.floorDiv(epochDay + 3, 7);
+    }
+
+    /**
+     * Epoch day of the Monday starting a week
+     */
+    static long mondayOf(int week) {
+        return (long) week * 7 - 3;
+    }
+
+    int getFirstWeek() {
+        return firstWeek;
+    }
+
+    int getWeekCount() {
+        return weekCount;
+    }
+
+    int getWorkingDaysPerWeek() {
+        return workingDaysPerWeek;
+    }
+
+    synchronized boolean knowsCategory(Long categoryId) {
+        return categoryDates.containsKey(categoryId);
+    }
+
+    /**
+     * Count an assignment with its category's dates at categoryVersion, replacing what it counted
+     * before; ignored when a newer version of the assignment was applied already
+     */
+    synchronized void put(Long categoryTeamId, long version, Long teamId, Long categoryId,
+                          int startDay, int endDay, long categoryVersion) {
+        if (!advance(assignmentVersions, categoryTeamId, version)) {
+            return;
+        }
+        uncount(categoryTeamId);
+        // Other assignments of the category follow the newest dates
+        moveCategory(categoryId, startDay, endDay, categoryVersion);
+        count(categoryTeamId, teamId, categoryId, categoryDates.get(categoryId));
+    }
+
+    /**
+     * Count an assignment of a category whose dates are already known; false when they are not
+     */
+    synchronized boolean put(Long categoryTeamId, long version, Long teamId, Long categoryId) {
+        int[] dates = categoryDates.get(categoryId);
+        if (dates == null) {
+            return false;
+        }
+        if (advance(assignmentVersions, categoryTeamId, version)) {
+            uncount(categoryTeamId);
+            count(categoryTeamId, teamId, categoryId, dates);
+        }
+        return true;
+    }
+
+    /**
+     * Stop counting a finished assignment, or a deleted one with version DELETED
+     */
+    synchronized void remove(Long categoryTeamId, long version) {
+        if (advance(assignmentVersions, categoryTeamId, version)) {
+            uncount(categoryTeamId);
+        }
+    }
+
+    /**
+     * Record version as the newest applied for id; false when a newer one was applied already
+     */
+    private static boolean advance(Map<Long, Long> versions, Long id, long version) {
+        Long applied = versions.get(id);
+        if (applied != null && applied > version) {
+            return false;
+        }
+        versions.put(id, version);
+        return true;
+    }
+
+    private void count(Long categoryTeamId, Long teamId, Long categoryId, int[] dates) {
+        int row = rowOf.computeIfAbsent(teamId, id -> addRow());
+        Assignment assignment = new Assignment(row, categoryId, dates[0], dates[1]);
+        assignments.put(categoryTeamId, assignment);
+        assignmentsByCategory.computeIfAbsent(categoryId, id -> new HashSet<>()).add(categoryTeamId);
+        book(assignment, 1);
+    }
+
+    private void uncount(Long categoryTeamId) {
+        Assignment assignment = assignments.remove(categoryTeamId);
+        if (assignment == null) {
+            return;
+        }
+        book(assignment, -1);
+        Set<Long> siblings = assignmentsByCategory.get(assignment.categoryId);
+        siblings.remove(categoryTeamId);
+        if (siblings.isEmpty()) {
+            assignmentsByCategory.remove(assignment.categoryId);
+        }
+    }
+
+    /**
+     * Record a category's dates at version and move its counted assignments to them; ignored
+     * when a newer version of the category was applied already
+     */
+    synchronized void moveCategory(Long categoryId, int startDay, int endDay, long version) {
+        if (!advance(categoryVersions, categoryId, version)) {
+            return;
+        }
+        int[] dates = categoryDates.get(categoryId);
+        int end = Math.max(startDay, endDay);
+        if (dates == null) {
+            categoryDates.put(categoryId, new int[]{startDay, end});
+            return;
+        }
+        if (dates[0] == startDay && dates[1] == end) {
+            return;
+        }
+        dates[0] = startDay;
+        dates[1] = end;
+        for (Long categoryTeamId : assignmentsByCategory.getOrDefault(categoryId, Set.of())) {
+            Assignment assignment = assignments.get(categoryTeamId);
+            book(assignment, -1);
+            assignment.startDay = startDay;
+            assignment.endDay = end;
+            book(assignment, 1);
+        }
+    }
+
+    /**
+     * Copy of a team's booked days for weeks [fromWeek, toWeek], zeros for a team with no bookings
+     */
+    synchronized int[] bookedDays(Long teamId, int fromWeek, int toWeek) {
+        int[] days = new int[toWeek - fromWeek + 1];
+        Integer row = rowOf.get(teamId);
+        if (row != null) {
+            System.arraycopy(booked[row], fromWeek - firstWeek, days, 0, days.length);
+        }
+        return days;
+    }
+
+    private int addRow() {
+        if (rows == booked.length) {
+            booked = Arrays.copyOf(booked, rows * 2);
+        }
+        booked[rows] = new int[weekCount];
+        return rows++;
+    }
+
+    /**
+     * Add (sign 1) or take back (sign -1) an assignment's working days in each week it touches
+     */
+    private void book(Assignment assignment, int sign) {
+        int fromWeek = Math.max(firstWeek, weekOf(assignment.startDay));
+        int toWeek = Math.min(firstWeek + weekCount - 1, weekOf(assignment.endDay));
+        int[] row = booked[assignment.row];
+        for (int week = fromWeek; week <= toWeek; week++) {
+            long monday = mondayOf(week);
+            // Day-of-week range of the assignment within this week, Monday = 0
+            int first = (int) (Math.max(assignment.startDay, monday) - monday);
+            int last = (int) (Math.min(assignment.endDay, monday + 6) - monday);
+            int days = Math.min(last, workingDaysPerWeek - 1) - first + 1;
+            if (days > 0) {
+                row[week - firstWeek] += sign * days;
+            }
+        }
+    }
+
+    private static final class Assignment {
+        final int row;
+        final Long categoryId;
+        int startDay;
+        int endDay;
+
+        Assignment(int row, Long categoryId, int startDay, int endDay) {
+            this.row = row;
+            this.categoryId = categoryId;
+            this.startDay = startDay;
+            this.endDay = endDay;
+        }
+    }
+}
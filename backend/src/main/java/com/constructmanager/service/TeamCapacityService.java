@@ -0,0 +1,225 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.TeamCapacityHeatmapDTO;
+import com.constructmanager.dto.TeamCapacityRowDTO;
+import com.constructmanager.dto.TeamOverloadDTO;
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Team utilization per week across a company's projects, from one TeamCapacityMatrix per company.
+ *
+ * A company's matrix is loaded on its first capacity query, spanning app.capacity.history-weeks
+ * before the current week to app.capacity.horizon-weeks after it, and kept for the most recently
+ * queried companies. TeamCapacityEntityListener patches it after commit as assignments are
+ * created, reassigned, finished or removed and as category dates move. A team's capacity is
+ * app.capacity.working-days-per-week days per week; more booked days mean parallel bookings.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TeamCapacityService {
+
+    // Upper bound on overload rows returned by one query
+    private static final int MAX_OVERLOADS = 1000;
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PrimarySnapshotLoader primarySnapshotLoader;
+
+    @Value("${app.capacity.max-tenants:100}")
+    private int maxTenants;
+
+    @Value("${app.capacity.history-weeks:104}")
+    private int historyWeeks;
+
+    @Value("${app.capacity.horizon-weeks:260}")
+    private int horizonWeeks;
+
+    @Value("${app.capacity.working-days-per-week:5}")
+    private int workingDaysPerWeek;
+
+    private final TenantCache<TenantCapacity> tenants = new TenantCache<>(() -> maxTenants, TenantCapacity::new);
+
+    /**
+     * Booked days per active team for each week from the week of from to the week of to,
+     * optionally only for teams of one specialty
+     */
+    public TeamCapacityHeatmapDTO getHeatmap(Long companyId, LocalDate from, LocalDate to, String specialty) {
+        TeamCapacityMatrix matrix = matrix(companyId);
+        int fromWeek = TeamCapacityMatrix.weekOf(from.toEpochDay());
+        int toWeek = TeamCapacityMatrix.weekOf(to.toEpochDay());
+        checkWeeks(matrix, fromWeek, toWeek);
+
+        List<LocalDate> weekStarts = new ArrayList<>(toWeek - fromWeek + 1);
+        for (int week = fromWeek; week <= toWeek; week++) {
+            weekStarts.add(LocalDate.ofEpochDay(TeamCapacityMatrix.mondayOf(week)));
+        }
+
+        int capacity = matrix.getWorkingDaysPerWeek();
+        List<TeamCapacityRowDTO> rows = new ArrayList<>();
+        for (Object[] team : teamRepository.findSpecialtiesByCompanyId(companyId)) {
+            if (specialty != null && !specialty.equalsIgnoreCase((String) team[2])) {
+                continue;
+            }
+            int[] booked = matrix.bookedDays((Long) team[0], fromWeek, toWeek);
+            int peak = 0;
+            long total = 0;
+            int overloaded = 0;
+            for (int days : booked) {
+                peak = Math.max(peak, days);
+                total += days;
+                if (days > capacity) {
+                    overloaded++;
+                }
+            }
+            rows.add(new TeamCapacityRowDTO((Long) team[0], (String) team[1], (String) team[2], booked,
+                    (double) peak / capacity, (double) total / ((long) capacity * booked.length), overloaded));
+        }
+        return new TeamCapacityHeatmapDTO(weekStarts, capacity, rows);
+    }
+
+    /**
+     * Team weeks booked above minUtilization (1.0 = every working day), busiest first
+     */
+    public List<TeamOverloadDTO> getOverloads(Long companyId, LocalDate from, LocalDate to,
+                                              double minUtilization, int limit) {
+        if (limit < 1 || limit > MAX_OVERLOADS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_OVERLOADS);
+        }
+        TeamCapacityMatrix matrix = matrix(companyId);
+        int fromWeek = TeamCapacityMatrix.weekOf(from.toEpochDay());
+        int toWeek = TeamCapacityMatrix.weekOf(to.toEpochDay());
+        checkWeeks(matrix, fromWeek, toWeek);
+
+        int capacity = matrix.getWorkingDaysPerWeek();
+        List<TeamOverloadDTO> overloads = new ArrayList<>();
+        for (Object[] team : teamRepository.findSpecialtiesByCompanyId(companyId)) {
+            int[] booked = matrix.bookedDays((Long) team[0], fromWeek, toWeek);
+            for (int i = 0; i < booked.length; i++) {
+                double utilization = (double) booked[i] / capacity;
+                if (booked[i] > 0 && utilization > minUtilization) {
+                    overloads.add(new TeamOverloadDTO((Long) team[0], (String) team[1],
+                            LocalDate.ofEpochDay(TeamCapacityMatrix.mondayOf(fromWeek + i)),
+                            booked[i], capacity, utilization));
+                }
+            }
+        }
+        overloads.sort(Comparator.comparingDouble(TeamOverloadDTO::getUtilization).reversed()
+                .thenComparing(TeamOverloadDTO::getWeekStart)
+                .thenComparing(TeamOverloadDTO::getTeamId));
+        return overloads.size() > limit ? new ArrayList<>(overloads.subList(0, limit)) : overloads;
+    }
+
+    /**
+     * Count an assignment with its category's dates at categoryVersion, or with the dates
+     * already known for the category when they are null; ignored for companies whose matrix
+     * is not loaded, and for versions older than the matrix holds
+     */
+    public void onAssignmentSaved(Long companyId, Long categoryTeamId, long version, Long teamId, Long categoryId,
+                                  LocalDate startDate, LocalDate endDate, Long categoryVersion) {
+        TenantCapacity tenant = tenants.getIfPresent(companyId);
+        if (tenant == null) {
+            return;
+        }
+        synchronized (tenant) {
+            if (tenant.matrix == null) {
+                return;
+            }
+            if (startDate != null && endDate != null && categoryVersion != null) {
+                tenant.matrix.put(categoryTeamId, version, teamId, categoryId,
+                        (int) startDate.toEpochDay(), (int) endDate.toEpochDay(), categoryVersion);
+            } else if (!tenant.matrix.put(categoryTeamId, version, teamId, categoryId)) {
+                invalidate(companyId);
+            }
+        }
+    }
+
+    /**
+     * Stop counting an assignment finished at version, or deleted with TeamCapacityMatrix.DELETED
+     */
+    public void onAssignmentRemoved(Long companyId, Long categoryTeamId, long version) {
+        TenantCapacity tenant = tenants.getIfPresent(companyId);
+        if (tenant == null) {
+            return;
+        }
+        synchronized (tenant) {
+            if (tenant.matrix != null) {
+                tenant.matrix.remove(categoryTeamId, version);
+            }
+        }
+    }
+
+    /**
+     * Move a category's assignments to its dates at version
+     */
+    public void onCategorySaved(Long companyId, Long categoryId, long version, LocalDate startDate, LocalDate endDate) {
+        TenantCapacity tenant = tenants.getIfPresent(companyId);
+        if (tenant == null) {
+            return;
+        }
+        synchronized (tenant) {
+            if (tenant.matrix != null) {
+                tenant.matrix.moveCategory(categoryId, (int) startDate.toEpochDay(), (int) endDate.toEpochDay(), version);
+            }
+        }
+    }
+
+    /**
+     * Drop a company's matrix after changes made without entity events; it reloads on the next query
+     */
+    public void invalidate(Long companyId) {
+        tenants.remove(companyId);
+    }
+
+    private void checkWeeks(TeamCapacityMatrix matrix, int fromWeek, int toWeek) {
+        if (toWeek < fromWeek) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        int lastWeek = matrix.getFirstWeek() + matrix.getWeekCount() - 1;
+        if (fromWeek < matrix.getFirstWeek() || toWeek > lastWeek) {
+            throw new IllegalArgumentException("Capacity is available from "
+                    + LocalDate.ofEpochDay(TeamCapacityMatrix.mondayOf(matrix.getFirstWeek())) + " to "
+                    + LocalDate.ofEpochDay(TeamCapacityMatrix.mondayOf(lastWeek) + 6));
+        }
+    }
+
+    private TeamCapacityMatrix matrix(Long companyId) {
+        int firstWeek = TeamCapacityMatrix.weekOf(LocalDate.now().toEpochDay()) - historyWeeks;
+        TenantCapacity tenant = tenants.get(companyId);
+        // Registered before loading from the primary: changes committed meanwhile wait for the load, then apply
+        synchronized (tenant) {
+            // Reloaded once a week so the window follows the current date
+            if (tenant.matrix == null || tenant.matrix.getFirstWeek() != firstWeek) {
+                tenant.matrix = primarySnapshotLoader.load(() -> load(companyId, firstWeek));
+            }
+            return tenant.matrix;
+        }
+    }
+
+    private TeamCapacityMatrix load(Long companyId, int firstWeek) {
+        TeamCapacityMatrix matrix = new TeamCapacityMatrix(firstWeek, historyWeeks + horizonWeeks + 1, workingDaysPerWeek);
+        for (Object[] row : categoryTeamRepository.findCapacityRowsByCompanyId(companyId)) {
+            matrix.put((Long) row[0], (Long) row[5], (Long) row[1], (Long) row[2],
+                    (int) ((LocalDate) row[3]).toEpochDay(), (int) ((LocalDate) row[4]).toEpochDay(), (Long) row[6]);
+        }
+        return matrix;
+    }
+
+    private static final class TenantCapacity {
+        private TeamCapacityMatrix matrix;
+    }
+}
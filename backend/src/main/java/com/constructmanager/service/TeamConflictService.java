@@ -0,0 +1,210 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.TeamAssignmentDTO;
+import com.constructmanager.dto.TeamConflictDTO;
+import com.constructmanager.dto.TeamConflictReportDTO;
+import com.constructmanager.entity.Category;
+import com.constructmanager.exception.TeamDoubleBookingException;
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Finds teams booked on overlapping dates at different projects.
+ *
+ * An assignment occupies its team for its category's [startDate, endDate] until it is DONE.
+ * Checking one new assignment is a range query on the team's assignments; whole teams are
+ * checked with a sweep over their assignments in start order, which compares each one only
+ * with those still running when it starts, instead of with every other assignment.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TeamConflictService {
+
+    // Conflicts listed in one report; the rest are only flagged as truncated
+    private static final int MAX_REPORTED_CONFLICTS = 1000;
+
+    // Assignments below which a fork-join task sweeps its teams itself instead of splitting
+    private static final int SWEEP_BATCH_ASSIGNMENTS = 2000;
+
+    private static final Comparator<TeamAssignmentDTO> START_ORDER = Comparator
+            .comparing(TeamAssignmentDTO::getStartDate)
+            .thenComparing(TeamAssignmentDTO::getEndDate)
+            .thenComparing(TeamAssignmentDTO::getCategoryTeamId);
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    /**
+     * Reject assigning a team to a category when it is already booked elsewhere on those dates.
+     *
+     * The team row stays locked until the caller commits, so two bookings of the same team
+     * are checked one after the other and the second one sees the first. Callers run at
+     * READ_COMMITTED so the check reads bookings committed while they waited for the lock.
+     *
+     * @param excludeCategoryTeamId the assignment being changed, which cannot conflict with itself
+     */
+    @Transactional
+    public void checkAssignment(Long teamId, Category category, Long excludeCategoryTeamId) {
+        teamRepository.lockById(teamId);
+        List<TeamConflictDTO> conflicts = findConflicts(teamId, category, excludeCategoryTeamId);
+        if (!conflicts.isEmpty()) {
+            TeamAssignmentDTO booked = conflicts.get(0).getSecond();
+            throw new TeamDoubleBookingException("Team " + booked.getTeamName() + " is already booked on "
+                    + booked.getProjectName() + " (" + booked.getCategoryName() + ") from " + booked.getStartDate()
+                    + " to " + booked.getEndDate(), conflicts);
+        }
+    }
+
+    /**
+     * Unfinished assignments of a team at other projects that overlap the category's dates
+     */
+    public List<TeamConflictDTO> findConflicts(Long teamId, Category category, Long excludeCategoryTeamId) {
+        TeamAssignmentDTO candidate = new TeamAssignmentDTO(excludeCategoryTeamId, null, teamId, null,
+                category.getId(), category.getName(), category.getStartDate(), category.getEndDate(),
+                null, null, category.getProjectId(), null);
+
+        return categoryTeamRepository.findActiveAssignmentsOverlapping(teamId, category.getStartDate(), category.getEndDate())
+                .stream()
+                .filter(booked -> !booked.getCategoryTeamId().equals(excludeCategoryTeamId))
+                .filter(booked -> !Objects.equals(booked.getProjectId(), candidate.getProjectId()))
+                .sorted(START_ORDER)
+                .map(booked -> {
+                    candidate.setTeamName(booked.getTeamName());
+                    return new TeamConflictDTO(candidate, booked);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Double bookings of one team of a company
+     */
+    public Optional<TeamConflictReportDTO> getTeamConflicts(Long teamId, Long companyId) {
+        return teamRepository.findByIdAndCompanyId(teamId, companyId)
+                .map(team -> {
+                    List<TeamAssignmentDTO> assignments = categoryTeamRepository.findActiveAssignmentsByTeamId(teamId);
+                    List<TeamConflictDTO> conflicts = new ArrayList<>();
+                    boolean complete = sweep(assignments, conflicts, MAX_REPORTED_CONFLICTS);
+                    return new TeamConflictReportDTO(1, assignments.size(), conflicts, !complete);
+                });
+    }
+
+    /**
+     * Double bookings of every team of a company, teams swept in parallel
+     */
+    public TeamConflictReportDTO getCompanyConflicts(Long companyId) {
+        List<TeamAssignmentDTO> assignments = categoryTeamRepository.findActiveAssignmentsByCompanyId(companyId);
+
+        // Rows arrive ordered by team: cut them into one list per team
+        List<List<TeamAssignmentDTO>> teams = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= assignments.size(); i++) {
+            if (i == assignments.size() || !assignments.get(i).getTeamId().equals(assignments.get(from).getTeamId())) {
+                teams.add(assignments.subList(from, i));
+                from = i;
+            }
+        }
+
+        SweepResult result = ForkJoinPool.commonPool().invoke(new SweepTask(teams, 0, teams.size()));
+        List<TeamConflictDTO> conflicts = result.conflicts;
+        boolean truncated = !result.complete || conflicts.size() > MAX_REPORTED_CONFLICTS;
+        if (conflicts.size() > MAX_REPORTED_CONFLICTS) {
+            conflicts = new ArrayList<>(conflicts.subList(0, MAX_REPORTED_CONFLICTS));
+        }
+        return new TeamConflictReportDTO(teams.size(), assignments.size(), conflicts, truncated);
+    }
+
+    /**
+     * Sweep one team's assignments in start order, keeping those still running in a heap
+     * ordered by end date. Each assignment is compared only with the running ones, which
+     * are exactly the ones it overlaps. Returns false when the limit cut the sweep short.
+     */
+    static boolean sweep(List<TeamAssignmentDTO> assignments, List<TeamConflictDTO> conflicts, int limit) {
+        List<TeamAssignmentDTO> ordered = new ArrayList<>(assignments);
+        ordered.sort(START_ORDER);
+        PriorityQueue<TeamAssignmentDTO> running = new PriorityQueue<>(Comparator.comparing(TeamAssignmentDTO::getEndDate));
+
+        for (TeamAssignmentDTO next : ordered) {
+            while (!running.isEmpty() && running.peek().getEndDate().isBefore(next.getStartDate())) {
+                running.poll();
+            }
+            for (TeamAssignmentDTO booked : running) {
+                if (!Objects.equals(booked.getProjectId(), next.getProjectId())) {
+                    if (conflicts.size() >= limit) {
+                        return false;
+                    }
+                    conflicts.add(new TeamConflictDTO(booked, next));
+                }
+            }
+            running.add(next);
+        }
+        return true;
+    }
+
+    private static final class SweepResult {
+        final List<TeamConflictDTO> conflicts;
+        final boolean complete;
+
+        SweepResult(List<TeamConflictDTO> conflicts, boolean complete) {
+            this.conflicts = conflicts;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * Splits a range of teams in half until it holds few enough assignments to sweep directly
+     */
+    private static final class SweepTask extends RecursiveTask<SweepResult> {
+        private final List<List<TeamAssignmentDTO>> teams;
+        private final int from;
+        private final int to;
+
+        SweepTask(List<List<TeamAssignmentDTO>> teams, int from, int to) {
+            this.teams = teams;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SweepResult compute() {
+            int assignments = 0;
+            for (int i = from; i < to; i++) {
+                assignments += teams.get(i).size();
+            }
+            if (to - from <= 1 || assignments <= SWEEP_BATCH_ASSIGNMENTS) {
+                List<TeamConflictDTO> conflicts = new ArrayList<>();
+                boolean complete = true;
+                for (int i = from; i < to && complete; i++) {
+                    complete = sweep(teams.get(i), conflicts, MAX_REPORTED_CONFLICTS);
+                }
+                return new SweepResult(conflicts, complete);
+            }
+
+            int mid = (from + to) >>> 1;
+            SweepTask left = new SweepTask(teams, from, mid);
+            left.fork();
+            SweepResult right = new SweepTask(teams, mid, to).compute();
+            SweepResult first = left.join();
+
+            List<TeamConflictDTO> conflicts = new ArrayList<>(first.conflicts.size() + right.conflicts.size());
+            conflicts.addAll(first.conflicts);
+            conflicts.addAll(right.conflicts);
+            return new SweepResult(conflicts, first.complete && right.complete);
+        }
+    }
+}
@@ -2,11 +2,16 @@ package com.constructmanager.service;
 
 import com.constructmanager.dto.*;
 import com.constructmanager.entity.Team;
+import com.constructmanager.repository.CategoryTeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TeamMapper {
     
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+    
     /**
      * Convert Team entity to detailed DTO
      */
@@ -29,20 +34,11 @@ public class TeamMapper {
             ));
         }
         
-        // Calculate performance metrics
-        long totalAssignments = team.getCategoryTeams().size();
-        long completedAssignments = team.getCategoryTeams().stream()
-                .mapToLong(ct -> ct.getStatus().name().equals("DONE") ? 1 : 0)
-                .sum();
-        
-        double avgProgress = team.getCategoryTeams().stream()
-                .mapToInt(ct -> ct.getProgressPercentage())
-                .average()
-                .orElse(0.0);
-        
-        dto.setTotalAssignments(totalAssignments);
-        dto.setCompletedAssignments(completedAssignments);
-        dto.setAvgProgress(avgProgress);
+        // Calculate performance metrics in the database
+        Object[] stats = categoryTeamRepository.getTeamAssignmentStats(team.getId()).get(0);
+        dto.setTotalAssignments(((Number) stats[0]).longValue());
+        dto.setCompletedAssignments(((Number) stats[1]).longValue());
+        dto.setAvgProgress(((Number) stats[2]).doubleValue());
         
         return dto;
     }
@@ -36,6 +36,9 @@ public class TeamService {
     @Autowired
     private TeamMapper teamMapper;
     
+    @Autowired
+    private SearchService searchService;
+    
     @Autowired
     private CacheManager cacheManager;
 
@@ -43,31 +46,30 @@ public class TeamService {
      * Get paginated teams for a company
      */
     @Cacheable(value = "teams", key = "#companyId + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
-    public Page<Team> getTeams(Long companyId, Pageable pageable) {
-        return teamRepository.findByCompanyIdAndIsActiveTrueOrderByNameAsc(companyId, pageable);
+    public Page<TeamSummaryDTO> getTeams(Long companyId, Pageable pageable) {
+        return teamRepository.findSummariesByCompanyId(companyId, pageable);
     }
 
     /**
      * Get all active teams for a company (for dropdowns)
      */
     @Cacheable(value = "teams", key = "#companyId + '_all'")
-    public List<Team> getAllActiveTeams(Long companyId) {
-        return teamRepository.findByCompanyIdAndIsActiveTrueOrderByNameAsc(companyId);
+    public List<TeamSummaryDTO> getAllActiveTeams(Long companyId) {
+        return teamRepository.findSummariesByCompanyId(companyId);
     }
 
     /**
      * Search teams by name or specialty
      */
-    public Page<Team> searchTeams(Long companyId, String searchTerm, Pageable pageable) {
-        return teamRepository.searchTeams(companyId, searchTerm, pageable);
+    public Page<TeamSummaryDTO> searchTeams(Long companyId, String searchTerm, Pageable pageable) {
+        return searchService.searchTeams(companyId, searchTerm, pageable);
     }
 
     /**
      * Get teams by specialty
      */
-    public Page<Team> getTeamsBySpecialty(Long companyId, String specialty, Pageable pageable) {
-        return teamRepository.findByCompanyIdAndSpecialtyContainingIgnoreCaseAndIsActiveTrueOrderByNameAsc(
-                companyId, specialty, pageable);
+    public Page<TeamSummaryDTO> getTeamsBySpecialty(Long companyId, String specialty, Pageable pageable) {
+        return teamRepository.findSummariesBySpecialty(companyId, specialty, pageable);
     }
 
     /**
@@ -146,8 +148,8 @@ public class TeamService {
     /**
      * Get teams working on a specific project
      */
-    public List<Team> getTeamsByProject(Long projectId) {
-        return teamRepository.findTeamsByProjectId(projectId);
+    public List<TeamSummaryDTO> getTeamsByProject(Long projectId) {
+        return teamRepository.findSummariesByProjectId(projectId);
     }
 
     /**
@@ -0,0 +1,48 @@
+package com.constructmanager.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holders of in-memory state per company or project, keeping only the most recently used.
+ *
+ * A holder is created empty and registered before its owner loads it, so entity events
+ * committed during the load find it and are not lost; owners synchronize on the holder
+ * while loading and patching it. The bound is read on every insert, so it may come from
+ * a configuration property injected after construction.
+ */
+final class TenantCache<V> {
+
+    private final Map<Long, V> holders;
+    private final Supplier<V> factory;
+
+    TenantCache(IntSupplier maxSize, Supplier<V> factory) {
+        this.factory = factory;
+        this.holders = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                return size() > maxSize.getAsInt();
+            }
+        };
+    }
+
+    /**
+     * The holder for a key, created empty when absent
+     */
+    synchronized V get(Long key) {
+        return holders.computeIfAbsent(key, id -> factory.get());
+    }
+
+    /**
+     * The holder for a key, or null when it is not cached; events for such keys are ignored
+     */
+    synchronized V getIfPresent(Long key) {
+        return key == null ? null : holders.get(key);
+    }
+
+    synchronized void remove(Long key) {
+        holders.remove(key);
+    }
+}
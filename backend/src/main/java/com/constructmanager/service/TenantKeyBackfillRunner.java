@@ -0,0 +1,99 @@
+package com.constructmanager.service;
+
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.PaymentRepository;
+import com.constructmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Fills company_id/project_id on categories, category_teams, payments and tasks that were
+ * written before those columns existed. Runs top-down so each level copies from
+ * the already filled level above it, in ID-ordered chunks of one transaction each.
+ * Rows written since then get their keys on persist, so this is a no-op once done.
+ */
+@Component
+@Order(1)
+public class TenantKeyBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantKeyBackfillRunner.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.backfill.tenant-keys.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.backfill.tenant-keys.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        backfill("categories", categoryRepository::findIdsMissingTenantKeys, categoryRepository::backfillTenantKeys);
+        backfill("category_teams", categoryTeamRepository::findIdsMissingTenantKeys, categoryTeamRepository::backfillTenantKeys);
+        backfill("payments", paymentRepository::findIdsMissingTenantKeys, paymentRepository::backfillTenantKeys);
+        backfill("tasks", taskRepository::findIdsMissingTenantKeys, taskRepository::backfillTenantKeys);
+    }
+
+    private void backfill(String table,
+                          BiFunction<Long, Pageable, List<Long>> findChunk,
+                          Function<Collection<Long>, Integer> update) {
+        Long afterId = 0L;
+        int total = 0;
+
+        while (true) {
+            final Long chunkAfterId = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = findChunk.apply(chunkAfterId, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    update.apply(chunk);
+                }
+                return chunk;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            logger.info("Backfilled tenant keys on {} rows of {}", total, table);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.constructmanager.service;
+
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.Project;
+import com.constructmanager.entity.Team;
+import com.constructmanager.entity.Unit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps TypeaheadIndex in step with project, unit, category and team names.
+ *
+ * Index values are read while the entity is still managed, but applied only after
+ * the transaction commits, so rolled-back changes never reach the index.
+ */
+@Component
+public class TypeaheadEntityListener implements EntityChangeListener {
+
+    @Autowired
+    @Lazy
+    private TypeaheadIndex typeaheadIndex;
+
+    @Override
+    public void onSave(Object entity) {
+        if (entity instanceof Project project) {
+            Long companyId = project.getCompany() != null ? project.getCompany().getId() : null;
+            TypeaheadIndex.Entry entry = new TypeaheadIndex.Entry(
+                    TypeaheadIndex.EntryType.PROJECT, project.getId(), project.getName(), project.getId(), null);
+            upsertIfChanged(companyId, entry);
+        } else if (entity instanceof Unit unit) {
+            Project project = unit.getProject();
+            Long companyId = project != null && project.getCompany() != null ? project.getCompany().getId() : null;
+            TypeaheadIndex.Entry entry = new TypeaheadIndex.Entry(
+                    TypeaheadIndex.EntryType.UNIT, unit.getId(), unit.getName(),
+                    project != null ? project.getId() : null, unit.getId());
+            upsertIfChanged(companyId, entry);
+        } else if (entity instanceof Category category) {
+            Unit unit = category.getUnit();
+            Long projectId = unit != null && unit.getProject() != null ? unit.getProject().getId() : null;
+            TypeaheadIndex.Entry entry = new TypeaheadIndex.Entry(
+                    TypeaheadIndex.EntryType.CATEGORY, category.getId(), category.getName(),
+                    projectId, unit != null ? unit.getId() : null);
+            Long companyId = category.getCompanyId();
+            upsertIfChanged(companyId, entry);
+        } else if (entity instanceof Team team) {
+            Long companyId = team.getCompany() != null ? team.getCompany().getId() : null;
+            // Only active teams are offered as suggestions
+            if (Boolean.FALSE.equals(team.getIsActive())) {
+                Long teamId = team.getId();
+                if (!typeaheadIndex.isAbsent(companyId, TypeaheadIndex.EntryType.TEAM, teamId)) {
+                    AfterCommit.run(() -> typeaheadIndex.remove(companyId, TypeaheadIndex.EntryType.TEAM, teamId));
+                }
+            } else {
+                TypeaheadIndex.Entry entry = new TypeaheadIndex.Entry(
+                        TypeaheadIndex.EntryType.TEAM, team.getId(), team.getName(), null, null);
+                upsertIfChanged(companyId, entry);
+            }
+        }
+    }
+
+    @Override
+    public void onRemove(Object entity) {
+        if (entity instanceof Project project) {
+            Long companyId = project.getCompany() != null ? project.getCompany().getId() : null;
+            Long id = project.getId();
+            AfterCommit.run(() -> typeaheadIndex.remove(companyId, TypeaheadIndex.EntryType.PROJECT, id));
+        } else if (entity instanceof Unit unit) {
+            Project project = unit.getProject();
+            Long companyId = project != null && project.getCompany() != null ? project.getCompany().getId() : null;
+            Long id = unit.getId();
+            AfterCommit.run(() -> typeaheadIndex.remove(companyId, TypeaheadIndex.EntryType.UNIT, id));
+        } else if (entity instanceof Category category) {
+            Long companyId = category.getCompanyId();
+            Long id = category.getId();
+            AfterCommit.run(() -> typeaheadIndex.remove(companyId, TypeaheadIndex.EntryType.CATEGORY, id));
+        } else if (entity instanceof Team team) {
+            Long companyId = team.getCompany() != null ? team.getCompany().getId() : null;
+            Long id = team.getId();
+            AfterCommit.run(() -> typeaheadIndex.remove(companyId, TypeaheadIndex.EntryType.TEAM, id));
+        }
+    }
+
+    /**
+     * Progress, counters and dates are saved far more often than names, so saves that leave
+     * the indexed name, active flag and parents as they are register nothing
+     */
+    private void upsertIfChanged(Long companyId, TypeaheadIndex.Entry entry) {
+        if (!typeaheadIndex.isIndexed(companyId, entry)) {
+            AfterCommit.run(() -> typeaheadIndex.upsert(companyId, entry));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.SearchSuggestionDTO;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.TeamRepository;
+import com.constructmanager.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * In-memory quick-search over project, unit, category and team names, one index per company.
+ *
+ * A company's index is loaded from the database on its first query and then kept current by
+ * TypeaheadEntityListener, so keystrokes never hit the database. Changes go to a
+ * SnapshotOverlay on top of the immutable snapshot, which is rebuilt once the overlay grows.
+ * Only the most recently queried companies are kept (app.search.typeahead.max-tenants).
+ */
+@Service
+public class TypeaheadIndex {
+
+    public enum EntryType { PROJECT, UNIT, CATEGORY, TEAM }
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PrimarySnapshotLoader primarySnapshotLoader;
+
+    @Value("${app.search.typeahead.max-tenants:200}")
+    private int maxTenants;
+
+    private final TenantCache<SnapshotOverlay<Entry, TypeaheadSnapshot>> tenants = new TenantCache<>(
+            () -> maxTenants,
+            () -> new SnapshotOverlay<>(Entry::key,
+                    entries -> new TypeaheadSnapshot(entries.toArray(new Entry[0])),
+                    snapshot -> Arrays.asList(snapshot.entries)));
+
+    /**
+     * Best matches for a query: exact names, then name prefixes, then word prefixes, then substrings
+     */
+    public List<SearchSuggestionDTO> suggest(Long companyId, String query, int limit) {
+        String normalizedQuery = TypeaheadSnapshot.normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Entry> matches = tenantIndex(companyId).query(
+                (snapshot, sink) -> {
+                    for (int ordinal : snapshot.candidates(normalizedQuery)) {
+                        sink.accept(snapshot.entries[ordinal]);
+                    }
+                },
+                entry -> matchesQuery(entry.normalizedName, normalizedQuery)).orElseThrow();
+        matches.sort(Comparator
+                .comparingInt((Entry entry) -> rank(entry, normalizedQuery))
+                .thenComparingInt(entry -> entry.type.ordinal())
+                .thenComparingInt(entry -> entry.normalizedName.length())
+                .thenComparing(entry -> entry.normalizedName));
+
+        List<SearchSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            Entry entry = matches.get(i);
+            suggestions.add(new SearchSuggestionDTO(entry.type.name(), entry.id, entry.name, entry.projectId, entry.unitId));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Add or replace an entry; ignored for companies whose index is not loaded
+     */
+    public void upsert(Long companyId, Entry entry) {
+        SnapshotOverlay<Entry, TypeaheadSnapshot> index = tenants.getIfPresent(companyId);
+        if (index != null) {
+            index.upsert(entry);
+        }
+    }
+
+    /**
+     * Remove an entry; ignored for companies whose index is not loaded
+     */
+    public void remove(Long companyId, EntryType type, Long id) {
+        SnapshotOverlay<Entry, TypeaheadSnapshot> index = tenants.getIfPresent(companyId);
+        if (index != null) {
+            index.remove(key(type, id));
+        }
+    }
+
+    /**
+     * Whether the company's loaded index already holds an entry with the same name and parents.
+     * False when the index is not loaded, since it may be loading and miss the change.
+     */
+    public boolean isIndexed(Long companyId, Entry entry) {
+        SnapshotOverlay<Entry, TypeaheadSnapshot> index = tenants.getIfPresent(companyId);
+        if (index == null) {
+            return false;
+        }
+        Entry current = index.get(entry.key(), TypeaheadSnapshot::find);
+        return current != null && current.sameAs(entry);
+    }
+
+    /**
+     * Whether the company's loaded index holds no entry of this type and ID
+     */
+    public boolean isAbsent(Long companyId, EntryType type, Long id) {
+        SnapshotOverlay<Entry, TypeaheadSnapshot> index = tenants.getIfPresent(companyId);
+        return index != null && index.isLoaded() && index.get(key(type, id), TypeaheadSnapshot::find) == null;
+    }
+
+    /**
+     * Drop a company's index after changes made without entity events; it reloads on the next query
+     */
+    public void invalidate(Long companyId) {
+        tenants.remove(companyId);
+    }
+
+    private int rank(Entry entry, String query) {
+        String name = entry.normalizedName;
+        if (name.equals(query)) {
+            return 0;
+        }
+        if (name.startsWith(query)) {
+            return 1;
+        }
+        if (name.contains(" " + query)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private SnapshotOverlay<Entry, TypeaheadSnapshot> tenantIndex(Long companyId) {
+        SnapshotOverlay<Entry, TypeaheadSnapshot> index = tenants.get(companyId);
+        // Registered before loading from the primary, so changes committed during the load are not lost
+        index.loadIfNeeded(() -> primarySnapshotLoader.load(() -> loadEntries(companyId)));
+        return index;
+    }
+
+    private List<Entry> loadEntries(Long companyId) {
+        List<Entry> entries = new ArrayList<>();
+        for (Object[] row : projectRepository.findNamesByCompanyId(companyId)) {
+            entries.add(new Entry(EntryType.PROJECT, (Long) row[0], (String) row[1], (Long) row[0], null));
+        }
+        for (Object[] row : unitRepository.findNamesByCompanyId(companyId)) {
+            entries.add(new Entry(EntryType.UNIT, (Long) row[0], (String) row[1], (Long) row[2], (Long) row[0]));
+        }
+        for (Object[] row : categoryRepository.findNamesByCompanyId(companyId)) {
+            entries.add(new Entry(EntryType.CATEGORY, (Long) row[0], (String) row[1], (Long) row[3], (Long) row[2]));
+        }
+        for (Object[] row : teamRepository.findNamesByCompanyId(companyId)) {
+            entries.add(new Entry(EntryType.TEAM, (Long) row[0], (String) row[1], null, null));
+        }
+        return entries;
+    }
+
+    private static long key(EntryType type, Long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    /**
+     * One indexed name
+     */
+    public static final class Entry {
+        final EntryType type;
+        final Long id;
+        final String name;
+        final String normalizedName;
+        final Long projectId;
+        final Long unitId;
+
+        public Entry(EntryType type, Long id, String name, Long projectId, Long unitId) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.normalizedName = TypeaheadSnapshot.normalize(name);
+            this.projectId = projectId;
+            this.unitId = unitId;
+        }
+
+        long key() {
+            return TypeaheadIndex.key(type, id);
+        }
+
+        boolean sameAs(Entry other) {
+            return key() == other.key() && Objects.equals(name, other.name)
+                    && Objects.equals(projectId, other.projectId) && Objects.equals(unitId, other.unitId);
+        }
+    }
+
+    // Same semantics as TypeaheadSnapshot.candidates, for the few overlay entries
+    private static boolean matchesQuery(String name, String query) {
+        if (query.length() >= 3) {
+            return name.contains(query);
+        }
+        for (String word : name.split("[^\\p{L}\\p{N}]+")) {
+            if (word.startsWith(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,221 @@
+package com.constructmanager.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable name index of one company, built in memory from its entries.
+ *
+ * Queries of three or more characters intersect trigram postings; shorter queries
+ * binary-search a sorted word array for the prefix. Postings are sorted int arrays of
+ * entry ordinals, so a tenant with tens of thousands of names stays a few megabytes.
+ */
+final class TypeaheadSnapshot {
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    final TypeaheadIndex.Entry[] entries;
+    private final String[] words;
+    private final int[] wordEntries;
+    private final Map<Long, int[]> trigramPostings;
+    // Ordinals sorted by entry key, for lookups by key
+    private final int[] byKey;
+
+    TypeaheadSnapshot(TypeaheadIndex.Entry[] entries) {
+        this.entries = entries;
+        this.byKey = IntStream.range(0, entries.length)
+                .boxed()
+                .sorted(Comparator.comparingLong(ordinal -> entries[ordinal].key()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        // Word prefix index: (word, ordinal) pairs sorted by word
+        List<String> wordList = new ArrayList<>();
+        List<Integer> ordinalList = new ArrayList<>();
+        for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+            for (String word : entries[ordinal].normalizedName.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    wordList.add(word);
+                    ordinalList.add(ordinal);
+                }
+            }
+        }
+        Integer[] order = new Integer[wordList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> wordList.get(a).compareTo(wordList.get(b)));
+        this.words = new String[order.length];
+        this.wordEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            words[i] = wordList.get(order[i]);
+            wordEntries[i] = ordinalList.get(order[i]);
+        }
+
+        // Trigram postings; ordinals are added in ascending order, so each array is sorted
+        Map<Long, int[]> postings = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (int ordinal = 0; ordinal < entries.length; ordinal++) {
+            String name = entries[ordinal].normalizedName;
+            for (int i = 0; i + 3 <= name.length(); i++) {
+                long trigram = trigram(name, i);
+                int[] list = postings.get(trigram);
+                int size = sizes.getOrDefault(trigram, 0);
+                if (list == null) {
+                    list = new int[4];
+                } else if (size > 0 && list[size - 1] == ordinal) {
+                    continue;
+                } else if (size == list.length) {
+                    list = Arrays.copyOf(list, size * 2);
+                }
+                list[size] = ordinal;
+                postings.put(trigram, list);
+                sizes.put(trigram, size + 1);
+            }
+        }
+        postings.replaceAll((trigram, list) -> Arrays.copyOf(list, sizes.get(trigram)));
+        this.trigramPostings = postings;
+    }
+
+    /**
+     * The entry with a key, or null
+     */
+    TypeaheadIndex.Entry find(long key) {
+        int lo = 0;
+        int hi = byKey.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midKey = entries[byKey[mid]].key();
+            if (midKey < key) {
+                lo = mid + 1;
+            } else if (midKey > key) {
+                hi = mid - 1;
+            } else {
+                return entries[byKey[mid]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ordinals of entries whose name contains the query (three or more characters)
+     * or has a word starting with it (shorter queries)
+     */
+    int[] candidates(String normalizedQuery) {
+        if (normalizedQuery.length() >= 3) {
+            return trigramCandidates(normalizedQuery);
+        }
+        return prefixCandidates(normalizedQuery);
+    }
+
+    private int[] trigramCandidates(String query) {
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int[] list = trigramPostings.get(trigram(query, i));
+            if (list == null) {
+                return NO_POSTINGS;
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+
+        // Trigrams can match out of order; confirm the substring
+        int count = 0;
+        int[] confirmed = new int[result.length];
+        for (int ordinal : result) {
+            if (entries[ordinal].normalizedName.contains(query)) {
+                confirmed[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(confirmed, count);
+    }
+
+    private int[] prefixCandidates(String prefix) {
+        int from = lowerBound(prefix);
+        int count = 0;
+        int[] found = new int[16];
+        for (int i = from; i < words.length && words[i].startsWith(prefix); i++) {
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+            }
+            found[count++] = wordEntries[i];
+        }
+        int[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return dedupeSorted(result);
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    private static int[] dedupeSorted(int[] sorted) {
+        if (sorted.length < 2) {
+            return sorted;
+        }
+        int k = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[k - 1]) {
+                sorted[k++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, k);
+    }
+
+    private static long trigram(String s, int offset) {
+        return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+    }
+
+    /**
+     * Lower-case, strip accents and collapse whitespace so accented names match their plain spelling
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+}
@@ -2,13 +2,16 @@ package com.constructmanager.service;
 
 import com.constructmanager.dto.*;
 import com.constructmanager.entity.Unit;
+import com.constructmanager.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.stream.Collectors;
-
 @Component
 public class UnitMapper {
     
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
     /**
      * Convert Unit entity to detailed DTO
      */
@@ -33,18 +36,8 @@ public class UnitMapper {
             ));
         }
         
-        // Map categories
-        dto.setCategories(unit.getCategories().stream()
-                .map(category -> new CategorySummaryDTO(
-                    category.getId(),
-                    category.getName(),
-                    category.getStartDate(),
-                    category.getEndDate(),
-                    category.getOrderSequence(),
-                    category.getProgressPercentage(),
-                    (long) category.getCategoryTeams().size()
-                ))
-                .collect(Collectors.toList()));
+        // Map categories (one projection query with team counts)
+        dto.setCategories(categoryRepository.findSummariesByUnitId(unit.getId()));
         
         return dto;
     }
@@ -11,9 +11,12 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -34,11 +37,28 @@ public class UnitService {
     @Autowired
     private UnitMapper unitMapper;
 
+    @Autowired
+    private HierarchyCounterService counterService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private PageTotalService pageTotals;
+
     /**
      * Get paginated unit summaries for a project
      */
     @Cacheable(value = "unitSummaries", key = "#projectId + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<UnitSummaryDTO> getUnitSummaries(Long projectId, Pageable pageable) {
+        Slice<UnitSummaryDTO> slice = unitRepository.findUnitSummariesByProjectId(projectId, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> pageTotals.countUnits(projectId));
+    }
+
+    /**
+     * Get one slice of unit summaries without a total (infinite scroll)
+     */
+    public Slice<UnitSummaryDTO> getUnitSummarySlice(Long projectId, Pageable pageable) {
         return unitRepository.findUnitSummariesByProjectId(projectId, pageable);
     }
 
@@ -46,6 +66,14 @@ public class UnitService {
      * Get unit summaries by type
      */
     public Page<UnitSummaryDTO> getUnitSummariesByType(Long projectId, Unit.UnitType type, Pageable pageable) {
+        Slice<UnitSummaryDTO> slice = unitRepository.findUnitSummariesByProjectIdAndType(projectId, type, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> pageTotals.countUnitsByType(projectId, type));
+    }
+
+    /**
+     * Get one slice of unit summaries by type without a total
+     */
+    public Slice<UnitSummaryDTO> getUnitSummarySliceByType(Long projectId, Unit.UnitType type, Pageable pageable) {
         return unitRepository.findUnitSummariesByProjectIdAndType(projectId, type, pageable);
     }
 
@@ -53,7 +81,7 @@ public class UnitService {
      * Search units by name
      */
     public Page<UnitSummaryDTO> searchUnits(Long projectId, String searchTerm, Pageable pageable) {
-        return unitRepository.searchUnitSummaries(projectId, searchTerm, pageable);
+        return searchService.searchUnits(projectId, searchTerm, pageable);
     }
 
     /**
@@ -61,7 +89,7 @@ public class UnitService {
      */
     @Cacheable(value = "unitDetails", key = "#unitId + '_' + #projectId")
     public Optional<UnitDetailDTO> getUnitDetail(Long unitId, Long projectId) {
-        return unitRepository.findByIdAndProjectId(unitId, projectId)
+        return unitRepository.findDetailByIdAndProjectId(unitId, projectId)
                 .map(unitMapper::toDetailDTO);
     }
 
@@ -69,7 +97,7 @@ public class UnitService {
      * Create new unit
      */
     @Transactional
-    @CacheEvict(value = "unitSummaries", allEntries = true)
+    @CacheEvict(value = {"unitSummaries", "unitTotals"}, allEntries = true)
     public Optional<UnitDetailDTO> createUnit(Long projectId, Long companyId, UnitCreateDTO unitCreateDTO) {
         logger.info("UnitService: createUnit called with projectId = {}, companyId = {}", projectId, companyId);
 
@@ -78,9 +106,11 @@ public class UnitService {
 
         return projectOptional
                 .map(project -> {
+                    counterService.lock(projectId, Collections.emptyList());
                     Unit unit = unitMapper.toEntity(unitCreateDTO);
                     unit.setProject(project);
                     Unit savedUnit = unitRepository.save(unit);
+                    counterService.refreshProjects(Collections.singleton(projectId));
                     return unitMapper.toDetailDTO(savedUnit);
                 })
                 .or(() -> {
@@ -94,14 +124,17 @@ public class UnitService {
      */
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "unitSummaries", allEntries = true),
+            @CacheEvict(value = {"unitSummaries", "unitTotals"}, allEntries = true),
             @CacheEvict(value = "unitDetails", key = "#unitId + '_' + #projectId")
     })
     public Optional<UnitDetailDTO> updateUnit(Long unitId, Long projectId, UnitUpdateDTO unitUpdateDTO) {
         return unitRepository.findByIdAndProjectId(unitId, projectId)
                 .map(existingUnit -> {
+                    counterService.lock(projectId, Collections.singleton(unitId));
                     unitMapper.updateEntity(existingUnit, unitUpdateDTO);
                     Unit savedUnit = unitRepository.save(existingUnit);
+                    // A manual progress override can complete or reopen the unit
+                    counterService.refreshProjects(Collections.singleton(projectId));
                     return unitMapper.toDetailDTO(savedUnit);
                 })
                 .or(() -> {
@@ -114,13 +147,15 @@ public class UnitService {
      */
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "unitSummaries", allEntries = true),
+            @CacheEvict(value = {"unitSummaries", "unitTotals"}, allEntries = true),
             @CacheEvict(value = "unitDetails", key = "#unitId + '_' + #projectId")
     })
     public boolean deleteUnit(Long unitId, Long projectId) {
         return unitRepository.findByIdAndProjectId(unitId, projectId)
                 .map(unit -> {
+                    counterService.lock(projectId, Collections.singleton(unitId));
                     unitRepository.delete(unit);
+                    counterService.refreshProjects(Collections.singleton(projectId));
                     return true;
                 })
                 .orElse(false);
@@ -0,0 +1,236 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.TemplateApplyDTO;
+import com.constructmanager.dto.TemplateApplyResultDTO;
+import com.constructmanager.dto.TemplateCategoryDTO;
+import com.constructmanager.dto.UnitTemplateCreateDTO;
+import com.constructmanager.dto.UnitTemplateDTO;
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.Company;
+import com.constructmanager.entity.Project;
+import com.constructmanager.entity.TemplateCategory;
+import com.constructmanager.entity.Unit;
+import com.constructmanager.entity.UnitTemplate;
+import com.constructmanager.exception.ResourceNotFoundException;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.CompanyRepository;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.UnitRepository;
+import com.constructmanager.repository.UnitTemplateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Unit templates and applying them to many units at once.
+ *
+ * Applying builds every category in memory - order sequences continue from one grouped
+ * MAX per unit, dates are the anchor plus the template offsets - and persists them in one
+ * transaction. With pooled IDs the inserts leave as JDBC batches at the single flush.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UnitTemplateService {
+
+    // Upper bound on categories created by one apply request
+    private static final int MAX_CATEGORIES_PER_APPLY = 20000;
+
+    @Autowired
+    private UnitTemplateRepository unitTemplateRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private HierarchyCounterService counterService;
+
+    /**
+     * Get paginated templates of a company, optionally for one unit type
+     */
+    public Page<UnitTemplateDTO> getTemplates(Long companyId, Unit.UnitType unitType, Pageable pageable) {
+        Page<UnitTemplate> templates = unitType != null
+                ? unitTemplateRepository.findByCompanyIdAndUnitType(companyId, unitType, pageable)
+                : unitTemplateRepository.findByCompanyId(companyId, pageable);
+        return templates.map(this::toDTO);
+    }
+
+    /**
+     * Get one template with its categories
+     */
+    public Optional<UnitTemplateDTO> getTemplate(Long templateId, Long companyId) {
+        return unitTemplateRepository.findByIdAndCompanyId(templateId, companyId).map(this::toDTO);
+    }
+
+    /**
+     * Create a template
+     */
+    @Transactional
+    public UnitTemplateDTO createTemplate(Long companyId, UnitTemplateCreateDTO request) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Company not found with ID: " + companyId));
+
+        UnitTemplate template = new UnitTemplate();
+        template.setCompany(company);
+        applyContents(template, request);
+        return toDTO(unitTemplateRepository.save(template));
+    }
+
+    /**
+     * Replace a template's name, type and categories
+     */
+    @Transactional
+    public Optional<UnitTemplateDTO> updateTemplate(Long templateId, Long companyId, UnitTemplateCreateDTO request) {
+        return unitTemplateRepository.findByIdAndCompanyId(templateId, companyId)
+                .map(template -> {
+                    applyContents(template, request);
+                    return toDTO(unitTemplateRepository.save(template));
+                });
+    }
+
+    /**
+     * Delete a template; categories already applied to units are kept
+     */
+    @Transactional
+    public boolean deleteTemplate(Long templateId, Long companyId) {
+        return unitTemplateRepository.findByIdAndCompanyId(templateId, companyId)
+                .map(template -> {
+                    unitTemplateRepository.delete(template);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Append the template's categories to each given unit of a project; the units are locked
+     * before their last order sequences are read, so concurrent appends never reuse a sequence
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @CacheEvict(value = {"unitSummaries", "categoryDetails"}, allEntries = true)
+    public TemplateApplyResultDTO applyTemplate(Long templateId, Long companyId, TemplateApplyDTO request) {
+        UnitTemplate template = unitTemplateRepository.findByIdAndCompanyId(templateId, companyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Template not found with ID: " + templateId));
+        Long projectId = request.getProjectId();
+        Project project = projectRepository.findByIdAndCompanyId(projectId, companyId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found with ID: " + projectId + " for company ID: " + companyId));
+
+        Set<Long> requestedIds = new LinkedHashSet<>();
+        if (request.getUnitIds() != null) {
+            requestedIds.addAll(request.getUnitIds());
+        }
+        if (request.getUnitId() != null) {
+            requestedIds.add(request.getUnitId());
+        }
+        if (requestedIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one unit is required");
+        }
+
+        List<Unit> units = unitRepository.findAllInProject(requestedIds, projectId, companyId);
+        if (units.size() != requestedIds.size()) {
+            Set<Long> found = units.stream().map(Unit::getId).collect(Collectors.toSet());
+            requestedIds.removeAll(found);
+            throw new IllegalArgumentException("Units not found in project " + projectId + ": " + requestedIds);
+        }
+
+        List<TemplateCategory> plan = template.getCategories();
+        if ((long) plan.size() * units.size() > MAX_CATEGORIES_PER_APPLY) {
+            throw new IllegalArgumentException("Applying to " + units.size() + " units would create more than "
+                    + MAX_CATEGORIES_PER_APPLY + " categories; apply in smaller groups");
+        }
+
+        LocalDate anchor = request.getStartDate() != null ? request.getStartDate()
+                : project.getStartDate() != null ? project.getStartDate() : LocalDate.now();
+
+        List<Long> unitIds = units.stream().map(Unit::getId).collect(Collectors.toList());
+        counterService.lock(projectId, unitIds);
+
+        Map<Long, Integer> lastOrder = new HashMap<>();
+        for (Object[] row : categoryRepository.findMaxOrderSequences(unitIds)) {
+            lastOrder.put((Long) row[0], (Integer) row[1]);
+        }
+
+        List<Category> categories = new ArrayList<>(plan.size() * units.size());
+        for (Unit unit : units) {
+            int orderSequence = lastOrder.getOrDefault(unit.getId(), 0);
+            for (TemplateCategory templateCategory : plan) {
+                Category category = new Category();
+                category.setName(templateCategory.getName());
+                category.setDescription(templateCategory.getDescription());
+                category.setStartDate(anchor.plusDays(templateCategory.getStartOffsetDays()));
+                category.setEndDate(anchor.plusDays(templateCategory.getEndOffsetDays()));
+                category.setOrderSequence(++orderSequence);
+                category.setUnit(unit);
+                category.setProjectId(projectId);
+                category.setCompanyId(companyId);
+                categories.add(category);
+            }
+        }
+        categoryRepository.saveAll(categories);
+
+        // Flushes the batched inserts, then recounts the units and the project
+        counterService.refreshUnits(unitIds);
+        counterService.refreshProjects(Collections.singleton(projectId));
+
+        return new TemplateApplyResultDTO(units.size(), categories.size());
+    }
+
+    private void applyContents(UnitTemplate template, UnitTemplateCreateDTO request) {
+        template.setName(request.getName());
+        template.setDescription(request.getDescription());
+        template.setUnitType(request.getUnitType());
+
+        List<TemplateCategoryDTO> requested = new ArrayList<>(request.getCategories());
+        // Explicit order first, then the order given in the request
+        requested.sort((a, b) -> Integer.compare(
+                a.getOrderSequence() != null ? a.getOrderSequence() : Integer.MAX_VALUE,
+                b.getOrderSequence() != null ? b.getOrderSequence() : Integer.MAX_VALUE));
+
+        template.getCategories().clear();
+        int orderSequence = 0;
+        for (TemplateCategoryDTO dto : requested) {
+            if (dto.getEndOffsetDays() < dto.getStartOffsetDays()) {
+                throw new IllegalArgumentException("End offset is before start offset for category '" + dto.getName() + "'");
+            }
+            TemplateCategory category = new TemplateCategory();
+            category.setName(dto.getName());
+            category.setDescription(dto.getDescription());
+            category.setOrderSequence(++orderSequence);
+            category.setStartOffsetDays(dto.getStartOffsetDays());
+            category.setEndOffsetDays(dto.getEndOffsetDays());
+            category.setTemplate(template);
+            template.getCategories().add(category);
+        }
+    }
+
+    private UnitTemplateDTO toDTO(UnitTemplate template) {
+        List<TemplateCategoryDTO> categories = template.getCategories().stream()
+                .map(category -> new TemplateCategoryDTO(category.getId(), category.getName(), category.getDescription(),
+                        category.getOrderSequence(), category.getStartOffsetDays(), category.getEndOffsetDays()))
+                .collect(Collectors.toList());
+        return new UnitTemplateDTO(template.getId(), template.getName(), template.getDescription(),
+                template.getUnitType(), template.getCompany().getId(), categories);
+    }
+}
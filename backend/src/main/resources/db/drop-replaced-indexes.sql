@@ -0,0 +1,37 @@
+-- Drops the single-column indexes that the composite, query-shape indexes replaced.
+--
+-- ddl-auto: update creates the new indexes at startup but never drops an index, so databases
+-- created before the change keep the old ones and pay for them on every write. Start the
+-- application once on the new version (so the composite indexes exist, and foreign keys on
+-- unit_id, category_id, team_id, project_id and company_id are covered by them), then run this
+-- script once against the application schema:
+--
+--   mysql -u construct_user -p construct_manager < drop-replaced-indexes.sql
+
+ALTER TABLE projects
+    DROP INDEX idx_project_company,
+    DROP INDEX idx_project_status,
+    DROP INDEX idx_project_dates;
+
+ALTER TABLE units
+    DROP INDEX idx_unit_project,
+    DROP INDEX idx_unit_type;
+
+ALTER TABLE categories
+    DROP INDEX idx_category_unit,
+    DROP INDEX idx_category_order,
+    DROP INDEX idx_category_dates;
+
+ALTER TABLE category_teams
+    DROP INDEX idx_category_team_category,
+    DROP INDEX idx_category_team_team,
+    DROP INDEX idx_category_team_status;
+
+ALTER TABLE teams
+    DROP INDEX idx_team_company,
+    DROP INDEX idx_team_specialty;
+
+ALTER TABLE payments
+    DROP INDEX idx_payment_status,
+    DROP INDEX idx_payment_due_date,
+    DROP INDEX idx_payment_invoice;
@@ -0,0 +1,183 @@
+package com.constructmanager.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps the application DataSource so every statement run while a capture is active is
+ * first run under EXPLAIN on the same connection, with the same bound parameters.
+ *
+ * Only SELECT, UPDATE and DELETE statements are explained; the plan rows are kept per
+ * capture for the test to judge.
+ */
+class ExplainCapture implements BeanPostProcessor {
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile(
+            "\\b(?:from|join|update)\\s+`?(\\w+)`?(?:\\s+(?:as\\s+)?`?(\\w+)`?)?", Pattern.CASE_INSENSITIVE);
+
+    private static final ThreadLocal<List<Plan>> current = new ThreadLocal<>();
+
+    /**
+     * One explained statement
+     */
+    static final class Plan {
+        final String sql;
+        final List<PlanRow> rows;
+
+        Plan(String sql, List<PlanRow> rows) {
+            this.sql = sql;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * One row of EXPLAIN output, with its table alias resolved to the table name
+     */
+    static final class PlanRow {
+        final String table;
+        final String type;
+        final String extra;
+        final long rows;
+
+        PlanRow(String table, String type, String extra, long rows) {
+            this.table = table;
+            this.type = type;
+            this.extra = extra;
+            this.rows = rows;
+        }
+
+        @Override
+        public String toString() {
+            return "table=" + table + " type=" + type + " rows=" + rows + " extra=" + extra;
+        }
+    }
+
+    /**
+     * Explain the statements this thread runs until {@link #stop()}
+     */
+    static void start() {
+        current.set(new ArrayList<>());
+    }
+
+    static List<Plan> stop() {
+        List<Plan> plans = current.get();
+        current.remove();
+        return plans;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return proxy(DataSource.class, (target, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrapConnection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, (target, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrapStatement(connection, statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement wrapStatement(Connection connection, PreparedStatement statement, String sql) {
+        List<Object[]> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Object[]{method, args});
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if ((name.equals("executeQuery") || name.equals("executeUpdate") || name.equals("execute"))
+                    && (args == null || args.length == 0) && current.get() != null && isExplainable(sql)) {
+                current.get().add(explain(connection, sql, bindings));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("update")
+                || head.startsWith("delete");
+    }
+
+    private static Plan explain(Connection connection, String sql, List<Object[]> bindings) throws Exception {
+        Map<String, String> tables = tablesByAlias(sql);
+        List<PlanRow> rows = new ArrayList<>();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Object[] binding : bindings) {
+                ((Method) binding[0]).invoke(explain, (Object[]) binding[1]);
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, Object> columns = new HashMap<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        columns.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), rs.getObject(i));
+                    }
+                    String alias = (String) columns.get("table");
+                    Object estimate = columns.get("rows");
+                    rows.add(new PlanRow(
+                            alias == null ? null : tables.getOrDefault(alias.toLowerCase(Locale.ROOT), alias),
+                            (String) columns.get("type"),
+                            columns.get("extra") == null ? "" : columns.get("extra").toString(),
+                            estimate == null ? 0 : ((Number) estimate).longValue()));
+                }
+            }
+        }
+        return new Plan(sql, rows);
+    }
+
+    /**
+     * Table names by the aliases EXPLAIN reports, from the FROM, JOIN and UPDATE clauses
+     */
+    private static Map<String, String> tablesByAlias(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            String table = matcher.group(1).toLowerCase(Locale.ROOT);
+            tables.put(table, table);
+            String alias = matcher.group(2);
+            if (alias != null) {
+                tables.putIfAbsent(alias.toLowerCase(Locale.ROOT), table);
+            }
+        }
+        return tables;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ExplainCapture.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,458 @@
+package com.constructmanager.repository;
+
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.CategoryDependency;
+import com.constructmanager.entity.CategoryTeam;
+import com.constructmanager.entity.Company;
+import com.constructmanager.entity.Payment;
+import com.constructmanager.entity.Project;
+import com.constructmanager.entity.Task;
+import com.constructmanager.entity.Team;
+import com.constructmanager.entity.TemplateCategory;
+import com.constructmanager.entity.Unit;
+import com.constructmanager.entity.UnitTemplate;
+import com.constructmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every repository @Query against a seeded MySQL database and fails when a plan
+ * scans a table holding at least {@link #LARGE_TABLE_ROWS} rows, or filesorts more rows
+ * of such a table than one parent holds ({@link #SMALL_SORT_ROWS}, e.g. a category's
+ * teams). Sorts that no index can serve are listed in {@link #INHERENT_SORTS} with the reason.
+ *
+ * The database is a MySQL 8 container, or an existing scratch database given with
+ * -Dexplain.datasource.url (plus .username and .password); the test is skipped when
+ * neither is available. Parameters are filled by name and type from the seeded rows,
+ * and modifying queries are rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIf("databaseAvailable")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    // Tables at least this large must be read through an index
+    private static final long LARGE_TABLE_ROWS = 1000;
+
+    // Largest estimated sort accepted on a large table: one parent's children, not a tenant's rows
+    private static final long SMALL_SORT_ROWS = 100;
+
+    private static final Map<String, String> INHERENT_SORTS = Map.of(
+            "CategoryTeamRepository.findActiveAssignmentsByCompanyId",
+            "loads every open assignment of the company for the solver; sorts by team and category columns",
+            // Both filter category_teams through (company_id, status, ...) and sort by a categories column,
+            // which no index can serve across the join; the sort holds one status of one company, estimated
+            // at 225 of 18000 seeded rows on MySQL 8.0 and MariaDB 10.2
+            "CategoryTeamRepository.findDelayedTasks", "sorts the company's delayed assignments by categories.end_date",
+            "CategoryTeamRepository.findTasksStartingSoon",
+            "sorts the company's unstarted assignments by categories.start_date",
+            "CategoryTeamRepository.getTeamWorkload", "sorts the per-team aggregate",
+            "PaymentRepository.findInvoiceNumbersByPrefix", "sorts by number length; runs once per reserved block",
+            "PaymentRepository.findOverdueChunk", "merges two statuses of the (status, due_date) index per chunk");
+
+    private static final int COMPANIES = 20;
+    private static final int TEAMS_PER_COMPANY = 20;
+    private static final int PROJECTS_PER_COMPANY = 60;
+    private static final int UNITS_PER_PROJECT = 5;
+    private static final int CATEGORIES_PER_UNIT = 3;
+
+    private static final String URL_PROPERTY = "explain.datasource.url";
+
+    private static MySQLContainer<?> mysql;
+
+    @TestConfiguration
+    static class ExplainConfig {
+        @Bean
+        static ExplainCapture explainCapture() {
+            return new ExplainCapture();
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Long> sampleIds = new HashMap<>();
+    private final Map<Class<?>, List<Long>> sampleIdLists = new HashMap<>();
+    private final Set<String> largeTables = new HashSet<>();
+
+    static boolean databaseAvailable() {
+        return System.getProperty(URL_PROPERTY) != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (System.getProperty(URL_PROPERTY) != null) {
+            registry.add("spring.datasource.url", () -> System.getProperty(URL_PROPERTY));
+            registry.add("spring.datasource.username", () -> System.getProperty("explain.datasource.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("explain.datasource.password", ""));
+        } else {
+            if (mysql == null) {
+                mysql = new MySQLContainer<>("mysql:8.0");
+                mysql.start();
+            }
+            registry.add("spring.datasource.url", mysql::getJdbcUrl);
+            registry.add("spring.datasource.username", mysql::getUsername);
+            registry.add("spring.datasource.password", mysql::getPassword);
+        }
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        // MATCH ... AGAINST queries need the FULLTEXT indexes created at startup
+        registry.add("app.search.full-text.enabled", () -> "true");
+    }
+
+    @BeforeAll
+    void seed() {
+        LocalDate today = LocalDate.now();
+        for (int c = 0; c < COMPANIES; c++) {
+            int companyNumber = c;
+            transactionTemplate.executeWithoutResult(status -> seedCompany(companyNumber, today));
+        }
+        for (String table : jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = DATABASE()", String.class)) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (rows != null && rows >= LARGE_TABLE_ROWS) {
+                largeTables.add(table.toLowerCase(Locale.ROOT));
+            }
+        }
+        assertTrue(largeTables.contains("categories"), "Seeding did not reach the size threshold");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        List<String> violations = new ArrayList<>();
+        int explained = 0;
+        for (Object bean : applicationContext.getBeansOfType(JpaRepository.class).values()) {
+            Class<?> repository = repositoryInterface(bean);
+            List<Method> methods = new ArrayList<>();
+            for (Method method : repository.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Query.class)) {
+                    methods.add(method);
+                }
+            }
+            methods.sort(Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                String label = repository.getSimpleName() + "." + method.getName();
+                List<ExplainCapture.Plan> plans = run(bean, repository, method, label, violations);
+                for (ExplainCapture.Plan plan : plans) {
+                    explained++;
+                    for (ExplainCapture.PlanRow row : plan.rows) {
+                        if (!largeTables.contains(row.table)) {
+                            continue;
+                        }
+                        boolean scan = "ALL".equals(row.type);
+                        boolean largeSort = row.extra.contains("Using filesort") && row.rows > SMALL_SORT_ROWS
+                                && !INHERENT_SORTS.containsKey(label);
+                        if (scan || largeSort) {
+                            violations.add(label + ": " + row + "\n    " + plan.sql);
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(explained > 0, "No repository statement was explained");
+        if (!violations.isEmpty()) {
+            fail(violations.size() + " query plans scan or filesort a large table:\n" + String.join("\n", violations));
+        }
+    }
+
+    private List<ExplainCapture.Plan> run(Object bean, Class<?> repository, Method method, String label,
+                                          List<String> violations) {
+        Object[] args = arguments(repository, method);
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            ExplainCapture.start();
+            try {
+                method.invoke(bean, args);
+            } catch (InvocationTargetException e) {
+                violations.add(label + ": could not run: " + e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                entityManager.clear();
+            }
+            return ExplainCapture.stop();
+        });
+    }
+
+    private Object[] arguments(Class<?> repository, Method method) {
+        Parameter[] parameters = method.getParameters();
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Param param = parameter.getAnnotation(Param.class);
+            String name = param != null ? param.value() : parameter.getName();
+            args[i] = argument(repository, parameter, name);
+        }
+        return args;
+    }
+
+    private Object argument(Class<?> repository, Parameter parameter, String name) {
+        Class<?> type = parameter.getType();
+        LocalDate today = LocalDate.now();
+        if (type == Long.class || type == long.class) {
+            if (name.equals("afterId")) {
+                return 0L;
+            }
+            if (name.equals("beforeId")) {
+                return Long.MAX_VALUE;
+            }
+            if (name.equals("id")) {
+                return sampleIdList(repository).get(0);
+            }
+            return sampleIds.getOrDefault(name, 1L);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Class<?> element = ResolvableType.forMethodParameter(MethodParameter.forParameter(parameter))
+                    .asCollection().resolveGeneric(0);
+            if (element != null && element.isEnum()) {
+                return List.of(element.getEnumConstants());
+            }
+            if (name.equals("ids")) {
+                return sampleIdList(repository);
+            }
+            String singular = name.substring(0, name.length() - 1);
+            return List.of(sampleIds.getOrDefault(singular, 1L));
+        }
+        if (type == LocalDate.class) {
+            if (name.startsWith("from") || name.startsWith("start") || name.startsWith("after")) {
+                return today.minusDays(30);
+            }
+            if (name.startsWith("to") && !name.equals("today") || name.startsWith("end") || name.startsWith("future")) {
+                return today.plusDays(30);
+            }
+            return today;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == String.class) {
+            return switch (name) {
+                case "paymentMethod" -> "BANK_TRANSFER";
+                case "specialty" -> "Electrical";
+                case "prefix" -> "INV-1";
+                default -> "Unit";
+            };
+        }
+        if (type == Integer.class || type == int.class) {
+            return name.equals("year") ? today.getYear() : 1;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        throw new IllegalStateException("No sample value for parameter " + name + " of type " + type.getName()
+                + " in " + repository.getSimpleName());
+    }
+
+    private List<Long> sampleIdList(Class<?> repository) {
+        return sampleIdLists.getOrDefault(domainType(repository), List.of(1L));
+    }
+
+    private static Class<?> repositoryInterface(Object bean) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(bean)) {
+            if (type.getPackageName().equals(RepositoryQueryPlanTest.class.getPackageName())) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Not an application repository: " + bean);
+    }
+
+    private static Class<?> domainType(Class<?> repository) {
+        return ResolvableType.forClass(repository).as(JpaRepository.class).getGeneric(0).resolve();
+    }
+
+    /**
+     * One company: teams, users and templates, and projects whose units, categories,
+     * assignments, tasks and payments spread over statuses and a year of dates
+     */
+    private void seedCompany(int c, LocalDate today) {
+        Company company = new Company("Company " + c);
+        entityManager.persist(company);
+
+        List<Team> teams = new ArrayList<>();
+        String[] specialties = {"Electrical", "Plumbing", "Masonry", "Carpentry", "Painting"};
+        for (int t = 0; t < TEAMS_PER_COMPANY; t++) {
+            Team team = new Team("Team " + c + "-" + t, specialties[t % specialties.length], "#3B82F6", company);
+            team.setIsActive(t % 10 != 0);
+            entityManager.persist(team);
+            teams.add(team);
+        }
+        for (int u = 0; u < 2; u++) {
+            entityManager.persist(new User("user" + c + "-" + u + "@example.com", "User " + u, "not-a-real-password",
+                    User.UserRole.values()[u], company));
+        }
+        for (int t = 0; t < 2; t++) {
+            UnitTemplate template = new UnitTemplate();
+            template.setName("Template " + t);
+            template.setUnitType(Unit.UnitType.values()[t]);
+            template.setCompany(company);
+            entityManager.persist(template);
+            for (int k = 0; k < 4; k++) {
+                TemplateCategory category = new TemplateCategory();
+                category.setName("Step " + k);
+                category.setOrderSequence(k + 1);
+                category.setStartOffsetDays(k * 10);
+                category.setEndOffsetDays(k * 10 + 9);
+                category.setTemplate(template);
+                entityManager.persist(category);
+            }
+        }
+
+        int assignment = 0;
+        for (int p = 0; p < PROJECTS_PER_COMPANY; p++) {
+            LocalDate projectStart = today.minusDays(180).plusDays(p * 6L);
+            Project project = new Project("Project " + c + "-" + p, "Site " + p, projectStart,
+                    projectStart.plusDays(365), company);
+            project.setStatus(Project.ProjectStatus.values()[p % Project.ProjectStatus.values().length]);
+            project.setBudget(BigDecimal.valueOf(100000L + p));
+            entityManager.persist(project);
+
+            for (int u = 0; u < UNITS_PER_PROJECT; u++) {
+                Unit unit = new Unit("Unit " + p + "-" + u, Unit.UnitType.values()[u % 3], project);
+                entityManager.persist(unit);
+
+                Category previous = null;
+                for (int k = 0; k < CATEGORIES_PER_UNIT; k++) {
+                    LocalDate start = projectStart.plusDays(u * 7L + k * 14L);
+                    Category category = new Category("Category " + k, start, start.plusDays(13), k + 1, unit);
+                    category.setProgressPercentage((p * 7 + u * 3 + k * 31) % 101);
+                    entityManager.persist(category);
+                    if (previous != null) {
+                        CategoryDependency dependency = new CategoryDependency();
+                        dependency.setPredecessor(previous);
+                        dependency.setSuccessor(category);
+                        dependency.setLagDays(0);
+                        dependency.setCompanyId(company.getId());
+                        dependency.setProjectId(project.getId());
+                        entityManager.persist(dependency);
+                    }
+                    previous = category;
+
+                    CategoryTeam categoryTeam = new CategoryTeam(category, teams.get(assignment % teams.size()));
+                    categoryTeam.setStatus(CategoryTeam.TaskStatus.values()[assignment % 4]);
+                    categoryTeam.setProgressPercentage(category.getProgressPercentage());
+                    entityManager.persist(categoryTeam);
+
+                    Task task = new Task("Task " + k, null, categoryTeam);
+                    task.setStatus(Task.TaskStatus.values()[assignment % 4]);
+                    task.setDueDate(start.plusDays(10));
+                    entityManager.persist(task);
+
+                    if (assignment % 3 == 0) {
+                        Payment payment = new Payment(BigDecimal.valueOf(1000L + assignment), "Payment", categoryTeam);
+                        Payment.PaymentStatus paymentStatus = Payment.PaymentStatus.values()[(assignment / 3) % 5];
+                        payment.setStatus(paymentStatus);
+                        payment.setDueDate(start.plusDays(30));
+                        if (paymentStatus == Payment.PaymentStatus.PAID) {
+                            payment.setPaidDate(start.plusDays(25));
+                            payment.setPaymentMethod("BANK_TRANSFER");
+                        }
+                        payment.setInvoiceNumber("INV-" + c + "-" + assignment);
+                        entityManager.persist(payment);
+                    }
+                    assignment++;
+                }
+                if (c == COMPANIES / 2 && p == 0 && u == 0) {
+                    sample(company, project, unit, previous, teams.get(0));
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            company = entityManager.getReference(Company.class, company.getId());
+            teams.replaceAll(team -> entityManager.getReference(Team.class, team.getId()));
+        }
+    }
+
+    /**
+     * IDs the query parameters are filled with: rows of a company in the middle of the data
+     */
+    private void sample(Company company, Project project, Unit unit, Category category, Team team) {
+        entityManager.flush();
+        sampleIds.put("companyId", company.getId());
+        sampleIds.put("projectId", project.getId());
+        sampleIds.put("unitId", unit.getId());
+        sampleIds.put("categoryId", category.getId());
+        sampleIds.put("teamId", team.getId());
+        Long categoryTeamId = entityManager.createQuery(
+                "SELECT ct.id FROM CategoryTeam ct WHERE ct.category.id = :categoryId", Long.class)
+                .setParameter("categoryId", category.getId()).getSingleResult();
+        sampleIds.put("categoryTeamId", categoryTeamId);
+        Long paymentId = entityManager.createQuery(
+                "SELECT MIN(p.id) FROM Payment p WHERE p.companyId = :companyId", Long.class)
+                .setParameter("companyId", company.getId()).getSingleResult();
+        sampleIds.put("paymentId", paymentId);
+
+        sampleIdLists.put(Project.class, List.of(project.getId()));
+        sampleIdLists.put(Unit.class, List.of(unit.getId()));
+        sampleIdLists.put(Category.class, List.of(category.getId()));
+        sampleIdLists.put(CategoryTeam.class, List.of(categoryTeamId));
+        sampleIdLists.put(Team.class, List.of(team.getId()));
+        sampleIdLists.put(Payment.class, List.of(paymentId));
+        sampleIdLists.put(Company.class, List.of(company.getId()));
+    }
+}
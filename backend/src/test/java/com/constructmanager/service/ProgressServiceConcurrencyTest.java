@@ -0,0 +1,219 @@
+package com.constructmanager.service;
+
+import com.constructmanager.dto.CategoryTeamProgressUpdateDTO;
+import com.constructmanager.entity.Category;
+import com.constructmanager.entity.CategoryTeam;
+import com.constructmanager.entity.Company;
+import com.constructmanager.entity.Project;
+import com.constructmanager.entity.Team;
+import com.constructmanager.entity.Unit;
+import com.constructmanager.repository.CategoryRepository;
+import com.constructmanager.repository.CategoryTeamRepository;
+import com.constructmanager.repository.CompanyRepository;
+import com.constructmanager.repository.ProjectRepository;
+import com.constructmanager.repository.TeamRepository;
+import com.constructmanager.repository.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many writers updating category teams of one project at once, through the same retry
+ * wrapper the controllers use. Every write must succeed, and the stored category, unit
+ * and project rollups must equal a recomputation from the final category team progress.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProgressServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 40;
+    private static final int UNITS = 4;
+    private static final int CATEGORIES_PER_UNIT = 3;
+    private static final int TEAMS_PER_CATEGORY = 3;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryTeamRepository categoryTeamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long projectId;
+    private List<Long> categoryTeamIds;
+
+    @BeforeEach
+    void seedProject() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Company company = companyRepository.save(new Company("Stress Test Builders"));
+            List<Team> teams = new ArrayList<>();
+            for (int t = 0; t < TEAMS_PER_CATEGORY; t++) {
+                teams.add(teamRepository.save(new Team("Team " + t, "General", "#3B82F6", company)));
+            }
+
+            LocalDate start = LocalDate.of(2026, 1, 5);
+            Project project = projectRepository.save(
+                    new Project("Concurrent Tower", "Site 1", start, start.plusMonths(12), company));
+            projectId = project.getId();
+
+            categoryTeamIds = new ArrayList<>();
+            for (int u = 0; u < UNITS; u++) {
+                Unit unit = unitRepository.save(new Unit("Unit " + u, Unit.UnitType.APARTMENT, project));
+                for (int c = 0; c < CATEGORIES_PER_UNIT; c++) {
+                    Category category = categoryRepository.save(new Category("Category " + c,
+                            start.plusWeeks(c), start.plusWeeks(c + 1), c + 1, unit));
+                    for (Team team : teams) {
+                        categoryTeamIds.add(categoryTeamRepository.save(new CategoryTeam(category, team)).getId());
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void concurrentTeamUpdatesKeepRollupsConsistent() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            Random random = new Random(thread);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int write = 0; write < WRITES_PER_THREAD; write++) {
+                        if (random.nextInt(4) == 0) {
+                            // Several rows across units, so lock ordering over many rows is exercised too
+                            List<CategoryTeamProgressUpdateDTO> updates = new ArrayList<>();
+                            for (int i = 0; i < 4; i++) {
+                                updates.add(new CategoryTeamProgressUpdateDTO(randomCategoryTeam(random),
+                                        randomProgress(random)));
+                            }
+                            retryExecutor.execute(() -> progressService.updateCategoryTeamProgressBatch(updates));
+                        } else {
+                            Long categoryTeamId = randomCategoryTeam(random);
+                            int progress = randomProgress(random);
+                            retryExecutor.execute(() -> progressService.updateCategoryTeamProgress(categoryTeamId, progress));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        boolean finished = done.await(5, TimeUnit.MINUTES);
+        executor.shutdownNow();
+
+        assertTrue(finished, "Writers did not finish; a deadlock is likely");
+        assertTrue(failures.isEmpty(), () -> "Writes failed: " + failures.stream()
+                .map(Throwable::toString).collect(Collectors.joining("; ")));
+        assertRollupsMatchRecomputation();
+    }
+
+    private void assertRollupsMatchRecomputation() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            List<Unit> units = unitRepository.findAllById(
+                    categoryRepository.findAll().stream().map(c -> c.getUnit().getId()).distinct().toList());
+            assertEquals(UNITS, units.size());
+
+            List<Integer> unitAverages = new ArrayList<>();
+            for (Unit unit : units) {
+                List<Integer> categoryAverages = new ArrayList<>();
+                int completedCategories = 0;
+                for (Category category : categoriesOf(unit.getId())) {
+                    int expected = average(teamsOf(category.getId()).stream()
+                            .map(CategoryTeam::getProgressPercentage).toList());
+                    assertEquals(expected, category.getProgressPercentage(),
+                            "Category " + category.getId() + " progress");
+                    categoryAverages.add(expected);
+                    if (expected == 100) {
+                        completedCategories++;
+                    }
+                }
+                int expectedUnit = average(categoryAverages);
+                assertEquals(expectedUnit, unit.getProgressPercentage(), "Unit " + unit.getId() + " progress");
+                assertEquals(completedCategories, unit.getCompletedCategoryCount().intValue(),
+                        "Unit " + unit.getId() + " completed categories");
+                unitAverages.add(expectedUnit);
+            }
+            assertEquals(average(unitAverages), project.getProgressPercentage(), "Project progress");
+        });
+    }
+
+    private List<Category> categoriesOf(Long unitId) {
+        return categoryRepository.findAll().stream()
+                .filter(category -> category.getUnit().getId().equals(unitId))
+                .toList();
+    }
+
+    private List<CategoryTeam> teamsOf(Long categoryId) {
+        Map<Long, List<CategoryTeam>> byCategory = categoryTeamRepository.findAllById(categoryTeamIds).stream()
+                .collect(Collectors.groupingBy(categoryTeam -> categoryTeam.getCategory().getId()));
+        return byCategory.getOrDefault(categoryId, Collections.emptyList());
+    }
+
+    /**
+     * Truncating average, as ProgressService computes it
+     */
+    private static int average(List<Integer> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        long sum = values.stream().mapToLong(Integer::longValue).sum();
+        return (int) (sum / values.size());
+    }
+
+    private Long randomCategoryTeam(Random random) {
+        return categoryTeamIds.get(random.nextInt(categoryTeamIds.size()));
+    }
+
+    // Biased towards 100 so completed-category counters change too
+    private static int randomProgress(Random random) {
+        return random.nextInt(3) == 0 ? 100 : random.nextInt(101);
+    }
+}
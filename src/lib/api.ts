@@ -17,6 +17,12 @@ export interface PaginatedResponse<T> {
   last: boolean;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
 class ApiClient {
   private baseURL: string;
 
@@ -0,0 +1,136 @@
+// src/lib/scheduleService.ts
+import { apiClient } from './api';
+
+export interface ScheduleEntry {
+  type: 'CATEGORY' | 'TASK';
+  id: number;
+  name: string;
+  startDate: string;
+  endDate: string;
+  progressPercentage: number | null;
+  completed: boolean;
+  projectId: number | null;
+  unitId: number | null;
+  categoryTeamId: number | null;
+}
+
+export interface ScheduledCategory {
+  categoryId: number;
+  categoryName: string;
+  unitId: number;
+  plannedStart: string;
+  plannedEnd: string;
+  earlyStart: string;
+  earlyFinish: string;
+  lateStart: string;
+  lateFinish: string;
+  totalFloat: number;
+  critical: boolean;
+}
+
+export interface UnitSchedule {
+  unitId: number;
+  unitName: string;
+  earlyStart: string;
+  earlyFinish: string;
+  totalFloat: number;
+  critical: boolean;
+}
+
+export interface ProjectSchedule {
+  projectId: number;
+  startDate: string | null;
+  finishDate: string | null;
+  categoryCount: number;
+  dependencyCount: number;
+  criticalPath: number[];
+  units: UnitSchedule[];
+  categories: ScheduledCategory[];
+  // Dependencies left out of the schedule because they close a cycle
+  ignoredDependencies: CategoryDependency[];
+}
+
+export interface ScheduleShift {
+  categoryId: number;
+  categoryName: string;
+  unitId: number;
+  earlyStartBefore: string;
+  earlyStartAfter: string;
+  earlyFinishBefore: string;
+  earlyFinishAfter: string;
+  shiftDays: number;
+}
+
+export interface WhatIfResult {
+  categoryId: number;
+  delayDays: number;
+  finishBefore: string;
+  finishAfter: string;
+  projectDelayDays: number;
+  shifts: ScheduleShift[];
+  recomputedCategories: number;
+}
+
+export interface CategoryDependency {
+  id: number;
+  predecessorCategoryId: number;
+  predecessorName: string;
+  successorCategoryId: number;
+  successorName: string;
+  lagDays: number;
+  projectId: number;
+}
+
+export class ScheduleService {
+  // Categories and tasks overlapping [from, to] (ISO dates, at most 366 days apart), in start order
+  static async getCalendar(
+    companyId: string,
+    from: string,
+    to: string,
+    projectId?: string
+  ): Promise<ScheduleEntry[]> {
+    const params: Record<string, string> = { companyId, from, to };
+    if (projectId) {
+      params.projectId = projectId;
+    }
+    return apiClient.get<ScheduleEntry[]>('/schedule/calendar', params);
+  }
+
+  // Early/late dates, float and critical path of a project; unitId limits the listed units and categories
+  static async getCriticalPath(projectId: string, companyId: string, unitId?: string): Promise<ProjectSchedule> {
+    const params: Record<string, string> = { companyId };
+    if (unitId) {
+      params.unitId = unitId;
+    }
+    return apiClient.get<ProjectSchedule>(`/schedule/projects/${projectId}/critical-path`, params);
+  }
+
+  // What moves if a category takes delayDays longer; nothing is saved
+  static async whatIf(projectId: string, companyId: string, categoryId: number, delayDays: number): Promise<WhatIfResult> {
+    return apiClient.post<WhatIfResult>(`/schedule/projects/${projectId}/what-if?companyId=${companyId}`, {
+      categoryId,
+      delayDays,
+    });
+  }
+
+  static async getDependencies(projectId: string, companyId: string): Promise<CategoryDependency[]> {
+    return apiClient.get<CategoryDependency[]>('/category-dependencies', { projectId, companyId });
+  }
+
+  static async createDependency(
+    companyId: string,
+    predecessorCategoryId: number,
+    successorCategoryId: number,
+    lagDays = 0
+  ): Promise<CategoryDependency> {
+    return apiClient.post<CategoryDependency>(`/category-dependencies?companyId=${companyId}`, {
+      predecessorCategoryId,
+      successorCategoryId,
+      lagDays,
+    });
+  }
+
+  static async deleteDependency(id: number, companyId: string): Promise<void> {
+    return apiClient.delete<void>(`/category-dependencies/${id}?companyId=${companyId}`);
+  }
+}
@@ -1,5 +1,5 @@
 import { Task } from '../types';
-import { apiClient, PaginatedResponse } from './api';
+import { apiClient, CursorPage, PaginatedResponse } from './api';
 
 export interface TaskCreateRequest {
   name: string;
@@ -49,26 +49,32 @@ export class TaskService {
 
   static async getDelayedTasks(
     companyId: string,
-    page = 0,
+    cursor?: string,
     size = 20
-  ): Promise<PaginatedResponse<Task>> {
-    return apiClient.get<PaginatedResponse<Task>>('/tasks/delayed', {
+  ): Promise<CursorPage<Task>> {
+    const params: Record<string, string> = {
       companyId: companyId,
-      page: page.toString(),
       size: size.toString()
-    });
+    };
+    if (cursor) {
+      params.cursor = cursor;
+    }
+    return apiClient.get<CursorPage<Task>>('/tasks/delayed', params);
   }
 
   static async getTasksDueThisWeek(
     companyId: string,
-    page = 0,
+    cursor?: string,
     size = 20
-  ): Promise<PaginatedResponse<Task>> {
-    return apiClient.get<PaginatedResponse<Task>>('/tasks/due-this-week', {
+  ): Promise<CursorPage<Task>> {
+    const params: Record<string, string> = {
       companyId: companyId,
-      page: page.toString(),
       size: size.toString()
-    });
+    };
+    if (cursor) {
+      params.cursor = cursor;
+    }
+    return apiClient.get<CursorPage<Task>>('/tasks/due-this-week', params);
   }
 
   static async completeTask(id: string): Promise<Task> {
@@ -17,6 +17,31 @@ export interface TeamFilters {
   search?: string;
 }
 
+export interface TeamCapacityRow {
+  teamId: number;
+  teamName: string;
+  specialty: string;
+  bookedDays: number[];
+  peakUtilization: number;
+  averageUtilization: number;
+  overloadedWeeks: number;
+}
+
+export interface TeamCapacityHeatmap {
+  weekStarts: string[];
+  capacityDaysPerWeek: number;
+  teams: TeamCapacityRow[];
+}
+
+export interface TeamOverload {
+  teamId: number;
+  teamName: string;
+  weekStart: string;
+  bookedDays: number;
+  capacityDays: number;
+  utilization: number;
+}
+
 export class TeamService {
   static async getTeams(
     companyId: string,
@@ -157,4 +182,35 @@ export class TeamService {
       size: size.toString()
     });
   }
+
+  // Booked working days per team and week between two ISO dates
+  static async getCapacityHeatmap(
+    companyId: string,
+    from: string,
+    to: string,
+    specialty?: string
+  ): Promise<TeamCapacityHeatmap> {
+    const params: Record<string, string> = { companyId, from, to };
+    if (specialty) {
+      params.specialty = specialty;
+    }
+    return apiClient.get<TeamCapacityHeatmap>('/teams/capacity', params);
+  }
+
+  // Team weeks booked above minUtilization (1.0 = every working day), busiest first
+  static async getCapacityOverloads(
+    companyId: string,
+    from: string,
+    to: string,
+    minUtilization = 1.0,
+    limit = 100
+  ): Promise<TeamOverload[]> {
+    return apiClient.get<TeamOverload[]>('/teams/capacity/overloads', {
+      companyId,
+      from,
+      to,
+      minUtilization: minUtilization.toString(),
+      limit: limit.toString()
+    });
+  }
 }
\ No newline at end of file
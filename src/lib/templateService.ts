@@ -1,5 +1,6 @@
-import { UnitTemplate, TemplateCategory, TemplateCategoryTeam, Team } from '../types';
+import { UnitTemplate, TemplateCategory } from '../types';
 import { apiClient, PaginatedResponse } from './api';
+import { BackendUnitType } from './unitService';
 
 export interface TemplateCategoryTeamRequest {
   team_id: string;
@@ -9,6 +10,7 @@ export interface TemplateCategoryTeamRequest {
 
 export interface TemplateCategoryRequest {
   name: string;
+  description?: string;
   order: number;
   duration_days: number;
   teams: TemplateCategoryTeamRequest[];
@@ -25,6 +27,76 @@ export interface TemplateUpdateRequest extends TemplateCreateRequest {
   id: string;
 }
 
+// Request and response bodies of the /templates endpoints
+export interface TemplateCategoryPayload {
+  id?: number;
+  name: string;
+  description?: string | null;
+  orderSequence: number;
+  startOffsetDays: number;
+  endOffsetDays: number;
+}
+
+export interface UnitTemplatePayload {
+  id?: number;
+  name: string;
+  description?: string | null;
+  unitType: BackendUnitType;
+  companyId?: number;
+  categories: TemplateCategoryPayload[];
+}
+
+export interface TemplateApplyResult {
+  unitsUpdated: number;
+  categoriesCreated: number;
+}
+
+/**
+ * Categories run one after another in order; each starts the day after the previous one ends
+ */
+const toPayload = (templateData: TemplateCreateRequest): UnitTemplatePayload => {
+  let nextStart = 0;
+  const categories = [...templateData.categories]
+    .sort((a, b) => a.order - b.order)
+    .map((category, index) => {
+      const startOffsetDays = nextStart;
+      const endOffsetDays = startOffsetDays + Math.max(1, category.duration_days) - 1;
+      nextStart = endOffsetDays + 1;
+      // Templates store no team assignments; teams are picked when the template is applied
+      return {
+        name: category.name,
+        description: category.description || null,
+        orderSequence: index + 1,
+        startOffsetDays,
+        endOffsetDays
+      };
+    });
+
+  return {
+    name: templateData.name,
+    description: templateData.description || null,
+    unitType: templateData.unit_type.toUpperCase() as BackendUnitType,
+    categories
+  };
+};
+
+const toUnitTemplate = (payload: UnitTemplatePayload): UnitTemplate => ({
+  id: String(payload.id),
+  name: payload.name,
+  description: payload.description || '',
+  unit_type: payload.unitType.toLowerCase() as UnitTemplate['unit_type'],
+  company_id: String(payload.companyId),
+  categories: payload.categories.map((category): TemplateCategory => ({
+    id: String(category.id),
+    template_id: String(payload.id),
+    name: category.name,
+    order: category.orderSequence,
+    duration_days: category.endOffsetDays - category.startOffsetDays + 1,
+    teams: [],
+    created_at: ''
+  }))
+});
+
 export class TemplateService {
   static async getTemplates(
     companyId: string,
@@ -39,21 +111,27 @@ export class TemplateService {
     };
 
     if (unitType) {
-      params.unitType = unitType;
+      params.unitType = unitType.toUpperCase();
     }
 
-    return apiClient.get<PaginatedResponse<UnitTemplate>>('/templates', params);
+    const response = await apiClient.get<PaginatedResponse<UnitTemplatePayload>>('/templates', params);
+    return { ...response, content: response.content.map(toUnitTemplate) };
   }
 
   static async getTemplate(id: string, companyId: string): Promise<UnitTemplate> {
-    return apiClient.get<UnitTemplate>(`/templates/${id}`, { companyId: companyId });
+    const response = await apiClient.get<UnitTemplatePayload>(`/templates/${id}`, { companyId: companyId });
+    return toUnitTemplate(response);
   }
 
   static async createTemplate(
     companyId: string,
     templateData: TemplateCreateRequest
   ): Promise<UnitTemplate> {
-    return apiClient.post<UnitTemplate>(`/templates?companyId=${companyId}`, templateData);
+    const response = await apiClient.post<UnitTemplatePayload>(
+      `/templates?companyId=${companyId}`,
+      toPayload(templateData)
+    );
+    return toUnitTemplate(response);
   }
 
   static async updateTemplate(
@@ -61,21 +139,41 @@ export class TemplateService {
     companyId: string,
     templateData: TemplateUpdateRequest
   ): Promise<UnitTemplate> {
-    return apiClient.put<UnitTemplate>(`/templates/${id}?companyId=${companyId}`, templateData);
+    const response = await apiClient.put<UnitTemplatePayload>(
+      `/templates/${id}?companyId=${companyId}`,
+      toPayload(templateData)
+    );
+    return toUnitTemplate(response);
   }
 
   static async deleteTemplate(id: string, companyId: string): Promise<void> {
     return apiClient.delete<void>(`/templates/${id}?companyId=${companyId}`);
   }
 
+  /**
+   * Create the template's categories in a unit; startDate defaults to the project's start date
+   */
   static async applyTemplateToUnit(
     templateId: string,
     unitId: string,
-    projectId: string
-  ): Promise<void> {
-    return apiClient.post<void>(`/templates/${templateId}/apply`, {
-      unitId: unitId,
-      projectId: projectId
+    projectId: string,
+    companyId: string,
+    startDate?: string
+  ): Promise<TemplateApplyResult> {
+    return TemplateService.applyTemplateToUnits(templateId, [unitId], projectId, companyId, startDate);
+  }
+
+  static async applyTemplateToUnits(
+    templateId: string,
+    unitIds: string[],
+    projectId: string,
+    companyId: string,
+    startDate?: string
+  ): Promise<TemplateApplyResult> {
+    return apiClient.post<TemplateApplyResult>(`/templates/${templateId}/apply?companyId=${companyId}`, {
+      projectId: Number(projectId),
+      unitIds: unitIds.map(Number),
+      startDate: startDate || null
     });
   }
-}
\ No newline at end of file
+}